@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Benchmarks of the PIN indicator row from 4 to 32 digits: measuring the row and the per frame update
+ * of the visible window while typing.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IndicatorRowBenchmark {
+    private static final float ROW_WIDTH = 1080;
+    private static final float SLOT_WIDTH = 140;    //30dp indicator + 2 * 10dp padding at xxhdpi.
+
+    @Param({"4", "8", "16", "32"})
+    public int mPinLength;
+
+    private final IndicatorRow mRow = new IndicatorRow();
+    private int mTypedLength;
+
+    @Setup
+    public void setUp() {
+        mRow.measure(0, ROW_WIDTH, 300, SLOT_WIDTH, mPinLength);
+    }
+
+    @Benchmark
+    public void measure() {
+        mRow.measure(0, ROW_WIDTH, 300, SLOT_WIDTH, mPinLength);
+    }
+
+    /**
+     * Work done by the indicator row for each frame while typing: update the typed length and read
+     * the filled range to draw.
+     */
+    @Benchmark
+    public int typeFrame() {
+        mTypedLength = (mTypedLength + 1) % (mPinLength + 1);
+        mRow.setTypedLength(mTypedLength);
+        return mRow.getVisibleFilledCount() + mRow.getFirstVisible();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Touch cost of the 43 key passphrase keyboard compared to the 12 key PIN keypad: finding the key
+ * under the touch point and typing the value into the buffer.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KeyboardLayoutBenchmark {
+    private static final int NO_OF_TOUCHES = 1024;
+
+    private final KeyboardLayout mKeyboard = KeyboardLayout.qwerty();
+    private final KeypadGeometry mKeypad = new KeypadGeometry();
+    private final PinBuffer mBuffer = new PinBuffer();
+    private final int[] mCorrectPassphrase = new int[]{'p', 'a', 's', 's', 'w', 'o', 'r', 'd', '1', '2'};
+
+    private final float[] mTouchXs = new float[NO_OF_TOUCHES];
+    private final float[] mTouchYs = new float[NO_OF_TOUCHES];
+
+    @Setup
+    public void setUp() {
+        mKeypad.measure(0, 0, 1080, 1920, false, true);
+        mKeyboard.measure(mKeypad.getBoxLeft(), mKeypad.getBoxTop(), mKeypad.getBoxRight(), mKeypad.getBoxBottom());
+
+        Random random = new Random(42);
+        for (int i = 0; i < NO_OF_TOUCHES; i++) {
+            mTouchXs[i] = random.nextFloat() * 1080;
+            mTouchYs[i] = random.nextFloat() * 1920;
+        }
+    }
+
+    @Benchmark
+    public int findKeyPassphrase() {
+        int hits = 0;
+        for (int i = 0; i < NO_OF_TOUCHES; i++) if (mKeyboard.findKey(mTouchXs[i], mTouchYs[i]) >= 0) hits++;
+        return hits;
+    }
+
+    /**
+     * Baseline for the {@link #findKeyPassphrase()}.
+     */
+    @Benchmark
+    public int findKeyPin() {
+        int hits = 0;
+        for (int i = 0; i < NO_OF_TOUCHES; i++) if (mKeypad.findCell(mTouchXs[i], mTouchYs[i]) >= 0) hits++;
+        return hits;
+    }
+
+    /**
+     * Type every touch that hits a character key into the buffer and match the passphrase.
+     */
+    @Benchmark
+    public boolean typePassphrase() {
+        mBuffer.clear();
+        for (int i = 0; i < NO_OF_TOUCHES; i++) {
+            int key = mKeyboard.findKey(mTouchXs[i], mTouchYs[i]);
+            if (key < 0) continue;
+
+            int value = mKeyboard.getValue(KeyboardLayout.PAGE_LOWER, key);
+            if (value >= 0) mBuffer.add(value);
+            else if (value == KeyboardLayout.VALUE_BACKSPACE) mBuffer.removeLast();
+        }
+        return mBuffer.isMatched(mCorrectPassphrase);
+    }
+
+    @Benchmark
+    public void measure() {
+        mKeyboard.measure(0, 384, 1080, 1651);
+    }
+}
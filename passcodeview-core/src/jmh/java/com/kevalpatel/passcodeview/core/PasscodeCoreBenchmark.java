@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Benchmarks of the hot paths of the passcode core: typing and matching the PIN or the pattern,
+ * mapping the key names, finding the cell or the nearest key under the touch point, the PIN entry
+ * attempts and the pattern strength.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PasscodeCoreBenchmark {
+    private static final int NO_OF_TOUCHES = 1024;
+
+    private final int[] mCorrectPin = new int[]{1, 2, 3, 4, 5, 6};
+    private final String[] mDigitNames = new String[]{"0", "1", "2", "3", "4", "5", "6", "7", "8", "9"};
+    private final PinBuffer mPinBuffer = new PinBuffer();
+    private final KeypadGeometry mGeometry = new KeypadGeometry();
+    private final NearestKeyMap mNearestKeyMap = new NearestKeyMap();
+    private final PatternBuffer mCorrectPattern = PatternBuffer.fromArray(new int[]{0, 4, 8, 9, 10, 6, 2, 1, 5, 3});
+    private final PatternBuffer mPatternBuffer = new PatternBuffer();
+    private final int[] mPattern4x4 = new int[]{0, 6, 3, 9, 12, 5, 10, 13};
+    private final int[] mSwipedCells = new int[]{0, 4, 8, 9, 10, 6, 2, 1, 5, 3, 4};     //Last cell is already selected.
+    private final PinBuffer mAttemptBuffer = new PinBuffer();
+    private final PinEntryStateMachine mEntryState = new PinEntryStateMachine(mAttemptBuffer);
+    private int mNextDigit;
+
+    private final float[] mTouchXs = new float[NO_OF_TOUCHES];
+    private final float[] mTouchYs = new float[NO_OF_TOUCHES];
+
+    @Setup
+    public void setUp() {
+        mGeometry.measure(0, 0, 1080, 1920, false, true);
+        mEntryState.setPinLength(mCorrectPin.length);
+
+        float[] centerXs = new float[mGeometry.getCellCount()];
+        float[] centerYs = new float[mGeometry.getCellCount()];
+        boolean[] isEnabled = new boolean[mGeometry.getCellCount()];
+        for (int cell = 0; cell < mGeometry.getCellCount(); cell++) {
+            centerXs[cell] = mGeometry.getCellCenterX(cell);
+            centerYs[cell] = mGeometry.getCellCenterY(cell);
+            isEnabled[cell] = true;
+        }
+        mNearestKeyMap.build(mGeometry.getBoxLeft(), mGeometry.getBoxTop(), mGeometry.getBoxRight(),
+                mGeometry.getBoxBottom(), centerXs, centerYs, isEnabled, 300);
+
+        Random random = new Random(42);
+        for (int i = 0; i < NO_OF_TOUCHES; i++) {
+            mTouchXs[i] = random.nextFloat() * 1080;
+            mTouchYs[i] = random.nextFloat() * 1920;
+        }
+    }
+
+    @Benchmark
+    public boolean typeAndMatchPin() {
+        mPinBuffer.clear();
+        for (int digit : mCorrectPin) mPinBuffer.add(digit);
+        return mPinBuffer.isMatched(mCorrectPin);
+    }
+
+    @Benchmark
+    public boolean trackAndMatchPattern() {
+        mPatternBuffer.clear();
+        for (int cell : mSwipedCells) mPatternBuffer.add(cell);
+        return mPatternBuffer.isMatched(mCorrectPattern);
+    }
+
+    /**
+     * Counting all the patterns of the 4x4 grid. This runs once per grid size on the background
+     * thread and must stay within a frame (16 ms).
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double countPatterns4x4() {
+        return new PatternStrength(4, 4).getPatternCount(16);
+    }
+
+    @Benchmark
+    public double patternStrength4x4() {
+        return PatternStrength.forGrid(4, 4).getStrengthBits(mPattern4x4);
+    }
+
+    @Benchmark
+    public int getValueOfKey() {
+        return KeyNames.getValueOfKey(mDigitNames, "0");
+    }
+
+    @Benchmark
+    public void measureGrid() {
+        mGeometry.measure(0, 0, 1080, 1920, false, true);
+    }
+
+    @Benchmark
+    public int findCell() {
+        int hits = 0;
+        for (int i = 0; i < NO_OF_TOUCHES; i++) if (mGeometry.findCell(mTouchXs[i], mTouchYs[i]) >= 0) hits++;
+        return hits;
+    }
+
+    @Benchmark
+    public int findNearestKey() {
+        int hits = 0;
+        for (int i = 0; i < NO_OF_TOUCHES; i++) if (mNearestKeyMap.find(mTouchXs[i], mTouchYs[i]) >= 0) hits++;
+        return hits;
+    }
+
+    /**
+     * One complete PIN entry attempt: typing, verifying and the feedback. Two digits of the next
+     * attempt are typed during the feedback, like the fast typing user. Score is the attempts per minute.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MINUTES)
+    public boolean attempt() {
+        //Type until the attempt is complete.
+        boolean isComplete = false;
+        while (!isComplete) isComplete = mEntryState.onKey(nextDigit());
+        boolean isMatched = mAttemptBuffer.isMatched(mCorrectPin);
+        mEntryState.onVerified();
+
+        mEntryState.onKey(nextDigit());
+        mEntryState.onKey(nextDigit());
+        mEntryState.onFeedbackEnd();
+        return isMatched;
+    }
+
+    private int nextDigit() {
+        mNextDigit = (mNextDigit + 1) % KeyNames.NO_OF_DIGITS;
+        return mNextDigit;
+    }
+
+    /**
+     * Linear scan of all the cells. Baseline for the {@link #findCell()}.
+     */
+    @Benchmark
+    public int findCellLinearScan() {
+        int hits = 0;
+        for (int i = 0; i < NO_OF_TOUCHES; i++) {
+            for (int cell = 0; cell < mGeometry.getCellCount(); cell++) {
+                if (mGeometry.isInCell(cell, mTouchXs[i], mTouchYs[i])) {
+                    hits++;
+                    break;
+                }
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Load time and lookup time of the {@link PinDenylist} with 100k PINs, read from the stream and
+ * memory-mapped from the file.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PinDenylistBenchmark {
+    private static final int NO_OF_PINS = 100000;
+    private static final int NO_OF_LOOKUPS = 1024;
+
+    private byte[] mTable;
+    private File mTableFile;
+    private RandomAccessFile mRandomAccessFile;
+
+    private PinDenylist mDenylist;
+    private PinDenylist mMappedDenylist;
+    private PinDenylist mBloomDenylist;
+    private final int[][] mLookups = new int[NO_OF_LOOKUPS][];
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        int[][] pins = new int[NO_OF_PINS][];
+        for (int i = 0; i < NO_OF_PINS; i++) pins[i] = randomPin(random);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PinDenylist.write(outputStream, pins);
+        mTable = outputStream.toByteArray();
+
+        mTableFile = File.createTempFile("pins", ".bin");
+        FileOutputStream fileOutputStream = new FileOutputStream(mTableFile);
+        fileOutputStream.write(mTable);
+        fileOutputStream.close();
+        mRandomAccessFile = new RandomAccessFile(mTableFile, "r");
+
+        mDenylist = PinDenylist.read(new ByteArrayInputStream(mTable));
+        mMappedDenylist = PinDenylist.map(mRandomAccessFile.getChannel(), 0, mTable.length);
+        mBloomDenylist = PinDenylist.map(mRandomAccessFile.getChannel(), 0, mTable.length);
+        mBloomDenylist.enableBloomFilter(10);
+
+        //Half of the lookups are in the table.
+        for (int i = 0; i < NO_OF_LOOKUPS; i++) mLookups[i] = i % 2 == 0 ? pins[i] : randomPin(random);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        mRandomAccessFile.close();
+        //noinspection ResultOfMethodCallIgnored
+        mTableFile.delete();
+    }
+
+    private static int[] randomPin(Random random) {
+        int[] pin = new int[PinDenylist.MIN_LENGTH + random.nextInt(PinDenylist.MAX_LENGTH - PinDenylist.MIN_LENGTH + 1)];
+        for (int i = 0; i < pin.length; i++) pin[i] = random.nextInt(10);
+        return pin;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public PinDenylist loadFromStream() throws IOException {
+        return PinDenylist.read(new ByteArrayInputStream(mTable));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public PinDenylist loadMapped() throws IOException {
+        return PinDenylist.map(mRandomAccessFile.getChannel(), 0, mTable.length);
+    }
+
+    @Benchmark
+    public int lookup() {
+        int hits = 0;
+        for (int[] pin : mLookups) if (mDenylist.contains(pin)) hits++;
+        return hits;
+    }
+
+    @Benchmark
+    public int lookupMapped() {
+        int hits = 0;
+        for (int[] pin : mLookups) if (mMappedDenylist.contains(pin)) hits++;
+        return hits;
+    }
+
+    @Benchmark
+    public int lookupMappedWithBloomFilter() {
+        int hits = 0;
+        for (int[] pin : mLookups) if (mBloomDenylist.contains(pin)) hits++;
+        return hits;
+    }
+}
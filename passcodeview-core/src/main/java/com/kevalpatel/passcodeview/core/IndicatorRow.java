@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Layout of the row of the PIN indicators in the primitive pixel coordinates. Centers of the visible
+ * indicators are stored in one interleaved x,y array, so the whole row can be drawn with one draw call
+ * per fill state.
+ * <p>
+ * If the row doesn't fit in the available width, the indicators are scaled down until the
+ * {@link #getMinScale() minimum scale}. Longer rows scroll, keeping the next indicator to fill visible.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class IndicatorRow {
+    public static final float DEF_MIN_SCALE = 0.5F;
+
+    private float mMinScale = DEF_MIN_SCALE;    //Smallest scale before the row starts scrolling.
+
+    private float[] mCenters = new float[0];    //Interleaved x,y centers of the visible indicators.
+    private int mCount;                         //Number of the indicators. (PIN length)
+    private int mVisibleCount;                  //Number of the indicators in the visible window.
+    private float mScale = 1;                   //Scale of the indicators.
+    private float mSlotWidth;                   //Scaled width of each indicator including the padding.
+
+    private int mTypedLength;                   //Number of the filled indicators.
+    private int mFirstVisible;                  //Index of the first indicator in the visible window.
+
+    /**
+     * Measure the row centered between the left and right.
+     *
+     * @param left      left of the available space.
+     * @param right     right of the available space.
+     * @param centerY   vertical center of the row.
+     * @param slotWidth unscaled width of each indicator including the padding.
+     * @param count     number of the indicators.
+     */
+    public void measure(float left, float right, float centerY, float slotWidth, int count) {
+        if (count < 0 || slotWidth < 0) throw new IllegalArgumentException("Invalid indicator row.");
+
+        float availableWidth = Math.max(0, right - left);
+        float totalWidth = slotWidth * count;
+
+        mCount = count;
+        mVisibleCount = count;
+        mScale = 1;
+        if (totalWidth > availableWidth) {
+            mScale = availableWidth / totalWidth;
+            if (mScale < mMinScale) {
+                //Scaled indicators are still too wide. Scroll the row.
+                mScale = mMinScale;
+                mVisibleCount = Math.max(1, Math.min(count, (int) (availableWidth / (slotWidth * mMinScale))));
+            }
+        }
+        mSlotWidth = slotWidth * mScale;
+
+        if (mCenters.length < mVisibleCount * 2) mCenters = new float[mVisibleCount * 2];
+        float startX = left + (availableWidth - mSlotWidth * mVisibleCount) / 2;
+        for (int i = 0; i < mVisibleCount; i++) {
+            mCenters[2 * i] = startX + (i + 0.5F) * mSlotWidth;
+            mCenters[2 * i + 1] = centerY;
+        }
+
+        setTypedLength(mTypedLength);
+    }
+
+    /**
+     * Update the number of the filled indicators and scroll the visible window to keep the next
+     * indicator to fill visible.
+     *
+     * @param typedLength number of the digits typed.
+     */
+    public void setTypedLength(int typedLength) {
+        mTypedLength = Math.max(0, typedLength);
+        mFirstVisible = Math.max(0, Math.min(mTypedLength - mVisibleCount + 1, mCount - mVisibleCount));
+    }
+
+    ///////////////// SETTERS/GETTERS //////////////
+
+    /**
+     * @return Interleaved x,y centers of the visible indicators. Only first 2 * {@link #getVisibleCount()}
+     * values are valid. Don't modify the array.
+     */
+    public float[] getCenters() {
+        return mCenters;
+    }
+
+    public int getCount() {
+        return mCount;
+    }
+
+    public int getVisibleCount() {
+        return mVisibleCount;
+    }
+
+    /**
+     * @return Number of the filled indicators in the visible window. Filled indicators are always at
+     * the start of the window.
+     */
+    public int getVisibleFilledCount() {
+        return Math.max(0, Math.min(mTypedLength - mFirstVisible, mVisibleCount));
+    }
+
+    public int getFirstVisible() {
+        return mFirstVisible;
+    }
+
+    /**
+     * @return true if some indicators are not visible and the row is scrolled.
+     */
+    public boolean isScrolling() {
+        return mVisibleCount < mCount;
+    }
+
+    public float getScale() {
+        return mScale;
+    }
+
+    public float getSlotWidth() {
+        return mSlotWidth;
+    }
+
+    public float getRowLeft() {
+        return mVisibleCount == 0 ? 0 : mCenters[0] - mSlotWidth / 2;
+    }
+
+    public float getRowRight() {
+        return mVisibleCount == 0 ? 0 : mCenters[2 * (mVisibleCount - 1)] + mSlotWidth / 2;
+    }
+
+    public float getMinScale() {
+        return mMinScale;
+    }
+
+    /**
+     * @param minScale smallest scale of the indicators before the row starts scrolling. Call
+     *                 {@link #measure(float, float, float, float, int)} again to apply.
+     */
+    public void setMinScale(float minScale) {
+        if (minScale <= 0 || minScale > 1) throw new IllegalArgumentException("Invalid minimum scale.");
+        mMinScale = minScale;
+    }
+}
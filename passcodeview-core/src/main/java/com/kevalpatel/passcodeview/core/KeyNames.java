@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Mapping between the names displayed on the keys and the digit value of the key. Names are passed
+ * as the array indexed by the digit. (e.g. names[5] is the name of the key with value 5.)
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class KeyNames {
+    public static final String BACKSPACE_TITLE = "-1";
+    public static final int BACKSPACE_VALUE = -1;
+    public static final int NO_OF_DIGITS = 10;
+
+    private KeyNames() {
+    }
+
+    /**
+     * Arrange the key names in the keypad grid. First index is the column and the second index is
+     * the row of the key. Empty string is used for the key that should not be displayed.
+     *
+     * @param digitNames names of the keys indexed by the digit.
+     * @return Key names in [{@link KeypadGeometry#NO_OF_COLUMNS}][{@link KeypadGeometry#NO_OF_ROWS}] grid.
+     */
+    public static String[][] buildGrid(String[] digitNames) {
+        if (digitNames.length != NO_OF_DIGITS) throw new IllegalArgumentException("Names required for all digits.");
+
+        return new String[][]{{digitNames[1], digitNames[4], digitNames[7], ""},
+                {digitNames[2], digitNames[5], digitNames[8], digitNames[0]},
+                {digitNames[3], digitNames[6], digitNames[9], BACKSPACE_TITLE}};
+    }
+
+    /**
+     * Find the value of the key.
+     *
+     * @param digitNames names of the keys indexed by the digit.
+     * @param keyName    name of the key.
+     * @return Digit of the key or {@link #BACKSPACE_VALUE} if the key is back space.
+     * @throws IllegalArgumentException if no key has the given name.
+     */
+    public static int getValueOfKey(String[] digitNames, String keyName) {
+        //Check in the keypad order (1 to 9 and then 0), so the duplicate name resolves to the first key.
+        for (int i = 1; i <= NO_OF_DIGITS; i++) {
+            int digit = i % NO_OF_DIGITS;
+            if (keyName.equals(digitNames[digit])) return digit;
+        }
+
+        if (keyName.equals(BACKSPACE_TITLE)) return BACKSPACE_VALUE;
+        else throw new IllegalArgumentException("Invalid key name.");
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Polygon outline of the custom key shape. The outline is given in any coordinates and
+ * {@link #fit(float, float)} scales it to fit in the center of the key, keeping the aspect ratio.
+ * Points inside the fitted outline are found with the even-odd rule, so the non-convex and the
+ * self-intersecting outlines work as they are drawn.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class KeyOutline {
+    private final float[] mPoints;      //Interleaved x,y vertices of the outline.
+    private final float mLeft;          //Bounds of the outline.
+    private final float mTop;
+    private final float mWidth;
+    private final float mHeight;
+
+    /**
+     * @param points interleaved x,y vertices of the outline. The outline is closed automatically.
+     * @throws IllegalArgumentException if there are less than 3 vertices or the outline has no width
+     *                                  or no height.
+     */
+    public KeyOutline(float[] points) {
+        if (points.length < 6 || points.length % 2 != 0)
+            throw new IllegalArgumentException("Outline needs at least 3 x,y vertices.");
+
+        float left = Float.MAX_VALUE;
+        float top = Float.MAX_VALUE;
+        float right = -Float.MAX_VALUE;
+        float bottom = -Float.MAX_VALUE;
+        for (int i = 0; i < points.length; i += 2) {
+            left = Math.min(left, points[i]);
+            right = Math.max(right, points[i]);
+            top = Math.min(top, points[i + 1]);
+            bottom = Math.max(bottom, points[i + 1]);
+        }
+        if (!(right - left > 0) || !(bottom - top > 0))
+            throw new IllegalArgumentException("Outline has no area.");
+
+        mPoints = points.clone();
+        mLeft = left;
+        mTop = top;
+        mWidth = right - left;
+        mHeight = bottom - top;
+    }
+
+    /**
+     * Scale the outline to fit in the center of the area, keeping the aspect ratio.
+     *
+     * @param width  width of the area.
+     * @param height height of the area.
+     * @return interleaved x,y vertices of the fitted outline, relative to the top left of the area.
+     */
+    public float[] fit(float width, float height) {
+        float scale = Math.min(width / mWidth, height / mHeight);
+        float offsetX = (width - mWidth * scale) / 2;
+        float offsetY = (height - mHeight * scale) / 2;
+
+        float[] fitted = new float[mPoints.length];
+        for (int i = 0; i < mPoints.length; i += 2) {
+            fitted[i] = offsetX + (mPoints[i] - mLeft) * scale;
+            fitted[i + 1] = offsetY + (mPoints[i + 1] - mTop) * scale;
+        }
+        return fitted;
+    }
+
+    /**
+     * Check if the point is inside the polygon using the even-odd rule. This doesn't allocate.
+     *
+     * @param points interleaved x,y vertices of the polygon. (e.g. from {@link #fit(float, float)})
+     * @param x      X coordinate of the point.
+     * @param y      Y coordinate of the point.
+     */
+    public static boolean contains(float[] points, float x, float y) {
+        boolean isInside = false;
+        for (int i = 0, j = points.length - 2; i < points.length; j = i, i += 2) {
+            float yi = points[i + 1];
+            float yj = points[j + 1];
+            if ((yi > y) != (yj > y)
+                    && x < (points[j] - points[i]) * (y - yi) / (yj - yi) + points[i]) {
+                isInside = !isInside;
+            }
+        }
+        return isInside;
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Geometry and the key values of the multi row alphanumeric keyboard in the primitive pixel
+ * coordinates. Each row is divided into the same number of units and each key spans one or more
+ * units, so the rows can be staggered and the keys can have different widths.
+ * <p>
+ * The key under the touch point is found in O(1) using the unit table of each row, so the cost of
+ * the hit test doesn't grow with the number of the keys. Keys are indexed row by row from the top
+ * left. All the pages share the same keys. Only the labels and the values change with the page.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class KeyboardLayout {
+    public static final int VALUE_BACKSPACE = KeyNames.BACKSPACE_VALUE;
+    public static final int VALUE_SHIFT = -2;
+    public static final int VALUE_SWITCH_PAGE = -3;
+    public static final int VALUE_ENTER = -4;
+    public static final int VALUE_NONE = -5;
+
+    //Pages of the QWERTY layout
+    public static final int PAGE_LOWER = 0;
+    public static final int PAGE_UPPER = 1;
+    public static final int PAGE_SYMBOLS = 2;
+
+    private static final int QWERTY_UNITS = 20;
+    private static final int[][] QWERTY_SPANS = new int[][]{
+            {2, 2, 2, 2, 2, 2, 2, 2, 2, 2},
+            {2, 2, 2, 2, 2, 2, 2, 2, 2, 2},
+            {-1, 2, 2, 2, 2, 2, 2, 2, 2, 2, -1},
+            {3, 2, 2, 2, 2, 2, 2, 2, 3},
+            {3, 2, 10, 2, 3}};
+
+    private final int mUnitsPerRow;
+    private final int mRows;
+    private final int mKeyCount;
+
+    //Keys
+    private final int[] mKeyRows;                   //Row of each key.
+    private final int[] mKeyFirstUnits;             //First unit of each key in its row.
+    private final int[] mKeySpans;                  //Number of the units of each key.
+    private final int[] mUnitKeys;                  //Key of each unit, row by row. -1 for the gap.
+
+    //Pages
+    private final int[][] mPageValues;              //Value of each key on each page.
+    private final String[][] mPageLabels;           //Label of each key on each page.
+
+    //Box bound
+    private int mBoxLeft;
+    private int mBoxTop;
+    private int mBoxRight;
+    private int mBoxBottom;
+
+    private float mUnitWidth;
+    private float mRowHeight;
+
+    //Key bounds
+    private final int[] mKeyLefts;
+    private final int[] mKeyTops;
+    private final int[] mKeyRights;
+    private final int[] mKeyBottoms;
+
+    /**
+     * @param unitsPerRow number of the units in each row.
+     * @param rowSpans    units of each key, row by row. Negative span is the gap of that many units.
+     * @param pageValues  values of the keys for each page. Character code or one of the VALUE_ constants.
+     * @param pageLabels  labels of the keys for each page. Empty label hides the key on that page.
+     */
+    public KeyboardLayout(int unitsPerRow, int[][] rowSpans, int[][] pageValues, String[][] pageLabels) {
+        if (unitsPerRow <= 0 || rowSpans.length == 0) throw new IllegalArgumentException("Keyboard must have at least one unit.");
+        if (pageValues.length == 0 || pageValues.length != pageLabels.length) throw new IllegalArgumentException("Invalid pages.");
+
+        mUnitsPerRow = unitsPerRow;
+        mRows = rowSpans.length;
+
+        int keyCount = 0;
+        for (int[] spans : rowSpans) for (int span : spans) if (span > 0) keyCount++;
+        mKeyCount = keyCount;
+
+        mKeyRows = new int[keyCount];
+        mKeyFirstUnits = new int[keyCount];
+        mKeySpans = new int[keyCount];
+        mUnitKeys = new int[mRows * unitsPerRow];
+
+        int key = 0;
+        for (int rowNo = 0; rowNo < mRows; rowNo++) {
+            int unit = 0;
+            for (int span : rowSpans[rowNo]) {
+                for (int i = 0; i < Math.abs(span); i++) {
+                    if (unit + i >= unitsPerRow) throw new IllegalArgumentException("Row " + rowNo + " is too wide.");
+                    mUnitKeys[rowNo * unitsPerRow + unit + i] = span > 0 ? key : -1;
+                }
+                if (span > 0) {
+                    mKeyRows[key] = rowNo;
+                    mKeyFirstUnits[key] = unit;
+                    mKeySpans[key] = span;
+                    key++;
+                }
+                unit += Math.abs(span);
+            }
+            for (; unit < unitsPerRow; unit++) mUnitKeys[rowNo * unitsPerRow + unit] = -1;
+        }
+
+        for (int page = 0; page < pageValues.length; page++) {
+            if (pageValues[page].length != keyCount || pageLabels[page].length != keyCount) {
+                throw new IllegalArgumentException("Value and label required for all keys of page " + page + ".");
+            }
+        }
+        mPageValues = pageValues;
+        mPageLabels = pageLabels;
+
+        mKeyLefts = new int[keyCount];
+        mKeyTops = new int[keyCount];
+        mKeyRights = new int[keyCount];
+        mKeyBottoms = new int[keyCount];
+    }
+
+    /**
+     * @return Five row QWERTY layout with the digits row, 43 keys and the lower case, upper case and
+     * symbols pages.
+     */
+    public static KeyboardLayout qwerty() {
+        int[][] values = new int[][]{
+                qwertyPage("1234567890", "qwertyuiop", "asdfghjkl", "zxcvbnm", VALUE_SHIFT),
+                qwertyPage("1234567890", "QWERTYUIOP", "ASDFGHJKL", "ZXCVBNM", VALUE_SHIFT),
+                qwertyPage("1234567890", "!@#$%^&*()", "-_=+;:'\"/", "?[]{}\\|", VALUE_NONE)};
+
+        String[][] labels = new String[values.length][];
+        for (int page = 0; page < values.length; page++) {
+            labels[page] = new String[values[page].length];
+            for (int key = 0; key < values[page].length; key++) {
+                labels[page][key] = getDefaultLabel(values[page][key], page);
+            }
+        }
+        return new KeyboardLayout(QWERTY_UNITS, QWERTY_SPANS, values, labels);
+    }
+
+    private static int[] qwertyPage(String row0, String row1, String row2, String row3, int shiftValue) {
+        int[] values = new int[row0.length() + row1.length() + row2.length() + row3.length() + 2 + 5];
+        int key = 0;
+        for (int i = 0; i < row0.length(); i++) values[key++] = row0.charAt(i);
+        for (int i = 0; i < row1.length(); i++) values[key++] = row1.charAt(i);
+        for (int i = 0; i < row2.length(); i++) values[key++] = row2.charAt(i);
+        values[key++] = shiftValue;
+        for (int i = 0; i < row3.length(); i++) values[key++] = row3.charAt(i);
+        values[key++] = VALUE_BACKSPACE;
+        values[key++] = VALUE_SWITCH_PAGE;
+        values[key++] = ',';
+        values[key++] = ' ';
+        values[key++] = '.';
+        values[key] = VALUE_ENTER;
+        return values;
+    }
+
+    private static String getDefaultLabel(int value, int page) {
+        switch (value) {
+            case VALUE_BACKSPACE:
+                return KeyNames.BACKSPACE_TITLE;
+            case VALUE_SHIFT:
+                return "\u21E7";     //Upwards white arrow
+            case VALUE_SWITCH_PAGE:
+                return page == PAGE_SYMBOLS ? "ABC" : "?123";
+            case VALUE_ENTER:
+                return "OK";
+            case VALUE_NONE:
+                return "";
+            case ' ':
+                return "space";
+            default:
+                return String.valueOf((char) value);
+        }
+    }
+
+    /**
+     * Measure all the keys inside the box.
+     *
+     * @param boxLeft   left of the keyboard.
+     * @param boxTop    top of the keyboard.
+     * @param boxRight  right of the keyboard.
+     * @param boxBottom bottom of the keyboard.
+     */
+    public void measure(int boxLeft, int boxTop, int boxRight, int boxBottom) {
+        mBoxLeft = boxLeft;
+        mBoxTop = boxTop;
+        mBoxRight = boxRight;
+        mBoxBottom = boxBottom;
+
+        mUnitWidth = (float) (boxRight - boxLeft) / mUnitsPerRow;
+        mRowHeight = (float) (boxBottom - boxTop) / mRows;
+
+        for (int key = 0; key < mKeyCount; key++) {
+            mKeyLefts[key] = getUnitLeft(mKeyFirstUnits[key]);
+            mKeyRights[key] = getUnitLeft(mKeyFirstUnits[key] + mKeySpans[key]);
+            mKeyTops[key] = getRowTop(mKeyRows[key]);
+            mKeyBottoms[key] = getRowTop(mKeyRows[key] + 1);
+        }
+    }
+
+    private int getUnitLeft(int unit) {
+        return (int) (mBoxLeft + unit * mUnitWidth);
+    }
+
+    private int getRowTop(int rowNo) {
+        return (int) (mBoxTop + rowNo * mRowHeight);
+    }
+
+    /**
+     * Find the key under the touch point.
+     *
+     * @param touchX touch X coordinate
+     * @param touchY touch Y coordinate
+     * @return Index of the key or -1 if the point is outside of all the keys.
+     */
+    public int findKey(float touchX, float touchY) {
+        if (mUnitWidth <= 0 || mRowHeight <= 0) return -1;     //Not measured yet.
+        if (touchX < mBoxLeft || touchX >= mBoxRight || touchY < mBoxTop || touchY >= mBoxBottom) return -1;
+
+        int unit = Math.min((int) ((touchX - mBoxLeft) / mUnitWidth), mUnitsPerRow - 1);
+        int rowNo = Math.min((int) ((touchY - mBoxTop) / mRowHeight), mRows - 1);
+
+        //Bounds are rounded to the pixels. Move to the neighbour if the point falls on the other side.
+        if (unit > 0 && touchX < getUnitLeft(unit)) unit--;
+        else if (unit < mUnitsPerRow - 1 && touchX >= getUnitLeft(unit + 1)) unit++;
+        if (rowNo > 0 && touchY < getRowTop(rowNo)) rowNo--;
+        else if (rowNo < mRows - 1 && touchY >= getRowTop(rowNo + 1)) rowNo++;
+
+        return mUnitKeys[rowNo * mUnitsPerRow + unit];
+    }
+
+    ///////////////// SETTERS/GETTERS //////////////
+
+    public int getKeyCount() {
+        return mKeyCount;
+    }
+
+    public int getPageCount() {
+        return mPageValues.length;
+    }
+
+    public int getRows() {
+        return mRows;
+    }
+
+    public int getUnitsPerRow() {
+        return mUnitsPerRow;
+    }
+
+    public int getValue(int page, int key) {
+        return mPageValues[page][key];
+    }
+
+    public String getLabel(int page, int key) {
+        return mPageLabels[page][key];
+    }
+
+    public int getKeyRow(int key) {
+        return mKeyRows[key];
+    }
+
+    public int getBoxLeft() {
+        return mBoxLeft;
+    }
+
+    public int getBoxTop() {
+        return mBoxTop;
+    }
+
+    public int getBoxRight() {
+        return mBoxRight;
+    }
+
+    public int getBoxBottom() {
+        return mBoxBottom;
+    }
+
+    public int getKeyLeft(int key) {
+        return mKeyLefts[key];
+    }
+
+    public int getKeyTop(int key) {
+        return mKeyTops[key];
+    }
+
+    public int getKeyRight(int key) {
+        return mKeyRights[key];
+    }
+
+    public int getKeyBottom(int key) {
+        return mKeyBottoms[key];
+    }
+
+    public float getKeyCenterX(int key) {
+        return (mKeyLefts[key] + mKeyRights[key]) * 0.5f;
+    }
+
+    public float getKeyCenterY(int key) {
+        return (mKeyTops[key] + mKeyBottoms[key]) * 0.5f;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Geometry of the keypad or the pattern grid in the primitive pixel coordinates. This measures the box
+ * below the title and above the fingerprint section, divides it into the cells and finds the cell
+ * under the touch point in O(1) using the cell size.
+ * <p>
+ * Cells are indexed column by column. (Cell index = column * rows + row.)
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class KeypadGeometry {
+    public static final int NO_OF_COLUMNS = 3;
+    public static final int NO_OF_ROWS = 4;
+    public static final float KEY_BOARD_BOTTOM_WEIGHT = 0.14F;
+    public static final float KEY_BOARD_TOP_WEIGHT = 0.2F;
+    public static final float ONE_HAND_OFFSET_WEIGHT = 0.3F;
+
+    private final int mColumns;
+    private final int mRows;
+
+    //Box bound
+    private int mBoxLeft;
+    private int mBoxTop;
+    private int mBoxRight;
+    private int mBoxBottom;
+
+    private float mCellWidth;
+    private float mCellHeight;
+
+    //Cell bounds
+    private final int[] mCellLefts;
+    private final int[] mCellTops;
+    private final int[] mCellRights;
+    private final int[] mCellBottoms;
+
+    public KeypadGeometry() {
+        this(NO_OF_COLUMNS, NO_OF_ROWS);
+    }
+
+    /**
+     * @param columns number of the columns in the grid.
+     * @param rows    number of the rows in the grid.
+     */
+    public KeypadGeometry(int columns, int rows) {
+        if (columns <= 0 || rows <= 0) throw new IllegalArgumentException("Grid must have at least one cell.");
+
+        mColumns = columns;
+        mRows = rows;
+        mCellLefts = new int[columns * rows];
+        mCellTops = new int[columns * rows];
+        mCellRights = new int[columns * rows];
+        mCellBottoms = new int[columns * rows];
+    }
+
+    /**
+     * Measure the box and all the cells inside the root view bound.
+     *
+     * @param rootLeft             left of the root view bound.
+     * @param rootTop              top of the root view bound.
+     * @param rootRight            right of the root view bound.
+     * @param rootBottom           bottom of the root view bound.
+     * @param isOneHandOperation   true to shift the box to the right side for the one hand operation.
+     * @param isFingerPrintEnabled true to leave the space for the fingerprint section at the bottom.
+     */
+    public void measure(int rootLeft,
+                        int rootTop,
+                        int rootRight,
+                        int rootBottom,
+                        boolean isOneHandOperation,
+                        boolean isFingerPrintEnabled) {
+        int rootWidth = rootRight - rootLeft;
+        int rootHeight = rootBottom - rootTop;
+
+        mBoxLeft = isOneHandOperation ? (int) (rootWidth * ONE_HAND_OFFSET_WEIGHT) : 0;
+        mBoxRight = rootWidth;
+        mBoxTop = (int) (rootTop + (rootHeight * KEY_BOARD_TOP_WEIGHT));
+        mBoxBottom = (int) (rootBottom - rootHeight * (isFingerPrintEnabled ? KEY_BOARD_BOTTOM_WEIGHT : 0));
+
+        mCellHeight = (mBoxBottom - mBoxTop) / mRows;
+        mCellWidth = (mBoxRight - mBoxLeft) / mColumns;
+
+        for (int colNo = 0; colNo < mColumns; colNo++) {
+            for (int rowNo = 0; rowNo < mRows; rowNo++) {
+                int cell = getCellIndex(colNo, rowNo);
+                mCellLefts[cell] = (int) ((colNo * mCellWidth) + mBoxLeft);
+                mCellRights[cell] = (int) (mCellLefts[cell] + mCellWidth);
+                mCellTops[cell] = (int) ((rowNo * mCellHeight) + mBoxTop);
+                mCellBottoms[cell] = (int) (mCellTops[cell] + mCellHeight);
+            }
+        }
+    }
+
+    /**
+     * Find the cell under the touch point.
+     *
+     * @param touchX touch X coordinate
+     * @param touchY touch Y coordinate
+     * @return Index of the cell or -1 if the point is outside of all the cells.
+     */
+    public int findCell(float touchX, float touchY) {
+        if (mCellWidth <= 0 || mCellHeight <= 0) return -1;     //Not measured yet.
+        if (touchX < mBoxLeft || touchX >= mBoxRight || touchY < mBoxTop || touchY >= mBoxBottom) return -1;
+
+        int colNo = Math.min((int) ((touchX - mBoxLeft) / mCellWidth), mColumns - 1);
+        int rowNo = Math.min((int) ((touchY - mBoxTop) / mCellHeight), mRows - 1);
+
+        //Cell bounds are rounded to the pixels. Move to the neighbour if the point falls on the other side.
+        if (colNo > 0 && touchX < mCellLefts[getCellIndex(colNo, 0)]) colNo--;
+        else if (colNo < mColumns - 1 && touchX >= mCellRights[getCellIndex(colNo, 0)]) colNo++;
+        if (rowNo > 0 && touchY < mCellTops[getCellIndex(0, rowNo)]) rowNo--;
+        else if (rowNo < mRows - 1 && touchY >= mCellBottoms[getCellIndex(0, rowNo)]) rowNo++;
+
+        int cell = getCellIndex(colNo, rowNo);
+        return isInCell(cell, touchX, touchY) ? cell : -1;
+    }
+
+    /**
+     * @return true if the point is inside the cell bound.
+     */
+    public boolean isInCell(int cell, float touchX, float touchY) {
+        return touchX >= mCellLefts[cell] && touchX < mCellRights[cell]
+                && touchY >= mCellTops[cell] && touchY < mCellBottoms[cell];
+    }
+
+    ///////////////// SETTERS/GETTERS //////////////
+
+    public int getCellIndex(int colNo, int rowNo) {
+        return colNo * mRows + rowNo;
+    }
+
+    public int getColumns() {
+        return mColumns;
+    }
+
+    public int getRows() {
+        return mRows;
+    }
+
+    public int getCellCount() {
+        return mColumns * mRows;
+    }
+
+    public int getBoxLeft() {
+        return mBoxLeft;
+    }
+
+    public int getBoxTop() {
+        return mBoxTop;
+    }
+
+    public int getBoxRight() {
+        return mBoxRight;
+    }
+
+    public int getBoxBottom() {
+        return mBoxBottom;
+    }
+
+    public int getCellLeft(int cell) {
+        return mCellLefts[cell];
+    }
+
+    public int getCellTop(int cell) {
+        return mCellTops[cell];
+    }
+
+    public int getCellRight(int cell) {
+        return mCellRights[cell];
+    }
+
+    public int getCellBottom(int cell) {
+        return mCellBottoms[cell];
+    }
+
+    public float getCellCenterX(int cell) {
+        return (mCellLefts[cell] + mCellRights[cell]) * 0.5f;
+    }
+
+    public float getCellCenterY(int cell) {
+        return (mCellTops[cell] + mCellBottoms[cell]) * 0.5f;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+import java.util.Arrays;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Nearest key lookup over the key centers. The area is partitioned into the Voronoi cells of the
+ * key centers, capped by the maximum distance from the center, so the taps between the keys resolve
+ * to the closest key instead of the dead zone.
+ * <p>
+ * The partition is precomputed into the tiles by {@link #build(int, int, int, int, float[], float[], boolean[], float)}
+ * at the layout time. Each tile stores the key it belongs to, so {@link #find(float, float)} is a
+ * single array read. Only the tiles crossed by the partition border check the distance to each key.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class NearestKeyMap {
+    public static final int DEFAULT_TILE_SIZE = 16;
+
+    private static final byte NO_KEY = -1;
+    private static final byte BORDER = -2;      //Tile is crossed by the partition border.
+
+    private final int mTileSize;
+
+    private int mLeft;
+    private int mTop;
+    private int mRight;
+    private int mBottom;
+    private int mColumns;
+    private int mRows;
+    private byte[] mTiles = new byte[0];
+    private int[] mCornerKeys = new int[0];
+
+    private float[] mCenterXs = new float[0];
+    private float[] mCenterYs = new float[0];
+    private boolean[] mIsEnabled = new boolean[0];
+    private float mMaxDistanceSquare;
+
+    public NearestKeyMap() {
+        this(DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * @param tileSize size of the lookup tile in pixels.
+     */
+    public NearestKeyMap(int tileSize) {
+        if (tileSize <= 0) throw new IllegalArgumentException("Tile size must be positive.");
+        mTileSize = tileSize;
+    }
+
+    /**
+     * Precompute the partition of the area.
+     *
+     * @param left        left of the area.
+     * @param top         top of the area.
+     * @param right       right of the area.
+     * @param bottom      bottom of the area.
+     * @param centerXs    X coordinates of the key centers.
+     * @param centerYs    Y coordinates of the key centers.
+     * @param isEnabled   false for the keys which should never be found. (e.g. Empty key.)
+     * @param maxDistance maximum distance of the touch point from the key center.
+     */
+    public void build(int left,
+                      int top,
+                      int right,
+                      int bottom,
+                      float[] centerXs,
+                      float[] centerYs,
+                      boolean[] isEnabled,
+                      float maxDistance) {
+        if (centerXs.length != centerYs.length || centerXs.length != isEnabled.length)
+            throw new IllegalArgumentException("Key arrays must have the same length.");
+        if (centerXs.length > Byte.MAX_VALUE) throw new IllegalArgumentException("Too many keys.");
+
+        mLeft = left;
+        mTop = top;
+        mRight = right;
+        mBottom = bottom;
+        mCenterXs = Arrays.copyOf(centerXs, centerXs.length);
+        mCenterYs = Arrays.copyOf(centerYs, centerYs.length);
+        mIsEnabled = Arrays.copyOf(isEnabled, isEnabled.length);
+        mMaxDistanceSquare = maxDistance * maxDistance;
+
+        mColumns = Math.max(0, (right - left + mTileSize - 1) / mTileSize);
+        mRows = Math.max(0, (bottom - top + mTileSize - 1) / mTileSize);
+        if (mTiles.length < mColumns * mRows) mTiles = new byte[mColumns * mRows];
+        if (mCornerKeys.length < (mColumns + 1) * (mRows + 1)) mCornerKeys = new int[(mColumns + 1) * (mRows + 1)];
+
+        //Nearest key of each tile corner.
+        for (int row = 0; row <= mRows; row++) {
+            for (int col = 0; col <= mColumns; col++) {
+                mCornerKeys[row * (mColumns + 1) + col] = findExact(left + col * mTileSize, top + row * mTileSize);
+            }
+        }
+
+        //Cells of the capped partition are convex, so the tile with all the corners in the same cell
+        //is completely inside the cell.
+        for (int row = 0; row < mRows; row++) {
+            for (int col = 0; col < mColumns; col++) {
+                int corner = row * (mColumns + 1) + col;
+                int key = mCornerKeys[corner];
+                boolean isSame = key == mCornerKeys[corner + 1]
+                        && key == mCornerKeys[corner + mColumns + 1]
+                        && key == mCornerKeys[corner + mColumns + 2];
+
+                byte tile;
+                if (!isSame) {
+                    tile = BORDER;
+                } else if (key >= 0) {
+                    tile = (byte) key;
+                } else {
+                    //Area outside of all the keys isn't convex. Check if any key reaches into the tile.
+                    tile = isAnyKeyInReach(left + col * mTileSize, top + row * mTileSize) ? BORDER : NO_KEY;
+                }
+                mTiles[row * mColumns + col] = tile;
+            }
+        }
+    }
+
+    /**
+     * Find the nearest key.
+     *
+     * @param touchX touch X coordinate
+     * @param touchY touch Y coordinate
+     * @return Index of the nearest key or -1 if the point is outside the area or far from all the keys.
+     */
+    public int find(float touchX, float touchY) {
+        if (touchX < mLeft || touchX >= mRight || touchY < mTop || touchY >= mBottom) return -1;
+
+        int col = (int) ((touchX - mLeft) / mTileSize);
+        int row = (int) ((touchY - mTop) / mTileSize);
+        byte tile = mTiles[row * mColumns + col];
+        return tile == BORDER ? findExact(touchX, touchY) : tile;
+    }
+
+    /**
+     * Check the distance to each key.
+     */
+    private int findExact(float touchX, float touchY) {
+        int nearest = -1;
+        float nearestDistance = mMaxDistanceSquare;
+        for (int i = 0; i < mCenterXs.length; i++) {
+            if (!mIsEnabled[i]) continue;
+
+            float dx = touchX - mCenterXs[i];
+            float dy = touchY - mCenterYs[i];
+            float distance = dx * dx + dy * dy;
+            if (distance <= nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    private boolean isAnyKeyInReach(int tileLeft, int tileTop) {
+        for (int i = 0; i < mCenterXs.length; i++) {
+            if (!mIsEnabled[i]) continue;
+
+            //Distance from the key center to the closest point of the tile.
+            float dx = Math.max(Math.max(tileLeft - mCenterXs[i], mCenterXs[i] - (tileLeft + mTileSize)), 0);
+            float dy = Math.max(Math.max(tileTop - mCenterYs[i], mCenterYs[i] - (tileTop + mTileSize)), 0);
+            if (dx * dx + dy * dy <= mMaxDistanceSquare) return true;
+        }
+        return false;
+    }
+}
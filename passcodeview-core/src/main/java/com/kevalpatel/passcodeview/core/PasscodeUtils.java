@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * PIN validation and matching without any Android dependency.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class PasscodeUtils {
+
+    private PasscodeUtils() {
+    }
+
+    /**
+     * Check if the given pin is valid or not?
+     *
+     * @param pinToCheck pin to validate
+     * @return true if the entered pin only contains digits between 0 and 9.
+     */
+    public static boolean isValidPin(int[] pinToCheck) {
+        for (int i : pinToCheck) if (i > 9 || i < 0) return false;
+        return true;
+    }
+
+    /**
+     * Compare the correct PIN with the first {@code typedLength} digits of the typed PIN.
+     *
+     * @param correctPin  correct pin.
+     * @param pinToCheck  pin entered by the user.
+     * @param typedLength number of the digits entered by the user.
+     * @return true if the both pin matches.
+     */
+    public static boolean isPINMatched(int[] correctPin, int[] pinToCheck, int typedLength) {
+        if (correctPin.length != typedLength) return false;
+        for (int i = 0; i < typedLength; i++) if (correctPin[i] != pinToCheck[i]) return false;
+        return true;
+    }
+}
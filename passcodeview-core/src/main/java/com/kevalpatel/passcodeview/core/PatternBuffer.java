@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview.core;
+
+import java.util.Arrays;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Selected cells of the pattern packed into the long words. Each cell is stored as the 7 bit value
+ * (cell index + 1), nine cells in each long, so the zero value marks the end of the pattern and
+ * the packed words alone identify the pattern. The pattern of up to nine cells is a single long.
+ * <p>
+ * The bitset of the selected cells finds the already selected cell in O(1). Comparing two patterns
+ * compares the packed words, at most {@link #MAX_WORDS} of them, without decoding the cells.
+ * Supports the grids up to {@link #MAX_GRID_SIZE} x {@link #MAX_GRID_SIZE}.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class PatternBuffer {
+    public static final int MAX_GRID_SIZE = 10;
+    public static final int MAX_CELLS = MAX_GRID_SIZE * MAX_GRID_SIZE;
+
+    private static final int BITS_PER_CELL = 7;
+    private static final int CELLS_PER_WORD = 9;
+    private static final long CELL_MASK = (1L << BITS_PER_CELL) - 1;
+
+    /**
+     * Number of the long words to store the pattern with all the cells of the largest grid.
+     */
+    public static final int MAX_WORDS = (MAX_CELLS + CELLS_PER_WORD - 1) / CELLS_PER_WORD;
+
+    private final long[] mWords = new long[MAX_WORDS];
+    private final long[] mSelected = new long[(MAX_CELLS + 63) / 64];
+    private int mSize;
+
+    public PatternBuffer() {
+        //Do nothing
+    }
+
+    /**
+     * Encode the pattern.
+     *
+     * @param cells indexes of the pattern cells in the selection order.
+     * @return Packed pattern.
+     * @throws IllegalArgumentException if any cell is out of the range or selected twice.
+     */
+    public static PatternBuffer fromArray(int[] cells) {
+        PatternBuffer buffer = new PatternBuffer();
+        for (int cell : cells) {
+            if (!buffer.add(cell)) throw new IllegalArgumentException("Invalid pattern cell: " + cell);
+        }
+        return buffer;
+    }
+
+    /**
+     * Decode the pattern stored using {@link #toLongArray()}.
+     *
+     * @param words packed words of the pattern.
+     * @return Packed pattern.
+     * @throws IllegalArgumentException if the words are not the valid pattern.
+     */
+    public static PatternBuffer fromLongArray(long[] words) {
+        if (words.length > MAX_WORDS) throw new IllegalArgumentException("Pattern is too long.");
+
+        PatternBuffer buffer = new PatternBuffer();
+        for (int i = 0; i < words.length * CELLS_PER_WORD; i++) {
+            long value = (words[i / CELLS_PER_WORD] >>> ((i % CELLS_PER_WORD) * BITS_PER_CELL)) & CELL_MASK;
+            if (value == 0) break;
+            if (!buffer.add((int) value - 1)) throw new IllegalArgumentException("Invalid pattern cell: " + (value - 1));
+        }
+        if (!Arrays.equals(words, buffer.toLongArray())) throw new IllegalArgumentException("Invalid pattern.");
+        return buffer;
+    }
+
+    /**
+     * Append the cell at the end of the pattern.
+     *
+     * @param cell index of the cell.
+     * @return false if the cell is out of the range or already selected. Pattern is not changed.
+     */
+    public boolean add(int cell) {
+        if (cell < 0 || cell >= MAX_CELLS || contains(cell)) return false;
+
+        mWords[mSize / CELLS_PER_WORD] |= (cell + 1L) << ((mSize % CELLS_PER_WORD) * BITS_PER_CELL);
+        mSelected[cell >>> 6] |= 1L << cell;
+        mSize++;
+        return true;
+    }
+
+    /**
+     * Remove all the cells.
+     */
+    public void clear() {
+        Arrays.fill(mWords, 0);
+        Arrays.fill(mSelected, 0);
+        mSize = 0;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * @param index position of the cell in the pattern.
+     * @return Index of the cell.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= mSize) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+        return (int) ((mWords[index / CELLS_PER_WORD] >>> ((index % CELLS_PER_WORD) * BITS_PER_CELL)) & CELL_MASK) - 1;
+    }
+
+    /**
+     * @return true if the cell is already selected. This is O(1).
+     */
+    public boolean contains(int cell) {
+        return cell >= 0 && cell < MAX_CELLS && (mSelected[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Check if the buffer contains exactly the given pattern.
+     *
+     * @param correctPattern correct pattern.
+     * @return true if the both patterns are same.
+     */
+    public boolean isMatched(PatternBuffer correctPattern) {
+        if (mSize != correctPattern.mSize) return false;
+        for (int i = 0; i < getWordCount(); i++) if (mWords[i] != correctPattern.mWords[i]) return false;
+        return true;
+    }
+
+    /**
+     * @return Copy of the cells in the selection order.
+     */
+    public int[] toArray() {
+        int[] cells = new int[mSize];
+        for (int i = 0; i < mSize; i++) cells[i] = get(i);
+        return cells;
+    }
+
+    /**
+     * @return Packed words of the pattern for the storage. Decode using {@link #fromLongArray(long[])}.
+     */
+    public long[] toLongArray() {
+        return Arrays.copyOf(mWords, getWordCount());
+    }
+
+    /**
+     * @return Number of the words used by the pattern.
+     */
+    private int getWordCount() {
+        return (mSize + CELLS_PER_WORD - 1) / CELLS_PER_WORD;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof PatternBuffer && isMatched((PatternBuffer) o));
+    }
+
+    @Override
+    public int hashCode() {
+        long hash = 0;
+        for (int i = 0; i < getWordCount(); i++) hash = hash * 31 + mWords[i];
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
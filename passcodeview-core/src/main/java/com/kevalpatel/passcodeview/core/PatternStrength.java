@@ -0,0 +1,315 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Counts the valid patterns of the grid and scores the strength of the pattern in bits.
+ * <p>
+ * The move between two cells passes through the cells on the straight line between them. The move
+ * is valid only if all those cells are already selected, otherwise the finger would select them on
+ * the way. Knight moves (e.g. one column and two rows) don't pass through any cell, so they are
+ * always valid.
+ * <p>
+ * Number of the valid patterns of each length is counted by the bitmask dynamic programming over
+ * the (selected cells, last cell) states. The counts are computed once per grid size on the
+ * background thread and cached. Use {@link #precompute(int, int)} as soon as the grid size is known
+ * and {@link #forGrid(int, int)} to get the estimator.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class PatternStrength {
+    /**
+     * Shortest pattern counted in the search space.
+     */
+    public static final int MIN_PATTERN_LENGTH = 4;
+
+    /**
+     * Patterns are counted exactly for the grids up to this many cells. (e.g. 4x4.) Larger grids
+     * use the number of the cell permutations as the upper bound, so the estimator stays bounded.
+     */
+    public static final int MAX_EXACT_CELLS = 16;
+
+    private static final ConcurrentHashMap<Integer, Future<PatternStrength>> sCache = new ConcurrentHashMap<>();
+    private static final ExecutorService sExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "PatternStrength");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final int mColumns;
+    private final int mRows;
+    private final int mCellCount;
+
+    /**
+     * Cells between the two cells, indexed by (from * cells + to).
+     */
+    private final int[][] mPassThroughCells;
+
+    /**
+     * Number of the valid patterns indexed by the length.
+     */
+    private final double[] mPatternCounts;
+
+    /**
+     * Start counting the patterns of the grid on the background thread, if not already started.
+     *
+     * @param columns number of the columns in the grid.
+     * @param rows    number of the rows in the grid.
+     * @return Future of the estimator.
+     */
+    public static Future<PatternStrength> precompute(final int columns, final int rows) {
+        if (columns <= 0 || rows <= 0 || columns > PatternBuffer.MAX_GRID_SIZE || rows > PatternBuffer.MAX_GRID_SIZE)
+            throw new IllegalArgumentException("Invalid grid size.");
+
+        Integer key = columns * (PatternBuffer.MAX_GRID_SIZE + 1) + rows;
+        Future<PatternStrength> future = sCache.get(key);
+        if (future != null) return future;
+
+        FutureTask<PatternStrength> task = new FutureTask<>(new Callable<PatternStrength>() {
+            @Override
+            public PatternStrength call() throws Exception {
+                return new PatternStrength(columns, rows);
+            }
+        });
+        future = sCache.putIfAbsent(key, task);
+        if (future != null) return future;  //Other thread started the same grid.
+
+        sExecutor.execute(task);
+        return task;
+    }
+
+    /**
+     * Get the estimator of the grid. This waits if the patterns are still being counted.
+     *
+     * @param columns number of the columns in the grid.
+     * @param rows    number of the rows in the grid.
+     * @return Estimator of the grid.
+     */
+    public static PatternStrength forGrid(int columns, int rows) {
+        try {
+            return precompute(columns, rows).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while counting the patterns.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cannot count the patterns.", e.getCause());
+        }
+    }
+
+    /**
+     * Count the patterns on the calling thread. Use {@link #forGrid(int, int)} to get the cached estimator.
+     */
+    PatternStrength(int columns, int rows) {
+        mColumns = columns;
+        mRows = rows;
+        mCellCount = columns * rows;
+
+        mPassThroughCells = new int[mCellCount * mCellCount][];
+        for (int from = 0; from < mCellCount; from++) {
+            for (int to = 0; to < mCellCount; to++) {
+                mPassThroughCells[from * mCellCount + to] = findPassThroughCells(from, to);
+            }
+        }
+
+        mPatternCounts = mCellCount <= MAX_EXACT_CELLS ? countPatterns() : countPermutations();
+    }
+
+    /**
+     * Cells on the straight line between the two cells, excluding both ends.
+     */
+    private int[] findPassThroughCells(int from, int to) {
+        int dCol = to / mRows - from / mRows;
+        int dRow = to % mRows - from % mRows;
+        int steps = gcd(Math.abs(dCol), Math.abs(dRow));
+        if (steps <= 1) return new int[0];
+
+        int[] cells = new int[steps - 1];
+        for (int i = 1; i < steps; i++) {
+            int col = from / mRows + dCol / steps * i;
+            int row = from % mRows + dRow / steps * i;
+            cells[i - 1] = col * mRows + row;
+        }
+        return cells;
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * Bitmask dynamic programming. ways[mask * cells + last] is the number of the valid patterns
+     * which selected exactly the cells of the mask and ended on the last cell. It is the sum of the
+     * ways of the mask without the last cell, ending on any cell which can move to the last cell.
+     * Smaller masks are always filled first, and the ways of one mask are next to each other in the
+     * table, so the sum reads the memory in order.
+     */
+    private double[] countPatterns() {
+        int n = mCellCount;
+
+        //Cells which must be selected before moving between two cells.
+        int[] requiredMasks = new int[n * n];
+        for (int i = 0; i < n * n; i++) {
+            for (int cell : mPassThroughCells[i]) requiredMasks[i] |= 1 << cell;
+        }
+
+        long[] ways = new long[(1 << n) * n];
+        long[] counts = new long[n + 1];
+        for (int cell = 0; cell < n; cell++) ways[(1 << cell) * n + cell] = 1;
+        counts[1] = n;
+
+        for (int mask = 1; mask < (1 << n); mask++) {
+            int size = Integer.bitCount(mask);
+            if (size == 1) continue;
+
+            long maskCount = 0;
+            for (int lastCells = mask; lastCells != 0; lastCells &= lastCells - 1) {
+                int last = Integer.numberOfTrailingZeros(lastCells);
+                int prevMask = mask & ~(1 << last);
+                int prevOffset = prevMask * n;
+                int requiredOffset = last * n;
+
+                long count = 0;
+                for (int prevCells = prevMask; prevCells != 0; prevCells &= prevCells - 1) {
+                    int prev = Integer.numberOfTrailingZeros(prevCells);
+                    if ((requiredMasks[requiredOffset + prev] & ~prevMask) == 0) count += ways[prevOffset + prev];
+                }
+                ways[mask * n + last] = count;
+                maskCount += count;
+            }
+            counts[size] += maskCount;
+        }
+
+        double[] patternCounts = new double[n + 1];
+        for (int i = 0; i <= n; i++) patternCounts[i] = counts[i];
+        return patternCounts;
+    }
+
+    /**
+     * Upper bound of the pattern counts of the large grids. Number of the ordered selections of the
+     * cells, ignoring the pass through rule.
+     */
+    private double[] countPermutations() {
+        double[] patternCounts = new double[mCellCount + 1];
+        double count = 1;
+        for (int length = 1; length <= mCellCount; length++) {
+            count *= mCellCount - length + 1;
+            patternCounts[length] = count;
+        }
+        return patternCounts;
+    }
+
+    /**
+     * @return true if the move from the last cell to the next cell is valid with the selected cells.
+     */
+    private boolean isValidMove(boolean[] isSelected, int last, int next) {
+        if (isSelected[next]) return false;
+        for (int cell : mPassThroughCells[last * mCellCount + next]) if (!isSelected[cell]) return false;
+        return true;
+    }
+
+    /**
+     * Strength of the pattern in bits. Each cell adds the bits of choosing it from all the valid
+     * moves at that point. Continuing in the same direction as the previous move is the first guess
+     * of the attacker, so it adds only one bit.
+     *
+     * @param pattern indexes of the pattern cells in the selection order.
+     * @return Strength of the pattern in bits.
+     * @throws IllegalArgumentException if the pattern is not valid on the grid.
+     */
+    public double getStrengthBits(int[] pattern) {
+        if (pattern.length == 0) return 0;
+
+        boolean[] isSelected = new boolean[mCellCount];
+        double bits = log2(mCellCount);
+        int prevDCol = 0;
+        int prevDRow = 0;
+        for (int i = 0; i < pattern.length; i++) {
+            int cell = pattern[i];
+            if (cell < 0 || cell >= mCellCount) throw new IllegalArgumentException("Invalid pattern cell: " + cell);
+
+            if (i > 0) {
+                int last = pattern[i - 1];
+                if (!isValidMove(isSelected, last, cell)) throw new IllegalArgumentException("Invalid move to: " + cell);
+
+                int options = 0;
+                for (int next = 0; next < mCellCount; next++) if (isValidMove(isSelected, last, next)) options++;
+
+                //Direction of the move reduced to the smallest step.
+                int dCol = cell / mRows - last / mRows;
+                int dRow = cell % mRows - last % mRows;
+                int steps = gcd(Math.abs(dCol), Math.abs(dRow));
+                dCol /= steps;
+                dRow /= steps;
+
+                bits += dCol == prevDCol && dRow == prevDRow ? Math.min(1, log2(options)) : log2(options);
+                prevDCol = dCol;
+                prevDRow = dRow;
+            }
+            isSelected[cell] = true;
+        }
+        return bits;
+    }
+
+    /**
+     * @param length number of the cells in the pattern.
+     * @return Number of the valid patterns with exactly that many cells. Upper bound for the grids
+     * larger than {@link #MAX_EXACT_CELLS} cells.
+     */
+    public double getPatternCount(int length) {
+        return length < 0 || length > mCellCount ? 0 : mPatternCounts[length];
+    }
+
+    /**
+     * @param maxLength longest pattern length.
+     * @return Bits of the search space of all the valid patterns from {@link #MIN_PATTERN_LENGTH}
+     * to the given length cells.
+     */
+    public double getSearchSpaceBits(int maxLength) {
+        double count = 0;
+        for (int length = MIN_PATTERN_LENGTH; length <= Math.min(maxLength, mCellCount); length++) {
+            count += mPatternCounts[length];
+        }
+        return count == 0 ? 0 : log2(count);
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+
+    public int getColumns() {
+        return mColumns;
+    }
+
+    public int getRows() {
+        return mRows;
+    }
+}
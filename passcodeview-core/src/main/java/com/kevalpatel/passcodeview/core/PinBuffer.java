@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+import java.util.Arrays;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Primitive buffer of the typed PIN digits. Values are stored in the int array, so adding or
+ * removing the value doesn't box it. The {@link ChangeListener} gets notified with the new size
+ * every time the content changes. Selected pattern cells are stored in {@link PatternBuffer}.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class PinBuffer {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int[] mValues = new int[INITIAL_CAPACITY];
+    private int mSize;
+
+    private ChangeListener mChangeListener;
+
+    public PinBuffer() {
+        //Do nothing
+    }
+
+    public void setChangeListener(ChangeListener listener) {
+        mChangeListener = listener;
+    }
+
+    /**
+     * Append the value at the end of the buffer.
+     *
+     * @param value digit.
+     */
+    public void add(int value) {
+        if (mSize == mValues.length) mValues = Arrays.copyOf(mValues, mSize * 2);
+        mValues[mSize++] = value;
+        notifyChange();
+    }
+
+    /**
+     * Remove the last value from the buffer. This does nothing if the buffer is empty.
+     */
+    public void removeLast() {
+        if (mSize == 0) return;
+        mSize--;
+        notifyChange();
+    }
+
+    /**
+     * Remove all the values. Allocated array is kept for the reuse.
+     */
+    public void clear() {
+        mSize = 0;
+        notifyChange();
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= mSize) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+        return mValues[index];
+    }
+
+    public boolean contains(int value) {
+        for (int i = 0; i < mSize; i++) if (mValues[i] == value) return true;
+        return false;
+    }
+
+    /**
+     * @return Copy of the values in the buffer.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(mValues, mSize);
+    }
+
+    /**
+     * Check if the buffer contains exactly the given PIN.
+     *
+     * @param correctPin correct pin.
+     * @return true if the both pin matches.
+     */
+    public boolean isMatched(int[] correctPin) {
+        return PasscodeUtils.isPINMatched(correctPin, mValues, mSize);
+    }
+
+    private void notifyChange() {
+        if (mChangeListener != null) mChangeListener.onPinBufferChange(mSize);
+    }
+
+    public interface ChangeListener {
+
+        /**
+         * @param size new size of the buffer.
+         */
+        void onPinBufferChange(int size);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Set of the PINs which are too common to be used, backed by the packed sorted table of ints.
+ * <p>
+ * Each PIN of {@link #MIN_LENGTH} to {@link #MAX_LENGTH} digits is encoded as
+ * (length * 10^8 + PIN value), so the PINs with the leading zeros don't collide and one int holds
+ * the whole PIN. The table is a {@link #HEADER_SIZE} bytes header (magic, version and count) followed
+ * by the sorted encoded PINs in the big endian order. The table is used directly from the bytes
+ * through the {@link IntBuffer}, either memory-mapped or read in one block, so no object is created
+ * per PIN. Lookup is the binary search, with the optional Bloom filter to reject most of the PINs
+ * which are not in the table without touching the table.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class PinDenylist {
+    public static final int MAGIC = 0x50494E53;     //"PINS"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 12;
+    public static final int MIN_LENGTH = 4;
+    public static final int MAX_LENGTH = 8;
+
+    private static final int LENGTH_MULTIPLIER = 100000000;
+
+    private final IntBuffer mTable;
+    private final int mSize;
+
+    private long[] mBloomBits;
+    private int mBloomHashCount;
+
+    private PinDenylist(IntBuffer table) {
+        mTable = table;
+        mSize = table.remaining();
+    }
+
+    /**
+     * Read the table from the stream. The entries are read into one byte array without decoding.
+     *
+     * @param inputStream stream of the table. Stream is not closed.
+     * @return Denylist backed by the heap buffer.
+     * @throws IOException if the stream cannot be read or doesn't contain the valid table.
+     */
+    public static PinDenylist read(InputStream inputStream) throws IOException {
+        DataInputStream dataStream = new DataInputStream(inputStream);
+        int count = readHeader(dataStream.readInt(), dataStream.readInt(), dataStream.readInt());
+
+        byte[] entries = new byte[count * 4];
+        dataStream.readFully(entries);
+        return new PinDenylist(ByteBuffer.wrap(entries).asIntBuffer());
+    }
+
+    /**
+     * Memory map the table from the file. Only the pages touched by the lookups are loaded.
+     *
+     * @param channel channel of the file.
+     * @param offset  offset of the table in the file.
+     * @param length  length of the table in bytes.
+     * @return Denylist backed by the mapped buffer.
+     * @throws IOException if the file cannot be mapped or doesn't contain the valid table.
+     */
+    public static PinDenylist map(FileChannel channel, long offset, long length) throws IOException {
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        int count = readHeader(buffer.getInt(), buffer.getInt(), buffer.getInt());
+        if (buffer.remaining() < count * 4) throw new IOException("Table is truncated.");
+
+        IntBuffer table = buffer.asIntBuffer();
+        table.limit(count);
+        return new PinDenylist(table);
+    }
+
+    /**
+     * @return Number of the entries.
+     */
+    private static int readHeader(int magic, int version, int count) throws IOException {
+        if (magic != MAGIC) throw new IOException("Not a PIN table.");
+        if (version != VERSION) throw new IOException("Unsupported PIN table version: " + version);
+        if (count < 0) throw new IOException("Invalid PIN table size: " + count);
+        return count;
+    }
+
+    /**
+     * Write the table. (e.g. To build the denylist asset of the application.)
+     *
+     * @param outputStream stream to write the table. Stream is not closed.
+     * @param pins         PINs to add. Duplicate PINs are written once.
+     * @throws IllegalArgumentException if any PIN is not {@link #MIN_LENGTH} to {@link #MAX_LENGTH} digits.
+     */
+    public static void write(OutputStream outputStream, int[][] pins) throws IOException {
+        int[] entries = new int[pins.length];
+        for (int i = 0; i < pins.length; i++) {
+            entries[i] = encode(pins[i]);
+            if (entries[i] < 0) throw new IllegalArgumentException("Invalid PIN: " + Arrays.toString(pins[i]));
+        }
+        Arrays.sort(entries);
+
+        int count = 0;
+        for (int i = 0; i < entries.length; i++) {
+            if (i == 0 || entries[i] != entries[i - 1]) entries[count++] = entries[i];
+        }
+
+        DataOutputStream dataStream = new DataOutputStream(outputStream);
+        dataStream.writeInt(MAGIC);
+        dataStream.writeInt(VERSION);
+        dataStream.writeInt(count);
+        for (int i = 0; i < count; i++) dataStream.writeInt(entries[i]);
+        dataStream.flush();
+    }
+
+    /**
+     * @param pin digits of the PIN.
+     * @return Encoded PIN or -1 if the PIN cannot be in the table.
+     */
+    private static int encode(int[] pin) {
+        if (pin.length < MIN_LENGTH || pin.length > MAX_LENGTH) return -1;
+
+        int value = 0;
+        for (int digit : pin) {
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return pin.length * LENGTH_MULTIPLIER + value;
+    }
+
+    /**
+     * Check the filter bits before the table lookups. Most of the PINs which are not in the table
+     * are rejected by the filter without touching the table, which keeps the mapped pages cold.
+     * The filter takes bitsPerEntry bits per entry on the heap.
+     *
+     * @param bitsPerEntry filter bits per entry. 10 bits give about 1% false positives.
+     */
+    public void enableBloomFilter(int bitsPerEntry) {
+        if (bitsPerEntry <= 0) throw new IllegalArgumentException("Bits per entry must be positive.");
+
+        long[] bits = new long[(int) ((Math.max(mSize, 1) * (long) bitsPerEntry + 63) / 64)];
+        int hashCount = Math.max(1, (int) Math.round(bitsPerEntry * Math.log(2)));
+        for (int i = 0; i < mSize; i++) {
+            int entry = mTable.get(i);
+            for (int h = 0; h < hashCount; h++) {
+                long bit = bloomIndex(entry, h, bits.length * 64L);
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+        mBloomHashCount = hashCount;
+        mBloomBits = bits;
+    }
+
+    /**
+     * Double hashing of the entry. Index of the bit for the h-th hash function.
+     */
+    private static long bloomIndex(int entry, int h, long bitCount) {
+        long hash = entry * 0x9E3779B97F4A7C15L;
+        int hash1 = (int) (hash >>> 32);
+        int hash2 = (int) hash | 1;
+        return ((hash1 + h * hash2) & 0xFFFFFFFFL) % bitCount;
+    }
+
+    /**
+     * @param pin digits of the PIN.
+     * @return true if the PIN is in the denylist.
+     */
+    public boolean contains(int[] pin) {
+        int entry = encode(pin);
+        if (entry < 0) return false;
+
+        if (mBloomBits != null) {
+            for (int h = 0; h < mBloomHashCount; h++) {
+                long bit = bloomIndex(entry, h, mBloomBits.length * 64L);
+                if ((mBloomBits[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+            }
+        }
+
+        int low = 0;
+        int high = mSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midEntry = mTable.get(mid);
+            if (midEntry < entry) low = mid + 1;
+            else if (midEntry > entry) high = mid - 1;
+            else return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return Number of the PINs in the denylist.
+     */
+    public int size() {
+        return mSize;
+    }
+}
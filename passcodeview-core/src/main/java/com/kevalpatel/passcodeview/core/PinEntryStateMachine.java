@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Input state of the PIN entry. The attempt moves through typing -> verifying -> feedback -> ready.
+ * <p>
+ * Digits typed while the verdict of the previous attempt is displayed are not dropped or appended
+ * to the previous attempt. They are kept aside and become the start of the next attempt once the
+ * feedback ends.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class PinEntryStateMachine {
+    public static final int STATE_READY = 0;        //Nothing is typed.
+    public static final int STATE_TYPING = 1;       //Some digits are typed.
+    public static final int STATE_VERIFYING = 2;    //All the digits are typed. Waiting for the verdict.
+    public static final int STATE_FEEDBACK = 3;     //Verdict is displayed.
+
+    private final PinBuffer mTyped;                         //Digits of the current attempt.
+    private final PinBuffer mPending = new PinBuffer();     //Digits typed during verifying or feedback.
+    private int mPinLength;
+    private int mState = STATE_READY;
+    private int mAttemptCount;                              //Number of the attempts verified.
+
+    /**
+     * @param typed buffer to store the digits of the current attempt.
+     */
+    public PinEntryStateMachine(PinBuffer typed) {
+        mTyped = typed;
+    }
+
+    /**
+     * Handle the pressed key.
+     *
+     * @param value digit of the key or {@link KeyNames#BACKSPACE_VALUE}.
+     * @return true if the attempt is complete and needs the verification. Call {@link #onVerified()}
+     * once the verdict is available.
+     */
+    public boolean onKey(int value) {
+        if (mState == STATE_VERIFYING || mState == STATE_FEEDBACK) {
+            //Keep the digit for the next attempt.
+            if (value == KeyNames.BACKSPACE_VALUE) {
+                mPending.removeLast();
+            } else if (mPending.size() < mPinLength) {
+                mPending.add(value);
+            }
+            return false;
+        }
+
+        if (value == KeyNames.BACKSPACE_VALUE) {
+            mTyped.removeLast();
+        } else {
+            mTyped.add(value);
+        }
+        return updateTypingState();
+    }
+
+    /**
+     * Verdict of the attempt is available. Display the verdict and call {@link #onFeedbackEnd()} when
+     * the feedback ends.
+     */
+    public void onVerified() {
+        if (mState != STATE_VERIFYING) throw new IllegalStateException("No attempt to verify.");
+        mState = STATE_FEEDBACK;
+        mAttemptCount++;
+    }
+
+    /**
+     * Feedback of the verdict ended. Start the next attempt with the digits typed during the feedback.
+     * This does nothing if the state is not {@link #STATE_FEEDBACK}. (e.g. {@link #reset()} was called
+     * during the feedback.)
+     *
+     * @return true if the digits typed during the feedback already complete the next attempt.
+     */
+    public boolean onFeedbackEnd() {
+        if (mState != STATE_FEEDBACK) return false;
+
+        mTyped.clear();
+        for (int i = 0; i < mPending.size(); i++) mTyped.add(mPending.get(i));
+        mPending.clear();
+        return updateTypingState();
+    }
+
+    /**
+     * Drop the current attempt and all the pending digits.
+     */
+    public void reset() {
+        mPending.clear();
+        mTyped.clear();
+        mState = STATE_READY;
+    }
+
+    /**
+     * Replace the current attempt with the digits without verifying it, even if all the digits are
+     * typed. (e.g. Restoring the typed PIN after the configuration change.) The next key continues
+     * the attempt.
+     *
+     * @param digits digits of the attempt.
+     */
+    public void setTyped(int[] digits) {
+        reset();
+        for (int digit : digits) mTyped.add(digit);
+        if (!mTyped.isEmpty()) mState = STATE_TYPING;
+    }
+
+    private boolean updateTypingState() {
+        if (mPinLength > 0 && mTyped.size() >= mPinLength) {
+            mState = STATE_VERIFYING;
+            return true;
+        }
+        mState = mTyped.isEmpty() ? STATE_READY : STATE_TYPING;
+        return false;
+    }
+
+    ///////////////// SETTERS/GETTERS //////////////
+
+    public int getState() {
+        return mState;
+    }
+
+    /**
+     * @return Number of the digits typed during the feedback waiting for the next attempt.
+     */
+    public int getPendingSize() {
+        return mPending.size();
+    }
+
+    /**
+     * @return Number of the attempts verified so far.
+     */
+    public int getAttemptCount() {
+        return mAttemptCount;
+    }
+
+    public int getPinLength() {
+        return mPinLength;
+    }
+
+    /**
+     * Set the length of the correct PIN. This resets the current attempt.
+     *
+     * @param pinLength number of the digits in the correct PIN.
+     */
+    public void setPinLength(int pinLength) {
+        mPinLength = pinLength;
+        reset();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Tracks the touch pointers by the pointer id, so each finger of the multi touch gesture can be
+ * resolved independently. Down points are stored in the primitive arrays indexed by the pointer id,
+ * so tracking doesn't allocate per event.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class PointerTracker {
+    /**
+     * Pointer ids reported by the touch screen are always less than this value.
+     */
+    public static final int MAX_POINTER_ID = 32;
+
+    private final boolean[] mIsDown = new boolean[MAX_POINTER_ID];
+    private final float[] mDownXs = new float[MAX_POINTER_ID];
+    private final float[] mDownYs = new float[MAX_POINTER_ID];
+    private final long[] mDownTimes = new long[MAX_POINTER_ID];
+    private int mDownCount;
+
+    public PointerTracker() {
+        //Do nothing
+    }
+
+    /**
+     * Start tracking the pointer. Pointer ids out of the range are ignored.
+     *
+     * @param pointerId id of the pointer.
+     * @param x         X coordinate of the down point.
+     * @param y         Y coordinate of the down point.
+     * @param downTime  time of the down event in milliseconds.
+     */
+    public void onPointerDown(int pointerId, float x, float y, long downTime) {
+        if (pointerId < 0 || pointerId >= MAX_POINTER_ID) return;
+        if (!mIsDown[pointerId]) mDownCount++;
+
+        mIsDown[pointerId] = true;
+        mDownXs[pointerId] = x;
+        mDownYs[pointerId] = y;
+        mDownTimes[pointerId] = downTime;
+    }
+
+    /**
+     * Stop tracking the pointer. Down point of the pointer stays available until the same pointer
+     * id goes down again.
+     *
+     * @param pointerId id of the pointer.
+     * @return true if the pointer was tracked.
+     */
+    public boolean onPointerUp(int pointerId) {
+        if (!isDown(pointerId)) return false;
+
+        mIsDown[pointerId] = false;
+        mDownCount--;
+        return true;
+    }
+
+    /**
+     * Stop tracking all the pointers. (e.g. The gesture is cancelled.)
+     */
+    public void clear() {
+        for (int i = 0; i < MAX_POINTER_ID; i++) mIsDown[i] = false;
+        mDownCount = 0;
+    }
+
+    public boolean isDown(int pointerId) {
+        return pointerId >= 0 && pointerId < MAX_POINTER_ID && mIsDown[pointerId];
+    }
+
+    /**
+     * @return Number of the pointers currently down.
+     */
+    public int getDownCount() {
+        return mDownCount;
+    }
+
+    public float getDownX(int pointerId) {
+        return mDownXs[pointerId];
+    }
+
+    public float getDownY(int pointerId) {
+        return mDownYs[pointerId];
+    }
+
+    public long getDownTime(int pointerId) {
+        return mDownTimes[pointerId];
+    }
+}
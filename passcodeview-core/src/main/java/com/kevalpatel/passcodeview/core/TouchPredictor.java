@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview.core;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Predicts where the finger will be a few milliseconds ahead of the last reported touch sample, so
+ * the rubber band line can be drawn under the finger instead of one frame behind it.
+ * <p>
+ * Velocity is the least squares fit of the samples in the last {@link #VELOCITY_WINDOW} milliseconds.
+ * Each new sample replaces the previous prediction, so the overshoot of the wrong prediction is
+ * corrected by the next sample. Samples are kept in the fixed size ring of the primitive arrays, so
+ * adding the sample doesn't allocate.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class TouchPredictor {
+    /**
+     * Samples older than this many milliseconds than the newest sample are not used for the velocity.
+     */
+    public static final long VELOCITY_WINDOW = 50;
+
+    /**
+     * Default prediction horizon in milliseconds. One frame on the 60 Hz display.
+     */
+    public static final long DEFAULT_HORIZON = 16;
+
+    private static final int MAX_SAMPLES = 8;
+
+    private final float[] mXs = new float[MAX_SAMPLES];
+    private final float[] mYs = new float[MAX_SAMPLES];
+    private final long[] mTimes = new long[MAX_SAMPLES];
+    private int mNewest = -1;       //Index of the newest sample in the ring. -1 if there is no sample.
+    private int mSampleCount;
+
+    private long mHorizon = DEFAULT_HORIZON;
+    private float mPredictedX;
+    private float mPredictedY;
+
+    public TouchPredictor() {
+        //Do nothing
+    }
+
+    /**
+     * Add the touch sample and update the predicted point. Samples older than the newest sample are
+     * ignored.
+     *
+     * @param x    X coordinate of the touch.
+     * @param y    Y coordinate of the touch.
+     * @param time time of the sample in milliseconds.
+     */
+    public void addSample(float x, float y, long time) {
+        if (mSampleCount > 0 && time < mTimes[mNewest]) return;
+
+        mNewest = (mNewest + 1) % MAX_SAMPLES;
+        mXs[mNewest] = x;
+        mYs[mNewest] = y;
+        mTimes[mNewest] = time;
+        if (mSampleCount < MAX_SAMPLES) mSampleCount++;
+
+        predict();
+    }
+
+    /**
+     * Forget all the samples. (e.g. The finger lifted.)
+     */
+    public void clear() {
+        mNewest = -1;
+        mSampleCount = 0;
+    }
+
+    /**
+     * Least squares fit of the position against the time for the samples inside the velocity window.
+     */
+    private void predict() {
+        long newestTime = mTimes[mNewest];
+        mPredictedX = mXs[mNewest];
+        mPredictedY = mYs[mNewest];
+        if (mHorizon <= 0) return;
+
+        //Times are relative to the newest sample to keep the sums small.
+        int n = 0;
+        float sumT = 0, sumX = 0, sumY = 0, sumTT = 0, sumTX = 0, sumTY = 0;
+        for (int i = 0; i < mSampleCount; i++) {
+            int index = (mNewest - i + MAX_SAMPLES) % MAX_SAMPLES;
+            float t = mTimes[index] - newestTime;
+            if (-t > VELOCITY_WINDOW) break;
+
+            n++;
+            sumT += t;
+            sumX += mXs[index];
+            sumY += mYs[index];
+            sumTT += t * t;
+            sumTX += t * mXs[index];
+            sumTY += t * mYs[index];
+        }
+
+        float denominator = n * sumTT - sumT * sumT;
+        if (n < 2 || denominator <= 0) return;  //Not enough samples or all samples at the same time.
+
+        float velocityX = (n * sumTX - sumT * sumX) / denominator;
+        float velocityY = (n * sumTY - sumT * sumY) / denominator;
+        mPredictedX += velocityX * mHorizon;
+        mPredictedY += velocityY * mHorizon;
+    }
+
+    ///////////////// SETTERS/GETTERS //////////////
+
+    public boolean hasSample() {
+        return mSampleCount > 0;
+    }
+
+    /**
+     * @return Predicted X coordinate. Same as the newest sample if the velocity is unknown.
+     */
+    public float getPredictedX() {
+        return mPredictedX;
+    }
+
+    /**
+     * @return Predicted Y coordinate. Same as the newest sample if the velocity is unknown.
+     */
+    public float getPredictedY() {
+        return mPredictedY;
+    }
+
+    public long getHorizon() {
+        return mHorizon;
+    }
+
+    /**
+     * @param horizon time in milliseconds to predict ahead of the newest sample. 0 to disable the
+     *                prediction.
+     */
+    public void setHorizon(long horizon) {
+        if (horizon < 0) throw new IllegalArgumentException("Horizon cannot be negative.");
+        mHorizon = horizon;
+        if (mSampleCount > 0) predict();
+    }
+}
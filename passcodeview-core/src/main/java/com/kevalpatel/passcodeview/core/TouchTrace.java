@@ -0,0 +1,282 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Compact recording of the touch stream received by the passcode view. Every touch event is
+ * stored as an entry in the primitive event arrays (time, action, flags and pointer count) and every
+ * pointer of that event as an entry in the primitive sample arrays (pointer id, x and y). Historical
+ * samples of the ACTION_MOVE are stored as separate events flagged with {@link #FLAG_HISTORICAL}.
+ * <p>
+ * The trace also stores the values committed by the view (digits for the PIN, cell indexes for the
+ * pattern) while the trace was recorded, so that a replay can be verified against the original capture.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class TouchTrace {
+    /**
+     * Flag to indicate the event is the historical sample of the next non historical event.
+     */
+    public static final int FLAG_HISTORICAL = 1;
+
+    private static final int MAGIC = 0x50565454;        //"PVTT"
+    private static final int VERSION = 1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    //Events
+    private int mEventCount;
+    private long[] mEventTimes = new long[INITIAL_CAPACITY];
+    private int[] mActions = new int[INITIAL_CAPACITY];
+    private int[] mFlags = new int[INITIAL_CAPACITY];
+    private int[] mPointerCounts = new int[INITIAL_CAPACITY];
+    private int[] mFirstSamples = new int[INITIAL_CAPACITY];
+
+    //Pointer samples
+    private int mSampleCount;
+    private int[] mPointerIds = new int[INITIAL_CAPACITY];
+    private float[] mXs = new float[INITIAL_CAPACITY];
+    private float[] mYs = new float[INITIAL_CAPACITY];
+
+    //Committed values
+    private int mCommittedCount;
+    private int[] mCommittedValues = new int[INITIAL_CAPACITY];
+
+    public TouchTrace() {
+        //Do nothing
+    }
+
+    /**
+     * Add new event to the trace. Pointers of this event should be added using {@link #addPointer(int, float, float)}
+     * right after this call.
+     *
+     * @param eventTime    time of the event in milliseconds.
+     * @param action       action of the event as returned by MotionEvent#getAction().
+     * @param flags        event flags. ({@link #FLAG_HISTORICAL})
+     * @param pointerCount number of the pointers in this event.
+     */
+    public void addEvent(long eventTime, int action, int flags, int pointerCount) {
+        if (mEventCount == mEventTimes.length) {
+            int newSize = mEventCount * 2;
+            mEventTimes = Arrays.copyOf(mEventTimes, newSize);
+            mActions = Arrays.copyOf(mActions, newSize);
+            mFlags = Arrays.copyOf(mFlags, newSize);
+            mPointerCounts = Arrays.copyOf(mPointerCounts, newSize);
+            mFirstSamples = Arrays.copyOf(mFirstSamples, newSize);
+        }
+
+        mEventTimes[mEventCount] = eventTime;
+        mActions[mEventCount] = action;
+        mFlags[mEventCount] = flags;
+        mPointerCounts[mEventCount] = pointerCount;
+        mFirstSamples[mEventCount] = mSampleCount;
+        mEventCount++;
+    }
+
+    /**
+     * Add the pointer sample to the last added event.
+     *
+     * @param pointerId id of the pointer.
+     * @param x         X coordinate of the pointer.
+     * @param y         Y coordinate of the pointer.
+     */
+    public void addPointer(int pointerId, float x, float y) {
+        if (mSampleCount == mPointerIds.length) {
+            int newSize = mSampleCount * 2;
+            mPointerIds = Arrays.copyOf(mPointerIds, newSize);
+            mXs = Arrays.copyOf(mXs, newSize);
+            mYs = Arrays.copyOf(mYs, newSize);
+        }
+
+        mPointerIds[mSampleCount] = pointerId;
+        mXs[mSampleCount] = x;
+        mYs[mSampleCount] = y;
+        mSampleCount++;
+    }
+
+    /**
+     * Add the value committed by the view while recording.
+     *
+     * @param value committed digit or pattern cell index.
+     */
+    public void addCommittedValue(int value) {
+        if (mCommittedCount == mCommittedValues.length)
+            mCommittedValues = Arrays.copyOf(mCommittedValues, mCommittedCount * 2);
+        mCommittedValues[mCommittedCount++] = value;
+    }
+
+    /**
+     * Clear all the events and committed values. Allocated arrays are kept for the reuse.
+     */
+    public void clear() {
+        mEventCount = 0;
+        mSampleCount = 0;
+        mCommittedCount = 0;
+    }
+
+    ///////////////// SERIALIZATION //////////////
+
+    /**
+     * Write the trace in the binary format. This won't close the stream.
+     *
+     * @param outputStream stream to write the trace.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(mEventCount);
+        out.writeInt(mSampleCount);
+        out.writeInt(mCommittedCount);
+
+        for (int i = 0; i < mEventCount; i++) {
+            out.writeLong(mEventTimes[i]);
+            out.writeInt(mActions[i]);
+            out.writeByte(mFlags[i]);
+            out.writeByte(mPointerCounts[i]);
+        }
+        for (int i = 0; i < mSampleCount; i++) {
+            out.writeByte(mPointerIds[i]);
+            out.writeFloat(mXs[i]);
+            out.writeFloat(mYs[i]);
+        }
+        for (int i = 0; i < mCommittedCount; i++) out.writeInt(mCommittedValues[i]);
+        out.flush();
+    }
+
+    /**
+     * Read the trace written using {@link #writeTo(OutputStream)}. This won't close the stream.
+     *
+     * @param inputStream stream to read the trace from.
+     * @return {@link TouchTrace}
+     * @throws IOException if the stream cannot be read or it doesn't contain the trace.
+     */
+    public static TouchTrace readFrom(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != MAGIC) throw new IOException("Not a touch trace.");
+        if (in.readInt() != VERSION) throw new IOException("Unsupported touch trace version.");
+
+        int eventCount = in.readInt();
+        int sampleCount = in.readInt();
+        int committedCount = in.readInt();
+        if (eventCount < 0 || sampleCount < 0 || committedCount < 0)
+            throw new IOException("Corrupted touch trace.");
+
+        TouchTrace trace = new TouchTrace();
+        long[] eventTimes = new long[eventCount];
+        int[] actions = new int[eventCount];
+        int[] flags = new int[eventCount];
+        int[] pointerCounts = new int[eventCount];
+        for (int i = 0; i < eventCount; i++) {
+            eventTimes[i] = in.readLong();
+            actions[i] = in.readInt();
+            flags[i] = in.readUnsignedByte();
+            pointerCounts[i] = in.readUnsignedByte();
+        }
+
+        int[] pointerIds = new int[sampleCount];
+        float[] xs = new float[sampleCount];
+        float[] ys = new float[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            pointerIds[i] = in.readUnsignedByte();
+            xs[i] = in.readFloat();
+            ys[i] = in.readFloat();
+        }
+
+        int sample = 0;
+        for (int i = 0; i < eventCount; i++) {
+            trace.addEvent(eventTimes[i], actions[i], flags[i], pointerCounts[i]);
+            for (int p = 0; p < pointerCounts[i]; p++, sample++) {
+                if (sample >= sampleCount) throw new IOException("Corrupted touch trace.");
+                trace.addPointer(pointerIds[sample], xs[sample], ys[sample]);
+            }
+        }
+        for (int i = 0; i < committedCount; i++) trace.addCommittedValue(in.readInt());
+        return trace;
+    }
+
+    ///////////////// SETTERS/GETTERS //////////////
+
+    public int getEventCount() {
+        return mEventCount;
+    }
+
+    public long getEventTime(int event) {
+        return mEventTimes[event];
+    }
+
+    public int getAction(int event) {
+        return mActions[event];
+    }
+
+    public boolean isHistorical(int event) {
+        return (mFlags[event] & FLAG_HISTORICAL) != 0;
+    }
+
+    public int getPointerCount(int event) {
+        return mPointerCounts[event];
+    }
+
+    /**
+     * @param event index of the event.
+     * @return index of the first pointer sample of the event. Use this index with {@link #getPointerId(int)},
+     * {@link #getX(int)} and {@link #getY(int)}.
+     */
+    public int getFirstSample(int event) {
+        return mFirstSamples[event];
+    }
+
+    public int getSampleCount() {
+        return mSampleCount;
+    }
+
+    public int getPointerId(int sample) {
+        return mPointerIds[sample];
+    }
+
+    public float getX(int sample) {
+        return mXs[sample];
+    }
+
+    public float getY(int sample) {
+        return mYs[sample];
+    }
+
+    public int getCommittedCount() {
+        return mCommittedCount;
+    }
+
+    public int getCommittedValue(int index) {
+        return mCommittedValues[index];
+    }
+
+    /**
+     * @return Copy of the values committed by the view while recording.
+     */
+    public int[] getCommittedValues() {
+        return Arrays.copyOf(mCommittedValues, mCommittedCount);
+    }
+}
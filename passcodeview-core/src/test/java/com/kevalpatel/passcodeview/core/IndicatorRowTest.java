@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+public class IndicatorRowTest extends TestCase {
+
+    public void testFitsWithoutScale() throws Exception {
+        IndicatorRow row = new IndicatorRow();
+        row.measure(0, 1000, 50, 100, 4);
+
+        Assert.assertEquals(1F, row.getScale());
+        Assert.assertEquals(4, row.getVisibleCount());
+        Assert.assertFalse(row.isScrolling());
+        Assert.assertEquals(300F, row.getRowLeft());
+        Assert.assertEquals(700F, row.getRowRight());
+        Assert.assertEquals(350F, row.getCenters()[0]);
+        Assert.assertEquals(50F, row.getCenters()[1]);
+        Assert.assertEquals(650F, row.getCenters()[6]);
+
+        row.setTypedLength(3);
+        Assert.assertEquals(0, row.getFirstVisible());
+        Assert.assertEquals(3, row.getVisibleFilledCount());
+    }
+
+    public void testScaleDown() throws Exception {
+        IndicatorRow row = new IndicatorRow();
+        row.measure(0, 1000, 50, 100, 16);
+
+        Assert.assertEquals(1000F / 1600, row.getScale(), 0.0001F);
+        Assert.assertEquals(16, row.getVisibleCount());
+        Assert.assertFalse(row.isScrolling());
+        Assert.assertEquals(0F, row.getRowLeft(), 0.001F);
+        Assert.assertEquals(1000F, row.getRowRight(), 0.001F);
+    }
+
+    public void testScroll() throws Exception {
+        IndicatorRow row = new IndicatorRow();
+        row.measure(0, 1000, 50, 100, 32);
+
+        //Scaled to the half, 20 indicators fit.
+        Assert.assertEquals(IndicatorRow.DEF_MIN_SCALE, row.getScale());
+        Assert.assertEquals(20, row.getVisibleCount());
+        Assert.assertTrue(row.isScrolling());
+
+        row.setTypedLength(10);
+        Assert.assertEquals(0, row.getFirstVisible());
+        Assert.assertEquals(10, row.getVisibleFilledCount());
+
+        //Next indicator to fill stays at the end of the window.
+        row.setTypedLength(25);
+        Assert.assertEquals(6, row.getFirstVisible());
+        Assert.assertEquals(19, row.getVisibleFilledCount());
+
+        row.setTypedLength(32);
+        Assert.assertEquals(12, row.getFirstVisible());
+        Assert.assertEquals(20, row.getVisibleFilledCount());
+
+        //Window is kept on re-measure.
+        row.measure(0, 1000, 50, 100, 32);
+        Assert.assertEquals(12, row.getFirstVisible());
+
+        row.setTypedLength(0);
+        Assert.assertEquals(0, row.getFirstVisible());
+        Assert.assertEquals(0, row.getVisibleFilledCount());
+    }
+
+    public void testReuseCenters() throws Exception {
+        IndicatorRow row = new IndicatorRow();
+        row.measure(0, 1000, 50, 100, 8);
+        float[] centers = row.getCenters();
+
+        row.measure(0, 1000, 80, 100, 4);
+        Assert.assertSame(centers, row.getCenters());
+        Assert.assertEquals(80F, row.getCenters()[1]);
+    }
+
+    public void testNoSpace() throws Exception {
+        IndicatorRow row = new IndicatorRow();
+        row.measure(0, 0, 50, 100, 4);
+        Assert.assertEquals(1, row.getVisibleCount());
+
+        row.measure(0, 1000, 50, 100, 0);
+        Assert.assertEquals(0, row.getVisibleCount());
+        Assert.assertEquals(0, row.getVisibleFilledCount());
+
+        try {
+            row.setMinScale(0);
+            Assert.fail("Minimum scale must be positive.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+}
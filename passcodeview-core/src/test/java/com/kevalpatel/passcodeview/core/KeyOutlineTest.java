@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+public class KeyOutlineTest extends TestCase {
+    //"U" shape. The notch between the arms is the concavity.
+    private static final float[] U_SHAPE = new float[]{0, 0, 1, 0, 1, 2, 2, 2, 2, 0, 3, 0, 3, 3, 0, 3};
+
+    public void testFitKeepsAspectRatio() throws Exception {
+        //3x3 outline in the 300x600 key is 300x300 in the vertical center.
+        float[] fitted = new KeyOutline(U_SHAPE).fit(300, 600);
+        Assert.assertEquals(0, fitted[0], 0.001);
+        Assert.assertEquals(150, fitted[1], 0.001);
+        Assert.assertEquals(300, fitted[12], 0.001);
+        Assert.assertEquals(450, fitted[13], 0.001);
+    }
+
+    public void testNonConvexContains() throws Exception {
+        float[] fitted = new KeyOutline(U_SHAPE).fit(300, 300);
+
+        Assert.assertTrue(KeyOutline.contains(fitted, 50, 150));        //Left arm
+        Assert.assertTrue(KeyOutline.contains(fitted, 250, 150));       //Right arm
+        Assert.assertTrue(KeyOutline.contains(fitted, 150, 250));       //Base
+        Assert.assertFalse(KeyOutline.contains(fitted, 150, 100));      //Notch
+        Assert.assertFalse(KeyOutline.contains(fitted, 350, 150));      //Outside the bounds
+    }
+
+    public void testDegenerateOutline() throws Exception {
+        try {
+            new KeyOutline(new float[]{0, 0, 1, 0, 2, 0});      //Horizontal line
+            Assert.fail("Outline without height must be rejected.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+
+        try {
+            new KeyOutline(new float[]{5, 5, 5, 5, 5, 5});      //Single point
+            Assert.fail("Outline without area must be rejected.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+
+        try {
+            new KeyOutline(new float[]{0, 0, 1, 1});
+            Assert.fail("Outline needs 3 vertices.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+public class KeyboardLayoutTest extends TestCase {
+
+    public void testQwerty() throws Exception {
+        KeyboardLayout layout = KeyboardLayout.qwerty();
+        Assert.assertEquals(43, layout.getKeyCount());
+        Assert.assertEquals(3, layout.getPageCount());
+        Assert.assertEquals(5, layout.getRows());
+
+        Assert.assertEquals('1', layout.getValue(KeyboardLayout.PAGE_LOWER, 0));
+        Assert.assertEquals('q', layout.getValue(KeyboardLayout.PAGE_LOWER, 10));
+        Assert.assertEquals('Q', layout.getValue(KeyboardLayout.PAGE_UPPER, 10));
+        Assert.assertEquals('!', layout.getValue(KeyboardLayout.PAGE_SYMBOLS, 10));
+        Assert.assertEquals(KeyboardLayout.VALUE_SHIFT, layout.getValue(KeyboardLayout.PAGE_LOWER, 29));
+        Assert.assertEquals(KeyboardLayout.VALUE_NONE, layout.getValue(KeyboardLayout.PAGE_SYMBOLS, 29));
+        Assert.assertEquals("", layout.getLabel(KeyboardLayout.PAGE_SYMBOLS, 29));
+        Assert.assertEquals(KeyboardLayout.VALUE_BACKSPACE, layout.getValue(KeyboardLayout.PAGE_LOWER, 37));
+        Assert.assertEquals(KeyNames.BACKSPACE_TITLE, layout.getLabel(KeyboardLayout.PAGE_LOWER, 37));
+        Assert.assertEquals(' ', layout.getValue(KeyboardLayout.PAGE_LOWER, 40));
+        Assert.assertEquals(KeyboardLayout.VALUE_ENTER, layout.getValue(KeyboardLayout.PAGE_LOWER, 42));
+        Assert.assertEquals("ABC", layout.getLabel(KeyboardLayout.PAGE_SYMBOLS, 38));
+    }
+
+    public void testMeasure() throws Exception {
+        KeyboardLayout layout = KeyboardLayout.qwerty();
+        layout.measure(0, 400, 1000, 1400);
+
+        //First key of the staggered row starts after the half key gap.
+        Assert.assertEquals(50, layout.getKeyLeft(20));
+        Assert.assertEquals(150, layout.getKeyRight(20));
+        Assert.assertEquals(800, layout.getKeyTop(20));
+        Assert.assertEquals(1000, layout.getKeyBottom(20));
+
+        //Space bar spans five keys.
+        Assert.assertEquals(250, layout.getKeyLeft(40));
+        Assert.assertEquals(750, layout.getKeyRight(40));
+        Assert.assertEquals(500F, layout.getKeyCenterX(40));
+    }
+
+    public void testFindKey() throws Exception {
+        KeyboardLayout layout = KeyboardLayout.qwerty();
+        Assert.assertEquals(-1, layout.findKey(10, 500));       //Not measured
+
+        layout.measure(7, 401, 1079, 1651);
+        Assert.assertEquals(-1, layout.findKey(500, 10));       //Title area
+        Assert.assertEquals(-1, layout.findKey(20, 1000));      //Gap before the staggered row
+
+        //Find key must agree with the linear scan on every pixel.
+        for (int x = 0; x < 1085; x += 3) {
+            for (int y = 395; y < 1660; y += 5) {
+                int expected = -1;
+                for (int key = 0; key < layout.getKeyCount(); key++) {
+                    if (x >= layout.getKeyLeft(key) && x < layout.getKeyRight(key)
+                            && y >= layout.getKeyTop(key) && y < layout.getKeyBottom(key)) {
+                        expected = key;
+                        break;
+                    }
+                }
+                Assert.assertEquals("x=" + x + " y=" + y, expected, layout.findKey(x, y));
+            }
+        }
+    }
+
+    public void testInvalidLayout() throws Exception {
+        try {
+            new KeyboardLayout(4, new int[][]{{2, 3}}, new int[][]{{'a', 'b'}}, new String[][]{{"a", "b"}});
+            Assert.fail("Row wider than the units must fail.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+
+        try {
+            new KeyboardLayout(4, new int[][]{{2, 2}}, new int[][]{{'a'}}, new String[][]{{"a"}});
+            Assert.fail("Values of all the keys are required.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+}
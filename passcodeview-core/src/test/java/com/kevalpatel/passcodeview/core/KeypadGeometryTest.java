@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+public class KeypadGeometryTest extends TestCase {
+
+    public void testMeasure() throws Exception {
+        KeypadGeometry geometry = new KeypadGeometry();
+        geometry.measure(0, 0, 1080, 1920, false, true);
+
+        Assert.assertEquals(0, geometry.getBoxLeft());
+        Assert.assertEquals(384, geometry.getBoxTop());
+        Assert.assertEquals(1080, geometry.getBoxRight());
+        Assert.assertEquals(1651, geometry.getBoxBottom());
+
+        //Second column, third row
+        int cell = geometry.getCellIndex(1, 2);
+        Assert.assertEquals(6, cell);
+        Assert.assertEquals(360, geometry.getCellLeft(cell));
+        Assert.assertEquals(720, geometry.getCellRight(cell));
+        Assert.assertEquals(1016, geometry.getCellTop(cell));
+        Assert.assertEquals(1332, geometry.getCellBottom(cell));
+
+        geometry.measure(0, 0, 1000, 1000, true, false);
+        Assert.assertEquals(300, geometry.getBoxLeft());
+        Assert.assertEquals(1000, geometry.getBoxBottom());
+    }
+
+    public void testFindCell() throws Exception {
+        KeypadGeometry geometry = new KeypadGeometry();
+        Assert.assertEquals(-1, geometry.findCell(10, 10));     //Not measured
+
+        geometry.measure(0, 0, 1079, 1917, false, false);
+        Assert.assertEquals(-1, geometry.findCell(500, 10));    //Title area
+        Assert.assertEquals(-1, geometry.findCell(-1, 1000));
+
+        //Find cell must agree with the linear scan on every pixel.
+        for (int x = 0; x < 1079; x += 7) {
+            for (int y = 0; y < 1917; y += 3) {
+                int expected = -1;
+                for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+                    if (geometry.isInCell(cell, x, y)) {
+                        expected = cell;
+                        break;
+                    }
+                }
+                Assert.assertEquals(expected, geometry.findCell(x, y));
+            }
+        }
+    }
+
+    public void testKeyNames() throws Exception {
+        String[] names = new String[]{"0", "1", "2", "3", "4", "5", "6", "7", "8", "9"};
+        String[][] grid = KeyNames.buildGrid(names);
+
+        Assert.assertEquals(KeypadGeometry.NO_OF_COLUMNS, grid.length);
+        Assert.assertEquals(KeypadGeometry.NO_OF_ROWS, grid[0].length);
+        Assert.assertEquals("0", grid[1][3]);
+        Assert.assertEquals(KeyNames.BACKSPACE_TITLE, grid[2][3]);
+
+        Assert.assertEquals(7, KeyNames.getValueOfKey(names, "7"));
+        Assert.assertEquals(KeyNames.BACKSPACE_VALUE, KeyNames.getValueOfKey(names, KeyNames.BACKSPACE_TITLE));
+        try {
+            KeyNames.getValueOfKey(names, "A");
+            Assert.fail("Invalid name should throw.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+public class NearestKeyMapTest extends TestCase {
+    private final KeypadGeometry mGeometry = new KeypadGeometry();
+    private final float[] mCenterXs = new float[KeypadGeometry.NO_OF_COLUMNS * KeypadGeometry.NO_OF_ROWS];
+    private final float[] mCenterYs = new float[KeypadGeometry.NO_OF_COLUMNS * KeypadGeometry.NO_OF_ROWS];
+    private final boolean[] mIsEnabled = new boolean[KeypadGeometry.NO_OF_COLUMNS * KeypadGeometry.NO_OF_ROWS];
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mGeometry.measure(0, 0, 1080, 1920, false, true);
+        for (int cell = 0; cell < mGeometry.getCellCount(); cell++) {
+            mCenterXs[cell] = mGeometry.getCellCenterX(cell);
+            mCenterYs[cell] = mGeometry.getCellCenterY(cell);
+            mIsEnabled[cell] = true;
+        }
+        mIsEnabled[mGeometry.getCellIndex(0, 3)] = false;     //Empty key left of 0.
+    }
+
+    public void testMatchesExactSearch() throws Exception {
+        NearestKeyMap map = new NearestKeyMap();
+        map.build(mGeometry.getBoxLeft(), mGeometry.getBoxTop(), mGeometry.getBoxRight(), mGeometry.getBoxBottom(),
+                mCenterXs, mCenterYs, mIsEnabled, 200);
+
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            float x = mGeometry.getBoxLeft() + random.nextFloat() * (mGeometry.getBoxRight() - mGeometry.getBoxLeft());
+            float y = mGeometry.getBoxTop() + random.nextFloat() * (mGeometry.getBoxBottom() - mGeometry.getBoxTop());
+            Assert.assertEquals(findExact(x, y, 200), map.find(x, y));
+        }
+    }
+
+    public void testDisabledKeyAndDistanceCap() throws Exception {
+        NearestKeyMap map = new NearestKeyMap();
+        map.build(mGeometry.getBoxLeft(), mGeometry.getBoxTop(), mGeometry.getBoxRight(), mGeometry.getBoxBottom(),
+                mCenterXs, mCenterYs, mIsEnabled, 200);
+
+        int emptyCell = mGeometry.getCellIndex(0, 3);
+        Assert.assertEquals(-1, map.find(mCenterXs[emptyCell], mCenterYs[emptyCell]));
+
+        //Between the keys 1 and 2.
+        int one = mGeometry.getCellIndex(0, 0);
+        int two = mGeometry.getCellIndex(1, 0);
+        Assert.assertEquals(one, map.find((mCenterXs[one] + mCenterXs[two]) / 2 - 1, mCenterYs[one]));
+        Assert.assertEquals(two, map.find((mCenterXs[one] + mCenterXs[two]) / 2 + 1, mCenterYs[one]));
+
+        //Far from all the keys.
+        map.build(mGeometry.getBoxLeft(), mGeometry.getBoxTop(), mGeometry.getBoxRight(), mGeometry.getBoxBottom(),
+                mCenterXs, mCenterYs, mIsEnabled, 100);
+        Assert.assertEquals(-1, map.find((mCenterXs[one] + mCenterXs[two]) / 2, mCenterYs[one]));
+
+        //Outside of the area.
+        Assert.assertEquals(-1, map.find(mGeometry.getBoxLeft() - 1, mCenterYs[one]));
+    }
+
+    private int findExact(float x, float y, float maxDistance) {
+        int nearest = -1;
+        double nearestDistance = Double.MAX_VALUE;
+        for (int i = 0; i < mCenterXs.length; i++) {
+            if (!mIsEnabled[i]) continue;
+            double distance = Math.hypot(x - mCenterXs[i], y - mCenterYs[i]);
+            if (distance <= maxDistance && distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+}
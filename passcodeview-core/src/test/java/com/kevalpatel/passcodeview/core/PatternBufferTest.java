@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview.core;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+public class PatternBufferTest extends TestCase {
+
+    public void testAddAndGet() throws Exception {
+        PatternBuffer buffer = new PatternBuffer();
+        Assert.assertTrue(buffer.isEmpty());
+
+        Assert.assertTrue(buffer.add(0));
+        Assert.assertTrue(buffer.add(99));
+        Assert.assertTrue(buffer.add(42));
+        Assert.assertEquals(3, buffer.size());
+        Assert.assertEquals(0, buffer.get(0));
+        Assert.assertEquals(99, buffer.get(1));
+        Assert.assertEquals(42, buffer.get(2));
+
+        //Duplicate and out of range cells are rejected.
+        Assert.assertFalse(buffer.add(99));
+        Assert.assertFalse(buffer.add(PatternBuffer.MAX_CELLS));
+        Assert.assertFalse(buffer.add(-1));
+        Assert.assertEquals(3, buffer.size());
+        Assert.assertTrue(buffer.contains(42));
+        Assert.assertFalse(buffer.contains(43));
+
+        buffer.clear();
+        Assert.assertTrue(buffer.isEmpty());
+        Assert.assertFalse(buffer.contains(42));
+        Assert.assertTrue(buffer.add(42));
+    }
+
+    public void testShortPatternIsSingleWord() throws Exception {
+        PatternBuffer buffer = PatternBuffer.fromArray(new int[]{0, 1, 2, 5, 8, 7, 6, 3, 4});
+        Assert.assertEquals(1, buffer.toLongArray().length);
+
+        buffer.add(9);
+        Assert.assertEquals(2, buffer.toLongArray().length);
+    }
+
+    public void testLargestGrid() throws Exception {
+        int[] cells = new int[PatternBuffer.MAX_CELLS];
+        for (int i = 0; i < cells.length; i++) cells[i] = (i * 37) % PatternBuffer.MAX_CELLS;
+
+        PatternBuffer buffer = PatternBuffer.fromArray(cells);
+        Assert.assertEquals(PatternBuffer.MAX_WORDS, buffer.toLongArray().length);
+        Assert.assertTrue(Arrays.equals(cells, buffer.toArray()));
+
+        //Round trip through the storage form.
+        PatternBuffer decoded = PatternBuffer.fromLongArray(buffer.toLongArray());
+        Assert.assertTrue(Arrays.equals(cells, decoded.toArray()));
+        Assert.assertTrue(decoded.isMatched(buffer));
+        Assert.assertEquals(buffer.hashCode(), decoded.hashCode());
+    }
+
+    public void testMatch() throws Exception {
+        PatternBuffer correct = PatternBuffer.fromArray(new int[]{0, 1, 2, 5});
+        Assert.assertTrue(PatternBuffer.fromArray(new int[]{0, 1, 2, 5}).isMatched(correct));
+        Assert.assertEquals(correct, PatternBuffer.fromArray(new int[]{0, 1, 2, 5}));
+        Assert.assertFalse(PatternBuffer.fromArray(new int[]{0, 1, 2}).isMatched(correct));
+        Assert.assertFalse(PatternBuffer.fromArray(new int[]{0, 1, 2, 5, 8}).isMatched(correct));
+        Assert.assertFalse(PatternBuffer.fromArray(new int[]{0, 2, 1, 5}).isMatched(correct));
+    }
+
+    public void testInvalidPattern() throws Exception {
+        try {
+            PatternBuffer.fromArray(new int[]{1, 2, 1});
+            Assert.fail("Duplicate cell accepted.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+
+        try {
+            PatternBuffer.fromLongArray(new long[]{0x7FL});   //Cell 126 is out of the range.
+            Assert.fail("Invalid cell accepted.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+
+        try {
+            PatternBuffer.fromLongArray(new long[]{0x1L, 0x2L});   //Gap after the first cell.
+            Assert.fail("Invalid words accepted.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+}
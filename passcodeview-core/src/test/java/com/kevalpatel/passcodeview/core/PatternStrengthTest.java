@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview.core;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+public class PatternStrengthTest extends TestCase {
+
+    public void testCountsOf3x3Grid() throws Exception {
+        //Well known counts of the 3x3 unlock patterns.
+        PatternStrength strength = PatternStrength.forGrid(3, 3);
+        Assert.assertEquals(9.0, strength.getPatternCount(1));
+        Assert.assertEquals(56.0, strength.getPatternCount(2));
+        Assert.assertEquals(1624.0, strength.getPatternCount(4));
+        Assert.assertEquals(140704.0, strength.getPatternCount(9));
+
+        double total = 0;
+        for (int length = PatternStrength.MIN_PATTERN_LENGTH; length <= 9; length++) total += strength.getPatternCount(length);
+        Assert.assertEquals(389112.0, total);
+        Assert.assertEquals(Math.log(389112) / Math.log(2), strength.getSearchSpaceBits(9), 1e-9);
+    }
+
+    public void testCached() throws Exception {
+        PatternStrength.precompute(4, 4);
+        Assert.assertSame(PatternStrength.forGrid(4, 4), PatternStrength.forGrid(4, 4));
+        Assert.assertTrue(PatternStrength.forGrid(4, 4).getPatternCount(16) > 0);
+
+        //Large grid uses the bounded estimate.
+        PatternStrength large = PatternStrength.forGrid(10, 10);
+        Assert.assertEquals(100.0 * 99 * 98 * 97, large.getPatternCount(4));
+    }
+
+    public void testPassThroughAndKnightMoves() throws Exception {
+        //Cells are indexed column by column. On 3x3: 0 3 6 / 1 4 7 / 2 5 8.
+        PatternStrength strength = PatternStrength.forGrid(3, 3);
+
+        //Knight move is valid without any selected cell.
+        strength.getStrengthBits(new int[]{0, 5});
+
+        //Jump over the selected center is valid.
+        strength.getStrengthBits(new int[]{4, 0, 8});
+
+        try {
+            strength.getStrengthBits(new int[]{0, 8});      //Jump over the unselected center.
+            Assert.fail("Invalid move accepted.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+
+        try {
+            strength.getStrengthBits(new int[]{0, 1, 0});
+            Assert.fail("Duplicate cell accepted.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+
+    public void testStraightLineIsWeaker() throws Exception {
+        PatternStrength strength = PatternStrength.forGrid(4, 4);
+
+        //First column top to bottom and then the second column.
+        double straight = strength.getStrengthBits(new int[]{0, 1, 2, 3, 7, 6, 5, 4});
+        double zigzag = strength.getStrengthBits(new int[]{0, 6, 3, 9, 12, 5, 10, 13});
+        Assert.assertTrue(straight < zigzag);
+        Assert.assertTrue(zigzag < strength.getSearchSpaceBits(8));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+public class PinBufferTest extends TestCase {
+
+    public void testAddAndRemove() throws Exception {
+        final int[] lastSize = new int[]{-1};
+        PinBuffer buffer = new PinBuffer();
+        buffer.setChangeListener(new PinBuffer.ChangeListener() {
+            @Override
+            public void onPinBufferChange(int size) {
+                lastSize[0] = size;
+            }
+        });
+
+        for (int i = 0; i < 20; i++) buffer.add(i % 10);
+        Assert.assertEquals(20, buffer.size());
+        Assert.assertEquals(20, lastSize[0]);
+        Assert.assertEquals(9, buffer.get(19));
+        Assert.assertTrue(buffer.contains(5));
+
+        buffer.removeLast();
+        Assert.assertEquals(19, buffer.size());
+        Assert.assertEquals(19, lastSize[0]);
+
+        buffer.clear();
+        Assert.assertTrue(buffer.isEmpty());
+        Assert.assertEquals(0, lastSize[0]);
+
+        buffer.removeLast();
+        Assert.assertEquals(0, buffer.size());
+    }
+
+    public void testIsMatched() throws Exception {
+        PinBuffer buffer = new PinBuffer();
+        buffer.add(1);
+        buffer.add(2);
+        buffer.add(3);
+        Assert.assertFalse(buffer.isMatched(new int[]{1, 2, 3, 4}));
+
+        buffer.add(4);
+        Assert.assertTrue(buffer.isMatched(new int[]{1, 2, 3, 4}));
+        Assert.assertFalse(buffer.isMatched(new int[]{1, 2, 3, 5}));
+        Assert.assertFalse(buffer.isMatched(new int[]{1, 2, 3}));
+    }
+
+    public void testIsValidPin() throws Exception {
+        Assert.assertTrue(PasscodeUtils.isValidPin(new int[]{0, 2, 3, 9}));
+        Assert.assertFalse(PasscodeUtils.isValidPin(new int[]{1, 2, 3, 14}));
+        Assert.assertFalse(PasscodeUtils.isValidPin(new int[]{-1, 2, 3, 4}));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview.core;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+public class PinDenylistTest extends TestCase {
+    private static final int[][] COMMON_PINS = new int[][]{
+            {1, 2, 3, 4}, {0, 0, 0, 0}, {1, 1, 1, 1}, {0, 1, 2, 3, 4, 5}, {1, 2, 3, 4, 5, 6, 7, 8}, {1, 2, 3, 4}};
+
+    public void testReadFromStream() throws Exception {
+        PinDenylist denylist = PinDenylist.read(new ByteArrayInputStream(writeTable()));
+        Assert.assertEquals(5, denylist.size());
+        assertLookups(denylist);
+
+        denylist.enableBloomFilter(10);
+        assertLookups(denylist);
+    }
+
+    public void testMapFromFile() throws Exception {
+        //Table after the other data in the file, like the asset inside the APK.
+        byte[] table = writeTable();
+        File file = File.createTempFile("pins", ".bin");
+        FileOutputStream outputStream = new FileOutputStream(file);
+        outputStream.write(new byte[7]);
+        outputStream.write(table);
+        outputStream.close();
+
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            PinDenylist denylist = PinDenylist.map(randomAccessFile.getChannel(), 7, table.length);
+            Assert.assertEquals(5, denylist.size());
+            assertLookups(denylist);
+        } finally {
+            randomAccessFile.close();
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+    }
+
+    public void testBloomFilterHasNoFalseNegative() throws Exception {
+        int[][] pins = new int[5000][];
+        for (int i = 0; i < pins.length; i++) pins[i] = toDigits(i * 7, 6);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PinDenylist.write(outputStream, pins);
+        PinDenylist denylist = PinDenylist.read(new ByteArrayInputStream(outputStream.toByteArray()));
+        denylist.enableBloomFilter(10);
+
+        for (int[] pin : pins) Assert.assertTrue(denylist.contains(pin));
+        Assert.assertFalse(denylist.contains(toDigits(1, 6)));
+    }
+
+    public void testInvalidTable() throws Exception {
+        try {
+            PinDenylist.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 0, 0, 0, 1, 0, 0, 0, 0}));
+            Assert.fail("Invalid table accepted.");
+        } catch (IOException e) {
+            //Expected
+        }
+
+        try {
+            PinDenylist.write(new ByteArrayOutputStream(), new int[][]{{1, 2, 3}});
+            Assert.fail("Short PIN accepted.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+
+    private static void assertLookups(PinDenylist denylist) {
+        Assert.assertTrue(denylist.contains(new int[]{1, 2, 3, 4}));
+        Assert.assertTrue(denylist.contains(new int[]{0, 0, 0, 0}));
+        Assert.assertTrue(denylist.contains(new int[]{0, 1, 2, 3, 4, 5}));
+        Assert.assertTrue(denylist.contains(new int[]{1, 2, 3, 4, 5, 6, 7, 8}));
+
+        //Leading zeros are part of the PIN.
+        Assert.assertFalse(denylist.contains(new int[]{0, 0, 0, 0, 0}));
+        Assert.assertFalse(denylist.contains(new int[]{1, 2, 3, 4, 5}));
+        Assert.assertFalse(denylist.contains(new int[]{7, 3, 9, 1}));
+
+        //Length outside the table.
+        Assert.assertFalse(denylist.contains(new int[]{1, 2, 3}));
+        Assert.assertFalse(denylist.contains(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9}));
+    }
+
+    private static byte[] writeTable() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PinDenylist.write(outputStream, COMMON_PINS);
+        return outputStream.toByteArray();
+    }
+
+    private static int[] toDigits(int value, int length) {
+        int[] digits = new int[length];
+        for (int i = length - 1; i >= 0; i--) {
+            digits[i] = value % 10;
+            value /= 10;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+public class PinEntryStateMachineTest extends TestCase {
+
+    public void testAttempt() throws Exception {
+        PinBuffer typed = new PinBuffer();
+        PinEntryStateMachine machine = new PinEntryStateMachine(typed);
+        machine.setPinLength(4);
+        Assert.assertEquals(PinEntryStateMachine.STATE_READY, machine.getState());
+
+        Assert.assertFalse(machine.onKey(1));
+        Assert.assertEquals(PinEntryStateMachine.STATE_TYPING, machine.getState());
+        Assert.assertFalse(machine.onKey(KeyNames.BACKSPACE_VALUE));
+        Assert.assertEquals(PinEntryStateMachine.STATE_READY, machine.getState());
+
+        Assert.assertFalse(machine.onKey(1));
+        Assert.assertFalse(machine.onKey(2));
+        Assert.assertFalse(machine.onKey(3));
+        Assert.assertTrue(machine.onKey(4));
+        Assert.assertEquals(PinEntryStateMachine.STATE_VERIFYING, machine.getState());
+
+        machine.onVerified();
+        Assert.assertEquals(PinEntryStateMachine.STATE_FEEDBACK, machine.getState());
+        Assert.assertEquals(1, machine.getAttemptCount());
+        Assert.assertFalse(machine.onFeedbackEnd());
+        Assert.assertEquals(PinEntryStateMachine.STATE_READY, machine.getState());
+        Assert.assertTrue(typed.isEmpty());
+    }
+
+    public void testDigitsBufferedDuringFeedback() throws Exception {
+        PinBuffer typed = new PinBuffer();
+        PinEntryStateMachine machine = new PinEntryStateMachine(typed);
+        machine.setPinLength(4);
+
+        for (int i = 5; i <= 8; i++) machine.onKey(i);
+        machine.onVerified();
+
+        //Fast typing during the feedback doesn't touch the attempt under verification.
+        Assert.assertFalse(machine.onKey(1));
+        Assert.assertFalse(machine.onKey(2));
+        Assert.assertFalse(machine.onKey(9));
+        Assert.assertFalse(machine.onKey(KeyNames.BACKSPACE_VALUE));
+        Assert.assertFalse(machine.onKey(3));
+        Assert.assertEquals(4, typed.size());
+        Assert.assertEquals(5, typed.get(0));
+        Assert.assertEquals(3, machine.getPendingSize());
+
+        Assert.assertFalse(machine.onFeedbackEnd());
+        Assert.assertEquals(PinEntryStateMachine.STATE_TYPING, machine.getState());
+        Assert.assertTrue(typed.isMatched(new int[]{1, 2, 3}));
+
+        Assert.assertTrue(machine.onKey(4));
+        Assert.assertTrue(typed.isMatched(new int[]{1, 2, 3, 4}));
+    }
+
+    public void testFullAttemptDuringFeedback() throws Exception {
+        PinBuffer typed = new PinBuffer();
+        PinEntryStateMachine machine = new PinEntryStateMachine(typed);
+        machine.setPinLength(4);
+
+        for (int i = 5; i <= 8; i++) machine.onKey(i);
+        machine.onVerified();
+        for (int i = 1; i <= 6; i++) machine.onKey(i);     //Extra digits are ignored.
+
+        Assert.assertTrue(machine.onFeedbackEnd());
+        Assert.assertEquals(PinEntryStateMachine.STATE_VERIFYING, machine.getState());
+        Assert.assertTrue(typed.isMatched(new int[]{1, 2, 3, 4}));
+    }
+
+    public void testResetDuringFeedback() throws Exception {
+        PinBuffer typed = new PinBuffer();
+        PinEntryStateMachine machine = new PinEntryStateMachine(typed);
+        machine.setPinLength(4);
+
+        for (int i = 5; i <= 8; i++) machine.onKey(i);
+        machine.onVerified();
+        machine.onKey(1);
+        machine.reset();
+
+        //Stale feedback end has no effect.
+        Assert.assertFalse(machine.onFeedbackEnd());
+        Assert.assertEquals(PinEntryStateMachine.STATE_READY, machine.getState());
+        Assert.assertEquals(0, machine.getPendingSize());
+        Assert.assertTrue(typed.isEmpty());
+    }
+
+    public void testSetTypedNotVerified() throws Exception {
+        PinBuffer typed = new PinBuffer();
+        PinEntryStateMachine machine = new PinEntryStateMachine(typed);
+        machine.setPinLength(4);
+
+        machine.setTyped(new int[]{1, 2, 3, 4});
+        Assert.assertEquals(PinEntryStateMachine.STATE_TYPING, machine.getState());
+        Assert.assertTrue(typed.isMatched(new int[]{1, 2, 3, 4}));
+
+        Assert.assertFalse(machine.onKey(KeyNames.BACKSPACE_VALUE));
+        Assert.assertTrue(machine.onKey(5));
+        Assert.assertTrue(typed.isMatched(new int[]{1, 2, 3, 5}));
+
+        machine.setTyped(new int[0]);
+        Assert.assertEquals(PinEntryStateMachine.STATE_READY, machine.getState());
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+public class PointerTrackerTest extends TestCase {
+
+    public void testOverlappingPointers() throws Exception {
+        PointerTracker tracker = new PointerTracker();
+        tracker.onPointerDown(0, 10, 20, 0);
+        tracker.onPointerDown(1, 30, 40, 0);
+        Assert.assertEquals(2, tracker.getDownCount());
+
+        //First pointer lifts while the second is still down.
+        Assert.assertTrue(tracker.onPointerUp(0));
+        Assert.assertEquals(10f, tracker.getDownX(0));
+        Assert.assertEquals(20f, tracker.getDownY(0));
+        Assert.assertTrue(tracker.isDown(1));
+        Assert.assertEquals(1, tracker.getDownCount());
+
+        //Same id goes down again on the other point.
+        tracker.onPointerDown(0, 50, 60, 100);
+        Assert.assertTrue(tracker.onPointerUp(1));
+        Assert.assertEquals(30f, tracker.getDownX(1));
+        Assert.assertTrue(tracker.onPointerUp(0));
+        Assert.assertEquals(50f, tracker.getDownX(0));
+        Assert.assertEquals(100, tracker.getDownTime(0));
+
+        Assert.assertFalse(tracker.onPointerUp(0));
+        Assert.assertEquals(0, tracker.getDownCount());
+    }
+
+    public void testInvalidPointerIgnored() throws Exception {
+        PointerTracker tracker = new PointerTracker();
+        tracker.onPointerDown(PointerTracker.MAX_POINTER_ID, 10, 20, 0);
+        tracker.onPointerDown(-1, 10, 20, 0);
+        Assert.assertEquals(0, tracker.getDownCount());
+        Assert.assertFalse(tracker.onPointerUp(PointerTracker.MAX_POINTER_ID));
+
+        tracker.onPointerDown(3, 10, 20, 0);
+        tracker.clear();
+        Assert.assertFalse(tracker.isDown(3));
+        Assert.assertEquals(0, tracker.getDownCount());
+    }
+}
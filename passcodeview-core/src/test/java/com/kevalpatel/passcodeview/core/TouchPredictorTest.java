@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview.core;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+public class TouchPredictorTest extends TestCase {
+
+    public void testConstantVelocity() throws Exception {
+        TouchPredictor predictor = new TouchPredictor();
+        predictor.setHorizon(16);
+
+        //1 px per millisecond to the right, 0.5 px per millisecond to the bottom.
+        for (int t = 0; t <= 40; t += 8) predictor.addSample(100 + t, 200 + t / 2f, 1000 + t);
+        Assert.assertEquals(156f, predictor.getPredictedX(), 0.01f);
+        Assert.assertEquals(228f, predictor.getPredictedY(), 0.01f);
+
+        //Prediction is disabled with zero horizon.
+        predictor.setHorizon(0);
+        Assert.assertEquals(140f, predictor.getPredictedX(), 0.01f);
+        Assert.assertEquals(220f, predictor.getPredictedY(), 0.01f);
+    }
+
+    public void testCorrectedByNextSample() throws Exception {
+        TouchPredictor predictor = new TouchPredictor();
+        for (int t = 0; t <= 40; t += 8) predictor.addSample(100 + t, 200, t);
+        Assert.assertTrue(predictor.getPredictedX() > 140);
+
+        //Finger stops. Old samples leave the velocity window and the prediction settles on the finger.
+        for (int t = 48; t <= 48 + TouchPredictor.VELOCITY_WINDOW + 8; t += 8) predictor.addSample(140, 200, t);
+        Assert.assertEquals(140f, predictor.getPredictedX(), 0.01f);
+        Assert.assertEquals(200f, predictor.getPredictedY(), 0.01f);
+    }
+
+    public void testSingleSample() throws Exception {
+        TouchPredictor predictor = new TouchPredictor();
+        Assert.assertFalse(predictor.hasSample());
+
+        predictor.addSample(10, 20, 5);
+        Assert.assertTrue(predictor.hasSample());
+        Assert.assertEquals(10f, predictor.getPredictedX());
+        Assert.assertEquals(20f, predictor.getPredictedY());
+
+        //Old velocity is not carried to the next gesture.
+        predictor.addSample(30, 20, 10);
+        predictor.clear();
+        Assert.assertFalse(predictor.hasSample());
+        predictor.addSample(50, 60, 20);
+        Assert.assertEquals(50f, predictor.getPredictedX());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.core;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+public class TouchTraceTest extends TestCase {
+
+    public void testWriteAndRead() throws Exception {
+        TouchTrace trace = new TouchTrace();
+
+        //Two thumbs with one historical sample
+        trace.addEvent(10, 0, 0, 1);
+        trace.addPointer(0, 100.5f, 200.25f);
+        trace.addEvent(12, 2, TouchTrace.FLAG_HISTORICAL, 2);
+        trace.addPointer(0, 101f, 201f);
+        trace.addPointer(1, 300f, 400f);
+        trace.addEvent(16, 2, 0, 2);
+        trace.addPointer(0, 102f, 202f);
+        trace.addPointer(1, 301f, 401f);
+        trace.addCommittedValue(4);
+        trace.addCommittedValue(-1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trace.writeTo(out);
+        TouchTrace readTrace = TouchTrace.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        Assert.assertEquals(3, readTrace.getEventCount());
+        Assert.assertEquals(5, readTrace.getSampleCount());
+        Assert.assertEquals(12, readTrace.getEventTime(1));
+        Assert.assertTrue(readTrace.isHistorical(1));
+        Assert.assertFalse(readTrace.isHistorical(2));
+        Assert.assertEquals(2, readTrace.getPointerCount(2));
+        Assert.assertEquals(3, readTrace.getFirstSample(2));
+        Assert.assertEquals(1, readTrace.getPointerId(4));
+        Assert.assertEquals(100.5f, readTrace.getX(0));
+        Assert.assertEquals(401f, readTrace.getY(4));
+        Assert.assertEquals(2, readTrace.getCommittedCount());
+        Assert.assertEquals(-1, readTrace.getCommittedValue(1));
+    }
+
+    public void testGrowAndClear() throws Exception {
+        TouchTrace trace = new TouchTrace();
+        for (int i = 0; i < 1000; i++) {
+            trace.addEvent(i, 2, 0, 1);
+            trace.addPointer(0, i, i);
+            trace.addCommittedValue(i % 10);
+        }
+        Assert.assertEquals(1000, trace.getEventCount());
+        Assert.assertEquals(999f, trace.getX(999));
+        Assert.assertEquals(1000, trace.getCommittedValues().length);
+
+        trace.clear();
+        Assert.assertEquals(0, trace.getEventCount());
+        Assert.assertEquals(0, trace.getSampleCount());
+        Assert.assertEquals(0, trace.getCommittedCount());
+    }
+
+    public void testReadInvalidTrace() throws Exception {
+        try {
+            TouchTrace.readFrom(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+            Assert.fail("Invalid trace should not be read.");
+        } catch (IOException e) {
+            //Expected
+        }
+    }
+}
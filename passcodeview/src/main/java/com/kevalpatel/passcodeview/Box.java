@@ -16,10 +16,14 @@
 
 package com.kevalpatel.passcodeview;
 
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Rect;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.animation.CycleInterpolator;
 
 /**
  * Created by Keval Patel on 09/04/17.
@@ -31,8 +35,19 @@ abstract class Box {
 
     private final PasscodeView mView;
 
+    static final long SHAKE_DURATION = 300;     //Duration of the error shake in milliseconds.
+
+    @Nullable
+    private ClockAnimator mShakeAnimator;       //Left-Right animator. Created when the box shakes first time.
+    private float mShakeOffset = 0;             //Current horizontal translation of the box while shaking.
+
+    private final String mDrawSectionName;      //Trace section name of the draw. Built once, so tracing does not allocate.
+    private final String mMeasureSectionName;   //Trace section name of the measure.
+
     public Box(@NonNull PasscodeView rootView) {
         mView = rootView;
+        mDrawSectionName = getClass().getSimpleName() + ".draw";
+        mMeasureSectionName = getClass().getSimpleName() + ".measure";
     }
 
     @NonNull
@@ -56,4 +71,129 @@ abstract class Box {
     abstract void measure(@NonNull Rect rootViewBounds);
 
     abstract void preparePaint();
+
+    /**
+     * Draw the box on the canvas. If the box is shaking, the whole box is translated horizontally
+     * around {@link #draw(Canvas)}, so the bounds of the box and its components never move.
+     *
+     * @param canvas canvas of the view.
+     */
+    final void dispatchDraw(@NonNull Canvas canvas) {
+        PasscodeTrace.beginSection(mDrawSectionName);
+        try {
+            if (mShakeOffset == 0) {
+                draw(canvas);
+                return;
+            }
+
+            int saveCount = canvas.save();
+            canvas.translate(mShakeOffset, 0);
+            draw(canvas);
+            canvas.restoreToCount(saveCount);
+        } finally {
+            PasscodeTrace.endSection();
+        }
+    }
+
+    /**
+     * Measure the box inside the root view bound. The measurement is recorded as the trace section
+     * named after the box.
+     *
+     * @param rootViewBounds bound of the root view.
+     */
+    final void dispatchMeasure(@NonNull Rect rootViewBounds) {
+        PasscodeTrace.beginSection(mMeasureSectionName);
+        try {
+            measure(rootViewBounds);
+        } finally {
+            PasscodeTrace.endSection();
+        }
+    }
+
+    /**
+     * Add the components held by this box to the heap stats.
+     *
+     * @param stats {@link PasscodeHeapStats} to fill.
+     */
+    void collectHeapStats(@NonNull PasscodeHeapStats stats) {
+        //Do nothing
+    }
+
+    /**
+     * Write the current colors of this box into the color array indexed by the {@link PasscodeTheme}
+     * color constants. Theme transitions start from these colors.
+     *
+     * @param colors colors to fill.
+     */
+    void collectThemeColors(@NonNull int[] colors) {
+        //Do nothing
+    }
+
+    /**
+     * Change the colors of this box to the colors of the array indexed by the {@link PasscodeTheme}
+     * color constants. This is called on every frame of the theme transition, so it must only
+     * change the colors of the existing paints.
+     *
+     * @param colors colors to apply.
+     */
+    void applyThemeColors(@NonNull int[] colors) {
+        //Do nothing
+    }
+
+    /**
+     * Shake the whole box left-right for two times. Calling this while the box is already shaking
+     * restarts the shake.
+     */
+    final void playShakeAnimation() {
+        if (mShakeAnimator == null) {
+            float amplitude = getContext().getResources().getDimension(R.dimen.lib_error_shake_amplitude);
+
+            mShakeAnimator = new ClockAnimator(mView, 0, amplitude);
+            mShakeAnimator.setDuration(SHAKE_DURATION);
+            mShakeAnimator.setInterpolator(new CycleInterpolator(2));
+            mShakeAnimator.addUpdateListener(new ClockAnimator.UpdateListener() {
+                @Override
+                public void onAnimationUpdate(@NonNull ClockAnimator animator) {
+                    mShakeOffset = animator.getAnimatedValue();
+                    mView.invalidate();
+                }
+            });
+            mShakeAnimator.addListener(new AnimatorListenerAdapter() {
+                private boolean mIsCancelled;
+
+                @Override
+                public void onAnimationStart(Animator animation) {
+                    mIsCancelled = false;
+                }
+
+                @Override
+                public void onAnimationCancel(Animator animation) {
+                    mIsCancelled = true;
+                }
+
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    mShakeOffset = 0;
+                    mView.invalidate();
+                    if (!mIsCancelled) onShakeAnimationEnd();
+                }
+            });
+            mView.trackAnimation(mShakeAnimator);
+        }
+        mShakeAnimator.start();
+    }
+
+    /**
+     * Called when the shake started using {@link #playShakeAnimation()} finishes.
+     */
+    void onShakeAnimationEnd() {
+        //Do nothing
+    }
+
+    /**
+     * @return Current horizontal translation of the box.
+     */
+    final float getShakeOffset() {
+        return mShakeOffset;
+    }
 }
@@ -16,22 +16,17 @@
 
 package com.kevalpatel.passcodeview;
 
-import android.animation.Animator;
-import android.animation.ValueAnimator;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.PorterDuff;
-import android.graphics.PorterDuffColorFilter;
 import android.graphics.Rect;
-import android.graphics.drawable.Drawable;
 import android.hardware.fingerprint.FingerprintManager;
 import android.support.annotation.ColorInt;
 import android.support.annotation.Dimension;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
 import android.text.TextPaint;
-import android.view.animation.CycleInterpolator;
 
 import com.kevalpatel.passcodeview.interfaces.AuthenticationListener;
 
@@ -43,6 +38,8 @@ import com.kevalpatel.passcodeview.interfaces.AuthenticationListener;
 
 final class BoxFingerprint extends Box implements FingerPrintAuthHelper.FingerPrintAuthCallback {
     static final String DEF_FINGERPRINT_STATUS = "Scan your finger to authenticate";
+    static final long STATUS_HOLD_DURATION = 1000;      //Time to display the error status after the shake.
+    static final long SUCCESS_HOLD_DURATION = 1000;     //Time to display the success status before notifying the listener.
 
     private Boolean isFingerPrintBoxVisible;
     private Rect mBounds = new Rect();
@@ -59,13 +56,63 @@ final class BoxFingerprint extends Box implements FingerPrintAuthHelper.FingerPr
     private String mCurrentStatusText;
 
     private TextPaint mStatusTextPaint;
+    @Nullable
+    private TintedIcon mFingerprintIcon;        //Fingerprint icon in the color of the status. Created on the first draw.
 
     @Nullable
     private FingerPrintAuthHelper mFingerPrintAuthHelper;
 
+    //Status queue
+    private boolean mIsStatusActive = false;    //True while the error status is displayed.
+    private boolean mIsErrorColor = false;      //True while the status text is drawn in the error color.
+    private int mActiveStatusCode;
+    private String mActiveStatusMessage;
+    private int mPendingStatusCode = -1;        //-1 if there is no status waiting.
+    private String mPendingStatusMessage;
+
+    /**
+     * Display the next pending status or the normal status once the current status is displayed
+     * for {@link #SHAKE_DURATION} + {@link #STATUS_HOLD_DURATION}.
+     */
+    private final Runnable mStatusTimeoutRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (mPendingStatusCode != -1) {
+                int code = mPendingStatusCode;
+                mPendingStatusCode = -1;
+                showStatus(code, mPendingStatusMessage);
+            } else {
+                mIsStatusActive = false;
+                mCurrentStatusText = mNormalStatusText;
+                setErrorColor(false);
+                getRootView().invalidate();
+            }
+        }
+    };
+
+    /**
+     * Notify the listener and display the normal status once the success status is displayed for
+     * {@link #SUCCESS_HOLD_DURATION}.
+     */
+    private final Runnable mSuccessRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (mAuthListener != null) mAuthListener.onAuthenticationSuccessful();
+            mIsStatusActive = false;
+            mCurrentStatusText = mNormalStatusText;
+            getRootView().invalidate();
+        }
+    };
+
     BoxFingerprint(@NonNull PasscodeView passcodeView) {
         super(passcodeView);
-        init();
+
+        PasscodeTrace.beginSection(PasscodeTrace.FINGERPRINT_BOX_INIT);
+        try {
+            init();
+        } finally {
+            PasscodeTrace.endSection();
+        }
     }
 
     private void init() {
@@ -77,8 +124,30 @@ final class BoxFingerprint extends Box implements FingerPrintAuthHelper.FingerPr
         }
     }
 
+    /**
+     * Pause the fingerprint scanning while the view is not visible. Queued status are kept.
+     */
+    void pauseFingerprintScanner() {
+        if (mFingerPrintAuthHelper != null) mFingerPrintAuthHelper.stopAuth();
+    }
+
+    /**
+     * Resume the fingerprint scanning paused by {@link #pauseFingerprintScanner()}.
+     */
+    void resumeFingerprintScanner() {
+        if (isFingerPrintBoxVisible && mFingerPrintAuthHelper != null) mFingerPrintAuthHelper.startAuth();
+    }
+
     void stopFingerprintScanner() {
         if (mFingerPrintAuthHelper != null) mFingerPrintAuthHelper.stopAuth();
+
+        //Drop the queued errors and the pending success. View is not displayed anymore.
+        getRootView().removeDelayedTask(mStatusTimeoutRunnable);
+        getRootView().removeDelayedTask(mSuccessRunnable);
+        mPendingStatusCode = -1;
+        mIsStatusActive = false;
+        mCurrentStatusText = mNormalStatusText;
+        if (mStatusTextPaint != null) setErrorColor(false);
     }
 
     @Override
@@ -100,17 +169,19 @@ final class BoxFingerprint extends Box implements FingerPrintAuthHelper.FingerPr
         //Do nothing
     }
 
-    @SuppressWarnings("deprecation")
     @Override
     void draw(@NonNull Canvas canvas) {
         if (isFingerPrintBoxVisible) {
             //Show fingerprint icon
-            Drawable d = getContext().getResources().getDrawable(R.drawable.ic_fingerprint);
+            if (mFingerprintIcon == null) {
+                mFingerprintIcon = new TintedIcon(getContext().getResources(), R.drawable.ic_fingerprint);
+            }
+            TintedIcon d = mFingerprintIcon;
             d.setBounds((int) (mBounds.exactCenterX() - mBounds.height() / 4),
                     mBounds.top + 15,
                     (int) (mBounds.exactCenterX() + mBounds.height() / 4),
                     mBounds.top + mBounds.height() / 2 + 15);
-            d.setColorFilter(new PorterDuffColorFilter(mStatusTextPaint.getColor(), PorterDuff.Mode.SRC_ATOP));
+            d.setColor(mStatusTextPaint.getColor());
             d.draw(canvas);
 
             //Show finger print text
@@ -139,19 +210,29 @@ final class BoxFingerprint extends Box implements FingerPrintAuthHelper.FingerPr
         mStatusTextPaint.setColor(mStatusTextColor);
     }
 
+    @Override
+    void collectThemeColors(@NonNull int[] colors) {
+        colors[PasscodeTheme.COLOR_FINGERPRINT_STATUS] = mStatusTextColor;
+    }
+
+    @Override
+    void applyThemeColors(@NonNull int[] colors) {
+        setStatusTextColor(colors[PasscodeTheme.COLOR_FINGERPRINT_STATUS]);
+    }
+
     @Override
     public void onFingerprintAuthSuccess(FingerprintManager.CryptoObject cryptoObject) {
+        //Success overrides all the queued errors.
+        getRootView().removeDelayedTask(mStatusTimeoutRunnable);
+        mPendingStatusCode = -1;
+        mIsStatusActive = true;
+
         mCurrentStatusText = "Fingerprint recognized";
+        setErrorColor(false);
         getRootView().invalidate();
 
-        new android.os.Handler().postDelayed(new Runnable() {
-            @Override
-            public void run() {
-                if (mAuthListener != null) mAuthListener.onAuthenticationSuccessful();
-                mCurrentStatusText = mNormalStatusText;
-                getRootView().invalidate();
-            }
-        }, 1000);
+        getRootView().removeDelayedTask(mSuccessRunnable);
+        getRootView().postDelayedTask(mSuccessRunnable, SUCCESS_HOLD_DURATION);
     }
 
     @Override
@@ -160,57 +241,76 @@ final class BoxFingerprint extends Box implements FingerPrintAuthHelper.FingerPr
             case FingerPrintAuthHelper.CANNOT_RECOGNIZE_ERROR:
             case FingerPrintAuthHelper.NON_RECOVERABLE_ERROR:
             case FingerPrintAuthHelper.RECOVERABLE_ERROR:
-                mStatusTextPaint.setColor(Color.RED);
-                mCurrentStatusText = errorMessage;
-                playErrorAnimation();
+                queueStatus(errorCode, errorMessage == null ? "" : errorMessage);
                 break;
         }
 
     }
 
     /**
-     * Apply the error animations which will move key left to right and after right to left for two times.
+     * Queue the error status. The sensor can report help messages many times per second, so only one
+     * status is displayed at a time and only one status waits behind it. Repeated status and the status
+     * with the lower priority than the waiting one are dropped and counted in
+     * {@link PasscodeMetrics#getCoalescedStatusCount()}.
      */
-    private void playErrorAnimation() {
-        ValueAnimator goLeftAnimator = ValueAnimator.ofInt(0, 10);
-        goLeftAnimator.setInterpolator(new CycleInterpolator(2));
-        goLeftAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                mBounds.left += (int) animation.getAnimatedValue();
-                mBounds.right += (int) animation.getAnimatedValue();
-                getRootView().invalidate();
-            }
-        });
-        goLeftAnimator.addListener(new Animator.AnimatorListener() {
-            @Override
-            public void onAnimationStart(Animator animation) {
-            }
+    private void queueStatus(int errorCode, @NonNull String errorMessage) {
+        if (!mIsStatusActive) {
+            showStatus(errorCode, errorMessage);
+            return;
+        }
 
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                new android.os.Handler().postDelayed(new Runnable() {
-                    @Override
-                    public void run() {
-                        mCurrentStatusText = mNormalStatusText;
-                        mStatusTextPaint.setColor(mStatusTextColor);
-                        getRootView().invalidate();
-                    }
-                }, 1000);
-                if (mAuthListener != null) mAuthListener.onAuthenticationFailed();
-            }
+        if ((errorCode == mActiveStatusCode && errorMessage.equals(mActiveStatusMessage))
+                || (errorCode == mPendingStatusCode && errorMessage.equals(mPendingStatusMessage))) {
+            //Same message is already displayed or waiting.
+            getRootView().getMetrics().onStatusCoalesced();
+            return;
+        }
 
-            @Override
-            public void onAnimationCancel(Animator animation) {
+        if (mPendingStatusCode != -1) {
+            //Only one status can wait. Keep the one with the higher priority or the latest one.
+            getRootView().getMetrics().onStatusCoalesced();
+            if (getStatusPriority(errorCode) < getStatusPriority(mPendingStatusCode)) return;
+        }
+        mPendingStatusCode = errorCode;
+        mPendingStatusMessage = errorMessage;
+    }
 
-            }
+    /**
+     * Display the error status, shake the box and notify the listener. The status stays on the screen
+     * until {@link #mStatusTimeoutRunnable} runs.
+     */
+    private void showStatus(int errorCode, @NonNull String errorMessage) {
+        mIsStatusActive = true;
+        mActiveStatusCode = errorCode;
+        mActiveStatusMessage = errorMessage;
+
+        setErrorColor(true);
+        mCurrentStatusText = errorMessage;
+        playShakeAnimation();
+        getRootView().invalidate();
 
-            @Override
-            public void onAnimationRepeat(Animator animation) {
+        if (mAuthListener != null) mAuthListener.onAuthenticationFailed();
+        getRootView().postDelayedTask(mStatusTimeoutRunnable, SHAKE_DURATION + STATUS_HOLD_DURATION);
+    }
 
-            }
-        });
-        goLeftAnimator.start();
+    private void setErrorColor(boolean isError) {
+        mIsErrorColor = isError;
+        mStatusTextPaint.setColor(isError ? Color.RED : mStatusTextColor);
+    }
+
+    /**
+     * @return Priority of the status. Non recoverable errors have the highest priority and the help
+     * messages have the lowest.
+     */
+    private static int getStatusPriority(int errorCode) {
+        switch (errorCode) {
+            case FingerPrintAuthHelper.NON_RECOVERABLE_ERROR:
+                return 2;
+            case FingerPrintAuthHelper.CANNOT_RECOGNIZE_ERROR:
+                return 1;
+            default:
+                return 0;
+        }
     }
 
     ///////////////// SETTERS/GETTERS //////////////
@@ -222,7 +322,12 @@ final class BoxFingerprint extends Box implements FingerPrintAuthHelper.FingerPr
 
     void setStatusText(@NonNull String statusText) {
         this.mNormalStatusText = statusText;
-        mCurrentStatusText = mNormalStatusText;
+        if (!mIsStatusActive) mCurrentStatusText = mNormalStatusText;
+    }
+
+    @NonNull
+    String getCurrentStatusText() {
+        return mCurrentStatusText;
     }
 
     int getStatusTextColor() {
@@ -231,6 +336,9 @@ final class BoxFingerprint extends Box implements FingerPrintAuthHelper.FingerPr
 
     void setStatusTextColor(@ColorInt int statusTextColor) {
         this.mStatusTextColor = statusTextColor;
+
+        //Error color stays until the error status times out.
+        if (mStatusTextPaint != null && !mIsErrorColor) mStatusTextPaint.setColor(statusTextColor);
     }
 
     float getStatusTextSize() {
@@ -254,6 +362,15 @@ final class BoxFingerprint extends Box implements FingerPrintAuthHelper.FingerPr
         this.isFingerPrintBoxVisible = isEnable && Utils.isFingerPrintEnrolled(getContext());
     }
 
+    /**
+     * Display the fingerprint box without checking the enrolled fingerprints. This is to render the
+     * box on the devices/environments without the fingerprint hardware.
+     */
+    @VisibleForTesting
+    void forceFingerPrintBoxVisible() {
+        this.isFingerPrintBoxVisible = true;
+    }
+
     /**
      * Authentication callback listener. If {@link AuthenticationListener} is not set, fingerprint
      * authentication callbacks won't get call.
@@ -17,14 +17,14 @@
 package com.kevalpatel.passcodeview;
 
 import android.graphics.Canvas;
-import android.graphics.PorterDuff;
-import android.graphics.PorterDuffColorFilter;
 import android.graphics.Rect;
-import android.graphics.drawable.Drawable;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.Size;
 
+import com.kevalpatel.passcodeview.core.KeyNames;
+import com.kevalpatel.passcodeview.core.KeypadGeometry;
+import com.kevalpatel.passcodeview.core.NearestKeyMap;
 import com.kevalpatel.passcodeview.keys.Key;
 
 import java.util.ArrayList;
@@ -37,13 +37,24 @@ import java.util.ArrayList;
 
 final class BoxKeypad extends Box {
     @Size(Constants.NO_OF_ROWS * Constants.NO_OF_COLUMNS)
-    private static String[][] sKeyNames;
-    private static KeyNamesBuilder sKeyNamesBuilder;
+    private String[][] mKeyNames;                   //Names of the keys in the column and row order.
+    private final String[] mDigitNames = new String[KeyNames.NO_OF_DIGITS];   //Names of the keys indexed by the digit value.
 
     private boolean mIsOneHandOperation = false;    //Bool to set true if you want to display one hand key board.
     private ArrayList<Key> mKeys;
     private Rect mKeyBoxBound = new Rect();
+    private final KeypadGeometry mGeometry = new KeypadGeometry();
+    private final NearestKeyMap mNearestKeyMap = new NearestKeyMap();
+    private boolean mIsNearestKeyEnabled = false;   //Bool to set true if the touch between the keys should resolve to the closest key.
+    private float mNearestKeyMaxDistance = -1;      //Maximum distance of the touch from the key center in nearest key mode. -1 for half of the cell diagonal.
+
+    //Key centers passed to the nearest key map. Reused on each measure.
+    private final float[] mKeyCenterXs = new float[Constants.NO_OF_COLUMNS * Constants.NO_OF_ROWS];
+    private final float[] mKeyCenterYs = new float[Constants.NO_OF_COLUMNS * Constants.NO_OF_ROWS];
+    private final boolean[] mIsKeyEnabled = new boolean[Constants.NO_OF_COLUMNS * Constants.NO_OF_ROWS];
     private Key.Builder mKeyBuilder;
+    private Key.Builder mKeysBuilder;               //Builder of the current keys. Keys are created again only if the builder changes.
+    private final TintedIcon mBackSpaceIcon;        //Back space icon in the color of the key text.
 
     /**
      * Public constructor
@@ -52,23 +63,36 @@ final class BoxKeypad extends Box {
      */
     BoxKeypad(@NonNull PasscodeView passcodeView) {
         super(passcodeView);
-        sKeyNamesBuilder = new KeyNamesBuilder();
-        sKeyNames = sKeyNamesBuilder.build();
+        mBackSpaceIcon = new TintedIcon(getContext().getResources(), R.drawable.ic_back_space);
+        setKeyNames(new KeyNamesBuilder());
     }
 
     /**
-     * Set the name of the different keys based on the locale.
-     * This method and {@link #sKeyNames} are static to avoid duplicate object creation.
+     * Set the name of the different keys based on the locale. Names are copied, so changing the
+     * builder later doesn't affect the keypad. Already measured keys are relabeled in place. Empty
+     * key and the backspace don't change, so the bounds of the keys and the nearest key map stay valid
+     * and the keypad doesn't need to be measured again.
      *
      * @param keyNames String with the names of the key.
      */
-    static void setKeyNames(@NonNull KeyNamesBuilder keyNames) {
-        sKeyNamesBuilder = keyNames;
-        sKeyNames = keyNames.build();
+    void setKeyNames(@NonNull KeyNamesBuilder keyNames) {
+        System.arraycopy(keyNames.getDigitNames(), 0, mDigitNames, 0, KeyNames.NO_OF_DIGITS);
+        mKeyNames = KeyNames.buildGrid(mDigitNames);
+
+        if (mKeys == null) return;
+        for (int colNo = 0; colNo < Constants.NO_OF_COLUMNS; colNo++) {
+            for (int rowNo = 0; rowNo < Constants.NO_OF_ROWS; rowNo++) {
+                mKeys.get(mGeometry.getCellIndex(colNo, rowNo)).setDigit(mKeyNames[colNo][rowNo]);
+            }
+        }
     }
 
-    KeyNamesBuilder getKeyNameBuilder() {
-        return sKeyNamesBuilder;
+    /**
+     * @param keyName Name of the pressed key.
+     * @return Digit value of the key or {@link KeyNames#BACKSPACE_VALUE} for the backspace.
+     */
+    int getValueOfKey(@NonNull String keyName) {
+        return KeyNames.getValueOfKey(mDigitNames, keyName);
     }
 
     /**
@@ -103,27 +127,76 @@ final class BoxKeypad extends Box {
         if (mKeyBuilder == null)
             throw new NullPointerException("Set key using KeyBuilder first.");
 
-        mKeyBoxBound.left = mIsOneHandOperation ? (int) (rootViewBound.width() * 0.3) : 0;
-        mKeyBoxBound.right = rootViewBound.width();
-        mKeyBoxBound.top = (int) (rootViewBound.top + (rootViewBound.height() * Constants.KEY_BOARD_TOP_WEIGHT));
-        mKeyBoxBound.bottom = (int) (rootViewBound.bottom -
-                rootViewBound.height() * (getRootView().isFingerPrintEnable() ? Constants.KEY_BOARD_BOTTOM_WEIGHT : 0));
-
-        float singleKeyHeight = mKeyBoxBound.height() / Constants.NO_OF_ROWS;
-        float singleKeyWidth = mKeyBoxBound.width() / Constants.NO_OF_COLUMNS;
+        mGeometry.measure(rootViewBound.left,
+                rootViewBound.top,
+                rootViewBound.right,
+                rootViewBound.bottom,
+                mIsOneHandOperation,
+                getRootView().isFingerPrintEnable());
+        mKeyBoxBound.set(mGeometry.getBoxLeft(),
+                mGeometry.getBoxTop(),
+                mGeometry.getBoxRight(),
+                mGeometry.getBoxBottom());
+
+        //Keys of the same builder move to the new cells instead of being created again.
+        if (mKeys != null && mKeysBuilder == mKeyBuilder) {
+            for (int colNo = 0; colNo < Constants.NO_OF_COLUMNS; colNo++) {
+                for (int rowNo = 0; rowNo < Constants.NO_OF_ROWS; rowNo++) {
+                    int cell = mGeometry.getCellIndex(colNo, rowNo);
+                    mKeys.get(cell).setBound(mGeometry.getCellLeft(cell),
+                            mGeometry.getCellTop(cell),
+                            mGeometry.getCellRight(cell),
+                            mGeometry.getCellBottom(cell));
+                }
+            }
+            buildNearestKeyMap();
+            return;
+        }
 
-        mKeys = new ArrayList<>();
+        //Keys are added in the cell index order, so the cell found by the geometry is the key index.
+        mKeys = new ArrayList<>(Constants.NO_OF_COLUMNS * Constants.NO_OF_ROWS);
+        mKeysBuilder = mKeyBuilder;
         for (int colNo = 0; colNo < Constants.NO_OF_COLUMNS; colNo++) {
 
             for (int rowNo = 0; rowNo < Constants.NO_OF_ROWS; rowNo++) {
-                Rect keyBound = new Rect();
-                keyBound.left = (int) ((colNo * singleKeyWidth) + mKeyBoxBound.left);
-                keyBound.right = (int) (keyBound.left + singleKeyWidth);
-                keyBound.top = (int) ((rowNo * singleKeyHeight) + mKeyBoxBound.top);
-                keyBound.bottom = (int) (keyBound.top + singleKeyHeight);
-                mKeys.add(mKeyBuilder.getKey(sKeyNames[colNo][rowNo], keyBound));
+                int cell = mGeometry.getCellIndex(colNo, rowNo);
+                Rect keyBound = new Rect(mGeometry.getCellLeft(cell),
+                        mGeometry.getCellTop(cell),
+                        mGeometry.getCellRight(cell),
+                        mGeometry.getCellBottom(cell));
+                mKeys.add(mKeyBuilder.getKey(mKeyNames[colNo][rowNo], keyBound));
             }
         }
+        buildNearestKeyMap();
+    }
+
+    /**
+     * Precompute the nearest key of each point of the keypad, so {@link #findKey(float, float)} stays
+     * O(1) in the nearest key mode. Empty key is never found.
+     */
+    private void buildNearestKeyMap() {
+        if (mKeys == null) return;
+
+        for (int i = 0; i < mKeys.size(); i++) {
+            Rect keyBound = mKeys.get(i).getBound();
+            mKeyCenterXs[i] = keyBound.exactCenterX();
+            mKeyCenterYs[i] = keyBound.exactCenterY();
+            mIsKeyEnabled[i] = !mKeys.get(i).getDigit().isEmpty();
+        }
+
+        float maxDistance = mNearestKeyMaxDistance;
+        if (maxDistance <= 0) {
+            Rect keyBound = mKeys.get(0).getBound();
+            maxDistance = (float) Math.hypot(keyBound.width(), keyBound.height()) / 2;
+        }
+        mNearestKeyMap.build(mKeyBoxBound.left,
+                mKeyBoxBound.top,
+                mKeyBoxBound.right,
+                mKeyBoxBound.bottom,
+                mKeyCenterXs,
+                mKeyCenterYs,
+                mIsKeyEnabled,
+                maxDistance);
     }
 
     @Override
@@ -142,8 +215,9 @@ final class BoxKeypad extends Box {
 
     @Override
     void onAuthenticationFail() {
-        //Play failed animation for all keys
+        //Play failed animation for all keys and shake the keypad as one.
         for (Key key : mKeys) key.onAuthFail();
+        playShakeAnimation();
         getRootView().invalidate();
     }
 
@@ -154,22 +228,40 @@ final class BoxKeypad extends Box {
         getRootView().invalidate();
     }
 
+    @Override
+    void collectHeapStats(@NonNull PasscodeHeapStats stats) {
+        if (mKeys != null) stats.addComponents(mKeys.size());
+    }
+
+    @Override
+    void collectThemeColors(@NonNull int[] colors) {
+        if (mKeyBuilder == null) return;
+        colors[PasscodeTheme.COLOR_KEY_TEXT] = mKeyBuilder.getKeyTextColor();
+        colors[PasscodeTheme.COLOR_KEY_STROKE] = mKeyBuilder.getKeyStrokeColor();
+    }
+
+    @Override
+    void applyThemeColors(@NonNull int[] colors) {
+        if (mKeyBuilder == null) return;
+        mKeyBuilder.setThemeColors(colors[PasscodeTheme.COLOR_KEY_TEXT], colors[PasscodeTheme.COLOR_KEY_STROKE]);
+    }
+
     /**
-     * Draw keyboard on the canvas. This will drawText all the {@link #sKeyNames} on the canvas.
+     * Draw keyboard on the canvas. This will drawText all the {@link #mKeyNames} on the canvas.
      *
      * @param canvas canvas on which the keyboard will be drawn.
      */
     @Override
     void draw(@NonNull Canvas canvas) {
-        Drawable d = getContext().getResources().getDrawable(R.drawable.ic_back_space);
-        d.setColorFilter(new PorterDuffColorFilter(mKeyBuilder.getKeyTextPaint().getColor(), PorterDuff.Mode.SRC_ATOP));
+        mBackSpaceIcon.setColor(mKeyBuilder.getKeyTextPaint().getColor());
 
-        for (Key key : mKeys) {
+        for (int i = 0; i < mKeys.size(); i++) {
+            Key key = mKeys.get(i);
             if (key.getDigit().isEmpty()) continue; //Don't drawText the empty button
 
             key.drawShape(canvas);
             if (key.getDigit().equals(KeyNamesBuilder.BACKSPACE_TITLE)) {
-                key.drawBackSpace(canvas, d);
+                key.drawBackSpace(canvas, mBackSpaceIcon);
             } else {
                 key.drawText(canvas);
             }
@@ -189,19 +281,41 @@ final class BoxKeypad extends Box {
     @Nullable
     String findKeyPressed(float downEventX, float downEventY, float upEventX, float upEventY) {
         //figure out down key.
-        for (Key key : mKeys) {
-            if (key.getDigit().isEmpty()) continue;  //Empty key
-
-            //Update the typed passcode if the ACTION_DOWN and ACTION_UP keys are same.
-            //Prevent swipe gestures to trigger false key press event.
-            if (key.isKeyPressed(downEventX, downEventY) && key.isKeyPressed(upEventX, upEventY)) {
-                key.playClickAnimation();
-                return key.getDigit();
-            }
+        Key key = findKey(downEventX, downEventY);
+        if (key == null) return null;
+
+        //Update the typed passcode if the ACTION_DOWN and ACTION_UP keys are same.
+        //Prevent swipe gestures to trigger false key press event.
+        if (mIsNearestKeyEnabled ? findKey(upEventX, upEventY) == key : key.isKeyPressed(upEventX, upEventY)) {
+            key.playClickAnimation();
+            return key.getDigit();
         }
         return null;
     }
 
+    /**
+     * Find the key under the touch point.
+     *
+     * @param touchX touch X coordinate
+     * @param touchY touch Y coordinate
+     * @return {@link Key} under the point or null if the point is not on any key with the digit. In
+     * the nearest key mode, closest key within the maximum distance.
+     */
+    @Nullable
+    Key findKey(float touchX, float touchY) {
+        if (mIsNearestKeyEnabled) {
+            int index = mNearestKeyMap.find(touchX, touchY);
+            return index < 0 ? null : mKeys.get(index);
+        }
+
+        int cell = mGeometry.findCell(touchX, touchY);
+        if (cell < 0) return null;
+
+        Key key = mKeys.get(cell);
+        if (key.getDigit().isEmpty()) return null;  //Empty key
+        return key.isKeyPressed(touchX, touchY) ? key : null;
+    }
+
     ArrayList<Key> getKeys() {
         return mKeys;
     }
@@ -219,6 +333,23 @@ final class BoxKeypad extends Box {
     }
 
 
+    boolean isNearestKeyEnabled() {
+        return mIsNearestKeyEnabled;
+    }
+
+    void setNearestKeyEnabled(boolean nearestKeyEnabled) {
+        mIsNearestKeyEnabled = nearestKeyEnabled;
+    }
+
+    float getNearestKeyMaxDistance() {
+        return mNearestKeyMaxDistance;
+    }
+
+    void setNearestKeyMaxDistance(float nearestKeyMaxDistance) {
+        mNearestKeyMaxDistance = nearestKeyMaxDistance;
+        buildNearestKeyMap();
+    }
+
     Key.Builder getKeyBuilder() {
         return mKeyBuilder;
     }
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.support.annotation.NonNull;
+
+import com.kevalpatel.passcodeview.core.KeyboardLayout;
+import com.kevalpatel.passcodeview.keys.Key;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * This {@link Box} displays the alphanumeric keyboard of the {@link PassphraseView}. Keys are laid
+ * out by the {@link KeyboardLayout} and drawn using the same {@link Key.Builder} as the {@link PinView}.
+ * Keys of each page are created once the page is displayed first time after the measure.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+final class BoxPassphraseKeypad extends Box {
+    private final KeyboardLayout mLayout = KeyboardLayout.qwerty();
+    private final Rect mKeyBoxBound = new Rect();
+    private Key[][] mPageKeys;                      //Keys of each page. Null until the page is displayed.
+    private int mPage = KeyboardLayout.PAGE_LOWER;  //Current page of the keyboard.
+    private Key.Builder mKeyBuilder;
+
+    private final TintedIcon mBackSpaceIcon;        //Back space icon in the color of the key text.
+
+    /**
+     * Public constructor
+     *
+     * @param passcodeView {@link PassphraseView} in which box will be displayed.
+     */
+    BoxPassphraseKeypad(@NonNull PasscodeView passcodeView) {
+        super(passcodeView);
+        mBackSpaceIcon = new TintedIcon(getContext().getResources(), R.drawable.ic_back_space);
+    }
+
+    /**
+     * Measure the keyboard between the title and the fingerprint section. Same as the keypad of the
+     * {@link PinView}. ({@link BoxKeypad#measure(Rect)})
+     *
+     * @param rootViewBound bound of the main view.
+     */
+    @Override
+    void measure(@NonNull Rect rootViewBound) {
+        if (mKeyBuilder == null)
+            throw new NullPointerException("Set key using KeyBuilder first.");
+
+        int rootHeight = rootViewBound.height();
+        mKeyBoxBound.set(rootViewBound.left,
+                (int) (rootViewBound.top + rootHeight * Constants.KEY_BOARD_TOP_WEIGHT),
+                rootViewBound.right,
+                (int) (rootViewBound.bottom - rootHeight * (getRootView().isFingerPrintEnable() ? Constants.KEY_BOARD_BOTTOM_WEIGHT : 0)));
+        mLayout.measure(mKeyBoxBound.left, mKeyBoxBound.top, mKeyBoxBound.right, mKeyBoxBound.bottom);
+
+        //Keys of the other pages are created when they are displayed.
+        mPageKeys = new Key[mLayout.getPageCount()][];
+        getPageKeys(mPage);
+    }
+
+    /**
+     * @return Keys of the page in the {@link KeyboardLayout} key order.
+     */
+    @NonNull
+    private Key[] getPageKeys(int page) {
+        if (mPageKeys[page] == null) {
+            Key[] keys = new Key[mLayout.getKeyCount()];
+            for (int i = 0; i < keys.length; i++) {
+                Rect keyBound = new Rect(mLayout.getKeyLeft(i),
+                        mLayout.getKeyTop(i),
+                        mLayout.getKeyRight(i),
+                        mLayout.getKeyBottom(i));
+                keys[i] = mKeyBuilder.getKey(mLayout.getLabel(page, i), keyBound);
+            }
+            mPageKeys[page] = keys;
+        }
+        return mPageKeys[page];
+    }
+
+    @Override
+    void preparePaint() {
+        //Do nothing
+    }
+
+    @Override
+    void setDefaults() {
+        //Do nothing
+    }
+
+    @Override
+    void onAuthenticationFail() {
+        //Play failed animation for all keys and shake the keyboard as one.
+        for (Key key : getPageKeys(mPage)) key.onAuthFail();
+        playShakeAnimation();
+        getRootView().invalidate();
+    }
+
+    @Override
+    void onAuthenticationSuccess() {
+        for (Key key : getPageKeys(mPage)) key.onAuthSuccess();
+        getRootView().invalidate();
+    }
+
+    @Override
+    void collectHeapStats(@NonNull PasscodeHeapStats stats) {
+        if (mPageKeys == null) return;
+        for (Key[] keys : mPageKeys) if (keys != null) stats.addComponents(keys.length);
+    }
+
+    @Override
+    void collectThemeColors(@NonNull int[] colors) {
+        if (mKeyBuilder == null) return;
+        colors[PasscodeTheme.COLOR_KEY_TEXT] = mKeyBuilder.getKeyTextColor();
+        colors[PasscodeTheme.COLOR_KEY_STROKE] = mKeyBuilder.getKeyStrokeColor();
+    }
+
+    @Override
+    void applyThemeColors(@NonNull int[] colors) {
+        if (mKeyBuilder == null) return;
+        mKeyBuilder.setThemeColors(colors[PasscodeTheme.COLOR_KEY_TEXT], colors[PasscodeTheme.COLOR_KEY_STROKE]);
+    }
+
+    /**
+     * Draw the keys of the current page. Hidden keys of the page are skipped.
+     *
+     * @param canvas canvas on which the keyboard will be drawn.
+     */
+    @Override
+    void draw(@NonNull Canvas canvas) {
+        mBackSpaceIcon.setColor(mKeyBuilder.getKeyTextPaint().getColor());
+
+        Key[] keys = getPageKeys(mPage);
+        for (int i = 0; i < keys.length; i++) {
+            int value = mLayout.getValue(mPage, i);
+            if (value == KeyboardLayout.VALUE_NONE) continue;
+
+            keys[i].drawShape(canvas);
+            if (value == KeyboardLayout.VALUE_BACKSPACE) {
+                keys[i].drawBackSpace(canvas, mBackSpaceIcon);
+            } else {
+                keys[i].drawText(canvas);
+            }
+        }
+    }
+
+    /**
+     * Find which key is pressed based on the ACTION_DOWN and ACTION_UP coordinates. Swipe from one
+     * key to the other is not a press.
+     *
+     * @return Index of the pressed key or -1.
+     */
+    int findKeyPressed(float downEventX, float downEventY, float upEventX, float upEventY) {
+        int key = findKey(downEventX, downEventY);
+        if (key < 0 || findKey(upEventX, upEventY) != key) return -1;
+
+        getPageKeys(mPage)[key].playClickAnimation();
+        return key;
+    }
+
+    /**
+     * Find the key under the touch point in O(1).
+     *
+     * @return Index of the key or -1 if the point is not on any key of the current page.
+     */
+    int findKey(float touchX, float touchY) {
+        int key = mLayout.findKey(touchX, touchY);
+        if (key < 0 || mLayout.getValue(mPage, key) == KeyboardLayout.VALUE_NONE) return -1;
+        return key;
+    }
+
+    /**
+     * Apply the key to the keyboard. Shift and the page switch keys change the page. The shifted
+     * page goes back to the lower case after one character.
+     *
+     * @param key index of the pressed key.
+     * @return Character code to type, {@link KeyboardLayout#VALUE_BACKSPACE},
+     * {@link KeyboardLayout#VALUE_ENTER} or {@link KeyboardLayout#VALUE_NONE} if the key only changed
+     * the page.
+     */
+    int onKeyPressed(int key) {
+        int value = mLayout.getValue(mPage, key);
+        switch (value) {
+            case KeyboardLayout.VALUE_SHIFT:
+                setPage(mPage == KeyboardLayout.PAGE_UPPER ? KeyboardLayout.PAGE_LOWER : KeyboardLayout.PAGE_UPPER);
+                return KeyboardLayout.VALUE_NONE;
+            case KeyboardLayout.VALUE_SWITCH_PAGE:
+                setPage(mPage == KeyboardLayout.PAGE_SYMBOLS ? KeyboardLayout.PAGE_LOWER : KeyboardLayout.PAGE_SYMBOLS);
+                return KeyboardLayout.VALUE_NONE;
+            default:
+                if (value >= 0 && mPage == KeyboardLayout.PAGE_UPPER) setPage(KeyboardLayout.PAGE_LOWER);
+                return value;
+        }
+    }
+
+    /**
+     * @return true if the character can be typed on any page of the keyboard.
+     */
+    boolean canType(int value) {
+        if (value < 0) return false;
+        for (int page = 0; page < mLayout.getPageCount(); page++) {
+            for (int key = 0; key < mLayout.getKeyCount(); key++) {
+                if (mLayout.getValue(page, key) == value) return true;
+            }
+        }
+        return false;
+    }
+
+    ///////////////// SETTERS/GETTERS //////////////
+
+    @NonNull
+    Key[] getKeys() {
+        return getPageKeys(mPage);
+    }
+
+    @NonNull
+    KeyboardLayout getLayout() {
+        return mLayout;
+    }
+
+    Rect getBounds() {
+        return mKeyBoxBound;
+    }
+
+    int getPage() {
+        return mPage;
+    }
+
+    void setPage(int page) {
+        mPage = page;
+        if (mPageKeys != null) getPageKeys(page);
+        getRootView().invalidate();
+    }
+
+    Key.Builder getKeyBuilder() {
+        return mKeyBuilder;
+    }
+
+    void setKeyBuilder(Key.Builder keyBuilder) {
+        mKeyBuilder = keyBuilder;
+    }
+}
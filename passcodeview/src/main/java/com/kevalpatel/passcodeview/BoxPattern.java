@@ -22,8 +22,10 @@ import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.Rect;
 import android.support.annotation.NonNull;
-import android.support.annotation.Nullable;
 
+import com.kevalpatel.passcodeview.core.KeypadGeometry;
+import com.kevalpatel.passcodeview.core.PatternBuffer;
+import com.kevalpatel.passcodeview.core.TouchPredictor;
 import com.kevalpatel.passcodeview.patternCells.PatternCell;
 
 import java.util.ArrayList;
@@ -38,9 +40,11 @@ final class BoxPattern extends Box {
     private boolean mIsOneHandOperation = false;    //Bool to set true if you want to display one hand key board.
 
     private ArrayList<PatternCell> mPatternCells;
-    private ArrayList<Integer> mSelectedIndicator;
+    private PatternBuffer mSelectedIndicator;
+    private TouchPredictor mLiveTouch;              //Predicted finger position for the rubber band line.
     private ArrayList<Path> mPaths = new ArrayList<>();
     private Rect mPatternBoxBound = new Rect();
+    private KeypadGeometry mGeometry = new KeypadGeometry();
 
     private PatternCell.Builder mCellBuilder;    //Pattern indicator builder
 
@@ -85,27 +89,24 @@ final class BoxPattern extends Box {
      */
     @Override
     void measure(@NonNull Rect rootViewBound) {
-        mPatternBoxBound.left = mIsOneHandOperation ? (int) (rootViewBound.width() * 0.3) : 0;
-        mPatternBoxBound.right = rootViewBound.width();
-        mPatternBoxBound.top = (int) (rootViewBound.top + (rootViewBound.height() * Constants.KEY_BOARD_TOP_WEIGHT));
-        mPatternBoxBound.bottom = (int) (rootViewBound.bottom -
-                rootViewBound.height() * (getRootView().isFingerPrintEnable() ? Constants.KEY_BOARD_BOTTOM_WEIGHT : 0));
-
-        float singleIndicatorHeight = mPatternBoxBound.height() / Constants.NO_OF_ROWS;
-        float singleIndicatorWidth = mPatternBoxBound.width() / Constants.NO_OF_COLUMNS;
+        mGeometry.measure(rootViewBound.left,
+                rootViewBound.top,
+                rootViewBound.right,
+                rootViewBound.bottom,
+                mIsOneHandOperation,
+                getRootView().isFingerPrintEnable());
+        mPatternBoxBound.set(mGeometry.getBoxLeft(),
+                mGeometry.getBoxTop(),
+                mGeometry.getBoxRight(),
+                mGeometry.getBoxBottom());
 
         mPatternCells = new ArrayList<>();
-        int i = 0;
-        for (int colNo = 0; colNo < Constants.NO_OF_COLUMNS; colNo++) {
-            for (int rowNo = 0; rowNo < Constants.NO_OF_ROWS; rowNo++) {
-                Rect indicatorBound = new Rect();
-                indicatorBound.left = (int) ((colNo * singleIndicatorWidth) + mPatternBoxBound.left);
-                indicatorBound.right = (int) (indicatorBound.left + singleIndicatorWidth);
-                indicatorBound.top = (int) ((rowNo * singleIndicatorHeight) + mPatternBoxBound.top);
-                indicatorBound.bottom = (int) (indicatorBound.top + singleIndicatorHeight);
-                mPatternCells.add(mCellBuilder.getCell(indicatorBound, i));
-                i++;
-            }
+        for (int i = 0; i < mGeometry.getCellCount(); i++) {
+            Rect indicatorBound = new Rect(mGeometry.getCellLeft(i),
+                    mGeometry.getCellTop(i),
+                    mGeometry.getCellRight(i),
+                    mGeometry.getCellBottom(i));
+            mPatternCells.add(mCellBuilder.getCell(indicatorBound, i));
         }
     }
 
@@ -116,6 +117,7 @@ final class BoxPattern extends Box {
 
         mPathPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         mPathPaint.setColor(Color.GREEN);
+        mPathPaint.setStrokeWidth(getContext().getResources().getDimension(R.dimen.lib_indicator_stroke_width));
     }
 
     /**
@@ -141,6 +143,24 @@ final class BoxPattern extends Box {
         getRootView().invalidate();
     }
 
+    @Override
+    void collectHeapStats(@NonNull PasscodeHeapStats stats) {
+        if (mPatternCells != null) stats.addComponents(mPatternCells.size());
+    }
+
+    @Override
+    void collectThemeColors(@NonNull int[] colors) {
+        if (mCellBuilder == null) return;
+        colors[PasscodeTheme.COLOR_CELL] = mCellBuilder.getCellColor();
+        colors[PasscodeTheme.COLOR_CELL_SELECTED] = mCellBuilder.getSelectedColor();
+    }
+
+    @Override
+    void applyThemeColors(@NonNull int[] colors) {
+        if (mCellBuilder == null) return;
+        mCellBuilder.setThemeColors(colors[PasscodeTheme.COLOR_CELL], colors[PasscodeTheme.COLOR_CELL_SELECTED]);
+    }
+
     /**
      * Draw pattern box on the canvas.
      *
@@ -148,8 +168,29 @@ final class BoxPattern extends Box {
      */
     @Override
     void draw(@NonNull Canvas canvas) {
+        //Draw the path between selected cells
+        for (int i = 1; i < mSelectedIndicator.size(); i++) {
+            Rect startBound = mPatternCells.get(mSelectedIndicator.get(i - 1)).getBound();
+            Rect endBound = mPatternCells.get(mSelectedIndicator.get(i)).getBound();
+            canvas.drawLine(startBound.exactCenterX(),
+                    startBound.exactCenterY(),
+                    endBound.exactCenterX(),
+                    endBound.exactCenterY(),
+                    mPathPaint);
+        }
+
+        //Rubber band line from the last selected cell to the finger.
+        if (mLiveTouch != null && mLiveTouch.hasSample() && !mSelectedIndicator.isEmpty()) {
+            Rect lastBound = mPatternCells.get(mSelectedIndicator.get(mSelectedIndicator.size() - 1)).getBound();
+            canvas.drawLine(lastBound.exactCenterX(),
+                    lastBound.exactCenterY(),
+                    mLiveTouch.getPredictedX(),
+                    mLiveTouch.getPredictedY(),
+                    mPathPaint);
+        }
+
         for (PatternCell patternCell : mPatternCells) {
-            patternCell.draw(canvas, false); //TODO
+            patternCell.draw(canvas, mSelectedIndicator.contains(patternCell.getIndex()));
         }
     }
 
@@ -158,11 +199,12 @@ final class BoxPattern extends Box {
     /**
      * Find which key is pressed based on the ACTION_DOWN and ACTION_UP coordinates.
      */
-    @Nullable
-    Integer findKeyPressed(float touchX, float touchY) {
-        for (PatternCell patternCell : mPatternCells)
-            if (patternCell.isIndicatorTouched(touchX, touchY)) return patternCell.getIndex();
-        return -1;
+    int findKeyPressed(float touchX, float touchY) {
+        int cell = mGeometry.findCell(touchX, touchY);
+        if (cell < 0) return -1;
+
+        PatternCell patternCell = mPatternCells.get(cell);
+        return patternCell.isIndicatorTouched(touchX, touchY) ? patternCell.getIndex() : -1;
     }
 
     ArrayList<PatternCell> getPatternCells() {
@@ -189,7 +231,27 @@ final class BoxPattern extends Box {
         this.mCellBuilder = mIndicatorBuilder;
     }
 
-    public void setSelectedIndicator(ArrayList<Integer> selectedIndicator) {
+    int getCellCount() {
+        return mGeometry.getCellCount();
+    }
+
+    int getColumns() {
+        return mGeometry.getColumns();
+    }
+
+    int getRows() {
+        return mGeometry.getRows();
+    }
+
+    void setGridSize(int columns, int rows) {
+        mGeometry = new KeypadGeometry(columns, rows);
+    }
+
+    public void setSelectedIndicator(PatternBuffer selectedIndicator) {
         mSelectedIndicator = selectedIndicator;
     }
+
+    void setLiveTouch(@NonNull TouchPredictor liveTouch) {
+        mLiveTouch = liveTouch;
+    }
 }
@@ -20,6 +20,7 @@ import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Rect;
 import android.support.annotation.ColorInt;
+import android.support.annotation.Dimension;
 import android.support.annotation.NonNull;
 
 /**
@@ -36,7 +37,9 @@ final class BoxTitle extends Box {
     @ColorInt
     private int mTitleColor;                        //Title text color
     private String mTitle;                          //Title color
-    private Paint mTitlePaint;                      //Solid indicator color
+    @Dimension
+    private float mTitleTextSize;                   //Title text size
+    private final Paint mTitlePaint = new Paint(Paint.ANTI_ALIAS_FLAG);    //Title paint. Title setters change it in place.
 
     private Rect mBounds;
 
@@ -49,6 +52,7 @@ final class BoxTitle extends Box {
     void setDefaults() {
         mTitle = DEF_TITLE_TEXT;
         mTitleColor = getContext().getResources().getColor(R.color.lib_key_default_color);
+        mTitleTextSize = getContext().getResources().getDimension(R.dimen.lib_title_text_size);
     }
 
     @Override
@@ -102,10 +106,19 @@ final class BoxTitle extends Box {
     @Override
     void preparePaint() {
         //Set title paint
-        mTitlePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         mTitlePaint.setColor(mTitleColor);
         mTitlePaint.setTextAlign(Paint.Align.CENTER);
-        mTitlePaint.setTextSize(getContext().getResources().getDimension(R.dimen.lib_title_text_size));
+        mTitlePaint.setTextSize(mTitleTextSize);
+    }
+
+    @Override
+    void collectThemeColors(@NonNull int[] colors) {
+        colors[PasscodeTheme.COLOR_TITLE] = mTitleColor;
+    }
+
+    @Override
+    void applyThemeColors(@NonNull int[] colors) {
+        setTitleColor(colors[PasscodeTheme.COLOR_TITLE]);
     }
 
     String getTitle() {
@@ -122,6 +135,16 @@ final class BoxTitle extends Box {
 
     void setTitleColor(int titleColor) {
         this.mTitleColor = titleColor;
-        preparePaint();
+        mTitlePaint.setColor(titleColor);
+    }
+
+    @Dimension
+    float getTitleTextSize() {
+        return mTitleTextSize;
+    }
+
+    void setTitleTextSize(@Dimension float titleTextSize) {
+        this.mTitleTextSize = titleTextSize;
+        mTitlePaint.setTextSize(titleTextSize);
     }
 }
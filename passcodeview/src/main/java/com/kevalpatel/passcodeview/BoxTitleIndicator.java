@@ -20,16 +20,17 @@ import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Rect;
 import android.support.annotation.ColorInt;
+import android.support.annotation.Dimension;
 import android.support.annotation.NonNull;
 
+import com.kevalpatel.passcodeview.core.IndicatorRow;
 import com.kevalpatel.passcodeview.indicators.Indicator;
 
-import java.util.ArrayList;
-
 /**
  * Created by Keval Patel on 09/04/17.
  * This {@link Box} is to display title and passcode indicator. The number of the passcode indicator
- * will depend on the length of the passcode indicator.
+ * will depend on the length of the passcode indicator. Indicators are drawn in batches from the
+ * {@link IndicatorRow}. Long PINs shrink the indicators and then scroll the row.
  *
  * @author 'https://github.com/kevalpatel2106'
  */
@@ -42,13 +43,47 @@ final class BoxTitleIndicator extends Box {
     @ColorInt
     private int mTitleColor;                        //Title text color
     private String mTitle;                          //Title color
-    private Paint mTitlePaint;                      //Solid indicator color
+    @Dimension
+    private float mTitleTextSize;                   //Title text size
+    private final Paint mTitlePaint = new Paint(Paint.ANTI_ALIAS_FLAG);    //Title paint. Title setters change it in place.
 
-    private ArrayList<Indicator> mIndicators;
+    private final IndicatorRow mIndicatorRow = new IndicatorRow();
+    private boolean mIsFilledOnly;                  //True to draw only the filled indicators. Row length is not revealed.
+    private boolean mIsDisplayError;                //True while the indicators display the authentication error.
 
-    private Rect mDotsIndicatorBound;
+    private final Rect mDotsIndicatorBound = new Rect();
+    private int mAvailableLeft;                     //Left of the space available for the indicator row.
+    private int mAvailableRight;                    //Right of the space available for the indicator row.
+    private float mTitleMargin;                     //Space between the title and the indicators.
+    private float mIndicatorPadding;                //Padding around each indicator. Read once in the measure.
     private Indicator.Builder mIndicatorBuilder;
 
+    private final Runnable mShowErrorRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mIsDisplayError = true;
+            mIndicatorBuilder.onAuthFailed();
+            getRootView().postDelayedTask(mClearErrorRunnable, 400);
+            getRootView().invalidate();
+        }
+    };
+
+    private final Runnable mClearErrorRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mIsDisplayError = false;
+            getRootView().invalidate();
+        }
+    };
+
+    private final Runnable mShowSuccessRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mIndicatorBuilder.onAuthSuccess();
+            getRootView().invalidate();
+        }
+    };
+
     BoxTitleIndicator(@NonNull PasscodeView view) {
         super(view);
     }
@@ -58,30 +93,19 @@ final class BoxTitleIndicator extends Box {
     void setDefaults() {
         mTitle = DEF_TITLE_TEXT;
         mTitleColor = getContext().getResources().getColor(R.color.lib_key_default_color);
+        mTitleTextSize = getContext().getResources().getDimension(R.dimen.lib_title_text_size);
     }
 
     @Override
     void onAuthenticationFail() {
         //Set indicator to error
-        new android.os.Handler().postDelayed(new Runnable() {
-            @Override
-            public void run() {
-                for (Indicator indicator : mIndicators) indicator.onAuthFailed();
-                getRootView().invalidate();
-            }
-        }, 100);
+        getRootView().postDelayedTask(mShowErrorRunnable, 100);
     }
 
     @Override
     void onAuthenticationSuccess() {
-        //Set indicator to success
-        new android.os.Handler().postDelayed(new Runnable() {
-            @Override
-            public void run() {
-                for (Indicator indicator : mIndicators) indicator.onAuthSuccess();
-                getRootView().invalidate();
-            }
-        }, 100);
+        //Built in indicators display nothing on success. Custom indicators are notified.
+        getRootView().postDelayedTask(mShowSuccessRunnable, 100);
     }
 
     @Override
@@ -91,11 +115,30 @@ final class BoxTitleIndicator extends Box {
 
         canvas.drawText(mTitle,
                 mDotsIndicatorBound.exactCenterX(),
-                mDotsIndicatorBound.top - (int) getContext().getResources().getDimension(R.dimen.lib_divider_vertical_margin),
+                mDotsIndicatorBound.top - mTitleMargin,
                 mTitlePaint);
 
-        for (int i = 0; i < mPinLength; i++)
-            mIndicators.get(i).draw(canvas, i < mTypedPinLength);
+        if (mIsFilledOnly) {
+            //Center the filled indicators in the row.
+            int filledCount = mIndicatorRow.getVisibleFilledCount();
+            float shift = (mIndicatorRow.getVisibleCount() - filledCount) * mIndicatorRow.getSlotWidth() / 2;
+            canvas.translate(shift, 0);
+            mIndicatorBuilder.drawIndicators(canvas,
+                    mIndicatorRow.getCenters(),
+                    filledCount,
+                    filledCount,
+                    mIsDisplayError,
+                    mIndicatorRow.getScale());
+            canvas.translate(-shift, 0);
+            return;
+        }
+
+        mIndicatorBuilder.drawIndicators(canvas,
+                mIndicatorRow.getCenters(),
+                mIndicatorRow.getVisibleCount(),
+                mIndicatorRow.getVisibleFilledCount(),
+                mIsDisplayError,
+                mIndicatorRow.getScale());
     }
 
     /**
@@ -121,45 +164,81 @@ final class BoxTitleIndicator extends Box {
      */
     @Override
     void measure(@NonNull Rect rootViewBounds) {
-
-        int indicatorWidth = (int) (mIndicatorBuilder.getIndicatorWidth() + 2 * getContext().getResources().getDimension(R.dimen.lib_indicator_padding));
-        int totalSpace = indicatorWidth * mPinLength;
+        mTitleMargin = (int) getContext().getResources().getDimension(R.dimen.lib_divider_vertical_margin);
+        mIndicatorPadding = getContext().getResources().getDimension(R.dimen.lib_indicator_padding);
 
         //Dots indicator
-        mDotsIndicatorBound = new Rect();
-        mDotsIndicatorBound.left = (rootViewBounds.width() - totalSpace) / 2;
-        mDotsIndicatorBound.right = mDotsIndicatorBound.left + totalSpace;
+        mAvailableLeft = rootViewBounds.left;
+        mAvailableRight = rootViewBounds.right;
         mDotsIndicatorBound.bottom = rootViewBounds.top
-                + (int) (rootViewBounds.height() * Constants.KEY_BOARD_TOP_WEIGHT
-                - 2 * getContext().getResources().getDimension(R.dimen.lib_divider_vertical_margin));
-        mDotsIndicatorBound.top = mDotsIndicatorBound.bottom - indicatorWidth;
-
-        mIndicators = new ArrayList<>();
-        for (int i = 0; i < mPinLength; i++) {
-            Rect rect = new Rect();
-            rect.left = mDotsIndicatorBound.left + i * indicatorWidth;
-            rect.right = rect.left + indicatorWidth;
-            rect.top = mDotsIndicatorBound.top;
-            rect.bottom = mDotsIndicatorBound.bottom;
-            mIndicators.add(mIndicatorBuilder.getIndicator(rect));
-        }
+                + (int) (rootViewBounds.height() * Constants.KEY_BOARD_TOP_WEIGHT - 2 * mTitleMargin);
+        measureIndicatorRow();
+    }
+
+    /**
+     * Lay out the indicators in the available width and fit the {@link #mDotsIndicatorBound} to the
+     * row. Scaled rows stay vertically centered at the same place. Filled only rows take the whole
+     * width at the full scale, so the typed length only scrolls the row.
+     */
+    private void measureIndicatorRow() {
+        int indicatorWidth = (int) (mIndicatorBuilder.getIndicatorWidth() + 2 * mIndicatorPadding);
+        float centerY = mDotsIndicatorBound.bottom - indicatorWidth / 2F;
+
+        mIndicatorRow.setMinScale(mIsFilledOnly ? 1 : IndicatorRow.DEF_MIN_SCALE);
+        mIndicatorRow.measure(mAvailableLeft, mAvailableRight, centerY, indicatorWidth,
+                mIsFilledOnly ? Integer.MAX_VALUE : mPinLength);
+        mIndicatorRow.setTypedLength(mTypedPinLength);
+
+        mDotsIndicatorBound.left = (int) mIndicatorRow.getRowLeft();
+        mDotsIndicatorBound.right = (int) mIndicatorRow.getRowRight();
+        mDotsIndicatorBound.top = (int) (centerY - mIndicatorRow.getSlotWidth() / 2);
     }
 
     @Override
     void preparePaint() {
         //Set title paint
-        mTitlePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         mTitlePaint.setColor(mTitleColor);
         mTitlePaint.setTextAlign(Paint.Align.CENTER);
-        mTitlePaint.setTextSize(getContext().getResources().getDimension(R.dimen.lib_title_text_size));
+        mTitlePaint.setTextSize(mTitleTextSize);
+    }
+
+    @Override
+    void collectThemeColors(@NonNull int[] colors) {
+        colors[PasscodeTheme.COLOR_TITLE] = mTitleColor;
+        if (mIndicatorBuilder == null) return;
+        colors[PasscodeTheme.COLOR_INDICATOR_FILLED] = mIndicatorBuilder.getIndicatorFilledColor();
+        colors[PasscodeTheme.COLOR_INDICATOR_STROKE] = mIndicatorBuilder.getIndicatorStrokeColor();
+    }
+
+    @Override
+    void applyThemeColors(@NonNull int[] colors) {
+        setTitleColor(colors[PasscodeTheme.COLOR_TITLE]);
+        if (mIndicatorBuilder == null) return;
+        mIndicatorBuilder.setThemeColors(colors[PasscodeTheme.COLOR_INDICATOR_FILLED],
+                colors[PasscodeTheme.COLOR_INDICATOR_STROKE]);
     }
 
     void onPinDigitEntered(int newLength) {
         mTypedPinLength = newLength;
+        mIndicatorRow.setTypedLength(newLength);
     }
 
     void setPinLength(int pinLength) {
         mPinLength = pinLength;
+
+        //Re-layout the row if the PIN length changes after the measure.
+        if (mIndicatorBuilder != null && mAvailableRight > mAvailableLeft) measureIndicatorRow();
+    }
+
+    /**
+     * Draw only the filled indicators, centered in the row, instead of one indicator per PIN digit.
+     * Use it if the length of the correct passcode must not be revealed. The row doesn't need to be
+     * measured again as the typed length changes.
+     *
+     * @param isFilledOnly true to draw only the filled indicators.
+     */
+    void setFilledOnly(boolean isFilledOnly) {
+        mIsFilledOnly = isFilledOnly;
     }
 
     String getTitle() {
@@ -176,7 +255,17 @@ final class BoxTitleIndicator extends Box {
 
     void setTitleColor(int titleColor) {
         this.mTitleColor = titleColor;
-        preparePaint();
+        mTitlePaint.setColor(titleColor);
+    }
+
+    @Dimension
+    float getTitleTextSize() {
+        return mTitleTextSize;
+    }
+
+    void setTitleTextSize(@Dimension float titleTextSize) {
+        this.mTitleTextSize = titleTextSize;
+        mTitlePaint.setTextSize(titleTextSize);
     }
 
     Indicator.Builder getIndicatorBuilder() {
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview;
+
+import android.animation.Animator;
+import android.animation.TimeInterpolator;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.animation.AccelerateDecelerateInterpolator;
+
+import java.util.ArrayList;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Float animator driven by the {@link PasscodeClock} of the {@link PasscodeView}. Use this instead of
+ * the {@link android.animation.ValueAnimator} for the animations of the keys, indicators and boxes,
+ * so the animation follows the clock set using {@link PasscodeView#setClock(PasscodeClock)}.
+ * <p>
+ * Unlike the {@link android.animation.ValueAnimator}, the animator can pause on all the API levels.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class ClockAnimator extends Animator {
+    private static final long DEFAULT_DURATION = 300;
+
+    private final PasscodeView mView;
+    private float mFrom;
+    private float mTo;
+    private ArrayList<UpdateListener> mUpdateListeners = new ArrayList<>();   //Not final, so the clone gets its own list.
+
+    private long mDuration = DEFAULT_DURATION;
+    private long mStartDelay = 0;
+    private TimeInterpolator mInterpolator = new AccelerateDecelerateInterpolator();
+
+    @Nullable
+    private PasscodeClock mClock;           //Clock of the current run.
+    private boolean mIsRunning;
+    private boolean mIsPaused;
+    private long mStartTime;                //Time of the first frame excluding the start delay.
+    private long mPausedAt;                 //Time when the animator paused.
+    private float mAnimatedFraction;
+    private float mAnimatedValue;
+
+    private Runnable mFrameRunnable = createFrameRunnable();    //Not final, so the clone gets its own runnable.
+
+    /**
+     * @param view view whose clock drives the animation.
+     * @param from start value.
+     * @param to   end value.
+     */
+    public ClockAnimator(@NonNull PasscodeView view, float from, float to) {
+        mView = view;
+        mFrom = from;
+        mTo = to;
+        mAnimatedValue = from;
+    }
+
+    public void addUpdateListener(@NonNull UpdateListener listener) {
+        mUpdateListeners.add(listener);
+    }
+
+    public void removeUpdateListener(@NonNull UpdateListener listener) {
+        mUpdateListeners.remove(listener);
+    }
+
+    /**
+     * Start the animation from the start value. Starting the running animator restarts it.
+     */
+    @Override
+    public void start() {
+        if (mClock != null) mClock.removeFrameCallback(mFrameRunnable);
+
+        mClock = mView.getClock();
+        mIsRunning = true;
+        mIsPaused = false;
+        mStartTime = mClock.uptimeMillis() + mStartDelay;
+        mClock.postFrameCallback(mFrameRunnable);
+
+        ArrayList<AnimatorListener> listeners = copyListeners();
+        if (listeners != null) {
+            for (int i = 0; i < listeners.size(); i++) listeners.get(i).onAnimationStart(this);
+        }
+        if (mIsRunning) setFraction(0);
+    }
+
+    /**
+     * Stop the animation at the current value. Notifies the cancel and then the end listeners.
+     */
+    @Override
+    public void cancel() {
+        if (!mIsRunning) return;
+        stop();
+
+        ArrayList<AnimatorListener> listeners = copyListeners();
+        if (listeners != null) {
+            for (int i = 0; i < listeners.size(); i++) listeners.get(i).onAnimationCancel(this);
+        }
+        notifyEnd();
+    }
+
+    /**
+     * Jump to the end value and finish the animation.
+     */
+    @Override
+    public void end() {
+        if (!mIsRunning) return;
+        stop();
+        setFraction(1);
+        notifyEnd();
+    }
+
+    @Override
+    public void pause() {
+        if (!mIsRunning || mIsPaused) return;
+
+        mIsPaused = true;
+        //noinspection ConstantConditions
+        mPausedAt = mClock.uptimeMillis();
+        mClock.removeFrameCallback(mFrameRunnable);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) super.pause();    //Notify the pause listeners.
+    }
+
+    @Override
+    public void resume() {
+        if (!mIsPaused) return;
+
+        mIsPaused = false;
+        //noinspection ConstantConditions
+        mStartTime += mClock.uptimeMillis() - mPausedAt;   //Time doesn't pass for the paused animation.
+        mClock.postFrameCallback(mFrameRunnable);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) super.resume();
+    }
+
+    @Override
+    public boolean isPaused() {
+        return mIsPaused;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return mIsRunning;
+    }
+
+    private void onFrame() {
+        if (!mIsRunning || mIsPaused || mClock == null) return;
+
+        long elapsed = mClock.uptimeMillis() - mStartTime;
+        float fraction = mDuration <= 0 ? 1 : Math.max(0f, Math.min(1f, (float) elapsed / mDuration));
+        if (fraction < 1) mClock.postFrameCallback(mFrameRunnable);
+
+        setFraction(fraction);
+        if (fraction >= 1 && mIsRunning) {
+            stop();
+            notifyEnd();
+        }
+    }
+
+    private void setFraction(float fraction) {
+        mAnimatedFraction = fraction;
+        mAnimatedValue = mFrom + (mTo - mFrom) * mInterpolator.getInterpolation(fraction);
+        for (int i = 0; i < mUpdateListeners.size(); i++) mUpdateListeners.get(i).onAnimationUpdate(this);
+    }
+
+    private void stop() {
+        mIsRunning = false;
+        mIsPaused = false;
+        if (mClock != null) mClock.removeFrameCallback(mFrameRunnable);
+    }
+
+    private void notifyEnd() {
+        ArrayList<AnimatorListener> listeners = copyListeners();
+        if (listeners == null) return;
+        for (int i = 0; i < listeners.size(); i++) listeners.get(i).onAnimationEnd(this);
+    }
+
+    /**
+     * @return Copy of the listeners, so the listeners can remove themselves while notified.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private ArrayList<AnimatorListener> copyListeners() {
+        ArrayList<AnimatorListener> listeners = getListeners();
+        return listeners == null || listeners.isEmpty() ? null : (ArrayList<AnimatorListener>) listeners.clone();
+    }
+
+    /**
+     * Copy the animator. The copy uses the clock of the same view and has the same values, duration,
+     * start delay, interpolator and listeners. It is not running, even if this animator is.
+     */
+    @Override
+    public ClockAnimator clone() {
+        ClockAnimator anim = (ClockAnimator) super.clone();     //Copies the animator and the pause listeners.
+        anim.mUpdateListeners = new ArrayList<>(mUpdateListeners);
+        anim.mFrameRunnable = anim.createFrameRunnable();
+        anim.mClock = null;
+        anim.mIsRunning = false;
+        anim.mIsPaused = false;
+        anim.mAnimatedFraction = 0;
+        anim.mAnimatedValue = mFrom;
+        return anim;
+    }
+
+    @NonNull
+    private Runnable createFrameRunnable() {
+        return new Runnable() {
+            @Override
+            public void run() {
+                onFrame();
+            }
+        };
+    }
+
+    ///////////////// SETTERS/GETTERS //////////////
+
+    /**
+     * @return Current value between the start and the end value.
+     */
+    public float getAnimatedValue() {
+        return mAnimatedValue;
+    }
+
+    /**
+     * @return Elapsed fraction of the animation before the interpolation. (0 to 1)
+     */
+    public float getAnimatedFraction() {
+        return mAnimatedFraction;
+    }
+
+    /**
+     * Change the start and the end value. A running animation continues with the new values from its
+     * current fraction.
+     *
+     * @param from start value.
+     * @param to   end value.
+     */
+    public void setFloatValues(float from, float to) {
+        mFrom = from;
+        mTo = to;
+    }
+
+    @Override
+    public long getStartDelay() {
+        return mStartDelay;
+    }
+
+    @Override
+    public void setStartDelay(long startDelay) {
+        mStartDelay = Math.max(0, startDelay);
+    }
+
+    @Override
+    public ClockAnimator setDuration(long duration) {
+        if (duration < 0) throw new IllegalArgumentException("Duration cannot be negative.");
+        mDuration = duration;
+        return this;
+    }
+
+    @Override
+    public long getDuration() {
+        return mDuration;
+    }
+
+    @Override
+    public void setInterpolator(@Nullable TimeInterpolator interpolator) {
+        mInterpolator = interpolator == null ? new AccelerateDecelerateInterpolator() : interpolator;
+    }
+
+    /**
+     * Listener to receive the value on every frame of the animation.
+     */
+    public interface UpdateListener {
+        void onAnimationUpdate(@NonNull ClockAnimator animator);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.support.annotation.NonNull;
+import android.support.annotation.WorkerThread;
+
+import com.kevalpatel.passcodeview.core.PinDenylist;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Loads the default {@link PinDenylist} of the library. The table is generated by
+ * tools/generate_common_pins.py and contains the most common 4 to 8 digit PINs. (Repeated digits,
+ * runs, repeated groups, keypad shapes, years and dates.)
+ * <p>
+ * The table is memory-mapped if the asset is stored uncompressed in the APK. (Add
+ * {@code aaptOptions { noCompress "bin" }} to the application build.gradle.) Otherwise it is read
+ * from the asset stream in one block.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class CommonPins {
+    static final String ASSET_NAME = "passcodeview_common_pins.bin";
+
+    private static PinDenylist sDenylist;
+
+    private CommonPins() {
+    }
+
+    /**
+     * Load the default denylist. The table is loaded once and shared by all the callers.
+     *
+     * @param context instance of the caller.
+     * @return Denylist of the common PINs.
+     * @throws IOException if the asset cannot be read.
+     */
+    @WorkerThread
+    @NonNull
+    public static synchronized PinDenylist load(@NonNull Context context) throws IOException {
+        if (sDenylist != null) return sDenylist;
+
+        PinDenylist denylist;
+        try {
+            denylist = map(context);
+        } catch (IOException e) {
+            //Asset is compressed. Stream it.
+            InputStream inputStream = context.getAssets().open(ASSET_NAME);
+            try {
+                denylist = PinDenylist.read(inputStream);
+            } finally {
+                inputStream.close();
+            }
+        }
+
+        sDenylist = denylist;
+        return denylist;
+    }
+
+    private static PinDenylist map(@NonNull Context context) throws IOException {
+        AssetFileDescriptor fileDescriptor = context.getAssets().openFd(ASSET_NAME);
+        FileInputStream inputStream = fileDescriptor.createInputStream();
+        try {
+            //Mapping stays valid after the channel is closed.
+            return PinDenylist.map(inputStream.getChannel(),
+                    fileDescriptor.getStartOffset(),
+                    fileDescriptor.getLength());
+        } finally {
+            inputStream.close();
+            fileDescriptor.close();
+        }
+    }
+}
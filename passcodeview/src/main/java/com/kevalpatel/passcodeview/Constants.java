@@ -16,6 +16,8 @@
 
 package com.kevalpatel.passcodeview;
 
+import com.kevalpatel.passcodeview.core.KeypadGeometry;
+
 /**
  * Created by Keval on 06-Apr-17.
  *
@@ -23,10 +25,10 @@ package com.kevalpatel.passcodeview;
  */
 
 public final class Constants {
-    public static final int NO_OF_COLUMNS = 3;
-    public static final int NO_OF_ROWS = 4;
-    static final float KEY_BOARD_BOTTOM_WEIGHT = 0.14F;
-    static final float KEY_BOARD_TOP_WEIGHT = 0.2F;
+    public static final int NO_OF_COLUMNS = KeypadGeometry.NO_OF_COLUMNS;
+    public static final int NO_OF_ROWS = KeypadGeometry.NO_OF_ROWS;
+    static final float KEY_BOARD_BOTTOM_WEIGHT = KeypadGeometry.KEY_BOARD_BOTTOM_WEIGHT;
+    static final float KEY_BOARD_TOP_WEIGHT = KeypadGeometry.KEY_BOARD_TOP_WEIGHT;
     static final int DEF_PIN_LENGTH = 4;
 
     private Constants() {
@@ -108,6 +108,18 @@ final class FingerPrintAuthHelper {
      */
     private boolean isScanning;
 
+    /**
+     * Boolean to know if the async trace section of the current scanning session is open.
+     */
+    private boolean mIsSessionTraced;
+
+    /**
+     * Callback of the current scanning session. The platform may keep the last callback after the
+     * session ends, so the callback forgets this helper once the scanning stops.
+     */
+    @Nullable
+    private SessionCallback mSessionCallback;
+
     /**
      * Public constructor.
      *
@@ -157,40 +169,45 @@ final class FingerPrintAuthHelper {
      */
     @TargetApi(Build.VERSION_CODES.M)
     private boolean generateKey() {
-        mKeyStore = null;
-        KeyGenerator keyGenerator;
-
-        //Get the instance of the key store.
+        PasscodeTrace.beginSection(PasscodeTrace.GENERATE_KEY);
         try {
-            mKeyStore = KeyStore.getInstance("AndroidKeyStore");
-            keyGenerator = KeyGenerator.getInstance(KeyProperties.KEY_ALGORITHM_AES, "AndroidKeyStore");
-        } catch (NoSuchAlgorithmException |
-                NoSuchProviderException e) {
-            return false;
-        } catch (KeyStoreException e) {
-            return false;
-        }
-
-        //generate key.
-        try {
-            mKeyStore.load(null);
-            keyGenerator.init(new
-                    KeyGenParameterSpec.Builder(KEY_NAME,
-                    KeyProperties.PURPOSE_ENCRYPT |
-                            KeyProperties.PURPOSE_DECRYPT)
-                    .setBlockModes(KeyProperties.BLOCK_MODE_CBC)
-                    .setUserAuthenticationRequired(true)
-                    .setEncryptionPaddings(
-                            KeyProperties.ENCRYPTION_PADDING_PKCS7)
-                    .build());
-            keyGenerator.generateKey();
+            mKeyStore = null;
+            KeyGenerator keyGenerator;
+
+            //Get the instance of the key store.
+            try {
+                mKeyStore = KeyStore.getInstance("AndroidKeyStore");
+                keyGenerator = KeyGenerator.getInstance(KeyProperties.KEY_ALGORITHM_AES, "AndroidKeyStore");
+            } catch (NoSuchAlgorithmException |
+                    NoSuchProviderException e) {
+                return false;
+            } catch (KeyStoreException e) {
+                return false;
+            }
 
-            return true;
-        } catch (NoSuchAlgorithmException
-                | InvalidAlgorithmParameterException
-                | CertificateException
-                | IOException e) {
-            return false;
+            //generate key.
+            try {
+                mKeyStore.load(null);
+                keyGenerator.init(new
+                        KeyGenParameterSpec.Builder(KEY_NAME,
+                        KeyProperties.PURPOSE_ENCRYPT |
+                                KeyProperties.PURPOSE_DECRYPT)
+                        .setBlockModes(KeyProperties.BLOCK_MODE_CBC)
+                        .setUserAuthenticationRequired(true)
+                        .setEncryptionPaddings(
+                                KeyProperties.ENCRYPTION_PADDING_PKCS7)
+                        .build());
+                keyGenerator.generateKey();
+
+                return true;
+            } catch (NoSuchAlgorithmException
+                    | InvalidAlgorithmParameterException
+                    | CertificateException
+                    | IOException e) {
+                return false;
+            }
+        } finally {
+            PasscodeTrace.endSection();
         }
     }
 
@@ -201,37 +218,42 @@ final class FingerPrintAuthHelper {
      */
     @TargetApi(Build.VERSION_CODES.M)
     private boolean cipherInit() {
-        boolean isKeyGenerated = generateKey();
+        PasscodeTrace.beginSection(PasscodeTrace.CIPHER_INIT);
+        try {
+            boolean isKeyGenerated = generateKey();
 
-        if (!isKeyGenerated) {
-            mCallback.onFingerprintAuthFailed(NON_RECOVERABLE_ERROR, ERROR_FAILED_TO_GENERATE_KEY);
-            return false;
-        }
+            if (!isKeyGenerated) {
+                mCallback.onFingerprintAuthFailed(NON_RECOVERABLE_ERROR, ERROR_FAILED_TO_GENERATE_KEY);
+                return false;
+            }
 
-        try {
-            mCipher = Cipher.getInstance(
-                    KeyProperties.KEY_ALGORITHM_AES + "/"
-                            + KeyProperties.BLOCK_MODE_CBC + "/"
-                            + KeyProperties.ENCRYPTION_PADDING_PKCS7);
-        } catch (NoSuchAlgorithmException |
-                NoSuchPaddingException e) {
-            mCallback.onFingerprintAuthFailed(NON_RECOVERABLE_ERROR, ERROR_FAILED_TO_GENERATE_KEY);
-            return false;
-        }
+            try {
+                mCipher = Cipher.getInstance(
+                        KeyProperties.KEY_ALGORITHM_AES + "/"
+                                + KeyProperties.BLOCK_MODE_CBC + "/"
+                                + KeyProperties.ENCRYPTION_PADDING_PKCS7);
+            } catch (NoSuchAlgorithmException |
+                    NoSuchPaddingException e) {
+                mCallback.onFingerprintAuthFailed(NON_RECOVERABLE_ERROR, ERROR_FAILED_TO_GENERATE_KEY);
+                return false;
+            }
 
-        try {
-            mKeyStore.load(null);
-            SecretKey key = (SecretKey) mKeyStore.getKey(KEY_NAME, null);
-            mCipher.init(Cipher.ENCRYPT_MODE, key);
-            return true;
-        } catch (KeyPermanentlyInvalidatedException e) {
-            mCallback.onFingerprintAuthFailed(NON_RECOVERABLE_ERROR, ERROR_FAILED_TO_INIT_CHIPPER);
-            return false;
-        } catch (KeyStoreException | CertificateException
-                | UnrecoverableKeyException | IOException
-                | NoSuchAlgorithmException | InvalidKeyException e) {
-            mCallback.onFingerprintAuthFailed(NON_RECOVERABLE_ERROR, ERROR_FAILED_TO_INIT_CHIPPER);
-            return false;
+            try {
+                mKeyStore.load(null);
+                SecretKey key = (SecretKey) mKeyStore.getKey(KEY_NAME, null);
+                mCipher.init(Cipher.ENCRYPT_MODE, key);
+                return true;
+            } catch (KeyPermanentlyInvalidatedException e) {
+                mCallback.onFingerprintAuthFailed(NON_RECOVERABLE_ERROR, ERROR_FAILED_TO_INIT_CHIPPER);
+                return false;
+            } catch (KeyStoreException | CertificateException
+                    | UnrecoverableKeyException | IOException
+                    | NoSuchAlgorithmException | InvalidKeyException e) {
+                mCallback.onFingerprintAuthFailed(NON_RECOVERABLE_ERROR, ERROR_FAILED_TO_INIT_CHIPPER);
+                return false;
+            }
+        } finally {
+            PasscodeTrace.endSection();
         }
     }
 
@@ -260,31 +282,13 @@ final class FingerPrintAuthHelper {
             mCallback.onFingerprintAuthFailed(NON_RECOVERABLE_ERROR, ERROR_FAILED_TO_INIT_CHIPPER);
         } else {
             mCancellationSignal = new CancellationSignal();
+            mSessionCallback = new SessionCallback(this);
             //noinspection MissingPermission
-            fingerprintManager.authenticate(cryptoObject,
-                    mCancellationSignal,
-                    0,
-                    new FingerprintManager.AuthenticationCallback() {
-                        @Override
-                        public void onAuthenticationError(int errMsgId, CharSequence errString) {
-                            mCallback.onFingerprintAuthFailed(NON_RECOVERABLE_ERROR, errString.toString());
-                        }
-
-                        @Override
-                        public void onAuthenticationHelp(int helpMsgId, CharSequence helpString) {
-                            mCallback.onFingerprintAuthFailed(RECOVERABLE_ERROR, helpString.toString());
-                        }
-
-                        @Override
-                        public void onAuthenticationFailed() {
-                            mCallback.onFingerprintAuthFailed(CANNOT_RECOGNIZE_ERROR, "Cannot recognize the fingerprint.");
-                        }
-
-                        @Override
-                        public void onAuthenticationSucceeded(FingerprintManager.AuthenticationResult result) {
-                            mCallback.onFingerprintAuthSuccess(result.getCryptoObject());
-                        }
-                    }, null);
+            fingerprintManager.authenticate(cryptoObject, mCancellationSignal, 0, mSessionCallback, null);
+            isScanning = true;
+
+            mIsSessionTraced = true;
+            PasscodeTrace.beginAsyncSection(PasscodeTrace.FINGERPRINT_SESSION, System.identityHashCode(this));
         }
     }
 
@@ -294,10 +298,30 @@ final class FingerPrintAuthHelper {
     @RequiresApi(api = Build.VERSION_CODES.JELLY_BEAN)
     void stopAuth() {
         if (mCancellationSignal != null) {
-            isScanning = true;
+            isScanning = false;
             mCancellationSignal.cancel();
             mCancellationSignal = null;
         }
+        if (mSessionCallback != null) {
+            mSessionCallback.mHelper = null;
+            mSessionCallback = null;
+        }
+
+        //Key and cipher are created again for the next session.
+        mCipher = null;
+        mKeyStore = null;
+        endSessionTrace();
+    }
+
+    /**
+     * Close the async trace section of the scanning session. The session ends when the scanning is
+     * stopped or the sensor reports the error or the success.
+     */
+    private void endSessionTrace() {
+        if (mIsSessionTraced) {
+            mIsSessionTraced = false;
+            PasscodeTrace.endAsyncSection(PasscodeTrace.FINGERPRINT_SESSION, System.identityHashCode(this));
+        }
     }
 
     /**
@@ -307,6 +331,45 @@ final class FingerPrintAuthHelper {
         return isScanning;
     }
 
+    /**
+     * Forwards the platform callbacks of one scanning session to the helper until the session stops.
+     */
+    @TargetApi(Build.VERSION_CODES.M)
+    private static final class SessionCallback extends FingerprintManager.AuthenticationCallback {
+        @Nullable
+        private FingerPrintAuthHelper mHelper;
+
+        private SessionCallback(@NonNull FingerPrintAuthHelper helper) {
+            mHelper = helper;
+        }
+
+        @Override
+        public void onAuthenticationError(int errMsgId, CharSequence errString) {
+            if (mHelper == null) return;
+            mHelper.endSessionTrace();
+            mHelper.mCallback.onFingerprintAuthFailed(NON_RECOVERABLE_ERROR, errString.toString());
+        }
+
+        @Override
+        public void onAuthenticationHelp(int helpMsgId, CharSequence helpString) {
+            if (mHelper == null) return;
+            mHelper.mCallback.onFingerprintAuthFailed(RECOVERABLE_ERROR, helpString.toString());
+        }
+
+        @Override
+        public void onAuthenticationFailed() {
+            if (mHelper == null) return;
+            mHelper.mCallback.onFingerprintAuthFailed(CANNOT_RECOGNIZE_ERROR, "Cannot recognize the fingerprint.");
+        }
+
+        @Override
+        public void onAuthenticationSucceeded(FingerprintManager.AuthenticationResult result) {
+            if (mHelper == null) return;
+            mHelper.endSessionTrace();
+            mHelper.mCallback.onFingerprintAuthSuccess(result.getCryptoObject());
+        }
+    }
+
     /**
      * This is the callback listener to notify the finger print authentication result to the parent.
      */
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.support.annotation.ColorInt;
+import android.support.annotation.ColorRes;
+import android.support.annotation.DimenRes;
+import android.support.annotation.Dimension;
+import android.support.annotation.NonNull;
+
+import com.kevalpatel.passcodeview.indicators.CircleIndicator;
+import com.kevalpatel.passcodeview.indicators.DotIndicator;
+import com.kevalpatel.passcodeview.indicators.Indicator;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Immutable style of the PIN indicators. The style doesn't reference any view, so it can be built
+ * once using {@link IndicatorStyle.Builder} and shared by all the views of the process. Styles in
+ * XML are parsed once per style resource and shared by all the views inflated with the same style.
+ * <p>
+ * Paints are derived once per style. The getters return copies, so every indicator builder owns its
+ * paints and changing them doesn't change the style.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class IndicatorStyle {
+    public static final int SHAPE_CIRCLE = 0;
+    public static final int SHAPE_DOT = 1;
+
+    private final int mShape;                       //Shape of the indicator. (indicatorShape)
+    @ColorInt
+    private final int mSolidColor;                  //Filled indicator color
+    @ColorInt
+    private final int mStrokeColor;                 //Empty indicator color
+    @Dimension
+    private final float mRadius;
+    @Dimension
+    private final float mStrokeWidth;               //Stroke width of the empty circle indicator
+
+    private final Paint mSolidPaint;                //Filled indicator paint
+    private final Paint mErrorPaint;                //Error indicator paint
+    private final Paint mRingPaint;                 //Empty circle indicator paint
+    private final Paint mDotPaint;                  //Empty dot indicator paint
+
+    IndicatorStyle(int shape,
+                   @ColorInt int solidColor,
+                   @ColorInt int strokeColor,
+                   @Dimension float radius,
+                   @Dimension float strokeWidth) {
+        mShape = shape;
+        mSolidColor = solidColor;
+        mStrokeColor = strokeColor;
+        mRadius = radius;
+        mStrokeWidth = strokeWidth;
+
+        //Filled and error indicators are drawn as the round points.
+        mSolidPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mSolidPaint.setColor(solidColor);
+        mSolidPaint.setStrokeCap(Paint.Cap.ROUND);
+
+        mErrorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mErrorPaint.setColor(Color.RED);
+        mErrorPaint.setStrokeCap(Paint.Cap.ROUND);
+
+        mRingPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mRingPaint.setStyle(Paint.Style.STROKE);
+        mRingPaint.setColor(strokeColor);
+        mRingPaint.setStrokeWidth(strokeWidth);
+
+        mDotPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mDotPaint.setColor(strokeColor);
+        mDotPaint.setStrokeCap(Paint.Cap.ROUND);
+    }
+
+    /**
+     * @return Style with the default values of the library. This is resolved once per configuration.
+     */
+    @NonNull
+    public static IndicatorStyle getDefault(@NonNull Context context) {
+        return PasscodeStyle.getDefault(context).getIndicatorStyle();
+    }
+
+    /**
+     * Create the builder of the indicator shape of this style. The builder is already built with the
+     * copies of the paints of this style.
+     *
+     * @param view {@link PasscodeView} to display the indicators.
+     */
+    @NonNull
+    public Indicator.Builder createBuilder(@NonNull PasscodeView view) {
+        switch (mShape) {
+            case SHAPE_DOT:
+                return new DotIndicator.Builder(view).setStyle(this).build();
+            default:
+                return new CircleIndicator.Builder(view).setStyle(this).build();
+        }
+    }
+
+    ///////////////// SETTERS/GETTERS //////////////
+
+    public int getShape() {
+        return mShape;
+    }
+
+    @ColorInt
+    public int getSolidColor() {
+        return mSolidColor;
+    }
+
+    @ColorInt
+    public int getStrokeColor() {
+        return mStrokeColor;
+    }
+
+    @Dimension
+    public float getRadius() {
+        return mRadius;
+    }
+
+    @Dimension
+    public float getStrokeWidth() {
+        return mStrokeWidth;
+    }
+
+    @NonNull
+    public Paint getSolidPaint() {
+        return new Paint(mSolidPaint);
+    }
+
+    @NonNull
+    public Paint getErrorPaint() {
+        return new Paint(mErrorPaint);
+    }
+
+    /**
+     * @return Copy of the paint of the empty {@link CircleIndicator}.
+     */
+    @NonNull
+    public Paint getRingPaint() {
+        return new Paint(mRingPaint);
+    }
+
+    /**
+     * @return Copy of the paint of the empty {@link DotIndicator}.
+     */
+    @NonNull
+    public Paint getDotPaint() {
+        return new Paint(mDotPaint);
+    }
+
+    /**
+     * Builder of the {@link IndicatorStyle}. All the values start with the default values of the
+     * library. The builder only keeps the {@link Resources}, not the context.
+     */
+    public static final class Builder {
+        @NonNull
+        private final Resources mResources;
+        private int mShape;
+        @ColorInt
+        private int mSolidColor;
+        @ColorInt
+        private int mStrokeColor;
+        @Dimension
+        private float mRadius;
+        @Dimension
+        private float mStrokeWidth;
+
+        public Builder(@NonNull Context context) {
+            mResources = context.getResources();
+
+            IndicatorStyle defaultStyle = getDefault(context);
+            mShape = defaultStyle.mShape;
+            mSolidColor = defaultStyle.mSolidColor;
+            mStrokeColor = defaultStyle.mStrokeColor;
+            mRadius = defaultStyle.mRadius;
+            mStrokeWidth = defaultStyle.mStrokeWidth;
+        }
+
+        /**
+         * @param shape {@link #SHAPE_CIRCLE} or {@link #SHAPE_DOT}.
+         */
+        @NonNull
+        public Builder setShape(int shape) {
+            mShape = shape;
+            return this;
+        }
+
+        @NonNull
+        public Builder setSolidColor(@ColorInt int solidColor) {
+            mSolidColor = solidColor;
+            return this;
+        }
+
+        @SuppressWarnings("deprecation")
+        @NonNull
+        public Builder setSolidColorResource(@ColorRes int solidColor) {
+            mSolidColor = mResources.getColor(solidColor);
+            return this;
+        }
+
+        @NonNull
+        public Builder setStrokeColor(@ColorInt int strokeColor) {
+            mStrokeColor = strokeColor;
+            return this;
+        }
+
+        @SuppressWarnings("deprecation")
+        @NonNull
+        public Builder setStrokeColorResource(@ColorRes int strokeColor) {
+            mStrokeColor = mResources.getColor(strokeColor);
+            return this;
+        }
+
+        @NonNull
+        public Builder setRadius(@Dimension float radius) {
+            mRadius = radius;
+            return this;
+        }
+
+        @NonNull
+        public Builder setRadius(@DimenRes int radius) {
+            mRadius = mResources.getDimension(radius);
+            return this;
+        }
+
+        @NonNull
+        public Builder setStrokeWidth(@Dimension float strokeWidth) {
+            mStrokeWidth = strokeWidth;
+            return this;
+        }
+
+        @NonNull
+        public Builder setStrokeWidth(@DimenRes int strokeWidth) {
+            mStrokeWidth = mResources.getDimension(strokeWidth);
+            return this;
+        }
+
+        @NonNull
+        public IndicatorStyle build() {
+            return new IndicatorStyle(mShape, mSolidColor, mStrokeColor, mRadius, mStrokeWidth);
+        }
+    }
+}
@@ -20,6 +20,12 @@ import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.annotation.Size;
 import android.support.annotation.StringRes;
+import android.util.SparseArray;
+
+import com.kevalpatel.passcodeview.core.KeyNames;
+
+import java.util.HashMap;
+import java.util.Locale;
 
 /**
  * Created by Keval Patel on 13/04/17.
@@ -31,18 +37,13 @@ import android.support.annotation.StringRes;
  */
 
 public final class KeyNamesBuilder {
-    public static final String BACKSPACE_TITLE = "-1";
+    public static final String BACKSPACE_TITLE = KeyNames.BACKSPACE_TITLE;
+
+    //Resolved names of the string resources for each locale. Switching back to the locale doesn't resolve them again.
+    private static final HashMap<Locale, SparseArray<String>> sResolvedNames = new HashMap<>();
 
-    private String mKeyOne = "1";
-    private String mKeyTwo = "2";
-    private String mKeyThree = "3";
-    private String mKeyFour = "4";
-    private String mKeyFive = "5";
-    private String mKeySix = "6";
-    private String mKeySeven = "7";
-    private String mKeyEight = "8";
-    private String mKeyNine = "9";
-    private String mKeyZero = "0";
+    //Names indexed by the digit value of the key.
+    private final String[] mDigitNames = new String[]{"0", "1", "2", "3", "4", "5", "6", "7", "8", "9"};
 
 
     public KeyNamesBuilder() {
@@ -50,165 +51,180 @@ public final class KeyNamesBuilder {
     }
 
     public String getKeyOne() {
-        return mKeyOne;
+        return mDigitNames[1];
     }
 
     public KeyNamesBuilder setKeyOne(@NonNull String keyOne) {
-        mKeyOne = keyOne;
+        mDigitNames[1] = keyOne;
         return this;
     }
 
     public KeyNamesBuilder setKeyOne(@NonNull Context context, @StringRes int keyOne) {
-        mKeyOne = context.getString(keyOne);
+        mDigitNames[1] = getString(context, keyOne);
         return this;
     }
 
     public String getKeyTwo() {
-        return mKeyTwo;
+        return mDigitNames[2];
     }
 
     public KeyNamesBuilder setKeyTwo(@NonNull String keyTwo) {
-        mKeyTwo = keyTwo;
+        mDigitNames[2] = keyTwo;
         return this;
     }
 
     public KeyNamesBuilder setKeyTwo(@NonNull Context context, @StringRes int keyTwo) {
-        mKeyTwo = context.getString(keyTwo);
+        mDigitNames[2] = getString(context, keyTwo);
         return this;
     }
 
     public String getKeyThree() {
-        return mKeyThree;
+        return mDigitNames[3];
     }
 
     public KeyNamesBuilder setKeyThree(@NonNull String keyThree) {
-        mKeyThree = keyThree;
+        mDigitNames[3] = keyThree;
         return this;
     }
 
     public KeyNamesBuilder setKeyThree(@NonNull Context context, @StringRes int keyThree) {
-        mKeyThree = context.getString(keyThree);
+        mDigitNames[3] = getString(context, keyThree);
         return this;
     }
 
     public String getmKeyFour() {
-        return mKeyFour;
+        return mDigitNames[4];
     }
 
     public KeyNamesBuilder setKeyFour(@NonNull String keyFour) {
-        mKeyFour = keyFour;
+        mDigitNames[4] = keyFour;
         return this;
     }
 
     public KeyNamesBuilder setKeyFour(@NonNull Context context, @StringRes int keyFour) {
-        mKeyFour = context.getString(keyFour);
+        mDigitNames[4] = getString(context, keyFour);
         return this;
     }
 
     public String getKeyFive() {
-        return mKeyFive;
+        return mDigitNames[5];
     }
 
     public KeyNamesBuilder setKeyFive(@NonNull String keyFive) {
-        mKeyFive = keyFive;
+        mDigitNames[5] = keyFive;
         return this;
     }
 
     public KeyNamesBuilder setKeyFive(@NonNull Context context, @StringRes int keyFive) {
-        mKeyFive = context.getString(keyFive);
+        mDigitNames[5] = getString(context, keyFive);
         return this;
     }
 
     public String getKeySix() {
-        return mKeySix;
+        return mDigitNames[6];
     }
 
     public KeyNamesBuilder setKeySix(@NonNull String keySix) {
-        mKeySix = keySix;
+        mDigitNames[6] = keySix;
         return this;
     }
 
     public KeyNamesBuilder setKeySix(@NonNull Context context, @StringRes int keySix) {
-        mKeySix = context.getString(keySix);
+        mDigitNames[6] = getString(context, keySix);
         return this;
     }
 
     public String getKeySeven() {
-        return mKeySeven;
+        return mDigitNames[7];
     }
 
     public KeyNamesBuilder setKeySeven(@NonNull String keySeven) {
-        mKeySeven = keySeven;
+        mDigitNames[7] = keySeven;
         return this;
     }
 
     public KeyNamesBuilder setKeySeven(@NonNull Context context, @StringRes int keySeven) {
-        mKeySeven = context.getString(keySeven);
+        mDigitNames[7] = getString(context, keySeven);
         return this;
     }
 
     public String getKeyEight() {
-        return mKeyEight;
+        return mDigitNames[8];
     }
 
     public KeyNamesBuilder setKeyEight(@NonNull String keyEight) {
-        mKeyEight = keyEight;
+        mDigitNames[8] = keyEight;
         return this;
     }
 
     public KeyNamesBuilder setKeyEight(@NonNull Context context, @StringRes int keyEight) {
-        mKeyEight = context.getString(keyEight);
+        mDigitNames[8] = getString(context, keyEight);
         return this;
     }
 
     public String getKeyNine() {
-        return mKeyNine;
+        return mDigitNames[9];
     }
 
     public KeyNamesBuilder setKeyNine(@NonNull String keyNine) {
-        mKeyNine = keyNine;
+        mDigitNames[9] = keyNine;
         return this;
     }
 
     public KeyNamesBuilder setKeyNine(@NonNull Context context, @StringRes int keyNine) {
-        mKeyNine = context.getString(keyNine);
+        mDigitNames[9] = getString(context, keyNine);
         return this;
     }
 
     public String getKeyZero() {
-        return mKeyZero;
+        return mDigitNames[0];
     }
 
     public KeyNamesBuilder setKeyZero(@NonNull String keyZero) {
-        mKeyZero = keyZero;
+        mDigitNames[0] = keyZero;
         return this;
     }
 
     public KeyNamesBuilder setKeyZero(@NonNull Context context, @StringRes int keyZero) {
-        mKeyZero = context.getString(keyZero);
+        mDigitNames[0] = getString(context, keyZero);
         return this;
     }
 
     @SuppressWarnings("Range")
     @Size(Constants.NO_OF_ROWS * Constants.NO_OF_COLUMNS)
     String[][] build() {
-        return new String[][]{{mKeyOne, mKeyFour, mKeySeven, ""},
-                {mKeyTwo, mKeyFive, mKeyEight, mKeyZero},
-                {mKeyThree, mKeySix, mKeyNine, BACKSPACE_TITLE}};
-    }
-
-    int getValueOfKey(@NonNull String keyName) {
-        if (keyName.equals(mKeyOne)) return 1;
-        else if (keyName.equals(mKeyTwo)) return 2;
-        else if (keyName.equals(mKeyThree)) return 3;
-        else if (keyName.equals(mKeyFour)) return 4;
-        else if (keyName.equals(mKeyFive)) return 5;
-        else if (keyName.equals(mKeySix)) return 6;
-        else if (keyName.equals(mKeySeven)) return 7;
-        else if (keyName.equals(mKeyEight)) return 8;
-        else if (keyName.equals(mKeyNine)) return 9;
-        else if (keyName.equals(mKeyZero)) return 0;
-        else if (keyName.equals(BACKSPACE_TITLE)) return -1;
-        else throw new IllegalArgumentException("Invalid key name.");
+        return KeyNames.buildGrid(mDigitNames);
+    }
+
+    /**
+     * @return Key names indexed by the digit value of the key. This is the live array of the builder.
+     */
+    @NonNull
+    String[] getDigitNames() {
+        return mDigitNames;
+    }
+
+    /**
+     * Get the string resource in the current locale of the context. Each resource is resolved only
+     * once per locale, so switching the locale at runtime doesn't hit the resources again.
+     */
+    @SuppressWarnings("deprecation")
+    @NonNull
+    private static String getString(@NonNull Context context, @StringRes int stringRes) {
+        Locale locale = context.getResources().getConfiguration().locale;
+        synchronized (sResolvedNames) {
+            SparseArray<String> names = sResolvedNames.get(locale);
+            if (names == null) {
+                names = new SparseArray<>();
+                sResolvedNames.put(locale, names);
+            }
+
+            String name = names.get(stringRes);
+            if (name == null) {
+                name = context.getString(stringRes);
+                names.put(stringRes, name);
+            }
+            return name;
+        }
     }
 }
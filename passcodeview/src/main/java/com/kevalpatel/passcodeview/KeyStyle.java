@@ -0,0 +1,294 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Paint;
+import android.support.annotation.ColorInt;
+import android.support.annotation.ColorRes;
+import android.support.annotation.DimenRes;
+import android.support.annotation.Dimension;
+import android.support.annotation.NonNull;
+import android.text.TextPaint;
+
+import com.kevalpatel.passcodeview.keys.Key;
+import com.kevalpatel.passcodeview.keys.PathKey;
+import com.kevalpatel.passcodeview.keys.RectKey;
+import com.kevalpatel.passcodeview.keys.RoundKey;
+import com.kevalpatel.passcodeview.keys.SquareKey;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Immutable style of the keys. The style doesn't reference any view, so it can be built once using
+ * {@link KeyStyle.Builder} and shared by all the views of the process. Styles in XML are parsed once
+ * per style resource and shared by all the views inflated with the same style.
+ * <p>
+ * Paints are derived once per style. The getters return copies, so every key builder owns its
+ * paints and changing them doesn't change the style.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class KeyStyle {
+    public static final int SHAPE_ROUND = 0;
+    public static final int SHAPE_SQUARE = 1;
+    public static final int SHAPE_RECT = 2;
+    public static final int SHAPE_HEXAGON = 3;
+    public static final int SHAPE_ROUNDED_RECT = 4;
+
+    private final int mShape;                       //Shape of the key. (keyShape)
+    @Dimension
+    private final float mTextSize;                  //Key text size
+    @ColorInt
+    private final int mTextColor;                   //Key text color
+    @ColorInt
+    private final int mStrokeColor;                 //Key background stroke color
+    @Dimension
+    private final float mStrokeWidth;               //Key background stroke width
+    @Dimension
+    private final float mPadding;                   //Surround padding to each single key
+
+    private final Paint mKeyPaint;                  //Key background stroke paint
+    private final TextPaint mKeyTextPaint;          //Key text paint
+    private final Paint mClickPaint;                //Key background paint while the key is pressed
+    private final Paint mRipplePaint;               //Ripple paint. Alpha is set before every ripple is drawn.
+
+    KeyStyle(int shape,
+             @Dimension float textSize,
+             @ColorInt int textColor,
+             @ColorInt int strokeColor,
+             @Dimension float strokeWidth,
+             @Dimension float padding) {
+        mShape = shape;
+        mTextSize = textSize;
+        mTextColor = textColor;
+        mStrokeColor = strokeColor;
+        mStrokeWidth = strokeWidth;
+        mPadding = padding;
+
+        mKeyPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mKeyPaint.setStyle(Paint.Style.STROKE);
+        mKeyPaint.setColor(strokeColor);
+        mKeyPaint.setTextSize(textSize);
+        mKeyPaint.setStrokeWidth(strokeWidth);
+
+        mKeyTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        mKeyTextPaint.setColor(textColor);
+        mKeyTextPaint.setTextSize(textSize);
+        mKeyTextPaint.setFakeBoldText(true);
+        mKeyTextPaint.setTextAlign(Paint.Align.CENTER);
+
+        mClickPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mClickPaint.setStyle(Paint.Style.STROKE);
+        mClickPaint.setColor(Utils.makeColorDark(strokeColor));
+        mClickPaint.setStrokeWidth(strokeWidth);
+
+        mRipplePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mRipplePaint.setStyle(Paint.Style.FILL);
+    }
+
+    /**
+     * @return Style with the default values of the library. This is resolved once per configuration.
+     */
+    @NonNull
+    public static KeyStyle getDefault(@NonNull Context context) {
+        return PasscodeStyle.getDefault(context).getKeyStyle();
+    }
+
+    /**
+     * Create the builder of the key shape of this style. The builder is already built with the copies
+     * of the paints of this style.
+     *
+     * @param view {@link PasscodeView} to display the keys.
+     */
+    @NonNull
+    public Key.Builder createBuilder(@NonNull PasscodeView view) {
+        switch (mShape) {
+            case SHAPE_SQUARE:
+                return new SquareKey.Builder(view).setStyle(this).build();
+            case SHAPE_RECT:
+                return new RectKey.Builder(view).setStyle(this).build();
+            case SHAPE_HEXAGON:
+                return new PathKey.Builder(view).setShape(PathKey.SHAPE_HEXAGON).setStyle(this).build();
+            case SHAPE_ROUNDED_RECT:
+                return new PathKey.Builder(view).setShape(PathKey.SHAPE_ROUNDED_RECT).setStyle(this).build();
+            default:
+                return new RoundKey.Builder(view).setStyle(this).build();
+        }
+    }
+
+    ///////////////// SETTERS/GETTERS //////////////
+
+    public int getShape() {
+        return mShape;
+    }
+
+    @Dimension
+    public float getTextSize() {
+        return mTextSize;
+    }
+
+    @ColorInt
+    public int getTextColor() {
+        return mTextColor;
+    }
+
+    @ColorInt
+    public int getStrokeColor() {
+        return mStrokeColor;
+    }
+
+    @Dimension
+    public float getStrokeWidth() {
+        return mStrokeWidth;
+    }
+
+    @Dimension
+    public float getPadding() {
+        return mPadding;
+    }
+
+    @NonNull
+    public Paint getKeyPaint() {
+        return new Paint(mKeyPaint);
+    }
+
+    @NonNull
+    public TextPaint getKeyTextPaint() {
+        return new TextPaint(mKeyTextPaint);
+    }
+
+    @NonNull
+    public Paint getClickPaint() {
+        return new Paint(mClickPaint);
+    }
+
+    @NonNull
+    public Paint getRipplePaint() {
+        return new Paint(mRipplePaint);
+    }
+
+    /**
+     * Builder of the {@link KeyStyle}. All the values start with the default values of the library.
+     * The builder only keeps the {@link Resources}, not the context.
+     */
+    public static final class Builder {
+        @NonNull
+        private final Resources mResources;
+        private int mShape;
+        @Dimension
+        private float mTextSize;
+        @ColorInt
+        private int mTextColor;
+        @ColorInt
+        private int mStrokeColor;
+        @Dimension
+        private float mStrokeWidth;
+        @Dimension
+        private float mPadding;
+
+        public Builder(@NonNull Context context) {
+            mResources = context.getResources();
+
+            KeyStyle defaultStyle = getDefault(context);
+            mShape = defaultStyle.mShape;
+            mTextSize = defaultStyle.mTextSize;
+            mTextColor = defaultStyle.mTextColor;
+            mStrokeColor = defaultStyle.mStrokeColor;
+            mStrokeWidth = defaultStyle.mStrokeWidth;
+            mPadding = defaultStyle.mPadding;
+        }
+
+        /**
+         * @param shape {@link #SHAPE_ROUND}, {@link #SHAPE_SQUARE}, {@link #SHAPE_RECT},
+         *              {@link #SHAPE_HEXAGON} or {@link #SHAPE_ROUNDED_RECT}.
+         */
+        @NonNull
+        public Builder setShape(int shape) {
+            mShape = shape;
+            return this;
+        }
+
+        @NonNull
+        public Builder setTextSize(@Dimension float textSize) {
+            mTextSize = textSize;
+            return this;
+        }
+
+        @NonNull
+        public Builder setTextSize(@DimenRes int textSize) {
+            mTextSize = mResources.getDimension(textSize);
+            return this;
+        }
+
+        @NonNull
+        public Builder setTextColor(@ColorInt int textColor) {
+            mTextColor = textColor;
+            return this;
+        }
+
+        @SuppressWarnings("deprecation")
+        @NonNull
+        public Builder setTextColorResource(@ColorRes int textColor) {
+            mTextColor = mResources.getColor(textColor);
+            return this;
+        }
+
+        @NonNull
+        public Builder setStrokeColor(@ColorInt int strokeColor) {
+            mStrokeColor = strokeColor;
+            return this;
+        }
+
+        @SuppressWarnings("deprecation")
+        @NonNull
+        public Builder setStrokeColorResource(@ColorRes int strokeColor) {
+            mStrokeColor = mResources.getColor(strokeColor);
+            return this;
+        }
+
+        @NonNull
+        public Builder setStrokeWidth(@Dimension float strokeWidth) {
+            mStrokeWidth = strokeWidth;
+            return this;
+        }
+
+        @NonNull
+        public Builder setStrokeWidth(@DimenRes int strokeWidth) {
+            mStrokeWidth = mResources.getDimension(strokeWidth);
+            return this;
+        }
+
+        @NonNull
+        public Builder setPadding(@Dimension float padding) {
+            mPadding = padding;
+            return this;
+        }
+
+        @NonNull
+        public Builder setPadding(@DimenRes int padding) {
+            mPadding = mResources.getDimension(padding);
+            return this;
+        }
+
+        @NonNull
+        public KeyStyle build() {
+            return new KeyStyle(mShape, mTextSize, mTextColor, mStrokeColor, mStrokeWidth, mPadding);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * {@link PasscodeClock} which moves only when {@link #advanceBy(long)} or {@link #advanceFrame()} is
+ * called. Delayed tasks and the frame callbacks run synchronously inside those calls in the time
+ * order, so the whole animation sequence can be verified without waiting for the real time.
+ * <p>
+ * Frames happen at every multiple of the frame interval. Tasks due at the same time as the frame
+ * run before the frame.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class ManualPasscodeClock implements PasscodeClock {
+    public static final long DEFAULT_FRAME_INTERVAL = 16;      //Frame interval of the 60 fps display in milliseconds.
+
+    private final long mFrameInterval;                          //Time between two frames in milliseconds.
+    private final ArrayList<ScheduledTask> mTasks = new ArrayList<>();         //Pending delayed tasks.
+    private final ArrayList<Runnable> mFrameCallbacks = new ArrayList<>();     //Callbacks waiting for the next frame.
+    private final ArrayList<Runnable> mRunningCallbacks = new ArrayList<>();   //Callbacks of the current frame.
+    private long mNow;                                          //Current time in milliseconds.
+    private long mNextSequence;                                 //Keeps the post order of the tasks due at the same time.
+    private int mFrameCount;                                    //Number of the frames with at least one callback.
+
+    public ManualPasscodeClock() {
+        this(DEFAULT_FRAME_INTERVAL);
+    }
+
+    /**
+     * @param frameIntervalMillis time between two frames in milliseconds.
+     */
+    public ManualPasscodeClock(long frameIntervalMillis) {
+        if (frameIntervalMillis <= 0) throw new IllegalArgumentException("Frame interval must be positive.");
+        mFrameInterval = frameIntervalMillis;
+    }
+
+    @Override
+    public long uptimeMillis() {
+        return mNow;
+    }
+
+    @Override
+    public void postDelayed(@NonNull Runnable task, long delayMillis) {
+        mTasks.add(new ScheduledTask(task, mNow + Math.max(0, delayMillis), mNextSequence++));
+    }
+
+    @Override
+    public void removeCallbacks(@NonNull Runnable task) {
+        for (int i = mTasks.size() - 1; i >= 0; i--) {
+            if (mTasks.get(i).mTask == task) mTasks.remove(i);
+        }
+    }
+
+    @Override
+    public void postFrameCallback(@NonNull Runnable callback) {
+        if (!mFrameCallbacks.contains(callback)) mFrameCallbacks.add(callback);
+    }
+
+    @Override
+    public void removeFrameCallback(@NonNull Runnable callback) {
+        mFrameCallbacks.remove(callback);
+    }
+
+    /**
+     * Move the time forward and run all the tasks and the frames due until the new time.
+     *
+     * @param millis time to move in milliseconds.
+     */
+    public void advanceBy(long millis) {
+        if (millis < 0) throw new IllegalArgumentException("Time can't go back.");
+
+        long target = mNow + millis;
+        while (true) {
+            int nextTask = findNextTask();
+            long nextTaskTime = nextTask < 0 ? Long.MAX_VALUE : mTasks.get(nextTask).mRunAt;
+            long nextFrameTime = mFrameCallbacks.isEmpty() ? Long.MAX_VALUE : getNextFrameTime();
+            if (Math.min(nextTaskTime, nextFrameTime) > target) break;
+
+            if (nextTaskTime <= nextFrameTime) {
+                mNow = Math.max(mNow, nextTaskTime);
+                mTasks.remove(nextTask).mTask.run();
+            } else {
+                mNow = nextFrameTime;
+                runFrame();
+            }
+        }
+        mNow = target;
+    }
+
+    /**
+     * Move the time to the next frame and run everything due until then.
+     */
+    public void advanceFrame() {
+        advanceBy(getNextFrameTime() - mNow);
+    }
+
+    /**
+     * @return true if any delayed task or frame callback is waiting.
+     */
+    public boolean hasPendingCallbacks() {
+        return !mTasks.isEmpty() || !mFrameCallbacks.isEmpty();
+    }
+
+    /**
+     * @return Number of the frames which ran at least one callback.
+     */
+    public int getFrameCount() {
+        return mFrameCount;
+    }
+
+    public long getFrameInterval() {
+        return mFrameInterval;
+    }
+
+    private long getNextFrameTime() {
+        return (mNow / mFrameInterval + 1) * mFrameInterval;
+    }
+
+    private int findNextTask() {
+        int next = -1;
+        for (int i = 0; i < mTasks.size(); i++) {
+            ScheduledTask task = mTasks.get(i);
+            if (next < 0 || task.mRunAt < mTasks.get(next).mRunAt
+                    || (task.mRunAt == mTasks.get(next).mRunAt && task.mSequence < mTasks.get(next).mSequence)) {
+                next = i;
+            }
+        }
+        return next;
+    }
+
+    private void runFrame() {
+        mFrameCount++;
+
+        //Callbacks may post themselves again for the next frame.
+        mRunningCallbacks.addAll(mFrameCallbacks);
+        mFrameCallbacks.clear();
+        for (int i = 0; i < mRunningCallbacks.size(); i++) mRunningCallbacks.get(i).run();
+        mRunningCallbacks.clear();
+    }
+
+    private static final class ScheduledTask {
+        private final Runnable mTask;
+        private final long mRunAt;          //Time to run the task.
+        private final long mSequence;       //Post order.
+
+        private ScheduledTask(@NonNull Runnable task, long runAt, long sequence) {
+            mTask = task;
+            mRunAt = runAt;
+            mSequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Source of the time for all the animations and the timers of the {@link PasscodeView}. The view uses
+ * the clock of the main thread by default. Tests and benchmarks can set the {@link ManualPasscodeClock}
+ * using {@link PasscodeView#setClock(PasscodeClock)} and step the time frame by frame.
+ * <p>
+ * All the methods are called on the main thread.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public interface PasscodeClock {
+
+    /**
+     * @return Current time in milliseconds. Only the difference between two values is meaningful.
+     */
+    long uptimeMillis();
+
+    /**
+     * Run the task once after the delay.
+     *
+     * @param task        task to run.
+     * @param delayMillis delay in milliseconds.
+     */
+    void postDelayed(@NonNull Runnable task, long delayMillis);
+
+    /**
+     * Remove all the pending posts of the task posted using {@link #postDelayed(Runnable, long)}.
+     */
+    void removeCallbacks(@NonNull Runnable task);
+
+    /**
+     * Run the callback once on the next frame. Animations post the callback again from the
+     * callback until they finish.
+     *
+     * @param callback callback to run.
+     */
+    void postFrameCallback(@NonNull Runnable callback);
+
+    /**
+     * Remove the pending callback posted using {@link #postFrameCallback(Runnable)}.
+     */
+    void removeFrameCallback(@NonNull Runnable callback);
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Snapshot of the objects retained by the {@link PasscodeView}. Get the snapshot using
+ * {@link PasscodeView#getHeapStats()}. This is the debug API to find the leaks and the growth of the
+ * retained heap (e.g. The old keys kept alive after the view is measured again.) Byte sizes are the
+ * rough estimates of the object graph, not the exact heap dump values.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class PasscodeHeapStats {
+    static final int COMPONENT_BYTES = 120;     //Key, indicator or cell with its bound and label.
+    static final int ANIMATOR_BYTES = 200;      //Animator with its listeners and interpolator.
+    static final int TASK_BYTES = 40;           //Delayed task wrapper and its runnable.
+
+    private int mComponentCount;                //Keys, indicators and pattern cells.
+    private int mAnimatorCount;                 //Tracked animators which are still reachable.
+    private int mRunningAnimatorCount;          //Tracked animators which are running or paused.
+    private int mPendingTaskCount;              //Delayed tasks waiting to run.
+    private int mQueuedTaskCount;               //Delayed tasks posted to the clock. These are reachable from the main thread queue.
+
+    PasscodeHeapStats() {
+        //Do nothing
+    }
+
+    void addComponents(int count) {
+        mComponentCount += count;
+    }
+
+    void setAnimatorCount(int animatorCount, int runningAnimatorCount) {
+        mAnimatorCount = animatorCount;
+        mRunningAnimatorCount = runningAnimatorCount;
+    }
+
+    void setTaskCount(int pendingTaskCount, int queuedTaskCount) {
+        mPendingTaskCount = pendingTaskCount;
+        mQueuedTaskCount = queuedTaskCount;
+    }
+
+    ///////////////// SETTERS/GETTERS //////////////
+
+    /**
+     * @return Number of the keys, indicators and pattern cells held by the view.
+     */
+    public int getComponentCount() {
+        return mComponentCount;
+    }
+
+    /**
+     * @return Number of the tracked animators which are not garbage collected yet. Call
+     * {@link System#gc()} before taking the snapshot to drop the animators of the old components.
+     */
+    public int getAnimatorCount() {
+        return mAnimatorCount;
+    }
+
+    /**
+     * @return Number of the tracked animators which are running or paused.
+     */
+    public int getRunningAnimatorCount() {
+        return mRunningAnimatorCount;
+    }
+
+    /**
+     * @return Number of the delayed tasks waiting to run. Tasks of the idle view are kept by the view
+     * and are not queued to the main thread.
+     */
+    public int getPendingTaskCount() {
+        return mPendingTaskCount;
+    }
+
+    /**
+     * @return Number of the delayed tasks queued to the {@link PasscodeClock}. Queued tasks keep the
+     * view reachable from the main thread, so this is 0 after the view is detached.
+     */
+    public int getQueuedTaskCount() {
+        return mQueuedTaskCount;
+    }
+
+    /**
+     * @return Estimated bytes retained by the components, animators and delayed tasks of the view.
+     */
+    public long getEstimatedBytes() {
+        return (long) mComponentCount * COMPONENT_BYTES
+                + (long) mAnimatorCount * ANIMATOR_BYTES
+                + (long) mPendingTaskCount * TASK_BYTES;
+    }
+
+    @Override
+    public String toString() {
+        return "components=" + mComponentCount
+                + ", animators=" + mAnimatorCount
+                + ", runningAnimators=" + mRunningAnimatorCount
+                + ", pendingTasks=" + mPendingTaskCount
+                + ", queuedTasks=" + mQueuedTaskCount
+                + ", estimatedBytes=" + getEstimatedBytes();
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.os.SystemClock;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Runtime counters of the {@link PasscodeView}. Get the instance using {@link PasscodeView#getMetrics()}.
+ * All the counters are cumulative until {@link #reset()} is called.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class PasscodeMetrics {
+    private int mLayerPromotionCount;           //Number of times the view switched to the hardware layer.
+    private int mLayerReleaseCount;             //Number of times the hardware layer was released.
+    private long mLayerPromotedAt = -1;         //Uptime when the current hardware layer was created. -1 if there is no layer.
+    private long mHardwareLayerMillis;          //Total time spent with the hardware layer.
+    private int mCoalescedStatusCount;          //Number of fingerprint status dropped by the status queue.
+    private int mIdleCount;                     //Number of times the view went idle.
+    private int mSkippedInvalidateCount;        //Number of invalidate calls ignored while idle.
+    private int mKeyFeedbackCount;              //Number of key presses with the visual/haptic feedback.
+    private long mTotalFeedbackLatency;         //Sum of the touch-to-feedback latencies in milliseconds.
+    private long mMaxFeedbackLatency;           //Largest touch-to-feedback latency in milliseconds.
+    private int mTapCount;                      //Number of taps started inside the keypad.
+    private int mMissedTapCount;                //Number of taps inside the keypad which did not resolve to any key.
+
+    PasscodeMetrics() {
+        //Do nothing
+    }
+
+    void onLayerPromoted() {
+        mLayerPromotionCount++;
+        mLayerPromotedAt = SystemClock.uptimeMillis();
+    }
+
+    void onLayerReleased() {
+        mLayerReleaseCount++;
+        if (mLayerPromotedAt >= 0) mHardwareLayerMillis += SystemClock.uptimeMillis() - mLayerPromotedAt;
+        mLayerPromotedAt = -1;
+    }
+
+    void onStatusCoalesced() {
+        mCoalescedStatusCount++;
+    }
+
+    void onIdle() {
+        mIdleCount++;
+    }
+
+    void onInvalidateSkipped() {
+        mSkippedInvalidateCount++;
+    }
+
+    void onKeyFeedback(long touchDownTime) {
+        long latency = Math.max(0, SystemClock.uptimeMillis() - touchDownTime);
+        mKeyFeedbackCount++;
+        mTotalFeedbackLatency += latency;
+        mMaxFeedbackLatency = Math.max(mMaxFeedbackLatency, latency);
+    }
+
+    void onKeyTap(boolean isHit) {
+        mTapCount++;
+        if (!isHit) mMissedTapCount++;
+    }
+
+    /**
+     * Reset all the counters to zero.
+     */
+    public void reset() {
+        mLayerPromotionCount = 0;
+        mLayerReleaseCount = 0;
+        mHardwareLayerMillis = 0;
+        mCoalescedStatusCount = 0;
+        mIdleCount = 0;
+        mSkippedInvalidateCount = 0;
+        mKeyFeedbackCount = 0;
+        mTotalFeedbackLatency = 0;
+        mMaxFeedbackLatency = 0;
+        mTapCount = 0;
+        mMissedTapCount = 0;
+        if (mLayerPromotedAt >= 0) mLayerPromotedAt = SystemClock.uptimeMillis();
+    }
+
+    ///////////////// SETTERS/GETTERS //////////////
+
+    /**
+     * @return Number of times the view switched to the hardware layer because an animation started.
+     */
+    public int getLayerPromotionCount() {
+        return mLayerPromotionCount;
+    }
+
+    /**
+     * @return Number of times the hardware layer was released after the animations finished.
+     */
+    public int getLayerReleaseCount() {
+        return mLayerReleaseCount;
+    }
+
+    /**
+     * @return true if the view is currently rendered into the hardware layer.
+     */
+    public boolean isLayerPromoted() {
+        return mLayerPromotedAt >= 0;
+    }
+
+    /**
+     * @return Total time in milliseconds the view was rendered into the hardware layer. This includes
+     * the time of the currently active layer.
+     */
+    public long getHardwareLayerMillis() {
+        return mHardwareLayerMillis
+                + (mLayerPromotedAt >= 0 ? SystemClock.uptimeMillis() - mLayerPromotedAt : 0);
+    }
+
+    /**
+     * @return Number of fingerprint status messages merged into the displayed or the waiting status
+     * instead of being displayed separately.
+     */
+    public int getCoalescedStatusCount() {
+        return mCoalescedStatusCount;
+    }
+
+    /**
+     * @return Number of times the view was hidden and paused all the animations, timers and the
+     * fingerprint scanning.
+     */
+    public int getIdleCount() {
+        return mIdleCount;
+    }
+
+    /**
+     * @return Number of redraw requests ignored because the view was not visible.
+     */
+    public int getSkippedInvalidateCount() {
+        return mSkippedInvalidateCount;
+    }
+
+    /**
+     * @return Number of the key presses which started the ripple and the haptic feedback.
+     */
+    public int getKeyFeedbackCount() {
+        return mKeyFeedbackCount;
+    }
+
+    /**
+     * @return Average time in milliseconds between the finger touching the key and the start of the
+     * ripple and the haptic feedback of the key.
+     */
+    public double getAverageFeedbackLatencyMillis() {
+        return mKeyFeedbackCount == 0 ? 0 : (double) mTotalFeedbackLatency / mKeyFeedbackCount;
+    }
+
+    /**
+     * @return Largest time in milliseconds between the finger touching the key and the start of the
+     * ripple and the haptic feedback of the key.
+     */
+    public long getMaxFeedbackLatencyMillis() {
+        return mMaxFeedbackLatency;
+    }
+
+    /**
+     * @return Number of the taps which started inside the keypad.
+     */
+    public int getTapCount() {
+        return mTapCount;
+    }
+
+    /**
+     * @return Number of the taps which started inside the keypad but did not press any key. (e.g.
+     * The tap in the space between the keys or the swipe from one key to the other.)
+     */
+    public int getMissedTapCount() {
+        return mMissedTapCount;
+    }
+
+    /**
+     * @return Missed taps per thousand taps inside the keypad.
+     */
+    public double getMissesPerThousandTaps() {
+        return mTapCount == 0 ? 0 : mMissedTapCount * 1000.0 / mTapCount;
+    }
+
+    @Override
+    public String toString() {
+        return "layerPromotions=" + mLayerPromotionCount
+                + ", layerReleases=" + mLayerReleaseCount
+                + ", hardwareLayerMillis=" + getHardwareLayerMillis()
+                + ", coalescedStatus=" + mCoalescedStatusCount
+                + ", idle=" + mIdleCount
+                + ", skippedInvalidates=" + mSkippedInvalidateCount
+                + ", keyFeedbacks=" + mKeyFeedbackCount
+                + ", avgFeedbackLatencyMillis=" + getAverageFeedbackLatencyMillis()
+                + ", taps=" + mTapCount
+                + ", missedTaps=" + mMissedTapCount;
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.support.annotation.NonNull;
+import android.util.AttributeSet;
+import android.util.SparseArray;
+
+import java.util.WeakHashMap;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Styles of the keys, the indicators and the pattern cells parsed from the XML attributes. Styles are
+ * cached by the theme of the view and the style resource (style="@style/..."), so the attributes are
+ * resolved only by the first view inflated with the style in the theme and all the other views share
+ * the same style objects. The theme is part of the key because the theme attributes and the values
+ * of the theme fill the attributes the style doesn't set.
+ * <p>
+ * The cache is cleared if the configuration changes. (e.g. Density, font scale or night mode.)
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+final class PasscodeStyle {
+    //Attributes of the keys, the indicators and the pattern cells.
+    private static final int[] KEY_ATTRS = new int[]{R.styleable.PinView_keyShape,
+            R.styleable.PinView_keyTextSize, R.styleable.PinView_keyTextColor,
+            R.styleable.PinView_keyStrokeColor, R.styleable.PinView_keyStrokeWidth,
+            R.styleable.PinView_keyPadding};
+    private static final int[] INDICATOR_ATTRS = new int[]{R.styleable.PinView_indicatorShape,
+            R.styleable.PinView_indicatorSolidColor, R.styleable.PinView_indicatorStrokeColor,
+            R.styleable.PinView_indicatorRadius, R.styleable.PinView_indicatorStrokeWidth};
+    private static final int[] PATTERN_CELL_ATTRS = new int[]{R.styleable.PinView_patternCellShape,
+            R.styleable.PinView_patternCellColor, R.styleable.PinView_patternCellSelectedColor,
+            R.styleable.PinView_patternCellRadius, R.styleable.PinView_patternCellStrokeWidth};
+
+    private static final WeakHashMap<Resources.Theme, SparseArray<PasscodeStyle>> sStyles = new WeakHashMap<>();    //Parsed styles by the theme and the style resource id.
+    private static PasscodeStyle sDefaultStyle;             //Default values of the library.
+    private static Configuration sConfiguration;            //Configuration of the cached styles.
+
+    @NonNull
+    private final KeyStyle mKeyStyle;
+    @NonNull
+    private final IndicatorStyle mIndicatorStyle;
+    @NonNull
+    private final PatternCellStyle mPatternCellStyle;
+    private final boolean mIsKeyStyled;                     //True if any key attribute is defined in XML.
+    private final boolean mIsIndicatorStyled;               //True if any indicator attribute is defined in XML.
+    private final boolean mIsPatternCellStyled;             //True if any pattern cell attribute is defined in XML.
+
+    private PasscodeStyle(@NonNull KeyStyle keyStyle,
+                          @NonNull IndicatorStyle indicatorStyle,
+                          @NonNull PatternCellStyle patternCellStyle,
+                          boolean isKeyStyled,
+                          boolean isIndicatorStyled,
+                          boolean isPatternCellStyled) {
+        mKeyStyle = keyStyle;
+        mIndicatorStyle = indicatorStyle;
+        mPatternCellStyle = patternCellStyle;
+        mIsKeyStyled = isKeyStyled;
+        mIsIndicatorStyled = isIndicatorStyled;
+        mIsPatternCellStyled = isPatternCellStyled;
+    }
+
+    /**
+     * @return Style with the default values of the library.
+     */
+    @SuppressWarnings("deprecation")
+    @NonNull
+    static synchronized PasscodeStyle getDefault(@NonNull Context context) {
+        Resources res = context.getResources();
+        checkConfiguration(res);
+
+        if (sDefaultStyle == null) {
+            float indicatorRadius = res.getDimension(R.dimen.lib_indicator_radius);
+            float indicatorStrokeWidth = res.getDimension(R.dimen.lib_indicator_stroke_width);
+            int indicatorFilledColor = res.getColor(R.color.lib_indicator_filled_color);
+            int indicatorStrokeColor = res.getColor(R.color.lib_indicator_stroke_color);
+
+            sDefaultStyle = new PasscodeStyle(
+                    new KeyStyle(KeyStyle.SHAPE_ROUND,
+                            res.getDimension(R.dimen.lib_key_text_size),
+                            res.getColor(R.color.lib_key_default_color),
+                            res.getColor(R.color.lib_key_background_color),
+                            res.getDimension(R.dimen.lib_key_stroke_width),
+                            res.getDimension(R.dimen.lib_key_padding)),
+                    new IndicatorStyle(IndicatorStyle.SHAPE_CIRCLE,
+                            indicatorFilledColor,
+                            indicatorStrokeColor,
+                            indicatorRadius,
+                            indicatorStrokeWidth),
+                    new PatternCellStyle(PatternCellStyle.SHAPE_CIRCLE,
+                            indicatorStrokeColor,
+                            indicatorFilledColor,
+                            indicatorRadius,
+                            indicatorStrokeWidth),
+                    false, false, false);
+        }
+        return sDefaultStyle;
+    }
+
+    /**
+     * Get the style of the view. If the attributes are set directly on the view tag, the style is
+     * unique to the view and it is parsed without caching. Otherwise the cached style of the theme and
+     * the style resource is returned.
+     *
+     * @param context    Context of the view.
+     * @param attrs      {@link AttributeSet} of the view.
+     * @param typedArray {@link TypedArray} of the {@link R.styleable#PinView} obtained from the attrs.
+     */
+    @NonNull
+    static synchronized PasscodeStyle obtain(@NonNull Context context,
+                                             @NonNull AttributeSet attrs,
+                                             @NonNull TypedArray typedArray) {
+        if (hasComponentAttribute(attrs)) return parse(context, typedArray);
+
+        checkConfiguration(context.getResources());
+        SparseArray<PasscodeStyle> themeStyles = sStyles.get(context.getTheme());
+        if (themeStyles == null) {
+            themeStyles = new SparseArray<>();
+            sStyles.put(context.getTheme(), themeStyles);
+        }
+
+        int styleRes = attrs.getStyleAttribute();
+        PasscodeStyle style = themeStyles.get(styleRes);
+        if (style == null) {
+            style = parse(context, typedArray);
+            themeStyles.put(styleRes, style);
+        }
+        return style;
+    }
+
+    @NonNull
+    private static PasscodeStyle parse(@NonNull Context context, @NonNull TypedArray a) {
+        PasscodeStyle def = getDefault(context);
+        boolean isKeyStyled = hasAnyValue(a, KEY_ATTRS);
+        boolean isIndicatorStyled = hasAnyValue(a, INDICATOR_ATTRS);
+        boolean isPatternCellStyled = hasAnyValue(a, PATTERN_CELL_ATTRS);
+        if (!isKeyStyled && !isIndicatorStyled && !isPatternCellStyled) return def;
+
+        KeyStyle keyStyle = def.mKeyStyle;
+        if (isKeyStyled) {
+            keyStyle = new KeyStyle(a.getInt(R.styleable.PinView_keyShape, keyStyle.getShape()),
+                    a.getDimension(R.styleable.PinView_keyTextSize, keyStyle.getTextSize()),
+                    a.getColor(R.styleable.PinView_keyTextColor, keyStyle.getTextColor()),
+                    a.getColor(R.styleable.PinView_keyStrokeColor, keyStyle.getStrokeColor()),
+                    a.getDimension(R.styleable.PinView_keyStrokeWidth, keyStyle.getStrokeWidth()),
+                    a.getDimension(R.styleable.PinView_keyPadding, keyStyle.getPadding()));
+        }
+
+        IndicatorStyle indicatorStyle = def.mIndicatorStyle;
+        if (isIndicatorStyled) {
+            indicatorStyle = new IndicatorStyle(a.getInt(R.styleable.PinView_indicatorShape, indicatorStyle.getShape()),
+                    a.getColor(R.styleable.PinView_indicatorSolidColor, indicatorStyle.getSolidColor()),
+                    a.getColor(R.styleable.PinView_indicatorStrokeColor, indicatorStyle.getStrokeColor()),
+                    a.getDimension(R.styleable.PinView_indicatorRadius, indicatorStyle.getRadius()),
+                    a.getDimension(R.styleable.PinView_indicatorStrokeWidth, indicatorStyle.getStrokeWidth()));
+        }
+
+        PatternCellStyle cellStyle = def.mPatternCellStyle;
+        if (isPatternCellStyled) {
+            cellStyle = new PatternCellStyle(a.getInt(R.styleable.PinView_patternCellShape, cellStyle.getShape()),
+                    a.getColor(R.styleable.PinView_patternCellColor, cellStyle.getColor()),
+                    a.getColor(R.styleable.PinView_patternCellSelectedColor, cellStyle.getSelectedColor()),
+                    a.getDimension(R.styleable.PinView_patternCellRadius, cellStyle.getRadius()),
+                    a.getDimension(R.styleable.PinView_patternCellStrokeWidth, cellStyle.getStrokeWidth()));
+        }
+        return new PasscodeStyle(keyStyle, indicatorStyle, cellStyle,
+                isKeyStyled, isIndicatorStyled, isPatternCellStyled);
+    }
+
+    /**
+     * Drop all the cached styles if the configuration is not the same as the cached styles.
+     */
+    private static void checkConfiguration(@NonNull Resources res) {
+        Configuration configuration = res.getConfiguration();
+        if (sConfiguration != null && sConfiguration.diff(configuration) == 0) return;
+
+        sStyles.clear();
+        sDefaultStyle = null;
+        sConfiguration = new Configuration(configuration);
+    }
+
+    private static boolean hasAnyValue(@NonNull TypedArray a, @NonNull int[] indexes) {
+        for (int index : indexes) if (a.hasValue(index)) return true;
+        return false;
+    }
+
+    /**
+     * @return True if any attribute of the keys, the indicators or the pattern cells is set directly
+     * on the view tag. This only compares the attribute ids and doesn't resolve any value.
+     */
+    private static boolean hasComponentAttribute(@NonNull AttributeSet attrs) {
+        for (int i = 0; i < attrs.getAttributeCount(); i++) {
+            int attrId = attrs.getAttributeNameResource(i);
+            if (attrId == 0) continue;
+
+            if (isAttributeOf(attrId, KEY_ATTRS)
+                    || isAttributeOf(attrId, INDICATOR_ATTRS)
+                    || isAttributeOf(attrId, PATTERN_CELL_ATTRS)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isAttributeOf(int attrId, @NonNull int[] indexes) {
+        for (int index : indexes) if (R.styleable.PinView[index] == attrId) return true;
+        return false;
+    }
+
+    ///////////////// SETTERS/GETTERS //////////////
+
+    @NonNull
+    KeyStyle getKeyStyle() {
+        return mKeyStyle;
+    }
+
+    @NonNull
+    IndicatorStyle getIndicatorStyle() {
+        return mIndicatorStyle;
+    }
+
+    @NonNull
+    PatternCellStyle getPatternCellStyle() {
+        return mPatternCellStyle;
+    }
+
+    boolean isKeyStyled() {
+        return mIsKeyStyled;
+    }
+
+    boolean isIndicatorStyled() {
+        return mIsIndicatorStyled;
+    }
+
+    boolean isPatternCellStyled() {
+        return mIsPatternCellStyled;
+    }
+}
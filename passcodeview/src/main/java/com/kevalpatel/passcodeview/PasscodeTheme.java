@@ -0,0 +1,247 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.support.annotation.ColorInt;
+import android.support.annotation.ColorRes;
+import android.support.annotation.NonNull;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Immutable set of the colors of all the components of the {@link PasscodeView}. Apply the theme
+ * using {@link PasscodeView#setPasscodeTheme(PasscodeTheme)} or animate to the theme using
+ * {@link PasscodeView#animatePasscodeTheme(PasscodeTheme, long)}. Themes don't reference any view,
+ * so the day/night or the brand themes can be built once and kept.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class PasscodeTheme {
+    //Index of each color in the color array.
+    static final int COLOR_DIVIDER = 0;
+    static final int COLOR_TITLE = 1;
+    static final int COLOR_FINGERPRINT_STATUS = 2;
+    static final int COLOR_KEY_TEXT = 3;
+    static final int COLOR_KEY_STROKE = 4;
+    static final int COLOR_INDICATOR_FILLED = 5;
+    static final int COLOR_INDICATOR_STROKE = 6;
+    static final int COLOR_CELL = 7;
+    static final int COLOR_CELL_SELECTED = 8;
+    static final int COLOR_COUNT = 9;
+
+    private final int[] mColors;                    //Colors indexed by the COLOR_ constants.
+
+    private PasscodeTheme(@NonNull int[] colors) {
+        mColors = colors;
+    }
+
+    /**
+     * Copy all the colors into the array.
+     *
+     * @param colors Array of the length {@link #COLOR_COUNT}.
+     */
+    void getColors(@NonNull int[] colors) {
+        System.arraycopy(mColors, 0, colors, 0, COLOR_COUNT);
+    }
+
+    ///////////////// SETTERS/GETTERS //////////////
+
+    @ColorInt
+    public int getDividerColor() {
+        return mColors[COLOR_DIVIDER];
+    }
+
+    @ColorInt
+    public int getTitleColor() {
+        return mColors[COLOR_TITLE];
+    }
+
+    @ColorInt
+    public int getFingerprintStatusColor() {
+        return mColors[COLOR_FINGERPRINT_STATUS];
+    }
+
+    @ColorInt
+    public int getKeyTextColor() {
+        return mColors[COLOR_KEY_TEXT];
+    }
+
+    @ColorInt
+    public int getKeyStrokeColor() {
+        return mColors[COLOR_KEY_STROKE];
+    }
+
+    @ColorInt
+    public int getIndicatorFilledColor() {
+        return mColors[COLOR_INDICATOR_FILLED];
+    }
+
+    @ColorInt
+    public int getIndicatorStrokeColor() {
+        return mColors[COLOR_INDICATOR_STROKE];
+    }
+
+    @ColorInt
+    public int getCellColor() {
+        return mColors[COLOR_CELL];
+    }
+
+    @ColorInt
+    public int getCellSelectedColor() {
+        return mColors[COLOR_CELL_SELECTED];
+    }
+
+    /**
+     * Builder of the {@link PasscodeTheme}. All the colors start with the default colors of the
+     * library. The builder only keeps the {@link Resources}, not the context.
+     */
+    public static final class Builder {
+        @NonNull
+        private final Resources mResources;
+        private final int[] mColors = new int[COLOR_COUNT];
+
+        @SuppressWarnings("deprecation")
+        public Builder(@NonNull Context context) {
+            mResources = context.getResources();
+
+            KeyStyle keyStyle = KeyStyle.getDefault(context);
+            IndicatorStyle indicatorStyle = IndicatorStyle.getDefault(context);
+            PatternCellStyle cellStyle = PatternCellStyle.getDefault(context);
+            mColors[COLOR_DIVIDER] = mResources.getColor(R.color.lib_divider_color);
+            mColors[COLOR_TITLE] = mResources.getColor(R.color.lib_key_default_color);
+            mColors[COLOR_FINGERPRINT_STATUS] = mResources.getColor(R.color.lib_key_default_color);
+            mColors[COLOR_KEY_TEXT] = keyStyle.getTextColor();
+            mColors[COLOR_KEY_STROKE] = keyStyle.getStrokeColor();
+            mColors[COLOR_INDICATOR_FILLED] = indicatorStyle.getSolidColor();
+            mColors[COLOR_INDICATOR_STROKE] = indicatorStyle.getStrokeColor();
+            mColors[COLOR_CELL] = cellStyle.getColor();
+            mColors[COLOR_CELL_SELECTED] = cellStyle.getSelectedColor();
+        }
+
+        @NonNull
+        public Builder setDividerColor(@ColorInt int dividerColor) {
+            mColors[COLOR_DIVIDER] = dividerColor;
+            return this;
+        }
+
+        @NonNull
+        public Builder setDividerColorResource(@ColorRes int dividerColor) {
+            return setDividerColor(getColor(dividerColor));
+        }
+
+        @NonNull
+        public Builder setTitleColor(@ColorInt int titleColor) {
+            mColors[COLOR_TITLE] = titleColor;
+            return this;
+        }
+
+        @NonNull
+        public Builder setTitleColorResource(@ColorRes int titleColor) {
+            return setTitleColor(getColor(titleColor));
+        }
+
+        @NonNull
+        public Builder setFingerprintStatusColor(@ColorInt int statusColor) {
+            mColors[COLOR_FINGERPRINT_STATUS] = statusColor;
+            return this;
+        }
+
+        @NonNull
+        public Builder setFingerprintStatusColorResource(@ColorRes int statusColor) {
+            return setFingerprintStatusColor(getColor(statusColor));
+        }
+
+        @NonNull
+        public Builder setKeyTextColor(@ColorInt int keyTextColor) {
+            mColors[COLOR_KEY_TEXT] = keyTextColor;
+            return this;
+        }
+
+        @NonNull
+        public Builder setKeyTextColorResource(@ColorRes int keyTextColor) {
+            return setKeyTextColor(getColor(keyTextColor));
+        }
+
+        @NonNull
+        public Builder setKeyStrokeColor(@ColorInt int keyStrokeColor) {
+            mColors[COLOR_KEY_STROKE] = keyStrokeColor;
+            return this;
+        }
+
+        @NonNull
+        public Builder setKeyStrokeColorResource(@ColorRes int keyStrokeColor) {
+            return setKeyStrokeColor(getColor(keyStrokeColor));
+        }
+
+        @NonNull
+        public Builder setIndicatorFilledColor(@ColorInt int filledColor) {
+            mColors[COLOR_INDICATOR_FILLED] = filledColor;
+            return this;
+        }
+
+        @NonNull
+        public Builder setIndicatorFilledColorResource(@ColorRes int filledColor) {
+            return setIndicatorFilledColor(getColor(filledColor));
+        }
+
+        @NonNull
+        public Builder setIndicatorStrokeColor(@ColorInt int strokeColor) {
+            mColors[COLOR_INDICATOR_STROKE] = strokeColor;
+            return this;
+        }
+
+        @NonNull
+        public Builder setIndicatorStrokeColorResource(@ColorRes int strokeColor) {
+            return setIndicatorStrokeColor(getColor(strokeColor));
+        }
+
+        @NonNull
+        public Builder setCellColor(@ColorInt int cellColor) {
+            mColors[COLOR_CELL] = cellColor;
+            return this;
+        }
+
+        @NonNull
+        public Builder setCellColorResource(@ColorRes int cellColor) {
+            return setCellColor(getColor(cellColor));
+        }
+
+        @NonNull
+        public Builder setCellSelectedColor(@ColorInt int selectedColor) {
+            mColors[COLOR_CELL_SELECTED] = selectedColor;
+            return this;
+        }
+
+        @NonNull
+        public Builder setCellSelectedColorResource(@ColorRes int selectedColor) {
+            return setCellSelectedColor(getColor(selectedColor));
+        }
+
+        @NonNull
+        public PasscodeTheme build() {
+            return new PasscodeTheme(mColors.clone());
+        }
+
+        @SuppressWarnings("deprecation")
+        @ColorInt
+        private int getColor(@ColorRes int color) {
+            return mResources.getColor(color);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview;
+
+import android.os.Build;
+import android.os.Trace;
+import android.support.annotation.NonNull;
+
+import java.lang.reflect.Method;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Wrapper of the {@link Trace} sections, so the view shows up as the named slices in the systrace
+ * and the Perfetto traces. Section names are the constants, so the calls don't allocate. When
+ * tracing is off the platform ignores the section after a native flag check.
+ * <p>
+ * Async sections are public only from API 29. Older platforms have the same methods hidden, so
+ * both are called through the reflection. Methods are resolved once by {@link AsyncTrace} and the
+ * async sections return after checking if the tracing is on, so they don't allocate or lock while
+ * the tracing is off.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+final class PasscodeTrace {
+    static final String INIT = "PasscodeView.init";
+    static final String PARSE_TYPED_ARRAY = "PasscodeView.parseTypedArray";
+    static final String FINGERPRINT_BOX_INIT = "BoxFingerprint.init";
+    static final String GENERATE_KEY = "FingerPrintAuthHelper.generateKey";
+    static final String CIPHER_INIT = "FingerPrintAuthHelper.cipherInit";
+    static final String KEY_PRESSED = "PinView.onKeyPressed";
+    static final String VERIFY = "PasscodeView.verify";
+
+    //Async sections
+    static final String FINGERPRINT_SESSION = "PasscodeView.fingerprintSession";
+    static final String RESET_DELAY = "PasscodeView.resetDelay";
+
+    private static final long TRACE_TAG_APP = 1L << 12;     //Hidden Trace.TRACE_TAG_APP
+
+    private PasscodeTrace() {
+    }
+
+    static void beginSection(@NonNull String sectionName) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) Trace.beginSection(sectionName);
+    }
+
+    static void endSection() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) Trace.endSection();
+    }
+
+    /**
+     * Start the section which can end on the other call stack or the other thread.
+     *
+     * @param sectionName name of the section.
+     * @param cookie      id to match the begin and the end of the same section.
+     */
+    static void beginAsyncSection(@NonNull String sectionName, int cookie) {
+        invokeAsync(true, sectionName, cookie);
+    }
+
+    static void endAsyncSection(@NonNull String sectionName, int cookie) {
+        invokeAsync(false, sectionName, cookie);
+    }
+
+    private static void invokeAsync(boolean isBegin, @NonNull String sectionName, int cookie) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR2 || !AsyncTrace.isEnabled()) return;
+
+        Method method = isBegin ? AsyncTrace.BEGIN_METHOD : AsyncTrace.END_METHOD;
+        if (method == null) return;
+        try {
+            if (Build.VERSION.SDK_INT >= 29) method.invoke(null, sectionName, cookie);
+            else method.invoke(null, TRACE_TAG_APP, sectionName, cookie);
+        } catch (Exception e) {
+            //Tracing must never break the view.
+        }
+    }
+
+    /**
+     * Methods of the async sections. They are resolved by the class loader the first time the async
+     * section is used, so the callers don't need any lock.
+     */
+    private static final class AsyncTrace {
+        private static final Object[] NO_ARGS = new Object[0];                  //Arguments of isEnabled().
+        private static final Object[] TAG_ARGS = new Object[]{TRACE_TAG_APP};    //Boxed once for isTagEnabled().
+
+        private static final Method IS_ENABLED_METHOD = Build.VERSION.SDK_INT >= 29
+                ? getTraceMethod("isEnabled")
+                : getTraceMethod("isTagEnabled", long.class);
+        private static final Method BEGIN_METHOD = Build.VERSION.SDK_INT >= 29
+                ? getTraceMethod("beginAsyncSection", String.class, int.class)
+                : getTraceMethod("asyncTraceBegin", long.class, String.class, int.class);
+        private static final Method END_METHOD = Build.VERSION.SDK_INT >= 29
+                ? getTraceMethod("endAsyncSection", String.class, int.class)
+                : getTraceMethod("asyncTraceEnd", long.class, String.class, int.class);
+
+        private AsyncTrace() {
+        }
+
+        /**
+         * @return true if the app is being traced. Checked on every call, because the tracing can
+         * start or stop at any time.
+         */
+        private static boolean isEnabled() {
+            if (IS_ENABLED_METHOD == null) return false;
+            try {
+                Object isEnabled = IS_ENABLED_METHOD.invoke(null, Build.VERSION.SDK_INT >= 29 ? NO_ARGS : TAG_ARGS);
+                return Boolean.TRUE.equals(isEnabled);
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        private static Method getTraceMethod(@NonNull String name, Class<?>... parameterTypes) {
+            try {
+                return Trace.class.getMethod(name, parameterTypes);
+            } catch (Exception e) {
+                //Not available on this platform. Async sections are skipped.
+                return null;
+            }
+        }
+    }
+}
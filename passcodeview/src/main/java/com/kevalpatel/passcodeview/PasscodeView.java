@@ -16,6 +16,8 @@
 
 package com.kevalpatel.passcodeview;
 
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
@@ -31,10 +33,14 @@ import android.support.annotation.Nullable;
 import android.support.annotation.RequiresApi;
 import android.util.AttributeSet;
 import android.util.TypedValue;
+import android.view.MotionEvent;
 import android.view.View;
 
 import com.kevalpatel.passcodeview.interfaces.AuthenticationListener;
 
+import java.util.ArrayList;
+import java.util.WeakHashMap;
+
 /**
  * Created by Keval Patel on 18/04/17.
  *
@@ -42,6 +48,8 @@ import com.kevalpatel.passcodeview.interfaces.AuthenticationListener;
  */
 
 public abstract class PasscodeView extends View {
+    private static final long LAYER_RELEASE_DELAY = 300;   //Delay before releasing the hardware layer, so fast typing doesn't recreate it.
+
     protected final Context mContext;
 
     protected Rect mRootViewBound = new Rect();             //Bounds for the root view
@@ -53,10 +61,57 @@ public abstract class PasscodeView extends View {
     //Title divider
     @ColorInt
     private int mDividerColor;                              //Horizontal divider color
-    private Paint mDividerPaint;                            //Horizontal divider paint color
+    private final Paint mDividerPaint = new Paint(Paint.ANTI_ALIAS_FLAG);  //Horizontal divider paint. Color is changed in place.
     private Rect mDividerBound = new Rect();                //Divider bound
     private boolean mIsTactileFeedbackEnabled = true;       //Bool to indicate weather to enable tactile feedback
 
+    @Nullable
+    private TouchTraceRecorder mTouchTraceRecorder;         //Recorder to record the touch stream. (Optional)
+    private PasscodeStyle mPasscodeStyle;                   //Styles of the keys, the indicators and the cells. Shared with the views of the same style.
+
+    //Hardware layer
+    private final PasscodeMetrics mMetrics = new PasscodeMetrics();
+    private final ArrayList<Animator> mRunningAnimators = new ArrayList<>();   //Tracked animators which are running.
+    private final WeakHashMap<Animator, Boolean> mTrackedAnimators = new WeakHashMap<>();  //All tracked animators. Only for the heap stats.
+    private boolean mIsHardwareLayerOnAnimation = true;     //Bool to indicate weather to switch to the hardware layer while animating
+    private boolean mIsLayerPromoted = false;               //True if the view switched itself to the hardware layer.
+    private int mLayerTypeBeforePromotion = LAYER_TYPE_NONE;
+    private PasscodeClock mClock = new SystemPasscodeClock();  //Clock of the animations, the layer release and the delayed tasks.
+    private final Animator.AnimatorListener mAnimationTracker = new AnimatorListenerAdapter() {
+        @Override
+        public void onAnimationStart(Animator animation) {
+            onTrackedAnimationStart(animation);
+        }
+
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            onTrackedAnimationEnd(animation);
+        }
+    };
+    private final Runnable mReleaseLayerRunnable = new Runnable() {
+        @Override
+        public void run() {
+            releaseHardwareLayer();
+        }
+    };
+
+    //Theme transition
+    @Nullable
+    private ClockAnimator mThemeAnimator;                   //Shared by all the theme transitions. Created on the first transition.
+    private final int[] mThemeFromColors = new int[PasscodeTheme.COLOR_COUNT];     //Colors at the start of the transition.
+    private final int[] mThemeToColors = new int[PasscodeTheme.COLOR_COUNT];       //Colors of the target theme.
+    private final int[] mThemeColors = new int[PasscodeTheme.COLOR_COUNT];         //Colors of the current frame.
+
+    //Idle mode
+    private boolean mIsDetached = false;                    //True if the view is detached from the window.
+    private boolean mIsWindowHidden = false;                //True if the window is not visible. (Screen off or app in background.)
+    private boolean mIsViewHidden = false;                  //True if this view or any of its parent is not visible.
+    private boolean mIsFocusLost = false;                   //True if the window lost the focus. (Dialog on top.) Only pauses the fingerprint scanning.
+    private boolean mIsIdle = false;                        //True if nothing of this view is visible to the user.
+    private boolean mIsInvalidatedWhileIdle = false;        //True if the view needs to redraw once it is visible.
+    private final ArrayList<DelayedTask> mDelayedTasks = new ArrayList<>();    //Tasks posted using postDelayedTask().
+    private final ArrayList<DelayedTask> mDelayedTaskPool = new ArrayList<>(); //Wrappers of the finished tasks to reuse.
+
     ///////////////////////////////////////////////////////////////
     //                  CONSTRUCTORS
     ///////////////////////////////////////////////////////////////
@@ -107,41 +162,50 @@ public abstract class PasscodeView extends View {
      * @param attrs {@link AttributeSet}
      */
     private void init(@Nullable AttributeSet attrs) {
-        mBoxFingerprint = new BoxFingerprint(this);
-        init();
-
-        if (attrs != null) {    //Parse all the params from the arguments.
-            TypedArray a = mContext.getTheme().obtainStyledAttributes(attrs, R.styleable.PinView, 0, 0);
-            try {
-                mIsTactileFeedbackEnabled = a.getBoolean(R.styleable.PinView_giveTactileFeedback, true);
-
-                //Parse divider params
-                mDividerColor = a.getColor(R.styleable.PinView_dividerColor,
-                        mContext.getResources().getColor(R.color.lib_divider_color));
-
-                //Fet fingerprint params
-                //noinspection ConstantConditions
-                mBoxFingerprint.setStatusText(a.hasValue(R.styleable.PinView_titleText) ?
-                        a.getString(R.styleable.PinView_fingerprintDefaultText) : BoxFingerprint.DEF_FINGERPRINT_STATUS);
-                mBoxFingerprint.setStatusTextColor(a.getColor(R.styleable.PinView_fingerprintTextColor,
-                        mContext.getResources().getColor(R.color.lib_key_default_color)));
-                mBoxFingerprint.setStatusTextSize(a.getDimension(R.styleable.PinView_fingerprintTextSize,
-                        (int) mContext.getResources().getDimension(R.dimen.lib_fingerprint_status_text_size)));
-                mBoxFingerprint.setFingerPrintEnable(a.getBoolean(R.styleable.PinView_fingerprintEnable, true));
-
-                parseTypeArr(a);
-            } finally {
-                a.recycle();
+        PasscodeTrace.beginSection(PasscodeTrace.INIT);
+        try {
+            mBoxFingerprint = new BoxFingerprint(this);
+            init();
+
+            if (attrs != null) {    //Parse all the params from the arguments.
+                PasscodeTrace.beginSection(PasscodeTrace.PARSE_TYPED_ARRAY);
+                TypedArray a = mContext.getTheme().obtainStyledAttributes(attrs, R.styleable.PinView, 0, 0);
+                try {
+                    mPasscodeStyle = PasscodeStyle.obtain(mContext, attrs, a);
+                    mIsTactileFeedbackEnabled = a.getBoolean(R.styleable.PinView_giveTactileFeedback, true);
+
+                    //Parse divider params
+                    mDividerColor = a.getColor(R.styleable.PinView_dividerColor,
+                            mContext.getResources().getColor(R.color.lib_divider_color));
+
+                    //Fet fingerprint params
+                    //noinspection ConstantConditions
+                    mBoxFingerprint.setStatusText(a.hasValue(R.styleable.PinView_titleText) ?
+                            a.getString(R.styleable.PinView_fingerprintDefaultText) : BoxFingerprint.DEF_FINGERPRINT_STATUS);
+                    mBoxFingerprint.setStatusTextColor(a.getColor(R.styleable.PinView_fingerprintTextColor,
+                            mContext.getResources().getColor(R.color.lib_key_default_color)));
+                    mBoxFingerprint.setStatusTextSize(a.getDimension(R.styleable.PinView_fingerprintTextSize,
+                            (int) mContext.getResources().getDimension(R.dimen.lib_fingerprint_status_text_size)));
+                    mBoxFingerprint.setFingerPrintEnable(a.getBoolean(R.styleable.PinView_fingerprintEnable, true));
+
+                    parseTypeArr(a);
+                } finally {
+                    a.recycle();
+                    PasscodeTrace.endSection();
+                }
+            } else {        //Nothing's provided in XML. Set default for now.
+                mPasscodeStyle = PasscodeStyle.getDefault(mContext);
+                setDividerColor(getResources().getColor(R.color.lib_divider_color));
+                mBoxFingerprint.setDefaults();
+                setDefaultParams();
             }
-        } else {        //Nothing's provided in XML. Set default for now.
-            setDividerColor(getResources().getColor(R.color.lib_divider_color));
-            mBoxFingerprint.setDefaults();
-            setDefaultParams();
-        }
 
-        prepareDividerPaint();
-        mBoxFingerprint.preparePaint();
-        preparePaint();
+            mDividerPaint.setColor(mDividerColor);
+            mBoxFingerprint.preparePaint();
+            preparePaint();
+        } finally {
+            PasscodeTrace.endSection();
+        }
     }
 
     protected abstract void init();
@@ -152,14 +216,6 @@ public abstract class PasscodeView extends View {
 
     protected abstract void parseTypeArr(@NonNull TypedArray typedArray);
 
-    /**
-     * Create the paint to drawText divider.
-     */
-    private void prepareDividerPaint() {
-        mDividerPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        mDividerPaint.setColor(mDividerColor);
-    }
-
     ///////////////////////////////////////////////////////////////
     //                  VIEW MEASUREMENT
     ///////////////////////////////////////////////////////////////
@@ -221,6 +277,372 @@ public abstract class PasscodeView extends View {
                 mDividerPaint);
     }
 
+    ///////////////////////////////////////////////////////////////
+    //                  HARDWARE LAYER
+    ///////////////////////////////////////////////////////////////
+
+    /**
+     * Track the animator of the component drawn by this view. While any of the tracked animators is
+     * running, the view renders into the hardware layer, so the frames of the animation don't
+     * rasterize the whole view again. The layer is released once all the animators finish.
+     * Tracking the same animator twice has no effect.
+     *
+     * @param animator {@link Animator} of the key, indicator or box.
+     */
+    public void trackAnimation(@NonNull Animator animator) {
+        animator.removeListener(mAnimationTracker);
+        animator.addListener(mAnimationTracker);
+        mTrackedAnimators.put(animator, Boolean.TRUE);
+    }
+
+    private void onTrackedAnimationStart(@NonNull Animator animator) {
+        if (!mRunningAnimators.contains(animator)) mRunningAnimators.add(animator);
+        mClock.removeCallbacks(mReleaseLayerRunnable);
+
+        if (mIsIdle) {
+            //Nothing is visible. Freeze the animation until the view is visible again.
+            pauseAnimator(animator);
+            return;
+        }
+        promoteHardwareLayer();
+    }
+
+    private void promoteHardwareLayer() {
+        //Don't touch the layer if the application already set the hardware layer.
+        if (!mIsHardwareLayerOnAnimation || mIsLayerPromoted || getLayerType() == LAYER_TYPE_HARDWARE) return;
+
+        mLayerTypeBeforePromotion = getLayerType();
+        setLayerType(LAYER_TYPE_HARDWARE, null);
+        mIsLayerPromoted = true;
+        mMetrics.onLayerPromoted();
+    }
+
+    private void onTrackedAnimationEnd(@NonNull Animator animator) {
+        mRunningAnimators.remove(animator);
+        if (mRunningAnimators.isEmpty() && mIsLayerPromoted) {
+            mClock.removeCallbacks(mReleaseLayerRunnable);
+            mClock.postDelayed(mReleaseLayerRunnable, LAYER_RELEASE_DELAY);
+        }
+    }
+
+    /**
+     * Switch back to the layer type the view had before the animation, so the texture memory of the
+     * hardware layer is freed.
+     */
+    private void releaseHardwareLayer() {
+        mClock.removeCallbacks(mReleaseLayerRunnable);
+        if (!mIsLayerPromoted) return;
+
+        mIsLayerPromoted = false;
+        setLayerType(mLayerTypeBeforePromotion, null);
+        mMetrics.onLayerReleased();
+    }
+
+    ///////////////////////////////////////////////////////////////
+    //                  THEME
+    ///////////////////////////////////////////////////////////////
+
+    /**
+     * Change the colors of all the components to the theme right away. Running theme transition is
+     * cancelled. This doesn't measure the view again.
+     *
+     * @param theme {@link PasscodeTheme} to apply.
+     */
+    public void setPasscodeTheme(@NonNull PasscodeTheme theme) {
+        if (mThemeAnimator != null) mThemeAnimator.cancel();
+
+        theme.getColors(mThemeColors);
+        applyThemeColors(mThemeColors);
+        invalidate();
+    }
+
+    /**
+     * Animate the colors of all the components from the displayed colors to the theme. Colors are
+     * changed on the existing paints by one animator shared by all the transitions of this view, so
+     * the frames of the transition don't allocate and don't measure the view again. Starting the
+     * transition while the other one is running continues from the colors displayed right now.
+     *
+     * @param theme    {@link PasscodeTheme} to animate to.
+     * @param duration duration of the transition in milliseconds.
+     */
+    public void animatePasscodeTheme(@NonNull PasscodeTheme theme, long duration) {
+        if (mThemeAnimator == null) {
+            mThemeAnimator = new ClockAnimator(this, 0, 1);
+            mThemeAnimator.addUpdateListener(new ClockAnimator.UpdateListener() {
+                @Override
+                public void onAnimationUpdate(@NonNull ClockAnimator animator) {
+                    onThemeFrame(animator.getAnimatedValue());
+                }
+            });
+            trackAnimation(mThemeAnimator);
+        }
+
+        //Colors not reported by any component don't animate.
+        theme.getColors(mThemeToColors);
+        System.arraycopy(mThemeToColors, 0, mThemeFromColors, 0, PasscodeTheme.COLOR_COUNT);
+        collectThemeColors(mThemeFromColors);
+
+        mThemeAnimator.setDuration(duration);
+        mThemeAnimator.start();
+    }
+
+    private void onThemeFrame(float fraction) {
+        for (int i = 0; i < PasscodeTheme.COLOR_COUNT; i++) {
+            mThemeColors[i] = Utils.blendColors(mThemeFromColors[i], mThemeToColors[i], fraction);
+        }
+        applyThemeColors(mThemeColors);
+        invalidate();
+    }
+
+    /**
+     * @return true if the theme transition started by {@link #animatePasscodeTheme(PasscodeTheme, long)}
+     * is running.
+     */
+    public boolean isThemeAnimating() {
+        return mThemeAnimator != null && mThemeAnimator.isRunning();
+    }
+
+    /**
+     * Write the current colors of the view and its boxes into the array indexed by the
+     * {@link PasscodeTheme} color constants. Subclasses add the colors of their boxes.
+     */
+    void collectThemeColors(@NonNull int[] colors) {
+        colors[PasscodeTheme.COLOR_DIVIDER] = mDividerColor;
+        mBoxFingerprint.collectThemeColors(colors);
+    }
+
+    /**
+     * Change the colors of the view and its boxes in place. Subclasses apply the colors to their boxes.
+     */
+    void applyThemeColors(@NonNull int[] colors) {
+        mDividerColor = colors[PasscodeTheme.COLOR_DIVIDER];
+        mDividerPaint.setColor(mDividerColor);
+        mBoxFingerprint.applyThemeColors(colors);
+    }
+
+    ///////////////////////////////////////////////////////////////
+    //                  IDLE MODE
+    ///////////////////////////////////////////////////////////////
+
+    /**
+     * Run the task after the delay on the main thread. Use this instead of the
+     * {@link android.os.Handler} for the timers of the keys, indicators and boxes, so the timers
+     * follow the {@link PasscodeClock}. While the view is not visible, the time doesn't pass for the
+     * task and the task runs after the remaining delay once the view is visible again.
+     *
+     * @param task        task to run.
+     * @param delayMillis delay in milliseconds.
+     */
+    public void postDelayedTask(@NonNull Runnable task, long delayMillis) {
+        DelayedTask delayedTask = mDelayedTaskPool.isEmpty()
+                ? new DelayedTask() : mDelayedTaskPool.remove(mDelayedTaskPool.size() - 1);
+        delayedTask.mTask = task;
+        mDelayedTasks.add(delayedTask);
+
+        if (mIsIdle) {
+            delayedTask.mRemainingMillis = delayMillis;
+        } else {
+            delayedTask.mRunAt = mClock.uptimeMillis() + delayMillis;
+            mClock.postDelayed(delayedTask, delayMillis);
+        }
+    }
+
+    /**
+     * Remove all the pending posts of the task posted using {@link #postDelayedTask(Runnable, long)}.
+     *
+     * @param task task to remove.
+     */
+    public void removeDelayedTask(@NonNull Runnable task) {
+        for (int i = mDelayedTasks.size() - 1; i >= 0; i--) {
+            DelayedTask delayedTask = mDelayedTasks.get(i);
+            if (delayedTask.mTask == task) {
+                mClock.removeCallbacks(delayedTask);
+                mDelayedTasks.remove(i);
+                delayedTask.recycle();
+            }
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        if (mIsIdle) {
+            //Nothing is visible. Draw once when the view is visible again.
+            mIsInvalidatedWhileIdle = true;
+            mMetrics.onInvalidateSkipped();
+            return;
+        }
+        super.invalidate();
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mIsDetached = false;
+        updateIdleState();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        mIsWindowHidden = visibility != VISIBLE;
+        updateIdleState();
+    }
+
+    @Override
+    protected void onVisibilityChanged(@NonNull View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        mIsViewHidden = visibility != VISIBLE || getVisibility() != VISIBLE;
+        updateIdleState();
+    }
+
+    /**
+     * The view stays visible under a dialog, so losing the focus doesn't make it idle. Only the
+     * fingerprint scanning is paused, so the fingerprint doesn't authenticate behind the dialog.
+     */
+    @Override
+    public void onWindowFocusChanged(boolean hasWindowFocus) {
+        super.onWindowFocusChanged(hasWindowFocus);
+        if (mIsFocusLost == !hasWindowFocus) return;
+
+        mIsFocusLost = !hasWindowFocus;
+        if (mIsIdle) return;    //Scanning is already paused. It resumes with the idle mode.
+        if (mIsFocusLost) {
+            mBoxFingerprint.pauseFingerprintScanner();
+        } else {
+            mBoxFingerprint.resumeFingerprintScanner();
+        }
+    }
+
+    private void updateIdleState() {
+        boolean isIdle = mIsDetached || mIsWindowHidden || mIsViewHidden;
+        if (isIdle == mIsIdle) return;
+
+        mIsIdle = isIdle;
+        if (isIdle) {
+            onEnterIdle();
+        } else {
+            onExitIdle();
+        }
+    }
+
+    /**
+     * Freeze all the animations and the delayed tasks, pause the fingerprint scanning and release the
+     * hardware layer.
+     */
+    private void onEnterIdle() {
+        for (int i = mRunningAnimators.size() - 1; i >= 0; i--) {
+            if (i < mRunningAnimators.size()) pauseAnimator(mRunningAnimators.get(i));
+        }
+
+        freezeDelayedTasks();
+
+        releaseHardwareLayer();
+        if (!mIsFocusLost) mBoxFingerprint.pauseFingerprintScanner();
+        mMetrics.onIdle();
+    }
+
+    /**
+     * Resume everything frozen by {@link #onEnterIdle()} and draw the missed frame.
+     */
+    private void onExitIdle() {
+        if (!mIsFocusLost) mBoxFingerprint.resumeFingerprintScanner();
+
+        unfreezeDelayedTasks();
+
+        if (!mRunningAnimators.isEmpty()) {
+            promoteHardwareLayer();
+            for (int i = 0; i < mRunningAnimators.size(); i++) {
+                Animator animator = mRunningAnimators.get(i);
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT || animator instanceof ClockAnimator) {
+                    animator.resume();
+                }
+            }
+        }
+
+        if (mIsInvalidatedWhileIdle) {
+            mIsInvalidatedWhileIdle = false;
+            invalidate();
+        }
+    }
+
+    private void freezeDelayedTasks() {
+        long now = mClock.uptimeMillis();
+        for (DelayedTask delayedTask : mDelayedTasks) {
+            mClock.removeCallbacks(delayedTask);
+            delayedTask.mRemainingMillis = Math.max(0, delayedTask.mRunAt - now);
+        }
+    }
+
+    private void unfreezeDelayedTasks() {
+        long now = mClock.uptimeMillis();
+        for (DelayedTask delayedTask : mDelayedTasks) {
+            delayedTask.mRunAt = now + delayedTask.mRemainingMillis;
+            mClock.postDelayed(delayedTask, delayedTask.mRemainingMillis);
+        }
+    }
+
+    private void pauseAnimator(@NonNull Animator animator) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT || animator instanceof ClockAnimator) {
+            animator.pause();
+        } else {
+            //Animators can't pause before KitKat. Jump to the final state.
+            animator.end();
+        }
+    }
+
+    /**
+     * @return true if the view is not visible to the user, so all the animations, the timers and the
+     * fingerprint scanning are paused.
+     */
+    public boolean isIdle() {
+        return mIsIdle;
+    }
+
+    /**
+     * Task posted using {@link #postDelayedTask(Runnable, long)}. Wrappers are pooled, so the
+     * timers posted on every attempt don't allocate.
+     */
+    private final class DelayedTask implements Runnable {
+        private Runnable mTask;             //Task to run. Null while the wrapper is in the pool.
+        private long mRunAt;                //Uptime to run the task.
+        private long mRemainingMillis;      //Remaining delay while the view is idle.
+
+        @Override
+        public void run() {
+            mDelayedTasks.remove(this);
+
+            //Recycle first, so the task can post itself again using this wrapper.
+            Runnable task = mTask;
+            recycle();
+            task.run();
+        }
+
+        private void recycle() {
+            mTask = null;
+            mDelayedTaskPool.add(this);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////
+    //                  TOUCH HANDLER
+    ///////////////////////////////////////////////////////////////
+
+    @Override
+    public boolean dispatchTouchEvent(MotionEvent event) {
+        if (mTouchTraceRecorder != null) mTouchTraceRecorder.record(event);
+        return super.dispatchTouchEvent(event);
+    }
+
+    /**
+     * Notify that the new value is committed from the touch input. This should be called by the
+     * subclasses whenever new digit or pattern cell is accepted.
+     *
+     * @param value committed digit or pattern cell index.
+     */
+    void onValueCommitted(int value) {
+        if (mTouchTraceRecorder != null) mTouchTraceRecorder.recordCommittedValue(value);
+    }
+
     ///////////////////////////////////////////////////////////////
     //                  GETTERS/SETTERS
     ///////////////////////////////////////////////////////////////
@@ -231,6 +653,17 @@ public abstract class PasscodeView extends View {
 
         //Stop scanning fingerprint
         mBoxFingerprint.stopFingerprintScanner();
+
+        mIsDetached = true;
+        updateIdleState();
+
+        //Nothing of the view should stay reachable from the main thread queue once it is detached.
+        //Animations jump to their final state. Delayed tasks are kept by the view and not queued.
+        for (int i = mRunningAnimators.size() - 1; i >= 0; i--) {
+            if (i < mRunningAnimators.size()) mRunningAnimators.get(i).end();
+        }
+        mRunningAnimators.clear();
+        mClock.removeCallbacks(mReleaseLayerRunnable);
     }
 
     public abstract void reset();
@@ -251,7 +684,7 @@ public abstract class PasscodeView extends View {
 
     public void setDividerColor(@ColorInt int dividerColor) {
         mDividerColor = dividerColor;
-        prepareDividerPaint();
+        mDividerPaint.setColor(dividerColor);
         invalidate();
     }
 
@@ -310,4 +743,103 @@ public abstract class PasscodeView extends View {
         requestLayout();
         invalidate();
     }
+
+    public boolean isHardwareLayerOnAnimation() {
+        return mIsHardwareLayerOnAnimation;
+    }
+
+    /**
+     * Enable or disable switching to the hardware layer while any component animation is running.
+     * Enabled by default.
+     *
+     * @param enable true to enable.
+     * @see #trackAnimation(Animator)
+     */
+    public void setHardwareLayerOnAnimation(boolean enable) {
+        mIsHardwareLayerOnAnimation = enable;
+        if (!enable) releaseHardwareLayer();
+    }
+
+    /**
+     * @return {@link PasscodeClock} which drives all the animations and the timers of this view.
+     */
+    @NonNull
+    public PasscodeClock getClock() {
+        return mClock;
+    }
+
+    /**
+     * Drive all the animations and the timers of this view using the given clock. Running animations
+     * jump to their end and the pending timers keep their remaining delay on the new clock. Tests
+     * and benchmarks can set the {@link ManualPasscodeClock} to step the view frame by frame.
+     *
+     * @param clock {@link PasscodeClock} to use.
+     */
+    public void setClock(@NonNull PasscodeClock clock) {
+        if (clock == mClock) return;
+
+        for (int i = mRunningAnimators.size() - 1; i >= 0; i--) {
+            if (i < mRunningAnimators.size()) mRunningAnimators.get(i).end();
+        }
+        mClock.removeCallbacks(mReleaseLayerRunnable);
+        if (!mIsIdle) freezeDelayedTasks();
+
+        mClock = clock;
+        if (!mIsIdle) unfreezeDelayedTasks();
+        if (mIsLayerPromoted && mRunningAnimators.isEmpty()) {
+            mClock.postDelayed(mReleaseLayerRunnable, LAYER_RELEASE_DELAY);
+        }
+    }
+
+    /**
+     * Take the snapshot of the objects retained by this view. This is the debug API and allocates.
+     *
+     * @return {@link PasscodeHeapStats} of this view.
+     */
+    @NonNull
+    public PasscodeHeapStats getHeapStats() {
+        PasscodeHeapStats stats = new PasscodeHeapStats();
+        collectHeapStats(stats);
+        stats.setAnimatorCount(mTrackedAnimators.size(), mRunningAnimators.size());
+        stats.setTaskCount(mDelayedTasks.size(), mIsIdle ? 0 : mDelayedTasks.size());
+        return stats;
+    }
+
+    /**
+     * Add the components of the boxes to the heap stats. Subclasses add the components of their boxes.
+     */
+    void collectHeapStats(@NonNull PasscodeHeapStats stats) {
+        mBoxFingerprint.collectHeapStats(stats);
+    }
+
+    /**
+     * @return Styles of the keys, the indicators and the pattern cells parsed from the XML attributes.
+     */
+    @NonNull
+    PasscodeStyle getPasscodeStyle() {
+        return mPasscodeStyle;
+    }
+
+    /**
+     * @return {@link PasscodeMetrics} of this view.
+     */
+    @NonNull
+    public PasscodeMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    @Nullable
+    public TouchTraceRecorder getTouchTraceRecorder() {
+        return mTouchTraceRecorder;
+    }
+
+    /**
+     * Record all the touch events and committed values of this view into the {@link com.kevalpatel.passcodeview.core.TouchTrace}.
+     * Recorded trace can be replayed using {@link TouchTraceReplayer}.
+     *
+     * @param touchTraceRecorder {@link TouchTraceRecorder} or null to stop recording.
+     */
+    public void setTouchTraceRecorder(@Nullable TouchTraceRecorder touchTraceRecorder) {
+        mTouchTraceRecorder = touchTraceRecorder;
+    }
 }
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+
+import com.kevalpatel.passcodeview.core.KeyboardLayout;
+import com.kevalpatel.passcodeview.core.PinBuffer;
+import com.kevalpatel.passcodeview.core.PointerTracker;
+import com.kevalpatel.passcodeview.keys.Key;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Passcode view with the alphanumeric QWERTY keyboard. The keyboard has the lower case, upper case
+ * and the symbols pages ({@link KeyboardLayout#qwerty()}) and the typed passphrase is verified when
+ * the user presses the OK key.
+ * <p>
+ * Keys are drawn using the same {@link Key.Builder} as the {@link PinView}. Keys are narrower than
+ * the PIN keys, so use the smaller key padding and the text size.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public class PassphraseView extends TitleIndicatorView implements PinBuffer.ChangeListener {
+    static final String DEF_TITLE_TEXT = "Enter passphrase";
+    private static final long FEEDBACK_DURATION = 500;              //Time to display the verdict before the next attempt.
+
+    private final PointerTracker mPointerTracker = new PointerTracker();   //Down points of all the fingers on the keyboard.
+
+    private int[] mCorrectPassphrase;                               //Character codes of the correct passphrase.
+    private PinBuffer mPassphraseTyped;                             //Character codes typed.
+    private boolean mIsFeedbackPending;                             //True while the verdict is displayed. Keys are ignored.
+    private final Runnable mFeedbackEndRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mIsFeedbackPending = false;
+            PasscodeTrace.endAsyncSection(PasscodeTrace.RESET_DELAY, System.identityHashCode(PassphraseView.this));
+            mPassphraseTyped.clear();
+            invalidate();
+        }
+    };
+
+    private BoxPassphraseKeypad mBoxKeypad;
+
+    ///////////////////////////////////////////////////////////////
+    //                  CONSTRUCTORS
+    ///////////////////////////////////////////////////////////////
+
+    public PassphraseView(Context context) {
+        super(context);
+    }
+
+    public PassphraseView(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    public PassphraseView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+    }
+
+    ///////////////////////////////////////////////////////////////
+    //                  SET THEME PARAMS INITIALIZE
+    ///////////////////////////////////////////////////////////////
+
+    /**
+     * Initialize view.
+     */
+    @Override
+    protected void init() {
+        mPassphraseTyped = new PinBuffer();
+        mPassphraseTyped.setChangeListener(this);
+
+        mBoxKeypad = new BoxPassphraseKeypad(this);
+        mBoxIndicator = new BoxTitleIndicator(this);
+        mBoxIndicator.setFilledOnly(true);
+    }
+
+    @Override
+    protected void setDefaultParams() {
+        mBoxIndicator.setDefaults();
+        mBoxIndicator.setTitle(DEF_TITLE_TEXT);
+        mBoxKeypad.setDefaults();
+    }
+
+    @Override
+    protected void preparePaint() {
+        //Prepare paints.
+        mBoxKeypad.preparePaint();
+        mBoxIndicator.preparePaint();
+    }
+
+    /**
+     * Parse the theme attribute using the parse array.
+     */
+    @SuppressWarnings("deprecation")
+    @Override
+    protected void parseTypeArr(@NonNull TypedArray typedArray) {
+        //Parse title params
+        mBoxIndicator.setTitle(typedArray.hasValue(R.styleable.PinView_titleText) ?
+                typedArray.getString(R.styleable.PinView_titleText) : DEF_TITLE_TEXT);
+        mBoxIndicator.setTitleColor(typedArray.getColor(R.styleable.PinView_titleTextColor,
+                mContext.getResources().getColor(R.color.lib_key_default_color)));
+        mBoxIndicator.setTitleTextSize(typedArray.getDimension(R.styleable.PinView_titleTextSize,
+                mContext.getResources().getDimension(R.dimen.lib_title_text_size)));
+
+        //Keys and indicators from the XML style
+        PasscodeStyle style = getPasscodeStyle();
+        if (style.isKeyStyled()) mBoxKeypad.setKeyBuilder(style.getKeyStyle().createBuilder(this));
+        if (style.isIndicatorStyled()) mBoxIndicator.setIndicatorBuilder(style.getIndicatorStyle().createBuilder(this));
+    }
+
+    ///////////////////////////////////////////////////////////////
+    //                  VIEW DRAW
+    ///////////////////////////////////////////////////////////////
+
+    /**
+     * Draw method of the view called every time frame refreshes.
+     *
+     * @param canvas view canvas
+     */
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        mBoxKeypad.dispatchDraw(canvas);
+        mBoxIndicator.dispatchDraw(canvas);
+        mBoxFingerprint.dispatchDraw(canvas);
+    }
+
+    ///////////////////////////////////////////////////////////////
+    //                  VIEW MEASUREMENT
+    ///////////////////////////////////////////////////////////////
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        mBoxKeypad.dispatchMeasure(mRootViewBound);
+        mBoxIndicator.dispatchMeasure(mRootViewBound);
+        mBoxFingerprint.dispatchMeasure(mRootViewBound);
+    }
+
+    ///////////////////////////////////////////////////////////////
+    //                  TOUCH HANDLER
+    ///////////////////////////////////////////////////////////////
+
+    /**
+     * Each finger is tracked by its pointer id like the {@link PinView}, so both thumbs can type.
+     * Characters are committed in the order the fingers lift.
+     */
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        int pointerIndex = event.getActionIndex();
+        int pointerId = event.getPointerId(pointerIndex);
+
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+            case MotionEvent.ACTION_POINTER_DOWN:
+                mPointerTracker.onPointerDown(pointerId,
+                        event.getX(pointerIndex),
+                        event.getY(pointerIndex),
+                        event.getEventTime());
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_POINTER_UP:
+                if (!mPointerTracker.onPointerUp(pointerId)) break;
+
+                float downX = mPointerTracker.getDownX(pointerId);
+                float downY = mPointerTracker.getDownY(pointerId);
+                int key = mBoxKeypad.findKeyPressed(downX, downY, event.getX(pointerIndex), event.getY(pointerIndex));
+                if (key >= 0) getMetrics().onKeyFeedback(mPointerTracker.getDownTime(pointerId));
+                if (mBoxKeypad.getBounds().contains((int) downX, (int) downY)) getMetrics().onKeyTap(key >= 0);
+                if (key >= 0) onKeyPressed(key);
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                mPointerTracker.clear();
+                break;
+            default:
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Handle the pressed key. Characters are appended to {@link #mPassphraseTyped}, the back space
+     * removes the last character and the OK key verifies the passphrase using {@link #verifyPassphrase()}.
+     * Keys pressed while the verdict is displayed are ignored.
+     *
+     * @param key index of the key in the {@link KeyboardLayout}.
+     */
+    private void onKeyPressed(int key) {
+        //Check for the state
+        if (mAuthenticationListener == null) {
+            throw new IllegalStateException("Set AuthenticationListener to receive callbacks.");
+        } else if (mCorrectPassphrase == null || mCorrectPassphrase.length == 0) {
+            throw new IllegalStateException("Please set current passphrase to check with the entered value.");
+        }
+        if (mIsFeedbackPending) return;
+
+        PasscodeTrace.beginSection(PasscodeTrace.KEY_PRESSED);
+        try {
+            int value = mBoxKeypad.onKeyPressed(key);
+            if (value == KeyboardLayout.VALUE_NONE) return;     //Page changed.
+            onValueCommitted(value);
+
+            if (value == KeyboardLayout.VALUE_ENTER) {
+                if (!mPassphraseTyped.isEmpty()) verifyPassphrase();
+            } else {
+                if (value == KeyboardLayout.VALUE_BACKSPACE) {
+                    mPassphraseTyped.removeLast();
+                } else {
+                    mPassphraseTyped.add(value);
+                }
+                if (isTactileFeedbackEnable()) Utils.giveTactileFeedbackForKeyPress(mContext);
+            }
+            invalidate();
+        } finally {
+            PasscodeTrace.endSection();
+        }
+    }
+
+    /**
+     * Check if the typed passphrase is matched, notify the application and display the verdict. The
+     * typed passphrase is cleared after {@link #FEEDBACK_DURATION}.
+     */
+    private void verifyPassphrase() {
+        PasscodeTrace.beginSection(PasscodeTrace.VERIFY);
+        try {
+            boolean isMatched = mPassphraseTyped.isMatched(mCorrectPassphrase);
+
+            cancelFeedbackEnd();
+            postDelayedTask(mFeedbackEndRunnable, FEEDBACK_DURATION);
+            mIsFeedbackPending = true;
+            PasscodeTrace.beginAsyncSection(PasscodeTrace.RESET_DELAY, System.identityHashCode(this));
+
+            if (isMatched) {
+                if (isTactileFeedbackEnable())
+                    Utils.giveTactileFeedbackForAuthSuccess(mContext);  //Give tactile feedback.
+                if (mAuthenticationListener != null)
+                    mAuthenticationListener.onAuthenticationSuccessful();   //Notify the parent application
+
+                //Notify all the boxes for authentication success.
+                mBoxKeypad.onAuthenticationSuccess();
+                mBoxIndicator.onAuthenticationSuccess();
+                mBoxFingerprint.onAuthenticationSuccess();
+            } else {
+                if (isTactileFeedbackEnable())
+                    Utils.giveTactileFeedbackForAuthFail(mContext);     //Give tactile feedback.
+                if (mAuthenticationListener != null)
+                    mAuthenticationListener.onAuthenticationFailed();       //Notify parent application
+
+                //Notify all the boxes for authentication fail.
+                mBoxFingerprint.onAuthenticationFail();
+                mBoxKeypad.onAuthenticationFail();
+                mBoxIndicator.onAuthenticationFail();
+            }
+        } finally {
+            PasscodeTrace.endSection();
+        }
+    }
+
+    private void cancelFeedbackEnd() {
+        removeDelayedTask(mFeedbackEndRunnable);
+        if (mIsFeedbackPending) {
+            mIsFeedbackPending = false;
+            PasscodeTrace.endAsyncSection(PasscodeTrace.RESET_DELAY, System.identityHashCode(this));
+        }
+    }
+
+    /**
+     * Reset the typed passphrase and show the lower case page.
+     */
+    @Override
+    public void reset() {
+        cancelFeedbackEnd();
+        mPassphraseTyped.clear();
+        mBoxKeypad.setPage(KeyboardLayout.PAGE_LOWER);
+        invalidate();
+    }
+
+    /**
+     * Indicators display one filled indicator per typed character, so the length of the correct
+     * passphrase is not revealed.
+     *
+     * @param size new number of the typed characters.
+     */
+    @Override
+    public void onPinBufferChange(int size) {
+        mBoxIndicator.onPinDigitEntered(size);
+    }
+
+    ///////////////////////////////////////////////////////////////
+    //                  GETTERS/SETTERS
+    ///////////////////////////////////////////////////////////////
+
+    /**
+     * Set the correct passphrase.
+     *
+     * @param correctPassphrase passphrase.
+     * @throws IllegalArgumentException if the passphrase is empty or contains the character which is
+     *                                  not on the keyboard.
+     */
+    public void setCorrectPassphrase(@NonNull CharSequence correctPassphrase) {
+        if (correctPassphrase.length() == 0) throw new IllegalArgumentException("Invalid passphrase.");
+
+        int[] passphrase = new int[correctPassphrase.length()];
+        for (int i = 0; i < passphrase.length; i++) {
+            passphrase[i] = correctPassphrase.charAt(i);
+            if (!mBoxKeypad.canType(passphrase[i])) {
+                throw new IllegalArgumentException("Passphrase contains the character which is not on the keyboard.");
+            }
+        }
+        mCorrectPassphrase = passphrase;
+        reset();
+    }
+
+    /**
+     * @return Copy of the typed passphrase. Clear the array after use.
+     */
+    @NonNull
+    public char[] getCurrentTypedPassphrase() {
+        char[] passphrase = new char[mPassphraseTyped.size()];
+        for (int i = 0; i < passphrase.length; i++) passphrase[i] = (char) mPassphraseTyped.get(i);
+        return passphrase;
+    }
+
+    @Nullable
+    public Key.Builder getKeyBuilder() {
+        return mBoxKeypad.getKeyBuilder();
+    }
+
+    public void setKey(@NonNull Key.Builder keyBuilder) {
+        mBoxKeypad.setKeyBuilder(keyBuilder);
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * Set the keys of the shared style. The keys start from the copies of the style paints.
+     *
+     * @param keyStyle {@link KeyStyle} of the keys.
+     */
+    public void setKeyStyle(@NonNull KeyStyle keyStyle) {
+        setKey(keyStyle.createBuilder(this));
+    }
+
+    @Override
+    void collectHeapStats(@NonNull PasscodeHeapStats stats) {
+        super.collectHeapStats(stats);
+        mBoxKeypad.collectHeapStats(stats);
+        mBoxIndicator.collectHeapStats(stats);
+    }
+
+    @Override
+    void collectThemeColors(@NonNull int[] colors) {
+        super.collectThemeColors(colors);
+        mBoxKeypad.collectThemeColors(colors);
+        mBoxIndicator.collectThemeColors(colors);
+    }
+
+    @Override
+    void applyThemeColors(@NonNull int[] colors) {
+        super.applyThemeColors(colors);
+        mBoxKeypad.applyThemeColors(colors);
+        mBoxIndicator.applyThemeColors(colors);
+    }
+
+    @VisibleForTesting
+    BoxPassphraseKeypad getBoxKeypad() {
+        return mBoxKeypad;
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.support.annotation.ColorInt;
+import android.support.annotation.ColorRes;
+import android.support.annotation.DimenRes;
+import android.support.annotation.Dimension;
+import android.support.annotation.NonNull;
+
+import com.kevalpatel.passcodeview.patternCells.CirclePatternCell;
+import com.kevalpatel.passcodeview.patternCells.DotPatternCell;
+import com.kevalpatel.passcodeview.patternCells.PatternCell;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Immutable style of the pattern cells. The style doesn't reference any view, so it can be built
+ * once using {@link PatternCellStyle.Builder} and shared by all the views of the process. Styles in
+ * XML are parsed once per style resource and shared by all the views inflated with the same style.
+ * <p>
+ * Paints are derived once per style. The getters return copies, so every cell builder owns its
+ * paints and changing them doesn't change the style.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class PatternCellStyle {
+    public static final int SHAPE_CIRCLE = 0;
+    public static final int SHAPE_DOT = 1;
+
+    private final int mShape;                       //Shape of the cell. (patternCellShape)
+    @ColorInt
+    private final int mColor;                       //Color of the cell which is not selected
+    @ColorInt
+    private final int mSelectedColor;               //Color of the selected cell
+    @Dimension
+    private final float mRadius;
+    @Dimension
+    private final float mStrokeWidth;               //Stroke width of the circle cell
+
+    private final Paint mRingPaint;                 //Circle cell paint
+    private final Paint mDotPaint;                  //Dot cell paint
+    private final Paint mSelectedPaint;             //Selected cell paint
+    private final Paint mErrorPaint;                //Error cell paint
+
+    PatternCellStyle(int shape,
+                     @ColorInt int color,
+                     @ColorInt int selectedColor,
+                     @Dimension float radius,
+                     @Dimension float strokeWidth) {
+        mShape = shape;
+        mColor = color;
+        mSelectedColor = selectedColor;
+        mRadius = radius;
+        mStrokeWidth = strokeWidth;
+
+        mRingPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mRingPaint.setStyle(Paint.Style.STROKE);
+        mRingPaint.setColor(color);
+        mRingPaint.setStrokeWidth(strokeWidth);
+
+        mDotPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mDotPaint.setColor(color);
+
+        mSelectedPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mSelectedPaint.setColor(selectedColor);
+
+        mErrorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mErrorPaint.setColor(Color.RED);
+    }
+
+    /**
+     * @return Style with the default values of the library. This is resolved once per configuration.
+     */
+    @NonNull
+    public static PatternCellStyle getDefault(@NonNull Context context) {
+        return PasscodeStyle.getDefault(context).getPatternCellStyle();
+    }
+
+    /**
+     * Create the builder of the cell shape of this style. The builder is already built with the copies
+     * of the paints of this style.
+     *
+     * @param view {@link PatternView} to display the cells.
+     */
+    @NonNull
+    public PatternCell.Builder createBuilder(@NonNull PatternView view) {
+        switch (mShape) {
+            case SHAPE_DOT:
+                return new DotPatternCell.Builder(view).setStyle(this).build();
+            default:
+                return new CirclePatternCell.Builder(view).setStyle(this).build();
+        }
+    }
+
+    ///////////////// SETTERS/GETTERS //////////////
+
+    public int getShape() {
+        return mShape;
+    }
+
+    @ColorInt
+    public int getColor() {
+        return mColor;
+    }
+
+    @ColorInt
+    public int getSelectedColor() {
+        return mSelectedColor;
+    }
+
+    @Dimension
+    public float getRadius() {
+        return mRadius;
+    }
+
+    @Dimension
+    public float getStrokeWidth() {
+        return mStrokeWidth;
+    }
+
+    /**
+     * @return Copy of the paint of the {@link CirclePatternCell} which is not selected.
+     */
+    @NonNull
+    public Paint getRingPaint() {
+        return new Paint(mRingPaint);
+    }
+
+    /**
+     * @return Copy of the paint of the {@link DotPatternCell} which is not selected.
+     */
+    @NonNull
+    public Paint getDotPaint() {
+        return new Paint(mDotPaint);
+    }
+
+    @NonNull
+    public Paint getSelectedPaint() {
+        return new Paint(mSelectedPaint);
+    }
+
+    @NonNull
+    public Paint getErrorPaint() {
+        return new Paint(mErrorPaint);
+    }
+
+    /**
+     * Builder of the {@link PatternCellStyle}. All the values start with the default values of the
+     * library. The builder only keeps the {@link Resources}, not the context.
+     */
+    public static final class Builder {
+        @NonNull
+        private final Resources mResources;
+        private int mShape;
+        @ColorInt
+        private int mColor;
+        @ColorInt
+        private int mSelectedColor;
+        @Dimension
+        private float mRadius;
+        @Dimension
+        private float mStrokeWidth;
+
+        public Builder(@NonNull Context context) {
+            mResources = context.getResources();
+
+            PatternCellStyle defaultStyle = getDefault(context);
+            mShape = defaultStyle.mShape;
+            mColor = defaultStyle.mColor;
+            mSelectedColor = defaultStyle.mSelectedColor;
+            mRadius = defaultStyle.mRadius;
+            mStrokeWidth = defaultStyle.mStrokeWidth;
+        }
+
+        /**
+         * @param shape {@link #SHAPE_CIRCLE} or {@link #SHAPE_DOT}.
+         */
+        @NonNull
+        public Builder setShape(int shape) {
+            mShape = shape;
+            return this;
+        }
+
+        @NonNull
+        public Builder setColor(@ColorInt int color) {
+            mColor = color;
+            return this;
+        }
+
+        @SuppressWarnings("deprecation")
+        @NonNull
+        public Builder setColorResource(@ColorRes int color) {
+            mColor = mResources.getColor(color);
+            return this;
+        }
+
+        @NonNull
+        public Builder setSelectedColor(@ColorInt int selectedColor) {
+            mSelectedColor = selectedColor;
+            return this;
+        }
+
+        @SuppressWarnings("deprecation")
+        @NonNull
+        public Builder setSelectedColorResource(@ColorRes int selectedColor) {
+            mSelectedColor = mResources.getColor(selectedColor);
+            return this;
+        }
+
+        @NonNull
+        public Builder setRadius(@Dimension float radius) {
+            mRadius = radius;
+            return this;
+        }
+
+        @NonNull
+        public Builder setRadius(@DimenRes int radius) {
+            mRadius = mResources.getDimension(radius);
+            return this;
+        }
+
+        @NonNull
+        public Builder setStrokeWidth(@Dimension float strokeWidth) {
+            mStrokeWidth = strokeWidth;
+            return this;
+        }
+
+        @NonNull
+        public Builder setStrokeWidth(@DimenRes int strokeWidth) {
+            mStrokeWidth = mResources.getDimension(strokeWidth);
+            return this;
+        }
+
+        @NonNull
+        public PatternCellStyle build() {
+            return new PatternCellStyle(mShape, mColor, mSelectedColor, mRadius, mStrokeWidth);
+        }
+    }
+}
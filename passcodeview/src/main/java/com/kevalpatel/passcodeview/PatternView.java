@@ -20,11 +20,16 @@ import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.support.annotation.ColorInt;
+import android.support.annotation.Dimension;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 
+import com.kevalpatel.passcodeview.core.PatternBuffer;
+import com.kevalpatel.passcodeview.core.PatternStrength;
+import com.kevalpatel.passcodeview.core.TouchPredictor;
 import com.kevalpatel.passcodeview.patternCells.PatternCell;
 
 /**
@@ -33,9 +38,23 @@ import com.kevalpatel.passcodeview.patternCells.PatternCell;
  * @author 'https://github.com/kevalpatel2106'
  */
 
-public class PatternView extends PasscodeView implements InteractiveArrayList.ChangeListener {
-    private int[] mCorrectPattern;                                      //Current PIN with witch entered PIN will check.
-    private InteractiveArrayList<Integer> mPatternTyped;                //PIN typed.
+public class PatternView extends PasscodeView {
+    private static final long RESET_DURATION = 350;                     //Time to display the verdict before the pattern is cleared.
+
+    private PatternBuffer mCorrectPattern;                              //Current pattern with witch entered pattern will check.
+    private PatternBuffer mPatternTyped;                                //Pattern typed.
+    private TouchPredictor mTouchPredictor;                             //Predicted finger position for the rubber band line.
+    private double mMinPatternStrength = 0;                             //Weakest pattern accepted by setCorrectPattern in bits. 0 to accept all.
+    private boolean mIsResetPending;                                    //True while the reset after the verdict is scheduled.
+
+    private final Runnable mResetRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mIsResetPending = false;
+            PasscodeTrace.endAsyncSection(PasscodeTrace.RESET_DELAY, System.identityHashCode(PatternView.this));
+            reset();
+        }
+    };
 
     private BoxPattern mBoxPattern;
     private BoxTitle mBoxTitle;
@@ -67,12 +86,17 @@ public class PatternView extends PasscodeView implements InteractiveArrayList.Ch
     @Override
     protected void init() {
         //Initialized the typed pattern array
-        mPatternTyped = new InteractiveArrayList<>();
-        mPatternTyped.setChangeListener(this);
+        mPatternTyped = new PatternBuffer();
 
         //initialize boxes
         mBoxPattern = new BoxPattern(this);
+        mBoxPattern.setSelectedIndicator(mPatternTyped);
+        mTouchPredictor = new TouchPredictor();
+        mBoxPattern.setLiveTouch(mTouchPredictor);
         mBoxTitle = new BoxTitle(this);
+
+        //Count the patterns of the grid before the user enrolls the pattern.
+        PatternStrength.precompute(mBoxPattern.getColumns(), mBoxPattern.getRows());
     }
 
     @Override
@@ -99,6 +123,12 @@ public class PatternView extends PasscodeView implements InteractiveArrayList.Ch
                 typedArray.getString(R.styleable.PinView_titleText) : BoxTitleIndicator.DEF_TITLE_TEXT);
         mBoxTitle.setTitleColor(typedArray.getColor(R.styleable.PinView_titleTextColor,
                 mContext.getResources().getColor(R.color.lib_key_default_color)));
+        mBoxTitle.setTitleTextSize(typedArray.getDimension(R.styleable.PinView_titleTextSize,
+                mContext.getResources().getDimension(R.dimen.lib_title_text_size)));
+
+        //Cells from the XML style
+        PasscodeStyle style = getPasscodeStyle();
+        if (style.isPatternCellStyled()) mBoxPattern.setCellBuilder(style.getPatternCellStyle().createBuilder(this));
     }
 
 
@@ -114,9 +144,9 @@ public class PatternView extends PasscodeView implements InteractiveArrayList.Ch
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
-        mBoxPattern.draw(canvas);
-        mBoxTitle.draw(canvas);
-        mBoxFingerprint.draw(canvas);
+        mBoxPattern.dispatchDraw(canvas);
+        mBoxTitle.dispatchDraw(canvas);
+        mBoxFingerprint.dispatchDraw(canvas);
     }
 
     ///////////////////////////////////////////////////////////////
@@ -126,9 +156,9 @@ public class PatternView extends PasscodeView implements InteractiveArrayList.Ch
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         super.onMeasure(widthMeasureSpec, heightMeasureSpec);
-        mBoxPattern.measure(mRootViewBound);
-        mBoxTitle.measure(mRootViewBound);
-        mBoxFingerprint.measure(mRootViewBound);
+        mBoxPattern.dispatchMeasure(mRootViewBound);
+        mBoxTitle.dispatchMeasure(mRootViewBound);
+        mBoxFingerprint.dispatchMeasure(mRootViewBound);
     }
 
     ///////////////////////////////////////////////////////////////
@@ -136,17 +166,40 @@ public class PatternView extends PasscodeView implements InteractiveArrayList.Ch
     ///////////////////////////////////////////////////////////////
 
 
+    /**
+     * The rubber band line is drawn to the finger position predicted {@link #getPredictionHorizon()}
+     * milliseconds ahead of the last touch sample, so it doesn't lag behind the finger by a frame.
+     * Velocity is estimated from the historical samples of the move events.
+     */
     @Override
     public boolean onTouchEvent(MotionEvent event) {
         switch (event.getActionMasked()) {
             case MotionEvent.ACTION_DOWN:
-
+                //New attempt. Don't clear it when the reset of the previous attempt is due.
+                cancelReset();
+                mPatternTyped.clear();
+                mTouchPredictor.clear();
+                mTouchPredictor.addSample(event.getX(), event.getY(), event.getEventTime());
+                onCellTouched(event.getX(), event.getY());
                 break;
-            case MotionEvent.ACTION_UP:
-
+            case MotionEvent.ACTION_MOVE:
+                //Check all the historical points, so that fast swipes don't skip any cell.
+                for (int h = 0; h < event.getHistorySize(); h++) {
+                    mTouchPredictor.addSample(event.getHistoricalX(h),
+                            event.getHistoricalY(h),
+                            event.getHistoricalEventTime(h));
+                    onCellTouched(event.getHistoricalX(h), event.getHistoricalY(h));
+                }
+                mTouchPredictor.addSample(event.getX(), event.getY(), event.getEventTime());
+                onCellTouched(event.getX(), event.getY());
+
+                //Move the rubber band line.
+                if (!mPatternTyped.isEmpty()) invalidate();
                 break;
-            case MotionEvent.ACTION_HOVER_ENTER:
-
+            case MotionEvent.ACTION_UP:
+                mTouchPredictor.clear();
+                onPatternCompleted();
+                invalidate();
                 break;
             default:
                 return false;
@@ -154,24 +207,89 @@ public class PatternView extends PasscodeView implements InteractiveArrayList.Ch
         return true;
     }
 
+    /**
+     * Add the cell at the touch point to the {@link #mPatternTyped}, if it is not already selected.
+     *
+     * @param touchX touch X coordinate
+     * @param touchY touch Y coordinate
+     */
+    private void onCellTouched(float touchX, float touchY) {
+        int cellIndex = mBoxPattern.findKeyPressed(touchX, touchY);
+        if (cellIndex < 0 || !mPatternTyped.add(cellIndex)) return;  //Already selected cells are rejected by the bitset.
+
+        onValueCommitted(cellIndex);
+
+        if (isTactileFeedbackEnable()) Utils.giveTactileFeedbackForKeyPress(mContext);
+        invalidate();
+    }
+
+    /**
+     * Check the {@link #mPatternTyped} with the {@link #mCorrectPattern} when user lifts the finger
+     * and notify application about the result.
+     */
+    private void onPatternCompleted() {
+        if (mPatternTyped.isEmpty()) return;
+
+        //Check for the state
+        if (mAuthenticationListener == null) {
+            throw new IllegalStateException("Set AuthenticationListener to receive callbacks.");
+        } else if (mCorrectPattern == null || mCorrectPattern.isEmpty()) {
+            throw new IllegalStateException("Please set current pattern to check with the entered value.");
+        }
+
+        PasscodeTrace.beginSection(PasscodeTrace.VERIFY);
+        try {
+            if (mPatternTyped.isMatched(mCorrectPattern)) {
+                //Hurray!!! Authentication is successful.
+
+                if (isTactileFeedbackEnable())
+                    Utils.giveTactileFeedbackForAuthSuccess(mContext);  //Give tactile feedback.
+                mAuthenticationListener.onAuthenticationSuccessful();   //Notify the parent application
+
+                //Notify all the boxes for authentication success.
+                mBoxPattern.onAuthenticationSuccess();
+                mBoxTitle.onAuthenticationSuccess();
+                mBoxFingerprint.onAuthenticationSuccess();
+            } else {
+                //:-( Authentication failed.
+
+                if (isTactileFeedbackEnable())
+                    Utils.giveTactileFeedbackForAuthFail(mContext);     //Give tactile feedback.
+                mAuthenticationListener.onAuthenticationFailed();       //Notify parent application
+
+                //Notify all the boxes for authentication failed.
+                mBoxFingerprint.onAuthenticationFail();
+                mBoxPattern.onAuthenticationFail();
+                mBoxTitle.onAuthenticationFail();
+            }
+
+            //Reset the view.
+            cancelReset();
+            postDelayedTask(mResetRunnable, RESET_DURATION);
+            mIsResetPending = true;
+            PasscodeTrace.beginAsyncSection(PasscodeTrace.RESET_DELAY, System.identityHashCode(this));
+        } finally {
+            PasscodeTrace.endSection();
+        }
+    }
+
     /**
      * Reset the pin code and view state.
      */
     @Override
     public void reset() {
+        cancelReset();
         mPatternTyped.clear();
+        mTouchPredictor.clear();
         invalidate();
     }
 
-    /**
-     * This method will be called when there is any change in {@link #mPatternTyped}.
-     *
-     * @param size this is the new size of {@link #mPatternTyped}.
-     * @see InteractiveArrayList
-     */
-    @Override
-    public void onArrayValueChange(int size) {
-        //Do nothing
+    private void cancelReset() {
+        removeDelayedTask(mResetRunnable);
+        if (mIsResetPending) {
+            mIsResetPending = false;
+            PasscodeTrace.endAsyncSection(PasscodeTrace.RESET_DELAY, System.identityHashCode(this));
+        }
     }
 
     ///////////////////////////////////////////////////////////////
@@ -188,16 +306,103 @@ public class PatternView extends PasscodeView implements InteractiveArrayList.Ch
         invalidate();
     }
 
+    public long getPredictionHorizon() {
+        return mTouchPredictor.getHorizon();
+    }
+
+    /**
+     * Set how far ahead of the last touch sample the rubber band line is drawn. Default is
+     * {@link TouchPredictor#DEFAULT_HORIZON}, one frame of the 60 Hz display.
+     *
+     * @param horizon time in milliseconds. 0 to draw the line to the last touch sample.
+     */
+    public void setPredictionHorizon(long horizon) {
+        mTouchPredictor.setHorizon(horizon);
+        invalidate();
+    }
+
+    /**
+     * Set the grid of the pattern cells. Default grid is 3 columns and 4 rows.
+     *
+     * @param columns number of the columns. Maximum {@link PatternBuffer#MAX_GRID_SIZE}.
+     * @param rows    number of the rows. Maximum {@link PatternBuffer#MAX_GRID_SIZE}.
+     */
+    public void setGridSize(int columns, int rows) {
+        if (columns > PatternBuffer.MAX_GRID_SIZE || rows > PatternBuffer.MAX_GRID_SIZE)
+            throw new IllegalArgumentException("Grid cannot be larger than "
+                    + PatternBuffer.MAX_GRID_SIZE + "x" + PatternBuffer.MAX_GRID_SIZE + ".");
+
+        mBoxPattern.setGridSize(columns, rows);
+        PatternStrength.precompute(columns, rows);
+        mPatternTyped.clear();
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * Set the correct pattern.
+     *
+     * @param correctPattern indexes of the pattern cells in the selection order. Cells are indexed
+     *                       column by column.
+     * @throws IllegalArgumentException if the pattern is empty, any cell is outside of the grid,
+     *                                  selected twice or the pattern is weaker than
+     *                                  {@link #getMinPatternStrength()}.
+     */
     public void setCorrectPattern(@NonNull int[] correctPattern) {
-        //Validate the pin
-        if (!Utils.isValidPin(correctPattern)) throw new IllegalArgumentException("Invalid PIN.");
+        //Validate the pattern
+        for (int cell : correctPattern) {
+            if (cell >= mBoxPattern.getCellCount()) throw new IllegalArgumentException("Invalid pattern.");
+        }
+        setCorrectPattern(PatternBuffer.fromArray(correctPattern));
+    }
 
-        mCorrectPattern = correctPattern;
+    /**
+     * Set the correct pattern in the packed form. (e.g. Decoded from the storage using
+     * {@link PatternBuffer#fromLongArray(long[])}.)
+     *
+     * @param correctPattern correct pattern.
+     */
+    public void setCorrectPattern(@NonNull PatternBuffer correctPattern) {
+        if (correctPattern.isEmpty()) throw new IllegalArgumentException("Invalid pattern.");
+        if (mMinPatternStrength > 0 && getPatternStrength(correctPattern.toArray()) < mMinPatternStrength)
+            throw new IllegalArgumentException("Pattern is too weak.");
 
+        mCorrectPattern = PatternBuffer.fromLongArray(correctPattern.toLongArray());
+
+        cancelReset();
         mPatternTyped.clear();
         invalidate();
     }
 
+    /**
+     * Strength of the pattern on the current grid. Show it while the user enrolls the pattern. The
+     * valid patterns of the grid are counted on the background thread when the grid is set, so
+     * this doesn't block unless called right after {@link #setGridSize(int, int)}.
+     *
+     * @param pattern indexes of the pattern cells in the selection order.
+     * @return Strength of the pattern in bits.
+     * @throws IllegalArgumentException if the pattern is not valid on the grid.
+     * @see PatternStrength#getStrengthBits(int[])
+     */
+    public double getPatternStrength(@NonNull int[] pattern) {
+        return PatternStrength.forGrid(mBoxPattern.getColumns(), mBoxPattern.getRows()).getStrengthBits(pattern);
+    }
+
+    public double getMinPatternStrength() {
+        return mMinPatternStrength;
+    }
+
+    /**
+     * Reject the weak patterns in {@link #setCorrectPattern(int[])}. Default is 0, all the patterns
+     * are accepted.
+     *
+     * @param minPatternStrength weakest accepted pattern in bits.
+     * @see #getPatternStrength(int[])
+     */
+    public void setMinPatternStrength(double minPatternStrength) {
+        mMinPatternStrength = minPatternStrength;
+    }
+
     public int getTitleColor() {
         return mBoxTitle.getTitleColor();
     }
@@ -207,6 +412,17 @@ public class PatternView extends PasscodeView implements InteractiveArrayList.Ch
         invalidate();
     }
 
+    @Dimension
+    public float getTitleTextSize() {
+        return mBoxTitle.getTitleTextSize();
+    }
+
+    public void setTitleTextSize(@Dimension float titleTextSize) {
+        mBoxTitle.setTitleTextSize(titleTextSize);
+        requestLayout();
+        invalidate();
+    }
+
     /**
      * @return Current title of the view.
      */
@@ -230,8 +446,48 @@ public class PatternView extends PasscodeView implements InteractiveArrayList.Ch
         invalidate();
     }
 
+    /**
+     * Set the cells of the shared style. The cells start from the copies of the style paints.
+     *
+     * @param cellStyle {@link PatternCellStyle} of the cells.
+     */
+    public void setPatternCellStyle(@NonNull PatternCellStyle cellStyle) {
+        setIndicator(cellStyle.createBuilder(this));
+    }
+
     @Nullable
     public PatternCell.Builder getIndicatorBuilder() {
         return mBoxPattern.getCellBuilder();
     }
+
+    @VisibleForTesting
+    TouchPredictor getTouchPredictor() {
+        return mTouchPredictor;
+    }
+
+    @Override
+    void collectHeapStats(@NonNull PasscodeHeapStats stats) {
+        super.collectHeapStats(stats);
+        mBoxPattern.collectHeapStats(stats);
+        mBoxTitle.collectHeapStats(stats);
+    }
+
+    @Override
+    void collectThemeColors(@NonNull int[] colors) {
+        super.collectThemeColors(colors);
+        mBoxPattern.collectThemeColors(colors);
+        mBoxTitle.collectThemeColors(colors);
+    }
+
+    @Override
+    void applyThemeColors(@NonNull int[] colors) {
+        super.applyThemeColors(colors);
+        mBoxPattern.applyThemeColors(colors);
+        mBoxTitle.applyThemeColors(colors);
+    }
+
+    @VisibleForTesting
+    BoxPattern getBoxPattern() {
+        return mBoxPattern;
+    }
 }
@@ -19,13 +19,19 @@ package com.kevalpatel.passcodeview;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
-import android.support.annotation.ColorInt;
+import android.support.annotation.Dimension;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
+import android.view.ViewConfiguration;
 
-import com.kevalpatel.passcodeview.indicators.Indicator;
+import com.kevalpatel.passcodeview.core.KeyNames;
+import com.kevalpatel.passcodeview.core.PinBuffer;
+import com.kevalpatel.passcodeview.core.PinDenylist;
+import com.kevalpatel.passcodeview.core.PinEntryStateMachine;
+import com.kevalpatel.passcodeview.core.PointerTracker;
 import com.kevalpatel.passcodeview.keys.Key;
 
 /**
@@ -34,15 +40,35 @@ import com.kevalpatel.passcodeview.keys.Key;
  * @author 'https://github.com/kevalpatel2106'
  */
 
-public class PinView extends PasscodeView implements InteractiveArrayList.ChangeListener {
-    private float mDownKeyX;                                        //X coordinate of the ACTION_DOWN point
-    private float mDownKeyY;                                        //Y coordinate of the ACTION_DOWN point
+public class PinView extends TitleIndicatorView implements PinBuffer.ChangeListener {
+    private static final long FEEDBACK_DURATION = 350;              //Time to display the verdict before the next attempt.
+
+    private final PointerTracker mPointerTracker = new PointerTracker();   //Down points of all the fingers on the keypad.
+
+    //Press on down
+    private boolean mIsPressOnDown = false;                         //True to commit the digit on ACTION_DOWN.
+    private float mTouchSlop;                                       //Distance the finger can leave the key before the press is cancelled.
+    private final Key[] mDownKeys = new Key[PointerTracker.MAX_POINTER_ID];  //Keys committed on ACTION_DOWN by the pointer id.
+    private int mCancellablePointerId = -1;                         //Pointer of the last committed digit if it can be cancelled.
 
     private int[] mCorrectPin;                                      //Current PIN with witch entered PIN will check.
-    private InteractiveArrayList<Integer> mPinTyped;                //PIN typed.
+    private PinDenylist mPinDenylist;                               //PINs rejected by setCorrectPin. Null to accept all.
+    private PinBuffer mPinTyped;                                    //PIN typed.
+    private PinEntryStateMachine mEntryState;                       //Input state of the current attempt.
+    private boolean mIsFeedbackPending;                             //True while the feedback end is scheduled.
+    private final Runnable mFeedbackEndRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mIsFeedbackPending = false;
+            PasscodeTrace.endAsyncSection(PasscodeTrace.RESET_DELAY, System.identityHashCode(PinView.this));
+
+            //Start the next attempt with the digits typed during the feedback.
+            if (mEntryState.onFeedbackEnd()) verifyPin();
+            invalidate();
+        }
+    };
 
     private BoxKeypad mBoxKeypad;
-    private BoxTitleIndicator mBoxIndicator;
 
     ///////////////////////////////////////////////////////////////
     //                  CONSTRUCTORS
@@ -70,8 +96,10 @@ public class PinView extends PasscodeView implements InteractiveArrayList.Change
     @SuppressWarnings("deprecation")
     @Override
     protected void init() {
-        mPinTyped = new InteractiveArrayList<>();
+        mPinTyped = new PinBuffer();
         mPinTyped.setChangeListener(this);
+        mEntryState = new PinEntryStateMachine(mPinTyped);
+        mTouchSlop = ViewConfiguration.get(getContext()).getScaledTouchSlop();
 
         mBoxKeypad = new BoxKeypad(this);
         mBoxIndicator = new BoxTitleIndicator(this);
@@ -101,8 +129,14 @@ public class PinView extends PasscodeView implements InteractiveArrayList.Change
                 typedArray.getString(R.styleable.PinView_titleText) : BoxTitleIndicator.DEF_TITLE_TEXT);
         mBoxIndicator.setTitleColor(typedArray.getColor(R.styleable.PinView_titleTextColor,
                 mContext.getResources().getColor(R.color.lib_key_default_color)));
-    }
+        mBoxIndicator.setTitleTextSize(typedArray.getDimension(R.styleable.PinView_titleTextSize,
+                mContext.getResources().getDimension(R.dimen.lib_title_text_size)));
 
+        //Keys and indicators from the XML style
+        PasscodeStyle style = getPasscodeStyle();
+        if (style.isKeyStyled()) mBoxKeypad.setKeyBuilder(style.getKeyStyle().createBuilder(this));
+        if (style.isIndicatorStyled()) mBoxIndicator.setIndicatorBuilder(style.getIndicatorStyle().createBuilder(this));
+    }
 
     ///////////////////////////////////////////////////////////////
     //                  VIEW DRAW
@@ -116,9 +150,9 @@ public class PinView extends PasscodeView implements InteractiveArrayList.Change
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
-        mBoxKeypad.draw(canvas);
-        mBoxIndicator.draw(canvas);
-        mBoxFingerprint.draw(canvas);
+        mBoxKeypad.dispatchDraw(canvas);
+        mBoxIndicator.dispatchDraw(canvas);
+        mBoxFingerprint.dispatchDraw(canvas);
     }
 
     ///////////////////////////////////////////////////////////////
@@ -128,28 +162,62 @@ public class PinView extends PasscodeView implements InteractiveArrayList.Change
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         super.onMeasure(widthMeasureSpec, heightMeasureSpec);
-        mBoxKeypad.measure(mRootViewBound);
-        mBoxIndicator.measure(mRootViewBound);
-        mBoxFingerprint.measure(mRootViewBound);
+        mBoxKeypad.dispatchMeasure(mRootViewBound);
+        mBoxIndicator.dispatchMeasure(mRootViewBound);
+        mBoxFingerprint.dispatchMeasure(mRootViewBound);
     }
 
     ///////////////////////////////////////////////////////////////
     //                  TOUCH HANDLER
     ///////////////////////////////////////////////////////////////
 
-
+    /**
+     * Each finger is tracked by its pointer id, so the second thumb can land before the first one
+     * lifts. Key of each finger is resolved independently and the digits are committed in the order
+     * the fingers lift. In the press on down mode, digits are committed in the order the fingers
+     * touch the keys.
+     */
     @Override
     public boolean onTouchEvent(MotionEvent event) {
+        int pointerIndex = event.getActionIndex();
+        int pointerId = event.getPointerId(pointerIndex);
+
         switch (event.getActionMasked()) {
             case MotionEvent.ACTION_DOWN:
-                mDownKeyX = event.getX();
-                mDownKeyY = event.getY();
+            case MotionEvent.ACTION_POINTER_DOWN:
+                mPointerTracker.onPointerDown(pointerId,
+                        event.getX(pointerIndex),
+                        event.getY(pointerIndex),
+                        event.getEventTime());
+                if (mIsPressOnDown) onPointerDownPress(pointerId);
+                break;
+            case MotionEvent.ACTION_MOVE:
+                if (!mIsPressOnDown) return false;
+                for (int i = 0; i < event.getPointerCount(); i++) {
+                    checkPressCancelled(event.getPointerId(i), event.getX(i), event.getY(i));
+                }
                 break;
             case MotionEvent.ACTION_UP:
-                onKeyPressed(mBoxKeypad.findKeyPressed(mDownKeyX,
-                        mDownKeyY,
-                        event.getX(),
-                        event.getY()));
+            case MotionEvent.ACTION_POINTER_UP:
+                if (!mPointerTracker.onPointerUp(pointerId)) break;
+
+                if (mIsPressOnDown) {
+                    checkPressCancelled(pointerId, event.getX(pointerIndex), event.getY(pointerIndex));
+                    if (pointerId < mDownKeys.length) mDownKeys[pointerId] = null;
+                } else {
+                    String digit = mBoxKeypad.findKeyPressed(mPointerTracker.getDownX(pointerId),
+                            mPointerTracker.getDownY(pointerId),
+                            event.getX(pointerIndex),
+                            event.getY(pointerIndex));
+                    if (digit != null) getMetrics().onKeyFeedback(mPointerTracker.getDownTime(pointerId));
+                    onKeyTap(pointerId, digit != null);
+                    onKeyPressed(digit);
+                }
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                mPointerTracker.clear();
+                for (int i = 0; i < mDownKeys.length; i++) mDownKeys[i] = null;
+                mCancellablePointerId = -1;
                 break;
             default:
                 return false;
@@ -157,11 +225,67 @@ public class PinView extends PasscodeView implements InteractiveArrayList.Change
         return true;
     }
 
+    /**
+     * Commit the digit of the key under the new pointer right away and start the ripple and the
+     * haptic feedback.
+     */
+    private void onPointerDownPress(int pointerId) {
+        Key key = mBoxKeypad.findKey(mPointerTracker.getDownX(pointerId), mPointerTracker.getDownY(pointerId));
+        onKeyTap(pointerId, key != null);
+        if (key == null || pointerId >= mDownKeys.length) return;
+
+        mDownKeys[pointerId] = key;
+        key.playClickAnimation();
+        getMetrics().onKeyFeedback(mPointerTracker.getDownTime(pointerId));
+
+        int attemptCount = mEntryState.getAttemptCount();
+        onKeyPressed(key.getDigit());
+
+        //Digit which completed the attempt is already verified and cannot be cancelled. Backspace
+        //cannot be cancelled either, because the removed digit is gone.
+        boolean isDigit = mBoxKeypad.getValueOfKey(key.getDigit()) != KeyNames.BACKSPACE_VALUE;
+        mCancellablePointerId = isDigit && attemptCount == mEntryState.getAttemptCount() ? pointerId : -1;
+    }
+
+    /**
+     * Count the tap in the {@link PasscodeMetrics} if it started inside the keypad.
+     *
+     * @param isHit true if the tap resolved to a key.
+     */
+    private void onKeyTap(int pointerId, boolean isHit) {
+        if (mBoxKeypad.getBounds().contains((int) mPointerTracker.getDownX(pointerId),
+                (int) mPointerTracker.getDownY(pointerId))) {
+            getMetrics().onKeyTap(isHit);
+        }
+    }
+
+    /**
+     * Cancel the press if the pointer left the key it pressed by more than the touch slop. The digit
+     * is removed if it is still the last committed digit and not verified yet.
+     */
+    private void checkPressCancelled(int pointerId, float touchX, float touchY) {
+        if (pointerId < 0 || pointerId >= mDownKeys.length) return;
+        Key key = mDownKeys[pointerId];
+        if (key == null) return;
+
+        float dx = Math.max(Math.max(key.getBound().left - touchX, touchX - key.getBound().right), 0);
+        float dy = Math.max(Math.max(key.getBound().top - touchY, touchY - key.getBound().bottom), 0);
+        if (dx <= mTouchSlop && dy <= mTouchSlop) return;
+
+        mDownKeys[pointerId] = null;
+        if (mCancellablePointerId == pointerId) {
+            mCancellablePointerId = -1;
+            mEntryState.onKey(KeyNames.BACKSPACE_VALUE);
+            onValueCommitted(KeyNames.BACKSPACE_VALUE);
+            invalidate();
+        }
+    }
+
     /**
      * Handle the newly added key digit. Append the digit to {@link #mPinTyped}.
      * If the new digit is {@link KeyNamesBuilder#BACKSPACE_TITLE}, remove the last digit of the {@link #mPinTyped}.
-     * If the {@link #mPinTyped} has length of {@link #mCorrectPin} and equals to {@link #mCorrectPin}
-     * notify application as authenticated.
+     * If the {@link #mPinTyped} has length of {@link #mCorrectPin}, verify the pin using {@link #verifyPin()}.
+     * Digits pressed during the verdict are handled by {@link PinEntryStateMachine}.
      *
      * @param newDigit newly pressed digit
      */
@@ -175,25 +299,65 @@ public class PinView extends PasscodeView implements InteractiveArrayList.Change
             throw new IllegalStateException("Please set current PIN to check with the entered value.");
         }
 
-        if (newDigit.equals(KeyNamesBuilder.BACKSPACE_TITLE)) { //Back space key is pressed.
-            if (mPinTyped.size() > 0) mPinTyped.remove(mPinTyped.size() - 1);   //Remove last digit.
-        } else {
+        PasscodeTrace.beginSection(PasscodeTrace.KEY_PRESSED);
+        try {
+            int value = mBoxKeypad.getValueOfKey(newDigit);
+            onValueCommitted(value);
+            mCancellablePointerId = -1;
+
+            //Add new digit or remove the last digit if the back space is pressed. Digits pressed while
+            //the verdict is displayed are kept for the next attempt.
+            if (mEntryState.onKey(value)) {
+                //Typed pin has the length of correct pin.
+                verifyPin();
+            } else if (isTactileFeedbackEnable()) {
+                Utils.giveTactileFeedbackForKeyPress(mContext);
+            }
 
-            //Add new digit
-            mPinTyped.add(mBoxKeypad.getKeyNameBuilder().getValueOfKey(newDigit));
+            invalidate();
+        } finally {
+            PasscodeTrace.endSection();
         }
+    }
 
-        invalidate();
+    /**
+     * Schedule the end of the verdict feedback. Replaces the stale feedback end, if any.
+     */
+    private void postFeedbackEnd() {
+        cancelFeedbackEnd();
+        postDelayedTask(mFeedbackEndRunnable, FEEDBACK_DURATION);
+        mIsFeedbackPending = true;
+        PasscodeTrace.beginAsyncSection(PasscodeTrace.RESET_DELAY, System.identityHashCode(this));
+    }
+
+    private void cancelFeedbackEnd() {
+        removeDelayedTask(mFeedbackEndRunnable);
+        if (mIsFeedbackPending) {
+            mIsFeedbackPending = false;
+            PasscodeTrace.endAsyncSection(PasscodeTrace.RESET_DELAY, System.identityHashCode(this));
+        }
+    }
+
+    /**
+     * Check if the typed pin is matched, notify the application and display the verdict. The next
+     * attempt starts after {@link #FEEDBACK_DURATION}.
+     */
+    private void verifyPin() {
+        PasscodeTrace.beginSection(PasscodeTrace.VERIFY);
+        try {
+            boolean isMatched = mPinTyped.isMatched(mCorrectPin);
+            mEntryState.onVerified();
 
-        if (mCorrectPin.length == mPinTyped.size()) {   //Only check for the pin validity if typed pin has the length of correct pin.
+            postFeedbackEnd();
 
             //Check if the pin is matched?
-            if (Utils.isPINMatched(mCorrectPin, mPinTyped)) {
+            if (isMatched) {
                 //Hurray!!! Authentication is successful.
 
                 if (isTactileFeedbackEnable())
                     Utils.giveTactileFeedbackForAuthSuccess(mContext);  //Give tactile feedback.
-                mAuthenticationListener.onAuthenticationSuccessful();   //Notify the parent application
+                if (mAuthenticationListener != null)
+                    mAuthenticationListener.onAuthenticationSuccessful();   //Notify the parent application
 
                 //Notify all the boxes for authentication success.
                 mBoxKeypad.onAuthenticationSuccess();
@@ -204,23 +368,16 @@ public class PinView extends PasscodeView implements InteractiveArrayList.Change
 
                 if (isTactileFeedbackEnable())
                     Utils.giveTactileFeedbackForAuthFail(mContext);     //Give tactile feedback.
-                mAuthenticationListener.onAuthenticationFailed();       //Notify parent application
+                if (mAuthenticationListener != null)
+                    mAuthenticationListener.onAuthenticationFailed();       //Notify parent application
 
                 //Notify all the boxes for authentication success.
                 mBoxFingerprint.onAuthenticationFail();
                 mBoxKeypad.onAuthenticationFail();
                 mBoxIndicator.onAuthenticationFail();
             }
-
-            //Reset the view.
-            new android.os.Handler().postDelayed(new Runnable() {
-                @Override
-                public void run() {
-                    reset();
-                }
-            }, 350);
-        } else if (isTactileFeedbackEnable()) {
-            Utils.giveTactileFeedbackForKeyPress(mContext);
+        } finally {
+            PasscodeTrace.endSection();
         }
     }
 
@@ -229,7 +386,8 @@ public class PinView extends PasscodeView implements InteractiveArrayList.Change
      */
     @Override
     public void reset() {
-        mPinTyped.clear();
+        cancelFeedbackEnd();
+        mEntryState.reset();
         invalidate();
     }
 
@@ -237,10 +395,10 @@ public class PinView extends PasscodeView implements InteractiveArrayList.Change
      * This method will be called when there is any change in {@link #mPinTyped}.
      *
      * @param size this is the new size of {@link #mPinTyped}.
-     * @see InteractiveArrayList
+     * @see PinBuffer
      */
     @Override
-    public void onArrayValueChange(int size) {
+    public void onPinBufferChange(int size) {
         mBoxIndicator.onPinDigitEntered(size);
     }
 
@@ -258,59 +416,110 @@ public class PinView extends PasscodeView implements InteractiveArrayList.Change
         invalidate();
     }
 
-    public void setCorrectPin(@NonNull int[] correctPin) {
-        //Validate the pin
-        if (!Utils.isValidPin(correctPin)) {
-            throw new IllegalArgumentException("Invalid PIN.");
-        }
+    public boolean isPressOnDown() {
+        return mIsPressOnDown;
+    }
 
-        mCorrectPin = correctPin;
-        mBoxIndicator.setPinLength(mCorrectPin.length);
+    /**
+     * Commit the digit and start the ripple and the haptic feedback as soon as the finger touches the
+     * key, instead of waiting for the finger to lift. The press is cancelled and the digit is
+     * removed if the finger leaves the key by more than {@link #getTouchSlop()} before lifting. The
+     * digit which completes the PIN is verified right away, so it cannot be cancelled.
+     *
+     * @param isPressOnDown true to commit the digits on the touch down.
+     */
+    public void setPressOnDown(boolean isPressOnDown) {
+        mIsPressOnDown = isPressOnDown;
+    }
 
-        mPinTyped.clear();
-        invalidate();
+    public float getTouchSlop() {
+        return mTouchSlop;
     }
 
-    public int getTitleColor() {
-        return mBoxIndicator.getTitleColor();
+    /**
+     * Set the distance the finger can leave the key in the press on down mode before the press is
+     * cancelled. Default is the system touch slop.
+     *
+     * @param touchSlop distance in pixels.
+     * @see #setPressOnDown(boolean)
+     */
+    public void setTouchSlop(@Dimension float touchSlop) {
+        mTouchSlop = touchSlop;
     }
 
-    public void setTitleColor(@ColorInt int titleColor) {
-        mBoxIndicator.setTitleColor(titleColor);
-        invalidate();
+    public boolean isNearestKeyEnabled() {
+        return mBoxKeypad.isNearestKeyEnabled();
+    }
+
+    /**
+     * Resolve the touch between the keys to the closest key instead of ignoring it. The touch farther
+     * than {@link #setNearestKeyMaxDistance(float)} from every key center is still ignored. Use
+     * {@link PasscodeMetrics#getMissesPerThousandTaps()} to compare the missed taps.
+     *
+     * @param isEnable true to enable the nearest key mode.
+     */
+    public void setNearestKeyEnabled(boolean isEnable) {
+        mBoxKeypad.setNearestKeyEnabled(isEnable);
+    }
+
+    public float getNearestKeyMaxDistance() {
+        return mBoxKeypad.getNearestKeyMaxDistance();
     }
 
     /**
-     * @return Current title of the view.
+     * Set the maximum distance of the touch from the key center in the nearest key mode. Default is
+     * the half of the key diagonal, so the whole key cell resolves to its key and the empty cell
+     * resolves to nothing.
+     *
+     * @param maxDistance distance in pixels. Zero or negative for the default.
+     * @see #setNearestKeyEnabled(boolean)
      */
-    public String getTitle() {
-        return mBoxIndicator.getTitle();
+    public void setNearestKeyMaxDistance(@Dimension float maxDistance) {
+        mBoxKeypad.setNearestKeyMaxDistance(maxDistance);
     }
 
     /**
-     * Set the title at the top of view.
+     * Set the correct PIN.
      *
-     * @param title title string
+     * @param correctPin digits of the PIN.
+     * @throws IllegalArgumentException if the PIN contains the value other than the digit or the PIN
+     *                                  is in the {@link #getPinDenylist()}.
      */
-    public void setTitle(@NonNull String title) {
-        mBoxIndicator.setTitle(title);
+    public void setCorrectPin(@NonNull int[] correctPin) {
+        //Validate the pin
+        if (!Utils.isValidPin(correctPin)) {
+            throw new IllegalArgumentException("Invalid PIN.");
+        }
+        if (mPinDenylist != null && mPinDenylist.contains(correctPin)) {
+            throw new IllegalArgumentException("PIN is too common.");
+        }
+
+        mCorrectPin = correctPin;
+        mBoxIndicator.setPinLength(mCorrectPin.length);
+
+        cancelFeedbackEnd();
+        mEntryState.setPinLength(mCorrectPin.length);
         invalidate();
     }
 
     @Nullable
-    public Key.Builder getKeyBuilder() {
-        return mBoxKeypad.getKeyBuilder();
+    public PinDenylist getPinDenylist() {
+        return mPinDenylist;
     }
 
-    public void setIndicator(@NonNull Indicator.Builder indicatorBuilder) {
-        mBoxIndicator.setIndicatorBuilder(indicatorBuilder);
-        requestLayout();
-        invalidate();
+    /**
+     * Reject the common PINs in {@link #setCorrectPin(int[])}. Use {@link CommonPins#load(Context)}
+     * for the default list of the library. Default is null, all the PINs are accepted.
+     *
+     * @param pinDenylist PINs to reject or null to accept all.
+     */
+    public void setPinDenylist(@Nullable PinDenylist pinDenylist) {
+        mPinDenylist = pinDenylist;
     }
 
     @Nullable
-    public Indicator.Builder getIndicatorBuilder() {
-        return mBoxIndicator.getIndicatorBuilder();
+    public Key.Builder getKeyBuilder() {
+        return mBoxKeypad.getKeyBuilder();
     }
 
     public void setKey(@NonNull Key.Builder keyBuilder) {
@@ -319,19 +528,24 @@ public class PinView extends PasscodeView implements InteractiveArrayList.Change
         invalidate();
     }
 
-    public void setKeyNames(@NonNull KeyNamesBuilder keyNames) {
-        BoxKeypad.setKeyNames(keyNames);
-
-        mPinTyped.clear(); //Need to clear the typed pin, so that change in localization don't affect the pin matching process.
+    /**
+     * Set the keys of the shared style. The keys start from the copies of the style paints.
+     *
+     * @param keyStyle {@link KeyStyle} of the keys.
+     */
+    public void setKeyStyle(@NonNull KeyStyle keyStyle) {
+        setKey(keyStyle.createBuilder(this));
+    }
 
-        requestLayout();
+    public void setKeyNames(@NonNull KeyNamesBuilder keyNames) {
+        //Typed pin holds the digit values, so it stays valid with the new names. Keys are relabeled
+        //in place without the new layout pass.
+        mBoxKeypad.setKeyNames(keyNames);
         invalidate();
     }
 
     public int[] getCurrentTypedPin() {
-        int[] arr = new int[mPinTyped.size()];
-        for (int i = 0; i < mPinTyped.size(); i++) arr[i] = mPinTyped.get(i);
-        return arr;
+        return mPinTyped.toArray();
     }
 
     public void setCurrentTypedPin(int[] currentTypedPin) {
@@ -341,11 +555,37 @@ public class PinView extends PasscodeView implements InteractiveArrayList.Change
             throw new IllegalArgumentException("Invalid pin length.");
         }
 
-        //Add the pin to pin typed
-        mPinTyped.clear();
-        for (int i : currentTypedPin) mPinTyped.add(i);
+        //Add the pin to pin typed. The PIN is verified only when typed from the keypad.
+        cancelFeedbackEnd();
+        mEntryState.setTyped(currentTypedPin);
 
         requestLayout();
         invalidate();
     }
+
+    @Override
+    void collectHeapStats(@NonNull PasscodeHeapStats stats) {
+        super.collectHeapStats(stats);
+        mBoxKeypad.collectHeapStats(stats);
+        mBoxIndicator.collectHeapStats(stats);
+    }
+
+    @Override
+    void collectThemeColors(@NonNull int[] colors) {
+        super.collectThemeColors(colors);
+        mBoxKeypad.collectThemeColors(colors);
+        mBoxIndicator.collectThemeColors(colors);
+    }
+
+    @Override
+    void applyThemeColors(@NonNull int[] colors) {
+        super.applyThemeColors(colors);
+        mBoxKeypad.applyThemeColors(colors);
+        mBoxIndicator.applyThemeColors(colors);
+    }
+
+    @VisibleForTesting
+    BoxKeypad getBoxKeypad() {
+        return mBoxKeypad;
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview;
+
+import android.os.Handler;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Default {@link PasscodeClock}. Delayed tasks run on the main thread {@link Handler} and the frame
+ * callbacks run on the {@link Choreographer} frame, so animations step with the display vsync.
+ * All the frame callbacks share the single {@link Choreographer.FrameCallback}, so the frames don't
+ * allocate.
+ * <p>
+ * Callbacks posted from the frame are scheduled at least {@link #MIN_FRAME_DELAY} ahead. On the
+ * device this is still the next vsync, but it guarantees the time moves between two frames even
+ * if the frames are not paced by the display.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+final class SystemPasscodeClock implements PasscodeClock {
+    private static final long MIN_FRAME_DELAY = 1;      //Minimum delay between two frames in milliseconds.
+
+    private final Handler mHandler = new Handler();
+    private final ArrayList<Runnable> mFrameCallbacks = new ArrayList<>();     //Callbacks waiting for the next frame.
+    private final ArrayList<Runnable> mRunningCallbacks = new ArrayList<>();   //Callbacks of the current frame.
+    private boolean mIsFramePosted;                                        //True if the frame callback is posted to the choreographer.
+    private boolean mIsInFrame;                                            //True while the callbacks of the frame are running.
+
+    private final Choreographer.FrameCallback mFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mIsFramePosted = false;
+
+            //Callbacks may post themselves again for the next frame.
+            mRunningCallbacks.addAll(mFrameCallbacks);
+            mFrameCallbacks.clear();
+            mIsInFrame = true;
+            try {
+                for (int i = 0; i < mRunningCallbacks.size(); i++) mRunningCallbacks.get(i).run();
+            } finally {
+                mIsInFrame = false;
+                mRunningCallbacks.clear();
+            }
+        }
+    };
+
+    @Override
+    public long uptimeMillis() {
+        return SystemClock.uptimeMillis();
+    }
+
+    @Override
+    public void postDelayed(@NonNull Runnable task, long delayMillis) {
+        mHandler.postDelayed(task, delayMillis);
+    }
+
+    @Override
+    public void removeCallbacks(@NonNull Runnable task) {
+        mHandler.removeCallbacks(task);
+    }
+
+    @Override
+    public void postFrameCallback(@NonNull Runnable callback) {
+        if (mFrameCallbacks.contains(callback)) return;
+        mFrameCallbacks.add(callback);
+
+        if (!mIsFramePosted) {
+            mIsFramePosted = true;
+            if (mIsInFrame) {
+                Choreographer.getInstance().postFrameCallbackDelayed(mFrameCallback, MIN_FRAME_DELAY);
+            } else {
+                Choreographer.getInstance().postFrameCallback(mFrameCallback);
+            }
+        }
+    }
+
+    @Override
+    public void removeFrameCallback(@NonNull Runnable callback) {
+        mFrameCallbacks.remove(callback);
+        if (mFrameCallbacks.isEmpty() && mIsFramePosted) {
+            mIsFramePosted = false;
+            Choreographer.getInstance().removeFrameCallback(mFrameCallback);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorInt;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.util.SparseArray;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Icon drawn in the single color. The alpha of the icon is rendered once into the {@link Bitmap.Config#ALPHA_8}
+ * mask and the mask is drawn using the paint of the color. Changing the color only changes the
+ * color of the paint, so the icon can follow the animated color without creating the new color
+ * filter on every frame.
+ * <p>
+ * Masks are shared by all the icons of the same drawable resource. Each icon only has its own paint.
+ * Cached masks are dropped if the configuration changes.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+final class TintedIcon extends Drawable {
+    private static final SparseArray<Bitmap> sMasks = new SparseArray<>();  //Masks by the drawable resource id.
+    private static Configuration sConfiguration;    //Configuration of the cached masks.
+
+    private final Bitmap mMask;                     //Alpha of the icon. Shared, don't draw into it.
+    private final Paint mPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+
+    TintedIcon(@NonNull Resources resources, @DrawableRes int icon) {
+        mMask = obtainMask(resources, icon);
+    }
+
+    /**
+     * @return Cached mask of the icon. The mask is rendered if it is not cached for the current
+     * configuration.
+     */
+    @NonNull
+    @SuppressWarnings("deprecation")
+    private static synchronized Bitmap obtainMask(@NonNull Resources resources, @DrawableRes int icon) {
+        Configuration configuration = resources.getConfiguration();
+        if (sConfiguration == null || sConfiguration.diff(configuration) != 0) {
+            //Icons created before keep their old masks.
+            sMasks.clear();
+            sConfiguration = new Configuration(configuration);
+        }
+
+        Bitmap mask = sMasks.get(icon);
+        if (mask != null) return mask;
+
+        Drawable drawable = resources.getDrawable(icon);
+        int width = Math.max(1, drawable.getIntrinsicWidth());
+        int height = Math.max(1, drawable.getIntrinsicHeight());
+
+        mask = Bitmap.createBitmap(width, height, Bitmap.Config.ALPHA_8);
+        drawable.setBounds(0, 0, width, height);
+        drawable.draw(new Canvas(mask));
+        sMasks.put(icon, mask);
+        return mask;
+    }
+
+    @VisibleForTesting
+    Bitmap getMask() {
+        return mMask;
+    }
+
+    @ColorInt
+    int getColor() {
+        return mPaint.getColor();
+    }
+
+    void setColor(@ColorInt int color) {
+        mPaint.setColor(color);
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        canvas.drawBitmap(mMask, null, getBounds(), mPaint);
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        mPaint.setAlpha(alpha);
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        mPaint.setColorFilter(colorFilter);
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return mMask.getWidth();
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return mMask.getHeight();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.content.Context;
+import android.support.annotation.ColorInt;
+import android.support.annotation.Dimension;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.AttributeSet;
+
+import com.kevalpatel.passcodeview.indicators.Indicator;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Base of the passcode views with the title and the row of the {@link Indicator}s. Holds the title and
+ * the indicator getters/setters of the {@link PinView} and the {@link PassphraseView}.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+abstract class TitleIndicatorView extends PasscodeView {
+    BoxTitleIndicator mBoxIndicator;                //Title and indicators. Created by the subclass in init().
+
+    TitleIndicatorView(Context context) {
+        super(context);
+    }
+
+    TitleIndicatorView(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    TitleIndicatorView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+    }
+
+    ///////////////////////////////////////////////////////////////
+    //                  GETTERS/SETTERS
+    ///////////////////////////////////////////////////////////////
+
+    public int getTitleColor() {
+        return mBoxIndicator.getTitleColor();
+    }
+
+    public void setTitleColor(@ColorInt int titleColor) {
+        mBoxIndicator.setTitleColor(titleColor);
+        invalidate();
+    }
+
+    @Dimension
+    public float getTitleTextSize() {
+        return mBoxIndicator.getTitleTextSize();
+    }
+
+    public void setTitleTextSize(@Dimension float titleTextSize) {
+        mBoxIndicator.setTitleTextSize(titleTextSize);
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * @return Current title of the view.
+     */
+    public String getTitle() {
+        return mBoxIndicator.getTitle();
+    }
+
+    /**
+     * Set the title at the top of view.
+     *
+     * @param title title string
+     */
+    public void setTitle(@NonNull String title) {
+        mBoxIndicator.setTitle(title);
+        invalidate();
+    }
+
+    @Nullable
+    public Indicator.Builder getIndicatorBuilder() {
+        return mBoxIndicator.getIndicatorBuilder();
+    }
+
+    public void setIndicator(@NonNull Indicator.Builder indicatorBuilder) {
+        mBoxIndicator.setIndicatorBuilder(indicatorBuilder);
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * Set the indicators of the shared style. The indicators start from the copies of the style
+     * paints.
+     *
+     * @param indicatorStyle {@link IndicatorStyle} of the indicators.
+     */
+    public void setIndicatorStyle(@NonNull IndicatorStyle indicatorStyle) {
+        setIndicator(indicatorStyle.createBuilder(this));
+    }
+}
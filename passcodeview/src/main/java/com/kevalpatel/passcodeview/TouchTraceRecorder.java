@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.support.annotation.NonNull;
+import android.view.MotionEvent;
+
+import com.kevalpatel.passcodeview.core.TouchTrace;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Records the {@link MotionEvent} stream and the committed values of the {@link PasscodeView} into
+ * the {@link TouchTrace}. Attach the recorder using {@link PasscodeView#setTouchTraceRecorder(TouchTraceRecorder)}.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ * @see TouchTraceReplayer
+ */
+
+public final class TouchTraceRecorder {
+    private final TouchTrace mTrace;
+    private final boolean mIsRecordingEvents;           //False if only the committed values should be recorded.
+
+    public TouchTraceRecorder() {
+        this(new TouchTrace());
+    }
+
+    /**
+     * @param trace {@link TouchTrace} to record into. Recorded events will be appended to it.
+     */
+    public TouchTraceRecorder(@NonNull TouchTrace trace) {
+        this(trace, true);
+    }
+
+    TouchTraceRecorder(@NonNull TouchTrace trace, boolean isRecordingEvents) {
+        mTrace = trace;
+        mIsRecordingEvents = isRecordingEvents;
+    }
+
+    /**
+     * Record the event. All the historical samples of the event are recorded as the separate events
+     * before the current sample.
+     *
+     * @param event {@link MotionEvent} received by the view.
+     */
+    void record(@NonNull MotionEvent event) {
+        if (!mIsRecordingEvents) return;
+
+        int pointerCount = event.getPointerCount();
+
+        for (int h = 0; h < event.getHistorySize(); h++) {
+            mTrace.addEvent(event.getHistoricalEventTime(h), event.getAction(), TouchTrace.FLAG_HISTORICAL, pointerCount);
+            for (int p = 0; p < pointerCount; p++) {
+                mTrace.addPointer(event.getPointerId(p), event.getHistoricalX(p, h), event.getHistoricalY(p, h));
+            }
+        }
+
+        mTrace.addEvent(event.getEventTime(), event.getAction(), 0, pointerCount);
+        for (int p = 0; p < pointerCount; p++) {
+            mTrace.addPointer(event.getPointerId(p), event.getX(p), event.getY(p));
+        }
+    }
+
+    /**
+     * Record the value committed by the view.
+     *
+     * @param value digit or the pattern cell index.
+     */
+    void recordCommittedValue(int value) {
+        mTrace.addCommittedValue(value);
+    }
+
+    @NonNull
+    public TouchTrace getTrace() {
+        return mTrace;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.support.annotation.NonNull;
+import android.view.InputDevice;
+import android.view.MotionEvent;
+
+import com.kevalpatel.passcodeview.core.TouchTrace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Replays the {@link TouchTrace} against the {@link PasscodeView} at full speed. All the
+ * {@link MotionEvent}s are built before the replay starts, so the reported throughput only contains
+ * the time spent by the view in processing the events.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ * @see TouchTraceRecorder
+ */
+
+public final class TouchTraceReplayer {
+
+    private TouchTraceReplayer() {
+    }
+
+    /**
+     * Replay the trace against the view. The view should be measured and must have the
+     * {@link com.kevalpatel.passcodeview.interfaces.AuthenticationListener} and the correct passcode set.
+     *
+     * @param view  {@link PasscodeView} to replay the events on.
+     * @param trace {@link TouchTrace} to replay.
+     * @return {@link Result} of the replay.
+     */
+    @NonNull
+    public static Result replay(@NonNull PasscodeView view, @NonNull TouchTrace trace) {
+        ArrayList<MotionEvent> events = buildEvents(trace);
+
+        TouchTrace replayedTrace = new TouchTrace();
+        TouchTraceRecorder oldRecorder = view.getTouchTraceRecorder();
+        view.setTouchTraceRecorder(new TouchTraceRecorder(replayedTrace, false));
+
+        long elapsedNanos;
+        try {
+            long startTime = System.nanoTime();
+            for (int i = 0; i < events.size(); i++) view.dispatchTouchEvent(events.get(i));
+            elapsedNanos = System.nanoTime() - startTime;
+        } finally {
+            view.setTouchTraceRecorder(oldRecorder);
+            for (MotionEvent event : events) event.recycle();
+        }
+
+        return new Result(events.size(),
+                trace.getEventCount(),
+                elapsedNanos,
+                trace.getCommittedValues(),
+                replayedTrace.getCommittedValues());
+    }
+
+    /**
+     * Convert the trace into the {@link MotionEvent}s. Historical events are added as the batch
+     * samples of the next non historical event.
+     */
+    @NonNull
+    private static ArrayList<MotionEvent> buildEvents(@NonNull TouchTrace trace) {
+        ArrayList<MotionEvent> events = new ArrayList<>();
+        MotionEvent.PointerProperties[] properties = new MotionEvent.PointerProperties[0];
+        MotionEvent.PointerCoords[] coords = new MotionEvent.PointerCoords[0];
+        long downTime = 0;
+
+        int event = 0;
+        while (event < trace.getEventCount()) {
+            //Find the sample this batch ends with.
+            int last = event;
+            while (last < trace.getEventCount() && trace.isHistorical(last)) last++;
+            if (last == trace.getEventCount()) break;   //Historical samples without the event.
+
+            int pointerCount = trace.getPointerCount(last);
+            if (properties.length < pointerCount) {
+                properties = Arrays.copyOf(properties, pointerCount);
+                coords = Arrays.copyOf(coords, pointerCount);
+                for (int p = 0; p < pointerCount; p++) {
+                    if (properties[p] == null) properties[p] = new MotionEvent.PointerProperties();
+                    if (coords[p] == null) coords[p] = new MotionEvent.PointerCoords();
+                }
+            }
+
+            int action = trace.getAction(last);
+            if ((action & MotionEvent.ACTION_MASK) == MotionEvent.ACTION_DOWN) downTime = trace.getEventTime(last);
+
+            for (int p = 0; p < pointerCount; p++) {
+                properties[p].clear();
+                properties[p].id = trace.getPointerId(trace.getFirstSample(last) + p);
+                properties[p].toolType = MotionEvent.TOOL_TYPE_FINGER;
+            }
+
+            //Skip the historical samples with different pointers.
+            while (event < last && trace.getPointerCount(event) != pointerCount) event++;
+
+            fillCoordinates(trace, event, pointerCount, coords);
+            MotionEvent motionEvent = MotionEvent.obtain(downTime,
+                    trace.getEventTime(event),
+                    action,
+                    pointerCount,
+                    properties,
+                    coords,
+                    0, 0, 1f, 1f, 0, 0,
+                    InputDevice.SOURCE_TOUCHSCREEN, 0);
+            for (int batch = event + 1; batch <= last; batch++) {
+                if (trace.getPointerCount(batch) != pointerCount) continue;
+                fillCoordinates(trace, batch, pointerCount, coords);
+                motionEvent.addBatch(trace.getEventTime(batch), coords, 0);
+            }
+            events.add(motionEvent);
+
+            event = last + 1;
+        }
+        return events;
+    }
+
+    private static void fillCoordinates(@NonNull TouchTrace trace,
+                                        int event,
+                                        int pointerCount,
+                                        @NonNull MotionEvent.PointerCoords[] coords) {
+        int firstSample = trace.getFirstSample(event);
+        for (int p = 0; p < pointerCount; p++) {
+            coords[p].clear();
+            coords[p].x = trace.getX(firstSample + p);
+            coords[p].y = trace.getY(firstSample + p);
+            coords[p].pressure = 1f;
+            coords[p].size = 1f;
+        }
+    }
+
+    /**
+     * Result of the {@link #replay(PasscodeView, TouchTrace)}.
+     */
+    public static final class Result {
+        private final int mDispatchedEvents;
+        private final int mTraceEvents;
+        private final long mElapsedNanos;
+        private final int[] mExpectedValues;
+        private final int[] mReplayedValues;
+
+        private Result(int dispatchedEvents,
+                       int traceEvents,
+                       long elapsedNanos,
+                       @NonNull int[] expectedValues,
+                       @NonNull int[] replayedValues) {
+            mDispatchedEvents = dispatchedEvents;
+            mTraceEvents = traceEvents;
+            mElapsedNanos = elapsedNanos;
+            mExpectedValues = expectedValues;
+            mReplayedValues = replayedValues;
+        }
+
+        /**
+         * @return Number of the {@link MotionEvent}s dispatched to the view.
+         */
+        public int getDispatchedEvents() {
+            return mDispatchedEvents;
+        }
+
+        /**
+         * @return Number of the events in the trace including the historical samples.
+         */
+        public int getTraceEvents() {
+            return mTraceEvents;
+        }
+
+        public long getElapsedNanos() {
+            return mElapsedNanos;
+        }
+
+        /**
+         * @return {@link MotionEvent}s processed by the view per second.
+         */
+        public double getEventsPerSecond() {
+            return mElapsedNanos == 0 ? 0 : mDispatchedEvents * 1_000_000_000D / mElapsedNanos;
+        }
+
+        /**
+         * @return Values committed while the trace was recorded.
+         */
+        @NonNull
+        public int[] getExpectedValues() {
+            return mExpectedValues;
+        }
+
+        /**
+         * @return Values committed by the view while replaying the trace.
+         */
+        @NonNull
+        public int[] getReplayedValues() {
+            return mReplayedValues;
+        }
+
+        /**
+         * @return true if the replay produced the same digits or pattern cells as the original capture.
+         */
+        public boolean isMatched() {
+            return Arrays.equals(mExpectedValues, mReplayedValues);
+        }
+    }
+}
@@ -29,7 +29,7 @@ import android.support.annotation.NonNull;
 import android.support.annotation.RequiresApi;
 import android.support.annotation.RequiresPermission;
 
-import java.util.ArrayList;
+import com.kevalpatel.passcodeview.core.PasscodeUtils;
 
 /**
  * Created by Keval on 07-Oct-16.
@@ -85,23 +85,10 @@ public final class Utils {
      *
      * @param pinToCheck pin to validate
      * @return true if the entered pin is valid.
+     * @see PasscodeUtils#isValidPin(int[])
      */
     static boolean isValidPin(int[] pinToCheck) {
-        for (int i : pinToCheck) if (i > 9 && i < 0) return false;
-        return true;
-    }
-
-    /**
-     * Compare two arrays of the PIN and check if both pin matches?
-     *
-     * @param correctPin correct pin.
-     * @param pinToCheck pin entered by the user.
-     * @return true if the both pin matches.
-     */
-    static boolean isPINMatched(int[] correctPin, ArrayList<Integer> pinToCheck) {
-        for (int i = 0; i < correctPin.length; i++)
-            if (correctPin[i] != pinToCheck.get(i)) return false;
-        return correctPin.length == pinToCheck.size();
+        return PasscodeUtils.isValidPin(pinToCheck);
     }
 
     /**
@@ -113,10 +100,44 @@ public final class Utils {
      */
     @ColorInt
     public static int makeColorDark(@ColorInt int color) {
-        float[] hsv = new float[3];
-        Color.colorToHSV(color, hsv);
-        hsv[2] = 1f - 0.8f * hsv[2]; // value component
-        return Color.HSVToColor(hsv);
+        int red = Color.red(color);
+        int green = Color.green(color);
+        int blue = Color.blue(color);
+
+        //Value of the HSV is the largest channel. Scaling all the channels changes only the value and
+        //keeps the hue and the saturation, so this doesn't need the HSV array.
+        int max = Math.max(red, Math.max(green, blue));
+        float darkValue = 1f - 0.8f * (max / 255f); // value component
+        if (max == 0) {
+            int gray = Math.round(darkValue * 255);
+            return Color.rgb(gray, gray, gray);
+        }
+
+        float scale = darkValue * 255 / max;
+        return Color.rgb(Math.round(red * scale), Math.round(green * scale), Math.round(blue * scale));
+    }
+
+    /**
+     * Blend two colors channel by channel including the alpha. This doesn't allocate, so it can run on
+     * every frame of the animation.
+     *
+     * @param from     Color at the fraction 0.
+     * @param to       Color at the fraction 1.
+     * @param fraction Fraction between 0 and 1.
+     * @return Blended color.
+     */
+    @ColorInt
+    static int blendColors(@ColorInt int from, @ColorInt int to, float fraction) {
+        if (fraction <= 0) return from;
+        if (fraction >= 1) return to;
+        return Color.argb(blendChannel(Color.alpha(from), Color.alpha(to), fraction),
+                blendChannel(Color.red(from), Color.red(to), fraction),
+                blendChannel(Color.green(from), Color.green(to), fraction),
+                blendChannel(Color.blue(from), Color.blue(to), fraction));
+    }
+
+    private static int blendChannel(int from, int to, float fraction) {
+        return Math.round(from + (to - from) * fraction);
     }
 
     /**
@@ -20,6 +20,7 @@ import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Path;
 import android.graphics.Rect;
 import android.support.annotation.ColorInt;
 import android.support.annotation.ColorRes;
@@ -27,8 +28,8 @@ import android.support.annotation.DimenRes;
 import android.support.annotation.Dimension;
 import android.support.annotation.NonNull;
 
-import com.kevalpatel.passcodeview.PinView;
-import com.kevalpatel.passcodeview.R;
+import com.kevalpatel.passcodeview.IndicatorStyle;
+import com.kevalpatel.passcodeview.PasscodeView;
 
 /**
  * Created by Keval on 06-Apr-17.
@@ -44,10 +45,10 @@ public final class CircleIndicator extends Indicator {
     private final Builder mBuilder;
     private boolean isDisplayError;
 
-    private CircleIndicator(@NonNull PinView pinView,
+    private CircleIndicator(@NonNull PasscodeView view,
                             @NonNull Rect bound,
                             @NonNull CircleIndicator.Builder builder) {
-        super(pinView, bound, builder);
+        super(view, bound, builder);
 
         mBounds = bound;
         mBuilder = builder;
@@ -56,7 +57,7 @@ public final class CircleIndicator extends Indicator {
     /**
      * Draw the indicator.
      *
-     * @param canvas   Canvas of {@link PinView}.
+     * @param canvas   Canvas of {@link PasscodeView}.
      * @param isFilled True if to display filled indicator.
      */
     @Override
@@ -70,7 +71,7 @@ public final class CircleIndicator extends Indicator {
 
     @Override
     public void onAuthFailed() {
-        new android.os.Handler().postDelayed(new Runnable() {
+        getRootView().postDelayedTask(new Runnable() {
             @Override
             public void run() {
                 isDisplayError = false;
@@ -98,10 +99,18 @@ public final class CircleIndicator extends Indicator {
         private Paint mEmptyIndicatorPaint;             //Empty indicator color
         private Paint mSolidIndicatorPaint;             //Solid indicator color
         private Paint mErrorIndicatorPaint;             //Error indicator color
+        private IndicatorStyle mStyle;                  //Style to copy the paints from. (Optional)
 
+        private final Path mEmptyIndicatorPath = new Path();    //Rings of the empty indicators. Rebuilt only if the row changes.
+        private float mPathStartX;                      //Center X of the first ring in the path.
+        private float mPathEndX;                        //Center X of the last ring in the path.
+        private float mPathCenterY;                     //Center Y of the rings in the path.
+        private float mPathRadius;                      //Radius of the rings in the path.
+        private int mPathRingCount;                     //Number of the rings in the path.
 
-        public Builder(@NonNull PinView pinView) {
-            super(pinView);
+
+        public Builder(@NonNull PasscodeView view) {
+            super(view);
         }
 
         @Dimension
@@ -112,6 +121,15 @@ public final class CircleIndicator extends Indicator {
 
         @Override
         public CircleIndicator.Builder build() {
+            //Copy the paints of the style if nothing is changed after the style is set.
+            if (isStyleUnchanged()) {
+                mEmptyIndicatorPaint = mStyle.getRingPaint();
+                mSolidIndicatorPaint = mStyle.getSolidPaint();
+                mErrorIndicatorPaint = mStyle.getErrorPaint();
+                mPathRingCount = 0;
+                mEmptyIndicatorPath.rewind();
+                return this;
+            }
 
             //Set empty dot paint
             mEmptyIndicatorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
@@ -122,22 +140,119 @@ public final class CircleIndicator extends Indicator {
             //Set filled dot paint
             mSolidIndicatorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
             mSolidIndicatorPaint.setColor(mIndicatorFilledColor);
+            mSolidIndicatorPaint.setStrokeCap(Paint.Cap.ROUND);
 
             //Set filled dot paint
             mErrorIndicatorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
             mErrorIndicatorPaint.setColor(Color.RED);
+            mErrorIndicatorPaint.setStrokeCap(Paint.Cap.ROUND);
+
+            mPathRingCount = 0;
+            mEmptyIndicatorPath.rewind();
+            return this;
+        }
+
+        /**
+         * Draw the filled indicators as the round points and the empty indicators as one path of the
+         * rings.
+         */
+        @Override
+        public void drawIndicators(@NonNull Canvas canvas,
+                                   @NonNull float[] centers,
+                                   int count,
+                                   int filledCount,
+                                   boolean isError,
+                                   float scale) {
+            if (count <= 0) return;
+            float radius = mIndicatorRadius * scale;
+
+            if (isError) {
+                drawPoints(canvas, centers, 0, count, 2 * radius, mErrorIndicatorPaint);
+                return;
+            }
+            drawPoints(canvas, centers, 0, filledCount, 2 * radius, mSolidIndicatorPaint);
+
+            int emptyCount = count - filledCount;
+            if (emptyCount <= 0) return;
+            updateEmptyIndicatorPath(centers, filledCount, emptyCount, radius);
+            canvas.drawPath(mEmptyIndicatorPath, mEmptyIndicatorPaint);
+        }
+
+        private void updateEmptyIndicatorPath(@NonNull float[] centers, int first, int count, float radius) {
+            float startX = centers[2 * first];
+            float endX = centers[2 * (first + count - 1)];
+            float centerY = centers[2 * first + 1];
+            if (count == mPathRingCount && radius == mPathRadius && startX == mPathStartX
+                    && endX == mPathEndX && centerY == mPathCenterY) return;
+
+            mEmptyIndicatorPath.rewind();
+            for (int i = first; i < first + count; i++) {
+                mEmptyIndicatorPath.addCircle(centers[2 * i], centers[2 * i + 1], radius, Path.Direction.CW);
+            }
+            mPathRingCount = count;
+            mPathRadius = radius;
+            mPathStartX = startX;
+            mPathEndX = endX;
+            mPathCenterY = centerY;
+        }
+
+        private static void drawPoints(@NonNull Canvas canvas,
+                                       @NonNull float[] centers,
+                                       int first,
+                                       int count,
+                                       float diameter,
+                                       @NonNull Paint paint) {
+            if (count <= 0) return;
+            if (paint.getStrokeWidth() != diameter) paint.setStrokeWidth(diameter);
+            canvas.drawPoints(centers, 2 * first, 2 * count, paint);
+        }
+
+        /**
+         * Copy the colors and the dimensions of the style. The shape of the style is not used. If
+         * these values are not changed before {@link #build()}, the builder copies the paints of the
+         * style instead of creating them.
+         *
+         * @param style {@link IndicatorStyle} to apply.
+         */
+        @NonNull
+        public CircleIndicator.Builder setStyle(@NonNull IndicatorStyle style) {
+            mStyle = style;
+            mIndicatorRadius = style.getRadius();
+            mIndicatorStrokeWidth = style.getStrokeWidth();
+            mIndicatorFilledColor = style.getSolidColor();
+            mIndicatorStrokeColor = style.getStrokeColor();
             return this;
         }
 
         @Override
         protected void setDefaults(@NonNull Context context) {
-            mIndicatorRadius = getContext().getResources().getDimension(R.dimen.lib_indicator_radius);
-            mIndicatorStrokeWidth = getContext().getResources().getDimension(R.dimen.lib_indicator_stroke_width);
-            mIndicatorFilledColor = getContext().getResources().getColor(R.color.lib_indicator_filled_color);
-            mIndicatorStrokeColor = getContext().getResources().getColor(R.color.lib_indicator_stroke_color);
+            setStyle(IndicatorStyle.getDefault(context));
         }
 
+        /**
+         * @return True if all the values of the paints are same as the style.
+         */
+        private boolean isStyleUnchanged() {
+            return mStyle != null
+                    && mStyle.getSolidColor() == mIndicatorFilledColor
+                    && mStyle.getStrokeColor() == mIndicatorStrokeColor
+                    && mStyle.getStrokeWidth() == mIndicatorStrokeWidth;
+        }
+
+        /**
+         * Change the colors of the paints in place.
+         */
         @Override
+        public void setThemeColors(@ColorInt int filledColor, @ColorInt int strokeColor) {
+            mIndicatorFilledColor = filledColor;
+            mIndicatorStrokeColor = strokeColor;
+            if (mSolidIndicatorPaint == null) return;   //Not built yet.
+
+            mSolidIndicatorPaint.setColor(filledColor);
+            mEmptyIndicatorPaint.setColor(strokeColor);
+        }
+
+                @Override
         public Indicator getIndicator(@NonNull Rect bound) {
             return new CircleIndicator(getRootView(), bound, this);
         }
@@ -27,8 +27,8 @@ import android.support.annotation.DimenRes;
 import android.support.annotation.Dimension;
 import android.support.annotation.NonNull;
 
-import com.kevalpatel.passcodeview.PinView;
-import com.kevalpatel.passcodeview.R;
+import com.kevalpatel.passcodeview.IndicatorStyle;
+import com.kevalpatel.passcodeview.PasscodeView;
 
 /**
  * Created by Keval on 06-Apr-17.
@@ -42,17 +42,17 @@ public final class DotIndicator extends Indicator {
     private final Builder mBuilder;
     private boolean isDisplayError;
 
-    private DotIndicator(@NonNull PinView pinView,
+    private DotIndicator(@NonNull PasscodeView view,
                          @NonNull Rect bound,
                          @NonNull DotIndicator.Builder builder) {
-        super(pinView, bound, builder);
+        super(view, bound, builder);
         mBuilder = builder;
     }
 
     /**
      * Draw the indicator.
      *
-     * @param canvas     Canvas of {@link PinView}.
+     * @param canvas     Canvas of {@link PasscodeView}.
      * @param isSelected True if to display selectedL indicator.
      */
     @Override
@@ -66,7 +66,7 @@ public final class DotIndicator extends Indicator {
 
     @Override
     public void onAuthFailed() {
-        new android.os.Handler().postDelayed(new Runnable() {
+        getRootView().postDelayedTask(new Runnable() {
             @Override
             public void run() {
                 isDisplayError = false;
@@ -92,10 +92,11 @@ public final class DotIndicator extends Indicator {
         private Paint mEmptyIndicatorPaint;             //Empty indicator color
         private Paint mSolidIndicatorPaint;             //Solid indicator color
         private Paint mErrorIndicatorPaint;             //Error indicator color
+        private IndicatorStyle mStyle;                  //Style to copy the paints from. (Optional)
 
 
-        public Builder(@NonNull PinView pinView) {
-            super(pinView);
+        public Builder(@NonNull PasscodeView view) {
+            super(view);
         }
 
         @Dimension
@@ -106,29 +107,107 @@ public final class DotIndicator extends Indicator {
 
         @Override
         public DotIndicator.Builder build() {
+            //Copy the paints of the style if nothing is changed after the style is set.
+            if (isStyleUnchanged()) {
+                mEmptyIndicatorPaint = mStyle.getDotPaint();
+                mSolidIndicatorPaint = mStyle.getSolidPaint();
+                mErrorIndicatorPaint = mStyle.getErrorPaint();
+                return this;
+            }
 
             //Set empty dot paint
             mEmptyIndicatorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
             mEmptyIndicatorPaint.setColor(mIndicatorStrokeColor);
+            mEmptyIndicatorPaint.setStrokeCap(Paint.Cap.ROUND);
 
             //Set filled dot paint
             mSolidIndicatorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
             mSolidIndicatorPaint.setColor(mIndicatorFilledColor);
+            mSolidIndicatorPaint.setStrokeCap(Paint.Cap.ROUND);
 
             //Set filled dot paint
             mErrorIndicatorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
             mErrorIndicatorPaint.setColor(Color.RED);
+            mErrorIndicatorPaint.setStrokeCap(Paint.Cap.ROUND);
+            return this;
+        }
+
+        /**
+         * Draw the dots as the round points. Point diameter is the stroke width of the paint.
+         */
+        @Override
+        public void drawIndicators(@NonNull Canvas canvas,
+                                   @NonNull float[] centers,
+                                   int count,
+                                   int filledCount,
+                                   boolean isError,
+                                   float scale) {
+            if (count <= 0) return;
+            float diameter = 2 * mIndicatorRadius * scale;
+
+            if (isError) {
+                drawPoints(canvas, centers, 0, count, diameter, mErrorIndicatorPaint);
+                return;
+            }
+            drawPoints(canvas, centers, 0, filledCount, diameter, mSolidIndicatorPaint);
+            drawPoints(canvas, centers, filledCount, count - filledCount, diameter, mEmptyIndicatorPaint);
+        }
+
+        private static void drawPoints(@NonNull Canvas canvas,
+                                       @NonNull float[] centers,
+                                       int first,
+                                       int count,
+                                       float diameter,
+                                       @NonNull Paint paint) {
+            if (count <= 0) return;
+            if (paint.getStrokeWidth() != diameter) paint.setStrokeWidth(diameter);
+            canvas.drawPoints(centers, 2 * first, 2 * count, paint);
+        }
+
+        /**
+         * Copy the colors and the dimensions of the style. The shape of the style is not used. If
+         * these values are not changed before {@link #build()}, the builder copies the paints of the
+         * style instead of creating them.
+         *
+         * @param style {@link IndicatorStyle} to apply.
+         */
+        @NonNull
+        public DotIndicator.Builder setStyle(@NonNull IndicatorStyle style) {
+            mStyle = style;
+            mIndicatorRadius = style.getRadius();
+            mIndicatorFilledColor = style.getSolidColor();
+            mIndicatorStrokeColor = style.getStrokeColor();
             return this;
         }
 
         @Override
         protected void setDefaults(@NonNull Context context) {
-            mIndicatorRadius = getContext().getResources().getDimension(R.dimen.lib_indicator_radius);
-            mIndicatorFilledColor = getContext().getResources().getColor(R.color.lib_indicator_filled_color);
-            mIndicatorStrokeColor = getContext().getResources().getColor(R.color.lib_indicator_stroke_color);
+            setStyle(IndicatorStyle.getDefault(context));
+        }
+
+        /**
+         * @return True if all the values of the paints are same as the style.
+         */
+        private boolean isStyleUnchanged() {
+            return mStyle != null
+                    && mStyle.getSolidColor() == mIndicatorFilledColor
+                    && mStyle.getStrokeColor() == mIndicatorStrokeColor;
         }
 
+        /**
+         * Change the colors of the paints in place.
+         */
         @Override
+        public void setThemeColors(@ColorInt int filledColor, @ColorInt int strokeColor) {
+            mIndicatorFilledColor = filledColor;
+            mIndicatorStrokeColor = strokeColor;
+            if (mSolidIndicatorPaint == null) return;   //Not built yet.
+
+            mSolidIndicatorPaint.setColor(filledColor);
+            mEmptyIndicatorPaint.setColor(strokeColor);
+        }
+
+                @Override
         public Indicator getIndicator(@NonNull Rect bound) {
             return new DotIndicator(getRootView(), bound, this);
         }
@@ -18,11 +18,16 @@ package com.kevalpatel.passcodeview.indicators;
 
 import android.content.Context;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Rect;
+import android.support.annotation.ColorInt;
 import android.support.annotation.Dimension;
 import android.support.annotation.NonNull;
 
-import com.kevalpatel.passcodeview.PinView;
+import com.kevalpatel.passcodeview.PasscodeView;
+import com.kevalpatel.passcodeview.R;
+
+import java.util.ArrayList;
 
 /**
  * Created by Keval Patel on 07/04/17.
@@ -31,25 +36,25 @@ import com.kevalpatel.passcodeview.PinView;
  */
 public abstract class Indicator {
 
-    private PinView mPinView;
+    private PasscodeView mView;
     private Rect mBound;
 
     private Indicator() {
     }
 
-    Indicator(@NonNull PinView pinView,
-              @NonNull Rect bound,
-              @NonNull Indicator.Builder builder) {
-        this.mPinView = pinView;
+    protected Indicator(@NonNull PasscodeView view,
+                        @NonNull Rect bound,
+                        @NonNull Indicator.Builder builder) {
+        this.mView = view;
         mBound = bound;
     }
 
-    protected final PinView getRootView() {
-        return mPinView;
+    protected final PasscodeView getRootView() {
+        return mView;
     }
 
     protected final Context getContext() {
-        return mPinView.getContext();
+        return mView.getContext();
     }
 
     public abstract void draw(@NonNull Canvas canvas, boolean isFilled);
@@ -65,24 +70,27 @@ public abstract class Indicator {
 
     public static abstract class Builder {
 
-        private PinView mPinView;
+        private PasscodeView mView;
+        private float mIndicatorPadding;                //Padding around each indicator in the row.
+        private final ArrayList<Indicator> mIndicators = new ArrayList<>();    //Indicators drawn by the default drawIndicators().
 
         private Builder() {
         }
 
-        public Builder(@NonNull PinView pinView) {
-            mPinView = pinView;
-            setDefaults(pinView.getContext());
+        public Builder(@NonNull PasscodeView view) {
+            mView = view;
+            mIndicatorPadding = view.getContext().getResources().getDimension(R.dimen.lib_indicator_padding);
+            setDefaults(view.getContext());
         }
 
         @NonNull
-        protected final PinView getRootView() {
-            return mPinView;
+        protected final PasscodeView getRootView() {
+            return mView;
         }
 
         @NonNull
         protected final Context getContext() {
-            return mPinView.getContext();
+            return mView.getContext();
         }
 
         @Dimension
@@ -92,6 +100,100 @@ public abstract class Indicator {
 
         protected abstract void setDefaults(@NonNull Context context);
 
+        /**
+         * Create the indicator to display in the bound. This is used by the default
+         * {@link #drawIndicators(Canvas, float[], int, int, boolean, float)}. Indicators are created
+         * again only if their bound changes.
+         *
+         * @param bound Bound of the indicator including the padding.
+         */
         public abstract Indicator getIndicator(@NonNull Rect bound);
+
+        /**
+         * Draw the row of the indicators. Filled indicators are at the start of the row. Built in
+         * indicators issue one draw call per fill state and don't allocate.
+         * <p>
+         * Default implementation draws each indicator from {@link #getIndicator(Rect)} and the error
+         * is displayed by the indicators in {@link Indicator#onAuthFailed()}.
+         *
+         * @param canvas      Canvas of {@link PasscodeView}.
+         * @param centers     Interleaved x,y centers of the indicators.
+         * @param count       Number of the indicators to draw.
+         * @param filledCount Number of the filled indicators.
+         * @param isError     True if to display all the indicators in the error state.
+         * @param scale       Scale of the indicators if the row is shrunk to fit the long PIN.
+         */
+        public void drawIndicators(@NonNull Canvas canvas,
+                                   @NonNull float[] centers,
+                                   int count,
+                                   int filledCount,
+                                   boolean isError,
+                                   float scale) {
+            float halfSlot = (getIndicatorWidth() + 2 * mIndicatorPadding) * scale / 2;
+            for (int i = 0; i < count; i++) {
+                int left = (int) (centers[2 * i] - halfSlot);
+                int top = (int) (centers[2 * i + 1] - halfSlot);
+                int right = (int) (centers[2 * i] + halfSlot);
+                int bottom = (int) (centers[2 * i + 1] + halfSlot);
+
+                Indicator indicator = i < mIndicators.size() ? mIndicators.get(i) : null;
+                if (indicator == null || indicator.getBound().left != left || indicator.getBound().top != top
+                        || indicator.getBound().right != right || indicator.getBound().bottom != bottom) {
+                    indicator = getIndicator(new Rect(left, top, right, bottom));
+                    if (i < mIndicators.size()) {
+                        mIndicators.set(i, indicator);
+                    } else {
+                        mIndicators.add(indicator);
+                    }
+                }
+                indicator.draw(canvas, i < filledCount);
+            }
+        }
+
+        /**
+         * Authentication failed. Default implementation notifies the indicators drawn by the default
+         * {@link #drawIndicators(Canvas, float[], int, int, boolean, float)}.
+         */
+        public void onAuthFailed() {
+            for (int i = 0; i < mIndicators.size(); i++) mIndicators.get(i).onAuthFailed();
+        }
+
+        /**
+         * Authentication succeeded. Default implementation notifies the indicators drawn by the
+         * default {@link #drawIndicators(Canvas, float[], int, int, boolean, float)}.
+         */
+        public void onAuthSuccess() {
+            for (int i = 0; i < mIndicators.size(); i++) mIndicators.get(i).onAuthSuccess();
+        }
+
+        /**
+         * @return Color of the filled indicators. Theme transitions start from this color. Custom
+         * indicators which override {@link #setThemeColors(int, int)} should override this too.
+         */
+        @ColorInt
+        public int getIndicatorFilledColor() {
+            return Color.TRANSPARENT;
+        }
+
+        /**
+         * @return Color of the empty indicators. Theme transitions start from this color. Custom
+         * indicators which override {@link #setThemeColors(int, int)} should override this too.
+         */
+        @ColorInt
+        public int getIndicatorStrokeColor() {
+            return Color.TRANSPARENT;
+        }
+
+        /**
+         * Change the colors of the built indicators. This is called on every frame of the theme
+         * transition, so it must only change the colors of the existing paints and must not allocate.
+         * Custom indicators keep their colors by default.
+         *
+         * @param filledColor Color of the filled indicators.
+         * @param strokeColor Color of the empty indicators.
+         */
+        public void setThemeColors(@ColorInt int filledColor, @ColorInt int strokeColor) {
+            //Do nothing
+        }
     }
 }
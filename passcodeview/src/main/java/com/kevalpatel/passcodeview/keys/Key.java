@@ -21,8 +21,10 @@ import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Rect;
 import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorInt;
 import android.support.annotation.NonNull;
 
+import com.kevalpatel.passcodeview.PasscodeView;
 import com.kevalpatel.passcodeview.PinView;
 
 /**
@@ -33,18 +35,20 @@ import com.kevalpatel.passcodeview.PinView;
 @SuppressWarnings("ALL")
 public abstract class Key {
     @NonNull
-    private PinView mView;
+    private PasscodeView mView;
     private String mDigit;                        //RoundKey title.
+    private Rect mBound;                          //Bound of the key.
 
     private Key() {
     }
 
-    protected Key(@NonNull PinView view,
+    protected Key(@NonNull PasscodeView view,
                   @NonNull String digit,
                   @NonNull Rect bounds,
                   @NonNull Key.Builder builder) {
         mView = view;
         mDigit = digit;
+        mBound = bounds;
     }
 
     public abstract void drawText(@NonNull Canvas canvas);
@@ -57,8 +61,48 @@ public abstract class Key {
         return mDigit;
     }
 
+    /**
+     * Change the title of the key. This is used to relabel the keys when the key names change. Text is
+     * drawn in the center of the bound, so the key doesn't need to be measured again.
+     *
+     * @param digit New title of the key.
+     */
+    public final void setDigit(@NonNull String digit) {
+        mDigit = digit;
+    }
+
+    @NonNull
+    public final Rect getBound() {
+        return mBound;
+    }
+
+    /**
+     * Move the key to the new bound. The keypad keeps its keys when it is measured again, so the
+     * subclasses which derive any value from the bound must update it in {@link #onBoundChanged()}.
+     */
+    public final void setBound(int left, int top, int right, int bottom) {
+        mBound.set(left, top, right, bottom);
+        onBoundChanged();
+    }
+
+    /**
+     * Called after {@link #setBound(int, int, int, int)}. Default implementation does nothing.
+     */
+    protected void onBoundChanged() {
+    }
+
+    /**
+     * @deprecated Keys are also used by the {@link com.kevalpatel.passcodeview.PassphraseView}. Use
+     * {@link #getPasscodeView()}.
+     */
+    @Deprecated
     @NonNull
     public final PinView getPinView() {
+        return (PinView) mView;
+    }
+
+    @NonNull
+    public final PasscodeView getPasscodeView() {
         return mView;
     }
 
@@ -84,24 +128,33 @@ public abstract class Key {
 
     public static abstract class Builder {
 
-        private PinView mPinView;
+        private PasscodeView mView;
 
         private Builder() {
         }
 
-        protected Builder(PinView pinView) {
-            mPinView = pinView;
-            setDefaults(pinView.getContext());
+        protected Builder(PasscodeView view) {
+            mView = view;
+            setDefaults(view.getContext());
         }
 
+        /**
+         * @deprecated Use {@link #getPasscodeView()}.
+         */
+        @Deprecated
         @NonNull
         protected final PinView getPinView() {
-            return mPinView;
+            return (PinView) mView;
+        }
+
+        @NonNull
+        protected final PasscodeView getPasscodeView() {
+            return mView;
         }
 
         @NonNull
         protected final Context getContext() {
-            return mPinView.getContext();
+            return mView.getContext();
         }
 
         public abstract Builder build();
@@ -116,5 +169,34 @@ public abstract class Key {
 
         @NonNull
         public abstract Key getKey(@NonNull String digit, @NonNull Rect bound);
+
+        /**
+         * @return Color of the key text. Theme transitions start from this color.
+         */
+        @ColorInt
+        public int getKeyTextColor() {
+            return getKeyTextPaint().getColor();
+        }
+
+        /**
+         * @return Color of the key background stroke. Theme transitions start from this color.
+         */
+        @ColorInt
+        public int getKeyStrokeColor() {
+            return getKeyPaint().getColor();
+        }
+
+        /**
+         * Change the colors of the built keys. This is called on every frame of the theme transition,
+         * so it must only change the colors of the existing paints and must not allocate. Default
+         * implementation changes the colors of {@link #getKeyTextPaint()} and {@link #getKeyPaint()}.
+         *
+         * @param textColor   Color of the key text.
+         * @param strokeColor Color of the key background stroke.
+         */
+        public void setThemeColors(@ColorInt int textColor, @ColorInt int strokeColor) {
+            getKeyTextPaint().setColor(textColor);
+            getKeyPaint().setColor(strokeColor);
+        }
     }
 }
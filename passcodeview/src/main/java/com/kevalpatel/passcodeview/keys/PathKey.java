@@ -0,0 +1,546 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview.keys;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorInt;
+import android.support.annotation.ColorRes;
+import android.support.annotation.DimenRes;
+import android.support.annotation.Dimension;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextPaint;
+import android.util.SparseArray;
+
+import com.kevalpatel.passcodeview.KeyStyle;
+import com.kevalpatel.passcodeview.PasscodeView;
+import com.kevalpatel.passcodeview.R;
+import com.kevalpatel.passcodeview.Utils;
+import com.kevalpatel.passcodeview.core.KeyOutline;
+
+/**
+ * Created by Keval Patel on 19/10/26.
+ * Key with the shape of the {@link Path}. Built in shapes are the hexagon and the rounded rectangle.
+ * Any other polygon outline can be set using {@link Builder#setOutline(float[])}.
+ * <p>
+ * The builder creates one path per key size. Keys of the same size share the path and draw it after
+ * translating the canvas to the key, so the keys don't copy the path. All the shapes are hit tested
+ * analytically. The custom outline uses the vertices fitted once with the path.
+ *
+ * @author 'https://github.com/kevalpatel2106'
+ */
+
+public final class PathKey extends Key {
+    public static final int SHAPE_HEXAGON = 0;
+    public static final int SHAPE_ROUNDED_RECT = 1;
+    public static final int SHAPE_OUTLINE = 2;
+
+    private final Rect mBounds;                         //Key bound.
+    private final Builder mBuilder;
+    private Template mTemplate;                         //Path of the key size. Shared with the other keys of same size.
+    private boolean isClickedAnimationRunning = false;
+
+    /**
+     * Public constructor.
+     *
+     * @param pinView {@link PasscodeView}
+     * @param digit   title of the key. (-1 for the backspace key)
+     * @param bounds  {@link Rect} bound.
+     */
+    private PathKey(@NonNull PasscodeView pinView,
+                    @NonNull String digit,
+                    @NonNull Rect bounds,
+                    @NonNull PathKey.Builder builder) {
+        super(pinView, digit, bounds, builder);
+
+        mBounds = bounds;
+        mBuilder = builder;
+        mTemplate = builder.getTemplate(bounds.width(), bounds.height());
+    }
+
+    @Override
+    protected void onBoundChanged() {
+        mTemplate = mBuilder.getTemplate(mBounds.width(), mBounds.height());
+    }
+
+    /**
+     * Start Playing ripple animation and notify listener accordingly
+     * <p>
+     * notified
+     */
+    @Override
+    public void playClickAnimation() {
+        isClickedAnimationRunning = true;
+        getPasscodeView().invalidate();
+
+        getPasscodeView().postDelayedTask(new Runnable() {
+            @Override
+            public void run() {
+                isClickedAnimationRunning = false;
+                getPasscodeView().invalidate();
+            }
+        }, 200);
+    }
+
+    /**
+     * Show animation indicated invalid pin code
+     */
+    @Override
+    public void onAuthFail() {
+        //Do nothing. Whole keypad shakes.
+    }
+
+    /**
+     * Draw the key of canvas.
+     * Don't change until you know what you are doing. :-)
+     *
+     * @param canvas canvas of the view o which key will be drawn
+     */
+    @Override
+    public void drawText(@NonNull Canvas canvas) {
+        //Draw key text
+        canvas.drawText(getDigit() + "",                //Text to display on key
+                mBounds.exactCenterX(),                 //Set start point at center width of key
+                mBounds.exactCenterY() - (mBuilder.getKeyTextPaint().descent() + mBuilder.getKeyTextPaint().ascent()) / 2,    //center height of key - text height/2
+                mBuilder.getKeyTextPaint());
+    }
+
+    @Override
+    public void drawShape(@NonNull Canvas canvas) {
+        //Path starts at the top left corner of the key without the padding.
+        float left = mBounds.left + mBuilder.getKeyPadding();
+        float top = mBounds.top + mBuilder.getKeyPadding();
+
+        canvas.translate(left, top);
+        canvas.drawPath(mTemplate.mPath, isClickedAnimationRunning ? mBuilder.getClickPaint() : mBuilder.getKeyPaint());
+        canvas.translate(-left, -top);
+    }
+
+    @Override
+    public void drawBackSpace(@NonNull Canvas canvas, @NonNull Drawable backSpaceIcon) {
+        backSpaceIcon.setBounds((int) (mBounds.exactCenterX() - Math.min(mBounds.height(), mBounds.width()) / 3),
+                (int) (mBounds.exactCenterY() - Math.min(mBounds.height(), mBounds.width()) / 3),
+                (int) (mBounds.exactCenterX() + Math.min(mBounds.height(), mBounds.width()) / 3),
+                (int) (mBounds.exactCenterY() + Math.min(mBounds.height(), mBounds.width()) / 3));
+        backSpaceIcon.draw(canvas);
+    }
+
+    /**
+     * Check if the key is pressed or not for given touch coordinates?
+     *
+     * @param touchX touch X coordinate
+     * @param touchY touch Y coordinate
+     * @return true if the key is pressed else false.
+     */
+    @Override
+    public boolean isKeyPressed(float touchX, float touchY) {
+        return mBuilder.isInShape(mTemplate,
+                touchX - mBounds.left - mBuilder.getKeyPadding(),
+                touchY - mBounds.top - mBuilder.getKeyPadding());
+    }
+
+    @Override
+    public void onAuthSuccess() {
+        //Do noting
+    }
+
+    /**
+     * Path of the key shape for one key size. The path starts at (0, 0).
+     */
+    static final class Template {
+        private final Path mPath;                       //Shape of the key.
+        private final float mWidth;                     //Width of the shape. (Key width without the padding)
+        private final float mHeight;                    //Height of the shape. (Key height without the padding)
+        @Nullable
+        private final float[] mOutlinePoints;           //Fitted vertices of the custom outline. Null for the built in shapes.
+
+        private Template(@NonNull Path path, float width, float height, @Nullable float[] outlinePoints) {
+            mPath = path;
+            mWidth = width;
+            mHeight = height;
+            mOutlinePoints = outlinePoints;
+        }
+    }
+
+    @SuppressWarnings("NullableProblems")
+    public static class Builder extends Key.Builder {
+        private static final int MAX_TEMPLATES = 8;    //Number of the key sizes to keep the paths for.
+        private static final float SQRT_3 = (float) Math.sqrt(3);
+
+        @Dimension
+        private float mKeyPadding;
+        @Dimension
+        private float mKeyTextSize;                     //Key text size
+        @Dimension
+        private float mKeyStrokeWidth;                  //Key background stroke width
+        @Dimension
+        private float mCornerRadius;                    //Corner radius of the rounded rectangle.
+        @ColorInt
+        private int mKeyStrokeColor;                    //Key background stroke color
+        @ColorInt
+        private int mKeyTextColor;                      //Key text color
+        private int mShape = SHAPE_HEXAGON;             //Shape of the key.
+        @Nullable
+        private KeyOutline mOutline;                    //Custom outline. Scaled to fit each key size.
+        private KeyStyle mStyle;                        //Style to copy the paints from. (Optional)
+
+        @NonNull
+        private Paint mKeyPaint;
+        @NonNull
+        private TextPaint mKeyTextPaint;
+        private Paint mClickPaint;
+
+        private final SparseArray<Template> mTemplates = new SparseArray<>();   //Paths by the key size.
+
+        public Builder(@NonNull PasscodeView pinView) {
+            super(pinView);
+        }
+
+        @Dimension
+        public float getKeyPadding() {
+            return mKeyPadding;
+        }
+
+        public Builder setKeyPadding(@DimenRes int keyPaddingRes) {
+            mKeyPadding = getContext().getResources().getDimension(keyPaddingRes);
+            return this;
+        }
+
+        public Builder setKeyPadding(@Dimension float keyPadding) {
+            mKeyPadding = keyPadding;
+            return this;
+        }
+
+        public float getKeyTextSize() {
+            return mKeyTextSize;
+        }
+
+        public Builder setKeyTextSize(@DimenRes int keyTextSize) {
+            mKeyTextSize = getContext().getResources().getDimension(keyTextSize);
+            return this;
+        }
+
+        public Builder setKeyTextSize(float keyTextSize) {
+            mKeyTextSize = keyTextSize;
+            return this;
+        }
+
+        public float getKeyStrokeWidth() {
+            return mKeyStrokeWidth;
+        }
+
+        @Dimension
+        public Builder setKeyStrokeWidth(@DimenRes int keyStrokeWidth) {
+            mKeyStrokeWidth = getContext().getResources().getDimension(keyStrokeWidth);
+            return this;
+        }
+
+        @Dimension
+        public Builder setKeyStrokeWidth(float keyStrokeWidth) {
+            mKeyStrokeWidth = keyStrokeWidth;
+            return this;
+        }
+
+        @Dimension
+        public float getCornerRadius() {
+            return mCornerRadius;
+        }
+
+        /**
+         * Set the corner radius of the {@link #SHAPE_ROUNDED_RECT} keys.
+         */
+        public Builder setCornerRadius(@DimenRes int cornerRadius) {
+            mCornerRadius = getContext().getResources().getDimension(cornerRadius);
+            return this;
+        }
+
+        /**
+         * Set the corner radius of the {@link #SHAPE_ROUNDED_RECT} keys.
+         */
+        public Builder setCornerRadius(@Dimension float cornerRadius) {
+            mCornerRadius = cornerRadius;
+            return this;
+        }
+
+        @ColorInt
+        public int getKeyStrokeColor() {
+            return mKeyStrokeColor;
+        }
+
+        public Builder setKeyStrokeColor(@ColorInt int keyStrokeColor) {
+            mKeyStrokeColor = keyStrokeColor;
+            return this;
+        }
+
+        public Builder setKeyStrokeColorResource(@ColorRes int keyStrokeColor) {
+            mKeyStrokeColor = getContext().getResources().getColor(keyStrokeColor);
+            return this;
+        }
+
+        @ColorInt
+        public int getKeyTextColor() {
+            return mKeyTextColor;
+        }
+
+        public Builder setKeyTextColor(@ColorInt int keyTextColor) {
+            mKeyTextColor = keyTextColor;
+            return this;
+        }
+
+        public Builder setKeyTextColorResource(@ColorRes int keyTextColor) {
+            mKeyTextColor = getContext().getResources().getColor(keyTextColor);
+            return this;
+        }
+
+        public int getShape() {
+            return mShape;
+        }
+
+        /**
+         * Set the shape of the keys.
+         *
+         * @param shape {@link #SHAPE_HEXAGON} or {@link #SHAPE_ROUNDED_RECT}. Use {@link #setOutline(float[])}
+         *              for any other shape.
+         */
+        public Builder setShape(int shape) {
+            if (shape != SHAPE_HEXAGON && shape != SHAPE_ROUNDED_RECT)
+                throw new IllegalArgumentException("Invalid key shape. Use setOutline() for the custom shapes.");
+            mShape = shape;
+            mOutline = null;
+            return this;
+        }
+
+        /**
+         * Set the custom polygon outline of the keys. (e.g. Vertices of the vector drawable path.
+         * Flatten the curves into the vertices.) Outline is scaled to fit in the center of each key,
+         * keeping its aspect ratio. The points are copied, so changing them later doesn't change the
+         * keys.
+         *
+         * @param points interleaved x,y vertices of the key shape in any coordinates.
+         * @throws IllegalArgumentException if there are less than 3 vertices or the outline has no
+         *                                  width or no height.
+         */
+        public Builder setOutline(@NonNull float[] points) {
+            mOutline = new KeyOutline(points);
+            mShape = SHAPE_OUTLINE;
+            return this;
+        }
+
+        @Override
+        public Builder build() {
+            //Paths of the previous shape don't apply anymore.
+            mTemplates.clear();
+
+            //Copy the paints of the style if nothing is changed after the style is set.
+            if (isStyleUnchanged()) {
+                mKeyPaint = mStyle.getKeyPaint();
+                mKeyTextPaint = mStyle.getKeyTextPaint();
+                mClickPaint = mStyle.getClickPaint();
+                return this;
+            }
+
+            //Set the keyboard paint
+            mKeyPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            mKeyPaint.setStyle(Paint.Style.STROKE);
+            mKeyPaint.setColor(mKeyStrokeColor);
+            mKeyPaint.setTextSize(mKeyTextSize);
+            mKeyPaint.setStrokeWidth(mKeyStrokeWidth);
+
+            //Set the keyboard text paint
+            mKeyTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+            mKeyTextPaint.setColor(mKeyTextColor);
+            mKeyTextPaint.setTextSize(mKeyTextSize);
+            mKeyTextPaint.setFakeBoldText(true);
+            mKeyTextPaint.setTextAlign(Paint.Align.CENTER);
+
+            //Click paint
+            mClickPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            mClickPaint.setStyle(Paint.Style.STROKE);
+            mClickPaint.setColor(Utils.makeColorDark(mKeyStrokeColor));
+            mClickPaint.setStrokeWidth(mKeyStrokeWidth);
+            return this;
+        }
+
+        /**
+         * Copy the colors and the dimensions of the style. The shape of the style is not used. If
+         * these values are not changed before {@link #build()}, the builder copies the paints of the
+         * style instead of creating them.
+         *
+         * @param style {@link KeyStyle} to apply.
+         */
+        public Builder setStyle(@NonNull KeyStyle style) {
+            mStyle = style;
+            mKeyTextColor = style.getTextColor();
+            mKeyStrokeColor = style.getStrokeColor();
+            mKeyTextSize = style.getTextSize();
+            mKeyStrokeWidth = style.getStrokeWidth();
+            mKeyPadding = style.getPadding();
+            return this;
+        }
+
+        @Override
+        protected void setDefaults(@NonNull Context context) {
+            setStyle(KeyStyle.getDefault(context));
+            mCornerRadius = context.getResources().getDimension(R.dimen.lib_key_corner_radius);
+        }
+
+        /**
+         * @return True if all the values of the paints are same as the style.
+         */
+        private boolean isStyleUnchanged() {
+            return mStyle != null
+                    && mStyle.getTextColor() == mKeyTextColor
+                    && mStyle.getStrokeColor() == mKeyStrokeColor
+                    && mStyle.getTextSize() == mKeyTextSize
+                    && mStyle.getStrokeWidth() == mKeyStrokeWidth;
+        }
+
+        /**
+         * Get the path of the key size. Path is created only for the first key of each size.
+         *
+         * @param keyWidth  width of the key bound.
+         * @param keyHeight height of the key bound.
+         */
+        @NonNull
+        Template getTemplate(int keyWidth, int keyHeight) {
+            int sizeKey = (keyWidth << 16) | (keyHeight & 0xFFFF);
+            Template template = mTemplates.get(sizeKey);
+            if (template != null) return template;
+
+            //Sizes of the old layouts are not needed anymore.
+            if (mTemplates.size() >= MAX_TEMPLATES) mTemplates.clear();
+
+            float width = Math.max(0, keyWidth - 2 * mKeyPadding);
+            float height = Math.max(0, keyHeight - 2 * mKeyPadding);
+            template = createTemplate(width, height);
+            mTemplates.put(sizeKey, template);
+            return template;
+        }
+
+        @NonNull
+        private Template createTemplate(float width, float height) {
+            Path path = new Path();
+            switch (mShape) {
+                case SHAPE_HEXAGON:
+                    //Pointy top regular hexagon in the center.
+                    float radius = getHexagonRadius(width, height);
+                    float halfWidth = radius * SQRT_3 / 2;
+                    float centerX = width / 2;
+                    float centerY = height / 2;
+                    path.moveTo(centerX, centerY - radius);
+                    path.lineTo(centerX + halfWidth, centerY - radius / 2);
+                    path.lineTo(centerX + halfWidth, centerY + radius / 2);
+                    path.lineTo(centerX, centerY + radius);
+                    path.lineTo(centerX - halfWidth, centerY + radius / 2);
+                    path.lineTo(centerX - halfWidth, centerY - radius / 2);
+                    path.close();
+                    return new Template(path, width, height, null);
+                case SHAPE_ROUNDED_RECT:
+                    float cornerRadius = getCornerRadius(width, height);
+                    path.addRoundRect(new RectF(0, 0, width, height), cornerRadius, cornerRadius, Path.Direction.CW);
+                    return new Template(path, width, height, null);
+                default:
+                    //Scale the outline to fit in the center.
+                    //noinspection ConstantConditions
+                    float[] points = mOutline.fit(width, height);
+                    path.moveTo(points[0], points[1]);
+                    for (int i = 2; i < points.length; i += 2) path.lineTo(points[i], points[i + 1]);
+                    path.close();
+                    return new Template(path, width, height, points);
+            }
+        }
+
+        /**
+         * Check if the point is inside the key shape.
+         *
+         * @param template {@link Template} of the key.
+         * @param x        X coordinate relative to the start of the path.
+         * @param y        Y coordinate relative to the start of the path.
+         */
+        boolean isInShape(@NonNull Template template, float x, float y) {
+            if (x < 0 || y < 0 || x > template.mWidth || y > template.mHeight) return false;
+
+            switch (mShape) {
+                case SHAPE_HEXAGON:
+                    float radius = getHexagonRadius(template.mWidth, template.mHeight);
+                    float dx = Math.abs(x - template.mWidth / 2);
+                    float dy = Math.abs(y - template.mHeight / 2);
+                    return dx <= radius * SQRT_3 / 2 && dy <= radius - dx / SQRT_3;
+                case SHAPE_ROUNDED_RECT:
+                    //Only the corners are outside the rectangle.
+                    float cornerRadius = getCornerRadius(template.mWidth, template.mHeight);
+                    float cornerX = Math.max(0, Math.max(cornerRadius - x, x - (template.mWidth - cornerRadius)));
+                    float cornerY = Math.max(0, Math.max(cornerRadius - y, y - (template.mHeight - cornerRadius)));
+                    return cornerX * cornerX + cornerY * cornerY <= cornerRadius * cornerRadius;
+                default:
+                    //noinspection ConstantConditions
+                    return KeyOutline.contains(template.mOutlinePoints, x, y);
+            }
+        }
+
+        private static float getHexagonRadius(float width, float height) {
+            return Math.min(height / 2, width / SQRT_3);
+        }
+
+        private float getCornerRadius(float width, float height) {
+            return Math.min(mCornerRadius, Math.min(width, height) / 2);
+        }
+
+        /**
+         * Change the colors of the paints in place.
+         */
+        @Override
+        public void setThemeColors(@ColorInt int textColor, @ColorInt int strokeColor) {
+            mKeyTextColor = textColor;
+            mKeyStrokeColor = strokeColor;
+            if (mKeyPaint == null) return;  //Not built yet.
+
+            mKeyPaint.setColor(strokeColor);
+            mKeyTextPaint.setColor(textColor);
+            mClickPaint.setColor(Utils.makeColorDark(strokeColor));
+        }
+
+        @NonNull
+        @Override
+        public Paint getKeyPaint() {
+            return mKeyPaint;
+        }
+
+        @NonNull
+        @Override
+        public Paint getKeyTextPaint() {
+            return mKeyTextPaint;
+        }
+
+        @NonNull
+        protected Paint getClickPaint() {
+            return mClickPaint;
+        }
+
+        @NonNull
+        @Override
+        public PathKey getKey(@NonNull String digit, @NonNull Rect bound) {
+            return new PathKey(super.getPasscodeView(), digit, bound, this);
+        }
+    }
+}
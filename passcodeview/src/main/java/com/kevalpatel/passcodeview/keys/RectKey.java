@@ -16,7 +16,6 @@
 
 package com.kevalpatel.passcodeview.keys;
 
-import android.animation.ValueAnimator;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Paint;
@@ -28,10 +27,9 @@ import android.support.annotation.DimenRes;
 import android.support.annotation.Dimension;
 import android.support.annotation.NonNull;
 import android.text.TextPaint;
-import android.view.animation.CycleInterpolator;
 
-import com.kevalpatel.passcodeview.PinView;
-import com.kevalpatel.passcodeview.R;
+import com.kevalpatel.passcodeview.KeyStyle;
+import com.kevalpatel.passcodeview.PasscodeView;
 import com.kevalpatel.passcodeview.Utils;
 
 /**
@@ -44,17 +42,16 @@ import com.kevalpatel.passcodeview.Utils;
 public final class RectKey extends Key {
     private final Rect mBounds;                         //RoundKey bound.
     private final Builder mBuilder;
-    private final ValueAnimator mErrorAnimator;
     private boolean isClickedAnimationRunning = false;
 
     /**
      * Public constructor.
      *
-     * @param pinView {@link PinView}
+     * @param pinView {@link PasscodeView}
      * @param digit   title of the key. (-1 for the backspace key)
      * @param bounds  {@link Rect} bound.
      */
-    private RectKey(@NonNull PinView pinView,
+    private RectKey(@NonNull PasscodeView pinView,
                     @NonNull String digit,
                     @NonNull Rect bounds,
                     @NonNull RectKey.Builder builder) {
@@ -62,18 +59,6 @@ public final class RectKey extends Key {
 
         mBounds = bounds;
         mBuilder = builder;
-
-        //Error animator
-        mErrorAnimator = ValueAnimator.ofInt(0, 10);
-        mErrorAnimator.setInterpolator(new CycleInterpolator(2));
-        mErrorAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                mBounds.left += (int) animation.getAnimatedValue();
-                mBounds.right += (int) animation.getAnimatedValue();
-                getPinView().invalidate();
-            }
-        });
     }
 
     /**
@@ -84,13 +69,13 @@ public final class RectKey extends Key {
     @Override
     public void playClickAnimation() {
         isClickedAnimationRunning = true;
-        getPinView().invalidate();
+        getPasscodeView().invalidate();
 
-        new android.os.Handler().postDelayed(new Runnable() {
+        getPasscodeView().postDelayedTask(new Runnable() {
             @Override
             public void run() {
                 isClickedAnimationRunning = false;
-                getPinView().invalidate();
+                getPasscodeView().invalidate();
             }
         }, 200);
     }
@@ -100,7 +85,7 @@ public final class RectKey extends Key {
      */
     @Override
     public void onAuthFail() {
-        mErrorAnimator.start();
+        //Do nothing. Whole keypad shakes.
     }
 
     /**
@@ -176,6 +161,7 @@ public final class RectKey extends Key {
         private int mKeyStrokeColor;                    //RoundKey background stroke color
         @ColorInt
         private int mKeyTextColor;                      //RoundKey text color
+        private KeyStyle mStyle;                        //Style to copy the paints from. (Optional)
 
         @NonNull
         private Paint mKeyPaint;
@@ -183,7 +169,7 @@ public final class RectKey extends Key {
         private TextPaint mKeyTextPaint;
         private Paint mClickPaint;
 
-        public Builder(@NonNull PinView pinView) {
+        public Builder(@NonNull PasscodeView pinView) {
             super(pinView);
         }
 
@@ -264,6 +250,14 @@ public final class RectKey extends Key {
 
         @Override
         public Builder build() {
+            //Copy the paints of the style if nothing is changed after the style is set.
+            if (isStyleUnchanged()) {
+                mKeyPaint = mStyle.getKeyPaint();
+                mKeyTextPaint = mStyle.getKeyTextPaint();
+                mClickPaint = mStyle.getClickPaint();
+                return this;
+            }
+
             //Set the keyboard paint
             mKeyPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
             mKeyPaint.setStyle(Paint.Style.STROKE);
@@ -286,13 +280,51 @@ public final class RectKey extends Key {
             return this;
         }
 
+        /**
+         * Copy the colors and the dimensions of the style. The shape of the style is not used. If
+         * these values are not changed before {@link #build()}, the builder copies the paints of the
+         * style instead of creating them.
+         *
+         * @param style {@link KeyStyle} to apply.
+         */
+        public Builder setStyle(@NonNull KeyStyle style) {
+            mStyle = style;
+            mKeyTextColor = style.getTextColor();
+            mKeyStrokeColor = style.getStrokeColor();
+            mKeyTextSize = style.getTextSize();
+            mKeyStrokeWidth = style.getStrokeWidth();
+            mKeyPadding = style.getPadding();
+            return this;
+        }
+
         @Override
         protected void setDefaults(@NonNull Context context) {
-            mKeyTextColor = context.getResources().getColor(R.color.lib_key_default_color);
-            mKeyStrokeColor = context.getResources().getColor(R.color.lib_key_background_color);
-            mKeyTextSize = context.getResources().getDimension(R.dimen.lib_key_text_size);
-            mKeyStrokeWidth = context.getResources().getDimension(R.dimen.lib_key_stroke_width);
-            mKeyPadding = getContext().getResources().getDimension(R.dimen.lib_key_padding);
+            setStyle(KeyStyle.getDefault(context));
+        }
+
+        /**
+         * @return True if all the values of the paints are same as the style.
+         */
+        private boolean isStyleUnchanged() {
+            return mStyle != null
+                    && mStyle.getTextColor() == mKeyTextColor
+                    && mStyle.getStrokeColor() == mKeyStrokeColor
+                    && mStyle.getTextSize() == mKeyTextSize
+                    && mStyle.getStrokeWidth() == mKeyStrokeWidth;
+        }
+
+        /**
+         * Change the colors of the paints in place.
+         */
+        @Override
+        public void setThemeColors(@ColorInt int textColor, @ColorInt int strokeColor) {
+            mKeyTextColor = textColor;
+            mKeyStrokeColor = strokeColor;
+            if (mKeyPaint == null) return;  //Not built yet.
+
+            mKeyPaint.setColor(strokeColor);
+            mKeyTextPaint.setColor(textColor);
+            mClickPaint.setColor(Utils.makeColorDark(strokeColor));
         }
 
         @NonNull
@@ -315,7 +347,7 @@ public final class RectKey extends Key {
         @NonNull
         @Override
         public RectKey getKey(@NonNull String digit, @NonNull Rect bound) {
-            return new RectKey(super.getPinView(), digit, bound, this);
+            return new RectKey(super.getPasscodeView(), digit, bound, this);
         }
     }
 }
@@ -17,7 +17,6 @@
 package com.kevalpatel.passcodeview.keys;
 
 import android.animation.Animator;
-import android.animation.ValueAnimator;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Paint;
@@ -30,10 +29,10 @@ import android.support.annotation.Dimension;
 import android.support.annotation.NonNull;
 import android.text.TextPaint;
 import android.view.View;
-import android.view.animation.CycleInterpolator;
 
-import com.kevalpatel.passcodeview.PinView;
-import com.kevalpatel.passcodeview.R;
+import com.kevalpatel.passcodeview.ClockAnimator;
+import com.kevalpatel.passcodeview.KeyStyle;
+import com.kevalpatel.passcodeview.PasscodeView;
 
 /**
  * Created by Keval on 06-Apr-17.
@@ -48,11 +47,11 @@ public final class RoundKey extends Key {
 
     private final Rect mBounds;                         //RoundKey bound.
     private final View mView;                           //Pin view
-    private final float mKeyRadius;                     //Radius of the key background.
+    private float mKeyRadius;                           //Radius of the key background.
+    private int mCircleAlphaOffset;                     //Ripple alpha lost per pixel of the ripple radius.
     private Builder mBuilder;
 
-    private ValueAnimator mRippleValueAnimator;         //Ripple animator
-    private ValueAnimator mErrorAnimator;               //Left-Right animator
+    private ClockAnimator mRippleValueAnimator;         //Ripple animator
 
     private boolean isRippleEffectRunning = false;      //Bool to indicate if the ripple effect is currently running?
     private int mCurrentRippleRadius = 0;               //Current ripple radius
@@ -61,11 +60,11 @@ public final class RoundKey extends Key {
     /**
      * Public constructor.
      *
-     * @param view   {@link PinView}
+     * @param view   {@link PasscodeView}
      * @param digit  title of the key. (-1 for the backspace key)
      * @param bounds {@link Rect} bound.
      */
-    private RoundKey(@NonNull PinView view,
+    private RoundKey(@NonNull PasscodeView view,
                      @NonNull String digit,
                      @NonNull Rect bounds,
                      @NonNull RoundKey.Builder builder) {
@@ -74,31 +73,38 @@ public final class RoundKey extends Key {
         mView = view;
         mBuilder = builder;
         mKeyRadius = calculateKeyRadius(bounds, mBuilder.getKeyPadding());
+        mCircleAlphaOffset = (int) (MAX_RIPPLE_ALPHA / mKeyRadius);
 
         setUpAnimator();
     }
 
+    @Override
+    protected void onBoundChanged() {
+        mKeyRadius = calculateKeyRadius(mBounds, mBuilder.getKeyPadding());
+        mCircleAlphaOffset = (int) (MAX_RIPPLE_ALPHA / mKeyRadius);
+        mRippleValueAnimator.setFloatValues(0, mKeyRadius);
+    }
+
     /**
      * Initialise the filed and listener for ripple effect mRippleValueAnimator
      */
     private void setUpAnimator() {
-        final int circleAlphaOffset = (int) (MAX_RIPPLE_ALPHA / mKeyRadius);
-
-        mRippleValueAnimator = ValueAnimator.ofFloat(0, mKeyRadius);
+        mRippleValueAnimator = new ClockAnimator(getPasscodeView(), 0, mKeyRadius);
         mRippleValueAnimator.setDuration(RIPPLE_DURATION);
-        mRippleValueAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+        mRippleValueAnimator.addUpdateListener(new ClockAnimator.UpdateListener() {
 
             @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
+            public void onAnimationUpdate(@NonNull ClockAnimator animator) {
                 if (isRippleEffectRunning) {
-                    float animatedValue = (float) animation.getAnimatedValue();
+                    float animatedValue = animator.getAnimatedValue();
                     mCurrentRippleRadius = (int) animatedValue;
-                    mCurrentAlpha = (int) (MAX_RIPPLE_ALPHA - (animatedValue * circleAlphaOffset));
+                    mCurrentAlpha = (int) (MAX_RIPPLE_ALPHA - (animatedValue * mCircleAlphaOffset));
                     mView.invalidate();
                 }
             }
         });
-        mRippleValueAnimator.addListener(new ValueAnimator.AnimatorListener() {
+        getPasscodeView().trackAnimation(mRippleValueAnimator);
+        mRippleValueAnimator.addListener(new Animator.AnimatorListener() {
             @Override
             public void onAnimationStart(Animator animation) {
                 isRippleEffectRunning = true;
@@ -120,18 +126,6 @@ public final class RoundKey extends Key {
 
             }
         });
-
-        //Error animator
-        mErrorAnimator = ValueAnimator.ofInt(0, 10);
-        mErrorAnimator.setInterpolator(new CycleInterpolator(2));
-        mErrorAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                mBounds.left += (int) animation.getAnimatedValue();
-                mBounds.right += (int) animation.getAnimatedValue();
-                mView.invalidate();
-            }
-        });
     }
 
     /**
@@ -160,7 +154,7 @@ public final class RoundKey extends Key {
      */
     @Override
     public void onAuthFail() {
-        mErrorAnimator.start();
+        //Do nothing. Whole keypad shakes.
     }
 
     @Override
@@ -247,6 +241,7 @@ public final class RoundKey extends Key {
         private int mKeyStrokeColor;                    //RoundKey background stroke color
         @ColorInt
         private int mKeyTextColor;                      //RoundKey text color
+        private KeyStyle mStyle;                        //Style to copy the paints from. (Optional)
 
         @NonNull
         private Paint mKeyPaint;
@@ -256,7 +251,7 @@ public final class RoundKey extends Key {
         private Paint mRipplePaint;
 
 
-        public Builder(@NonNull PinView pinView) {
+        public Builder(@NonNull PasscodeView pinView) {
             super(pinView);
         }
 
@@ -337,6 +332,14 @@ public final class RoundKey extends Key {
 
         @Override
         public Builder build() {
+            //Copy the paints of the style if nothing is changed after the style is set.
+            if (isStyleUnchanged()) {
+                mKeyPaint = mStyle.getKeyPaint();
+                mKeyTextPaint = mStyle.getKeyTextPaint();
+                mRipplePaint = mStyle.getRipplePaint();
+                return this;
+            }
+
             //Set the keyboard paint
             mKeyPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
             mKeyPaint.setStyle(Paint.Style.STROKE);
@@ -351,20 +354,56 @@ public final class RoundKey extends Key {
             mKeyTextPaint.setFakeBoldText(true);
             mKeyTextPaint.setTextAlign(Paint.Align.CENTER);
 
+            //Prepare ripple paint
+            mRipplePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            mRipplePaint.setStyle(Paint.Style.FILL);
+            return this;
+        }
+
+        /**
+         * Copy the colors and the dimensions of the style. The shape of the style is not used. If
+         * these values are not changed before {@link #build()}, the builder copies the paints of the
+         * style instead of creating them.
+         *
+         * @param style {@link KeyStyle} to apply.
+         */
+        public Builder setStyle(@NonNull KeyStyle style) {
+            mStyle = style;
+            mKeyTextColor = style.getTextColor();
+            mKeyStrokeColor = style.getStrokeColor();
+            mKeyTextSize = style.getTextSize();
+            mKeyStrokeWidth = style.getStrokeWidth();
+            mKeyPadding = style.getPadding();
             return this;
         }
 
         @Override
         protected void setDefaults(@NonNull Context context) {
-            mKeyTextColor = context.getResources().getColor(R.color.lib_key_default_color);
-            mKeyStrokeColor = context.getResources().getColor(R.color.lib_key_background_color);
-            mKeyTextSize = context.getResources().getDimension(R.dimen.lib_key_text_size);
-            mKeyStrokeWidth = context.getResources().getDimension(R.dimen.lib_key_stroke_width);
-            mKeyPadding = getContext().getResources().getDimension(R.dimen.lib_key_padding);
+            setStyle(KeyStyle.getDefault(context));
+        }
 
-            //Prepare ripple paint
-            mRipplePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-            mRipplePaint.setStyle(Paint.Style.FILL);
+        /**
+         * @return True if all the values of the paints are same as the style.
+         */
+        private boolean isStyleUnchanged() {
+            return mStyle != null
+                    && mStyle.getTextColor() == mKeyTextColor
+                    && mStyle.getStrokeColor() == mKeyStrokeColor
+                    && mStyle.getTextSize() == mKeyTextSize
+                    && mStyle.getStrokeWidth() == mKeyStrokeWidth;
+        }
+
+        /**
+         * Change the colors of the paints in place.
+         */
+        @Override
+        public void setThemeColors(@ColorInt int textColor, @ColorInt int strokeColor) {
+            mKeyTextColor = textColor;
+            mKeyStrokeColor = strokeColor;
+            if (mKeyPaint == null) return;  //Not built yet.
+
+            mKeyPaint.setColor(strokeColor);
+            mKeyTextPaint.setColor(textColor);
         }
 
         @NonNull
@@ -387,7 +426,7 @@ public final class RoundKey extends Key {
         @NonNull
         @Override
         public RoundKey getKey(@NonNull String digit, @NonNull Rect bound) {
-            return new RoundKey(super.getPinView(), digit, bound, this);
+            return new RoundKey(super.getPasscodeView(), digit, bound, this);
         }
     }
 }
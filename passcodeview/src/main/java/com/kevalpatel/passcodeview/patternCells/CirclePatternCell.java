@@ -27,9 +27,9 @@ import android.support.annotation.DimenRes;
 import android.support.annotation.Dimension;
 import android.support.annotation.NonNull;
 
+import com.kevalpatel.passcodeview.PatternCellStyle;
 import com.kevalpatel.passcodeview.PatternView;
 import com.kevalpatel.passcodeview.PinView;
-import com.kevalpatel.passcodeview.R;
 
 /**
  * Created by Keval on 06-Apr-17.
@@ -68,7 +68,7 @@ public final class CirclePatternCell extends PatternCell {
 
     @Override
     public void onAuthFailed() {
-        new android.os.Handler().postDelayed(new Runnable() {
+        getRootView().postDelayedTask(new Runnable() {
             @Override
             public void run() {
                 isDisplayError = false;
@@ -111,6 +111,7 @@ public final class CirclePatternCell extends PatternCell {
         private Paint mCellPaint;             //Empty indicator color
         private Paint mSelectedCellPaint;             //Solid indicator color
         private Paint mErrorPaint;             //Error indicator color
+        private PatternCellStyle mStyle;       //Style to copy the paints from. (Optional)
 
         public Builder(@NonNull PatternView patternView) {
             super(patternView);
@@ -124,6 +125,13 @@ public final class CirclePatternCell extends PatternCell {
 
         @Override
         public CirclePatternCell.Builder build() {
+            //Copy the paints of the style if nothing is changed after the style is set.
+            if (isStyleUnchanged()) {
+                mCellPaint = mStyle.getRingPaint();
+                mSelectedCellPaint = mStyle.getSelectedPaint();
+                mErrorPaint = mStyle.getErrorPaint();
+                return this;
+            }
 
             //Set empty dot paint
             mCellPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
@@ -141,12 +149,58 @@ public final class CirclePatternCell extends PatternCell {
             return this;
         }
 
+        /**
+         * Copy the colors and the dimensions of the style. The shape of the style is not used. If
+         * these values are not changed before {@link #build()}, the builder copies the paints of the
+         * style instead of creating them.
+         *
+         * @param style {@link PatternCellStyle} to apply.
+         */
+        @NonNull
+        public CirclePatternCell.Builder setStyle(@NonNull PatternCellStyle style) {
+            mStyle = style;
+            mRadius = style.getRadius();
+            mStrokeWidth = style.getStrokeWidth();
+            mSelectedColor = style.getSelectedColor();
+            mNormalColor = style.getColor();
+            return this;
+        }
+
         @Override
         protected void setDefaults(@NonNull Context context) {
-            mRadius = getContext().getResources().getDimension(R.dimen.lib_indicator_radius);
-            mStrokeWidth = getContext().getResources().getDimension(R.dimen.lib_indicator_stroke_width);
-            mSelectedColor = getContext().getResources().getColor(R.color.lib_indicator_filled_color);
-            mNormalColor = getContext().getResources().getColor(R.color.lib_indicator_stroke_color);
+            setStyle(PatternCellStyle.getDefault(context));
+        }
+
+        /**
+         * @return True if all the values of the paints are same as the style.
+         */
+        private boolean isStyleUnchanged() {
+            return mStyle != null
+                    && mStyle.getColor() == mNormalColor
+                    && mStyle.getSelectedColor() == mSelectedColor
+                    && mStyle.getStrokeWidth() == mStrokeWidth;
+        }
+
+        /**
+         * Change the colors of the paints in place.
+         */
+        @Override
+        public void setThemeColors(@ColorInt int cellColor, @ColorInt int selectedColor) {
+            mNormalColor = cellColor;
+            mSelectedColor = selectedColor;
+            if (mCellPaint == null) return;     //Not built yet.
+
+            mCellPaint.setColor(cellColor);
+            mSelectedCellPaint.setColor(selectedColor);
+        }
+
+        /**
+         * @return Color of the cells which are not selected. Same as {@link #getNormalColor()}.
+         */
+        @ColorInt
+        @Override
+        public int getCellColor() {
+            return mNormalColor;
         }
 
         @Override
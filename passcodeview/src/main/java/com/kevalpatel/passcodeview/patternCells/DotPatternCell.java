@@ -27,9 +27,9 @@ import android.support.annotation.DimenRes;
 import android.support.annotation.Dimension;
 import android.support.annotation.NonNull;
 
+import com.kevalpatel.passcodeview.PatternCellStyle;
 import com.kevalpatel.passcodeview.PatternView;
 import com.kevalpatel.passcodeview.PinView;
-import com.kevalpatel.passcodeview.R;
 
 /**
  * Created by Keval on 06-Apr-17.
@@ -68,7 +68,7 @@ public final class DotPatternCell extends PatternCell {
 
     @Override
     public void onAuthFailed() {
-        new android.os.Handler().postDelayed(new Runnable() {
+        getRootView().postDelayedTask(new Runnable() {
             @Override
             public void run() {
                 isDisplayError = false;
@@ -109,6 +109,7 @@ public final class DotPatternCell extends PatternCell {
         private Paint mCellPaint;             //Empty indicator color
         private Paint mSelectedCellPaint;             //Solid indicator color
         private Paint mErrorCellPaint;             //Error indicator color
+        private PatternCellStyle mStyle;           //Style to copy the paints from. (Optional)
 
 
         public Builder(@NonNull PatternView patternView) {
@@ -123,6 +124,13 @@ public final class DotPatternCell extends PatternCell {
 
         @Override
         public DotPatternCell.Builder build() {
+            //Copy the paints of the style if nothing is changed after the style is set.
+            if (isStyleUnchanged()) {
+                mCellPaint = mStyle.getDotPaint();
+                mSelectedCellPaint = mStyle.getSelectedPaint();
+                mErrorCellPaint = mStyle.getErrorPaint();
+                return this;
+            }
 
             //Set empty dot paint
             mCellPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
@@ -138,11 +146,47 @@ public final class DotPatternCell extends PatternCell {
             return this;
         }
 
+        /**
+         * Copy the colors and the dimensions of the style. The shape of the style is not used. If
+         * these values are not changed before {@link #build()}, the builder copies the paints of the
+         * style instead of creating them.
+         *
+         * @param style {@link PatternCellStyle} to apply.
+         */
+        @NonNull
+        public DotPatternCell.Builder setStyle(@NonNull PatternCellStyle style) {
+            mStyle = style;
+            mRadius = style.getRadius();
+            mSelectedColor = style.getSelectedColor();
+            mCellColor = style.getColor();
+            return this;
+        }
+
         @Override
         protected void setDefaults(@NonNull Context context) {
-            mRadius = getContext().getResources().getDimension(R.dimen.lib_indicator_radius);
-            mSelectedColor = getContext().getResources().getColor(R.color.lib_indicator_filled_color);
-            mCellColor = getContext().getResources().getColor(R.color.lib_indicator_stroke_color);
+            setStyle(PatternCellStyle.getDefault(context));
+        }
+
+        /**
+         * @return True if all the values of the paints are same as the style.
+         */
+        private boolean isStyleUnchanged() {
+            return mStyle != null
+                    && mStyle.getColor() == mCellColor
+                    && mStyle.getSelectedColor() == mSelectedColor;
+        }
+
+        /**
+         * Change the colors of the paints in place.
+         */
+        @Override
+        public void setThemeColors(@ColorInt int cellColor, @ColorInt int selectedColor) {
+            mCellColor = cellColor;
+            mSelectedColor = selectedColor;
+            if (mCellPaint == null) return;     //Not built yet.
+
+            mCellPaint.setColor(cellColor);
+            mSelectedCellPaint.setColor(selectedColor);
         }
 
         @Override
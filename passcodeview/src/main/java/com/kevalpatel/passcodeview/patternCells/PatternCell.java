@@ -18,7 +18,9 @@ package com.kevalpatel.passcodeview.patternCells;
 
 import android.content.Context;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Rect;
+import android.support.annotation.ColorInt;
 import android.support.annotation.Dimension;
 import android.support.annotation.NonNull;
 
@@ -104,5 +106,35 @@ public abstract class PatternCell {
         protected abstract void setDefaults(@NonNull Context context);
 
         public abstract PatternCell getCell(@NonNull Rect bound, int index);
+
+        /**
+         * @return Color of the cells which are not selected. Theme transitions start from this color.
+         * Custom cells which override {@link #setThemeColors(int, int)} should override this too.
+         */
+        @ColorInt
+        public int getCellColor() {
+            return Color.TRANSPARENT;
+        }
+
+        /**
+         * @return Color of the selected cells. Theme transitions start from this color. Custom cells
+         * which override {@link #setThemeColors(int, int)} should override this too.
+         */
+        @ColorInt
+        public int getSelectedColor() {
+            return Color.TRANSPARENT;
+        }
+
+        /**
+         * Change the colors of the built cells. This is called on every frame of the theme transition,
+         * so it must only change the colors of the existing paints and must not allocate. Custom cells
+         * keep their colors by default.
+         *
+         * @param cellColor     Color of the cells which are not selected.
+         * @param selectedColor Color of the selected cells.
+         */
+        public void setThemeColors(@ColorInt int cellColor, @ColorInt int selectedColor) {
+            //Do nothing
+        }
     }
 }
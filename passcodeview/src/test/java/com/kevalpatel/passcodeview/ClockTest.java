@@ -0,0 +1,230 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.support.annotation.NonNull;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class ClockTest {
+    private PinView mPinView;
+    private ManualPasscodeClock mClock;
+    private PinViewFixture.AuthCounter mAuthCounter;
+
+    @Before
+    public void setUp() throws Exception {
+        mClock = new ManualPasscodeClock();
+
+        mAuthCounter = new PinViewFixture.AuthCounter();
+        mPinView = PinViewFixture.create(mAuthCounter);
+        mPinView.setClock(mClock);
+    }
+
+    @Test
+    public void testFailureSequenceFrameByFrame() throws Exception {
+        PinViewFixture.tapKeys(mPinView, "5", "6", "7", "8");    //Wrong PIN. The keypad shakes and the reset is posted.
+        Assert.assertEquals(1, mAuthCounter.mFailedCount);
+        Assert.assertTrue(mPinView.getMetrics().isLayerPromoted());
+
+        //Shake moves the keypad on every frame until the shake duration.
+        boolean isMoved = false;
+        while (mClock.uptimeMillis() < Box.SHAKE_DURATION - mClock.getFrameInterval()) {
+            mClock.advanceFrame();
+            if (mPinView.getBoxKeypad().getShakeOffset() != 0) isMoved = true;
+            Assert.assertEquals(4, mPinView.getCurrentTypedPin().length);
+        }
+        Assert.assertTrue(isMoved);
+
+        //Shake ends and the typed PIN resets after the feedback.
+        mClock.advanceBy(Box.SHAKE_DURATION);
+        Assert.assertEquals(0f, mPinView.getBoxKeypad().getShakeOffset(), 0f);
+        Assert.assertEquals(0, mPinView.getCurrentTypedPin().length);
+
+        //Hardware layer is released once all the animations end.
+        mClock.advanceBy(1000);
+        Assert.assertFalse(mPinView.getMetrics().isLayerPromoted());
+        Assert.assertFalse(mClock.hasPendingCallbacks());
+        Assert.assertEquals(1, mAuthCounter.mFailedCount);
+    }
+
+    @Test
+    public void testTimersFrozenWhileIdle() throws Exception {
+        PinViewFixture.tapKeys(mPinView, "5", "6", "7", "8");    //Wrong PIN. Reset is posted.
+
+        mPinView.onWindowVisibilityChanged(View.GONE);
+        mClock.advanceBy(5000);
+        Assert.assertEquals(4, mPinView.getCurrentTypedPin().length);
+
+        mPinView.onWindowVisibilityChanged(View.VISIBLE);
+        mClock.advanceBy(5000);
+        Assert.assertEquals(0, mPinView.getCurrentTypedPin().length);
+    }
+
+    @Test
+    public void testDelayedTaskWrapperReused() throws Exception {
+        final ArrayList<Runnable> posted = new ArrayList<>();
+        mPinView.setClock(new PasscodeClock() {
+            @Override
+            public long uptimeMillis() {
+                return mClock.uptimeMillis();
+            }
+
+            @Override
+            public void postDelayed(@NonNull Runnable task, long delayMillis) {
+                posted.add(task);
+                mClock.postDelayed(task, delayMillis);
+            }
+
+            @Override
+            public void removeCallbacks(@NonNull Runnable task) {
+                mClock.removeCallbacks(task);
+            }
+
+            @Override
+            public void postFrameCallback(@NonNull Runnable callback) {
+                mClock.postFrameCallback(callback);
+            }
+
+            @Override
+            public void removeFrameCallback(@NonNull Runnable callback) {
+                mClock.removeFrameCallback(callback);
+            }
+        });
+
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                //Do nothing
+            }
+        };
+        mPinView.postDelayedTask(task, 100);
+        mClock.advanceBy(100);
+        mPinView.postDelayedTask(task, 100);
+        mPinView.removeDelayedTask(task);
+        mPinView.postDelayedTask(task, 100);
+
+        Assert.assertEquals(3, posted.size());
+        Assert.assertSame(posted.get(0), posted.get(1));
+        Assert.assertSame(posted.get(0), posted.get(2));
+    }
+
+    @Test
+    public void testSetClockKeepsPendingTimers() throws Exception {
+        PinViewFixture.tapKeys(mPinView, "5", "6", "7", "8");    //Wrong PIN. Reset is posted.
+        mClock.advanceBy(100);
+
+        //Running animations jump to the end. Reset keeps the remaining delay on the new clock.
+        ManualPasscodeClock newClock = new ManualPasscodeClock();
+        mPinView.setClock(newClock);
+        Assert.assertEquals(0f, mPinView.getBoxKeypad().getShakeOffset(), 0f);
+        Assert.assertFalse(mClock.hasPendingCallbacks());
+
+        mClock.advanceBy(5000);
+        Assert.assertEquals(4, mPinView.getCurrentTypedPin().length);
+        newClock.advanceBy(5000);
+        Assert.assertEquals(0, mPinView.getCurrentTypedPin().length);
+    }
+
+    @Test
+    public void testManualClockOrder() throws Exception {
+        final StringBuilder order = new StringBuilder();
+        mClock.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                order.append('b');
+            }
+        }, 20);
+        mClock.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                order.append('a');
+            }
+        }, 10);
+        mClock.postFrameCallback(new Runnable() {
+            @Override
+            public void run() {
+                order.append('f');
+            }
+        });
+
+        //Frame runs on the first frame boundary after the task due at 10 ms.
+        mClock.advanceBy(mClock.getFrameInterval());
+        Assert.assertEquals("af", order.toString());
+        Assert.assertEquals(mClock.getFrameInterval(), mClock.uptimeMillis());
+
+        mClock.advanceBy(20 - mClock.getFrameInterval());
+        Assert.assertEquals("afb", order.toString());
+        Assert.assertEquals(1, mClock.getFrameCount());
+    }
+
+    @Test
+    public void testCloneAnimator() throws Exception {
+        final int[] updateCount = new int[1];
+        final int[] endCount = new int[1];
+        ClockAnimator animator = new ClockAnimator(mPinView, 0, 10);
+        animator.setDuration(100);
+        animator.setInterpolator(new LinearInterpolator());
+        animator.addUpdateListener(new ClockAnimator.UpdateListener() {
+            @Override
+            public void onAnimationUpdate(@NonNull ClockAnimator animator) {
+                updateCount[0]++;
+            }
+        });
+        animator.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                endCount[0]++;
+            }
+        });
+        animator.start();
+        mClock.advanceBy(50);
+
+        //Copy doesn't run with the original and keeps its own frames.
+        ClockAnimator copy = animator.clone();
+        Assert.assertFalse(copy.isRunning());
+        Assert.assertEquals(100, copy.getDuration());
+        Assert.assertEquals(0, copy.getAnimatedValue(), 0);
+
+        copy.start();
+        mClock.advanceBy(50);
+        Assert.assertTrue(copy.isRunning());
+        Assert.assertEquals(5, copy.getAnimatedValue(), 0.5);
+
+        int updatesBeforeEnd = updateCount[0];
+        mClock.advanceBy(100);
+        Assert.assertFalse(animator.isRunning());
+        Assert.assertFalse(copy.isRunning());
+        Assert.assertTrue(updateCount[0] > updatesBeforeEnd);
+        Assert.assertEquals(2, endCount[0]);
+    }
+}
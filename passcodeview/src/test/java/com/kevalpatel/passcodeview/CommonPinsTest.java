@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import com.kevalpatel.passcodeview.core.PinDenylist;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class CommonPinsTest {
+    private PinView mPinView;
+
+    @Before
+    public void setUp() throws Exception {
+        mPinView = PinViewFixture.create();
+    }
+
+    @Test
+    public void testDefaultTable() throws Exception {
+        PinDenylist denylist = CommonPins.load(RuntimeEnvironment.application);
+        Assert.assertSame(denylist, CommonPins.load(RuntimeEnvironment.application));
+        Assert.assertTrue(denylist.size() > 50000);
+
+        Assert.assertTrue(denylist.contains(new int[]{1, 2, 3, 4}));
+        Assert.assertTrue(denylist.contains(new int[]{0, 0, 0, 0}));
+        Assert.assertTrue(denylist.contains(new int[]{2, 5, 8, 0}));
+        Assert.assertTrue(denylist.contains(new int[]{1, 9, 8, 4}));
+        Assert.assertTrue(denylist.contains(new int[]{2, 5, 1, 2, 1, 9, 9, 0}));
+        Assert.assertFalse(denylist.contains(new int[]{7, 3, 9, 1}));
+    }
+
+    @Test
+    public void testCommonPinRejected() throws Exception {
+        mPinView.setPinDenylist(CommonPins.load(RuntimeEnvironment.application));
+        mPinView.setCorrectPin(new int[]{7, 3, 9, 1});
+
+        try {
+            mPinView.setCorrectPin(new int[]{1, 1, 1, 1});
+            Assert.fail("Common PIN accepted.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+}
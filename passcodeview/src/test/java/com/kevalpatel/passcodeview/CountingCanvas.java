@@ -0,0 +1,248 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Shader;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ * {@link Canvas} which doesn't render anything but counts the draw calls and the paint changes
+ * between the consecutive draw calls. Call {@link #reset()} before drawing every frame.
+ */
+public class CountingCanvas extends Canvas {
+    private int mCircleCount;
+    private int mTextCount;
+    private int mRectCount;
+    private int mBitmapCount;
+    private int mLineCount;
+    private int mPathCount;
+    private int mPointsCount;
+    private int mPaintChangeCount;
+    private int mShaderChangeCount;
+
+    @Nullable
+    private Paint mLastPaint;
+    private int mLastColor;
+    @Nullable
+    private Shader mLastShader;
+
+    /**
+     * Reset all the counters for the new frame.
+     */
+    public void reset() {
+        mCircleCount = 0;
+        mTextCount = 0;
+        mRectCount = 0;
+        mBitmapCount = 0;
+        mLineCount = 0;
+        mPathCount = 0;
+        mPointsCount = 0;
+        mPaintChangeCount = 0;
+        mShaderChangeCount = 0;
+        mLastPaint = null;
+        mLastColor = 0;
+        mLastShader = null;
+    }
+
+    private void onPaintUsed(@Nullable Paint paint) {
+        if (paint == null) return;
+
+        if (paint != mLastPaint || paint.getColor() != mLastColor) mPaintChangeCount++;
+        if (paint.getShader() != mLastShader) mShaderChangeCount++;
+
+        mLastPaint = paint;
+        mLastColor = paint.getColor();
+        mLastShader = paint.getShader();
+    }
+
+    ///////////////// DRAW CALLS //////////////
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, @NonNull Paint paint) {
+        mCircleCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawText(@NonNull String text, float x, float y, @NonNull Paint paint) {
+        mTextCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawText(@NonNull String text, int start, int end, float x, float y, @NonNull Paint paint) {
+        mTextCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawText(@NonNull char[] text, int index, int count, float x, float y, @NonNull Paint paint) {
+        mTextCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawText(@NonNull CharSequence text, int start, int end, float x, float y, @NonNull Paint paint) {
+        mTextCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, @NonNull Paint paint) {
+        mRectCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawRect(@NonNull Rect r, @NonNull Paint paint) {
+        mRectCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawRect(@NonNull RectF rect, @NonNull Paint paint) {
+        mRectCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawBitmap(@NonNull Bitmap bitmap, float left, float top, @Nullable Paint paint) {
+        mBitmapCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawBitmap(@NonNull Bitmap bitmap, @Nullable Rect src, @NonNull Rect dst, @Nullable Paint paint) {
+        mBitmapCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawBitmap(@NonNull Bitmap bitmap, @Nullable Rect src, @NonNull RectF dst, @Nullable Paint paint) {
+        mBitmapCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawBitmap(@NonNull Bitmap bitmap, @NonNull Matrix matrix, @Nullable Paint paint) {
+        mBitmapCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, @NonNull Paint paint) {
+        mLineCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawLines(@NonNull float[] pts, @NonNull Paint paint) {
+        mLineCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawLines(@NonNull float[] pts, int offset, int count, @NonNull Paint paint) {
+        mLineCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawPath(@NonNull Path path, @NonNull Paint paint) {
+        mPathCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawPoints(@NonNull float[] pts, @NonNull Paint paint) {
+        mPointsCount++;
+        onPaintUsed(paint);
+    }
+
+    @Override
+    public void drawPoints(float[] pts, int offset, int count, @NonNull Paint paint) {
+        mPointsCount++;
+        onPaintUsed(paint);
+    }
+
+    ///////////////// GETTERS //////////////
+
+    public int getCircleCount() {
+        return mCircleCount;
+    }
+
+    public int getTextCount() {
+        return mTextCount;
+    }
+
+    public int getRectCount() {
+        return mRectCount;
+    }
+
+    public int getBitmapCount() {
+        return mBitmapCount;
+    }
+
+    public int getLineCount() {
+        return mLineCount;
+    }
+
+    public int getPathCount() {
+        return mPathCount;
+    }
+
+    public int getPointsCount() {
+        return mPointsCount;
+    }
+
+    public int getPaintChangeCount() {
+        return mPaintChangeCount;
+    }
+
+    public int getShaderChangeCount() {
+        return mShaderChangeCount;
+    }
+
+    /**
+     * @return Total number of the draw calls in the frame.
+     */
+    public int getDrawCallCount() {
+        return mCircleCount + mTextCount + mRectCount + mBitmapCount + mLineCount + mPathCount + mPointsCount;
+    }
+
+    @Override
+    public String toString() {
+        return "circles=" + mCircleCount
+                + ", texts=" + mTextCount
+                + ", rects=" + mRectCount
+                + ", bitmaps=" + mBitmapCount
+                + ", lines=" + mLineCount
+                + ", paths=" + mPathCount
+                + ", points=" + mPointsCount
+                + ", paintChanges=" + mPaintChangeCount
+                + ", shaderChanges=" + mShaderChangeCount;
+    }
+}
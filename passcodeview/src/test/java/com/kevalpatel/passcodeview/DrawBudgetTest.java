@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.graphics.Rect;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+
+import com.kevalpatel.passcodeview.indicators.CircleIndicator;
+import com.kevalpatel.passcodeview.keys.RoundKey;
+import com.kevalpatel.passcodeview.patternCells.CirclePatternCell;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ * Per frame draw call budgets of the {@link PinView} and the {@link PatternView} in different states.
+ * If any of the budget fails, check the draw calls added to the box' draw() before increasing it.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class DrawBudgetTest {
+    private CountingCanvas mCanvas;
+
+    @Before
+    public void setUp() throws Exception {
+        mCanvas = new CountingCanvas();
+    }
+
+    ///////////////// PIN VIEW //////////////
+
+    @Test
+    public void testPinViewIdle() throws Exception {
+        PinView pinView = createPinView(false);
+
+        drawFrame(pinView);
+        assertBudget("idle", 11, 11, 0, 1, 1, 25);
+    }
+
+    @Test
+    public void testPinViewTyping() throws Exception {
+        PinView pinView = createPinView(false);
+        pinView.setCurrentTypedPin(new int[]{1, 2});
+
+        drawFrame(pinView);
+        assertBudget("typing", 11, 11, 0, 1, 1, 26);
+    }
+
+    @Test
+    public void testPinViewRipple() throws Exception {
+        PinView pinView = createPinView(false);
+        PinViewFixture.tapKeys(pinView, "5");
+
+        drawFrame(pinView);
+        assertBudget("ripple", 12, 11, 0, 1, 1, 27);
+    }
+
+    @Test
+    public void testPinViewAuthFailShake() throws Exception {
+        PinView pinView = createPinView(false);
+        PinViewFixture.tapKeys(pinView, "5", "6", "7", "8");
+
+        //Ripples of the typed keys are still running while the keypad shakes.
+        drawFrame(pinView);
+        assertBudget("auth fail shake", 15, 11, 0, 1, 1, 29);
+    }
+
+    @Test
+    public void testPinViewFingerprintError() throws Exception {
+        PinView pinView = createPinView(true);
+        pinView.mBoxFingerprint.onFingerprintAuthFailed(FingerPrintAuthHelper.RECOVERABLE_ERROR, "Sensor dirty");
+
+        drawFrame(pinView);
+        assertBudget("fingerprint error", 11, 12, 0, 2, 1, 27);
+    }
+
+    @Test
+    public void testPinViewLongPin() throws Exception {
+        //Indicator row costs the same number of draw calls for any PIN length.
+        for (int pinLength = 4; pinLength <= 32; pinLength *= 2) {
+            PinView pinView = createPinView(false);
+            pinView.setCorrectPin(new int[pinLength]);
+            pinView.setCurrentTypedPin(new int[pinLength / 2]);
+
+            drawFrame(pinView);
+            assertBudget("PIN length " + pinLength, 11, 11, 0, 1, 1, 26);
+            Assert.assertTrue(mCanvas.toString(), mCanvas.getPointsCount() + mCanvas.getPathCount() <= 2);
+        }
+    }
+
+    ///////////////// PASSPHRASE VIEW //////////////
+
+    @Test
+    public void testPassphraseViewIdle() throws Exception {
+        PassphraseView passphraseView = createPassphraseView();
+
+        drawFrame(passphraseView);
+        assertBudget("passphrase idle", 43, 43, 0, 1, 1, 88);
+    }
+
+    @Test
+    public void testPassphraseViewDrawCostPerKey() throws Exception {
+        PinView pinView = createPinView(false);
+        drawFrame(pinView);
+        float pinCallsPerKey = (float) mCanvas.getDrawCallCount() / pinView.getBoxKeypad().getKeys().size();
+
+        //Keyboard with 43 keys costs the same per key as the 12 key keypad.
+        PassphraseView passphraseView = createPassphraseView();
+        drawFrame(passphraseView);
+        float passphraseCallsPerKey = (float) mCanvas.getDrawCallCount() / passphraseView.getBoxKeypad().getKeys().length;
+        Assert.assertTrue(mCanvas.toString(), passphraseCallsPerKey <= pinCallsPerKey);
+    }
+
+    ///////////////// PATTERN VIEW //////////////
+
+    @Test
+    public void testPatternViewIdle() throws Exception {
+        PatternView patternView = createPatternView();
+
+        drawFrame(patternView);
+        assertBudget("pattern idle", 12, 1, 0, 0, 1, 3);
+    }
+
+    @Test
+    public void testPatternViewTracking() throws Exception {
+        PatternView patternView = createPatternView();
+        long downTime = SystemClock.uptimeMillis();
+        Rect first = patternView.getBoxPattern().getPatternCells().get(0).getBound();
+        Rect second = patternView.getBoxPattern().getPatternCells().get(1).getBound();
+        Rect third = patternView.getBoxPattern().getPatternCells().get(2).getBound();
+        PinViewFixture.dispatch(patternView, downTime, MotionEvent.ACTION_DOWN, first.exactCenterX(), first.exactCenterY());
+        PinViewFixture.dispatch(patternView, downTime, MotionEvent.ACTION_MOVE, second.exactCenterX(), second.exactCenterY());
+        PinViewFixture.dispatch(patternView, downTime, MotionEvent.ACTION_MOVE, third.exactCenterX(), third.exactCenterY());
+
+        drawFrame(patternView);
+        assertBudget("pattern tracking", 12, 1, 0, 0, 4, 5);
+    }
+
+    ///////////////// HELPERS //////////////
+
+    private PinView createPinView(boolean isFingerprintVisible) {
+        PinView pinView = PinViewFixture.create();
+        if (isFingerprintVisible) {
+            pinView.mBoxFingerprint.forceFingerPrintBoxVisible();
+            PinViewFixture.measure(pinView);
+        }
+        return pinView;
+    }
+
+    private PassphraseView createPassphraseView() {
+        PassphraseView passphraseView = new PassphraseView(RuntimeEnvironment.application);
+        passphraseView.setTactileFeedback(false);
+        passphraseView.setCorrectPassphrase("passphrase");
+        passphraseView.setAuthenticationListener(new PinViewFixture.AuthCounter());
+        passphraseView.setKey(new RoundKey.Builder(passphraseView).setKeyPadding(2f).build());
+        passphraseView.setIndicator(new CircleIndicator.Builder(passphraseView).build());
+        PinViewFixture.measure(passphraseView);
+        return passphraseView;
+    }
+
+    private PatternView createPatternView() {
+        PatternView patternView = new PatternView(RuntimeEnvironment.application);
+        patternView.setTactileFeedback(false);
+        patternView.setCorrectPattern(new int[]{1, 2, 3, 4});
+        patternView.setAuthenticationListener(new PinViewFixture.AuthCounter());
+        patternView.setIndicator(new CirclePatternCell.Builder(patternView).build());
+        PinViewFixture.measure(patternView);
+        return patternView;
+    }
+
+    /**
+     * Draw the view content only. Background and the scroll bars are not part of the budget.
+     */
+    private void drawFrame(PasscodeView view) {
+        mCanvas.reset();
+        view.onDraw(mCanvas);
+    }
+
+    private void assertBudget(String state,
+                              int maxCircles,
+                              int maxTexts,
+                              int maxRects,
+                              int maxBitmaps,
+                              int maxLines,
+                              int maxPaintChanges) {
+        String message = "Draw budget exceeded in " + state + " state: " + mCanvas;
+        Assert.assertTrue(message, mCanvas.getCircleCount() <= maxCircles);
+        Assert.assertTrue(message, mCanvas.getTextCount() <= maxTexts);
+        Assert.assertTrue(message, mCanvas.getRectCount() <= maxRects);
+        Assert.assertTrue(message, mCanvas.getBitmapCount() <= maxBitmaps);
+        Assert.assertTrue(message, mCanvas.getLineCount() <= maxLines);
+        Assert.assertTrue(message, mCanvas.getPaintChangeCount() <= maxPaintChanges);
+        Assert.assertEquals(message, 0, mCanvas.getShaderChangeCount());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class FingerprintStatusTest {
+    private static final long STATUS_DURATION = Box.SHAKE_DURATION + BoxFingerprint.STATUS_HOLD_DURATION;
+
+    private PinView mPinView;
+    private BoxFingerprint mBoxFingerprint;
+    private PinViewFixture.AuthCounter mAuthCounter;
+
+    @Before
+    public void setUp() throws Exception {
+        mAuthCounter = new PinViewFixture.AuthCounter();
+        mPinView = PinViewFixture.create(mAuthCounter);
+
+        mBoxFingerprint = mPinView.mBoxFingerprint;
+        mBoxFingerprint.forceFingerPrintBoxVisible();
+    }
+
+    @Test
+    public void testRepeatedHelpCoalesced() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            mBoxFingerprint.onFingerprintAuthFailed(FingerPrintAuthHelper.RECOVERABLE_ERROR, "Clean the sensor.");
+        }
+
+        Assert.assertEquals(1, mAuthCounter.mFailedCount);
+        Assert.assertEquals(19, mPinView.getMetrics().getCoalescedStatusCount());
+        Assert.assertEquals("Clean the sensor.", mBoxFingerprint.getCurrentStatusText());
+
+        //Nothing is waiting, so the normal status is back after the status duration.
+        ShadowLooper.idleMainLooper(STATUS_DURATION);
+        Assert.assertEquals(mBoxFingerprint.getStatusText(), mBoxFingerprint.getCurrentStatusText());
+        Assert.assertEquals(1, mAuthCounter.mFailedCount);
+    }
+
+    @Test
+    public void testHigherPriorityStatusWaits() throws Exception {
+        mBoxFingerprint.onFingerprintAuthFailed(FingerPrintAuthHelper.RECOVERABLE_ERROR, "Move finger slower.");
+        mBoxFingerprint.onFingerprintAuthFailed(FingerPrintAuthHelper.CANNOT_RECOGNIZE_ERROR, "Cannot recognize.");
+        mBoxFingerprint.onFingerprintAuthFailed(FingerPrintAuthHelper.RECOVERABLE_ERROR, "Clean the sensor.");
+
+        //Help message with the lower priority is dropped.
+        Assert.assertEquals(1, mAuthCounter.mFailedCount);
+        Assert.assertEquals(1, mPinView.getMetrics().getCoalescedStatusCount());
+
+        ShadowLooper.idleMainLooper(STATUS_DURATION);
+        Assert.assertEquals("Cannot recognize.", mBoxFingerprint.getCurrentStatusText());
+        Assert.assertEquals(2, mAuthCounter.mFailedCount);
+
+        ShadowLooper.idleMainLooper(STATUS_DURATION);
+        Assert.assertEquals(mBoxFingerprint.getStatusText(), mBoxFingerprint.getCurrentStatusText());
+        Assert.assertEquals(2, mAuthCounter.mFailedCount);
+    }
+
+    @Test
+    public void testSuccessDropsQueuedStatus() throws Exception {
+        mBoxFingerprint.onFingerprintAuthFailed(FingerPrintAuthHelper.RECOVERABLE_ERROR, "Move finger slower.");
+        mBoxFingerprint.onFingerprintAuthFailed(FingerPrintAuthHelper.CANNOT_RECOGNIZE_ERROR, "Cannot recognize.");
+        mBoxFingerprint.onFingerprintAuthSuccess(null);
+
+        ShadowLooper.idleMainLooper(STATUS_DURATION);
+        Assert.assertEquals(mBoxFingerprint.getStatusText(), mBoxFingerprint.getCurrentStatusText());
+        Assert.assertEquals(1, mAuthCounter.mFailedCount);
+    }
+
+    @Test
+    public void testStopDropsPendingSuccess() throws Exception {
+        mBoxFingerprint.onFingerprintAuthSuccess(null);
+        mBoxFingerprint.onFingerprintAuthSuccess(null);    //Repeated success is notified once.
+        ShadowLooper.idleMainLooper(BoxFingerprint.SUCCESS_HOLD_DURATION);
+        Assert.assertEquals(1, mAuthCounter.mSuccessCount);
+
+        //Success is not notified after the scanner stops.
+        mBoxFingerprint.onFingerprintAuthSuccess(null);
+        mBoxFingerprint.stopFingerprintScanner();
+        ShadowLooper.idleMainLooper(BoxFingerprint.SUCCESS_HOLD_DURATION);
+        Assert.assertEquals(1, mAuthCounter.mSuccessCount);
+        Assert.assertEquals(mBoxFingerprint.getStatusText(), mBoxFingerprint.getCurrentStatusText());
+    }
+}
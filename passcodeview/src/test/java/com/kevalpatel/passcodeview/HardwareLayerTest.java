@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.animation.ValueAnimator;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class HardwareLayerTest {
+    private PinView mPinView;
+
+    @Before
+    public void setUp() throws Exception {
+        mPinView = PinViewFixture.create();
+    }
+
+    @Test
+    public void testLayerPromotedWhileAnimating() throws Exception {
+        ValueAnimator first = ValueAnimator.ofInt(0, 10);
+        ValueAnimator second = ValueAnimator.ofInt(0, 10);
+        mPinView.trackAnimation(first);
+        mPinView.trackAnimation(second);
+        mPinView.trackAnimation(second);     //Tracking twice has no effect.
+        Assert.assertFalse(mPinView.getMetrics().isLayerPromoted());
+
+        first.start();
+        second.start();
+        Assert.assertTrue(mPinView.getMetrics().isLayerPromoted());
+        Assert.assertEquals(1, mPinView.getMetrics().getLayerPromotionCount());
+
+        //First animation finished, but second is still running.
+        first.end();
+        ShadowLooper.idleMainLooper(1000);
+        Assert.assertTrue(mPinView.getMetrics().isLayerPromoted());
+
+        //Layer is released after the short delay once all the animations end.
+        second.end();
+        Assert.assertTrue(mPinView.getMetrics().isLayerPromoted());
+        ShadowLooper.idleMainLooper(1000);
+        Assert.assertFalse(mPinView.getMetrics().isLayerPromoted());
+        Assert.assertEquals(1, mPinView.getMetrics().getLayerReleaseCount());
+        Assert.assertEquals(1, mPinView.getMetrics().getLayerPromotionCount());
+    }
+
+    @Test
+    public void testAuthFailShakePromotesOnce() throws Exception {
+        PinViewFixture.tapKeys(mPinView, "5", "6", "7", "8");    //Wrong PIN. The keypad starts shaking.
+
+        Assert.assertTrue(mPinView.getMetrics().isLayerPromoted());
+        Assert.assertEquals(1, mPinView.getMetrics().getLayerPromotionCount());
+    }
+
+    @Test
+    public void testLayerDisabled() throws Exception {
+        mPinView.setHardwareLayerOnAnimation(false);
+
+        PinViewFixture.tapKeys(mPinView, "5");
+        Assert.assertFalse(mPinView.getMetrics().isLayerPromoted());
+        Assert.assertEquals(0, mPinView.getMetrics().getLayerPromotionCount());
+    }
+}
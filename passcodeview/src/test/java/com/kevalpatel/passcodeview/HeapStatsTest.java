@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.content.res.Resources;
+import android.graphics.Color;
+
+import com.kevalpatel.passcodeview.keys.Key;
+import com.kevalpatel.passcodeview.keys.RoundKey;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class HeapStatsTest {
+
+    @Test
+    public void testStatsOfMeasuredView() throws Exception {
+        PinView pinView = PinViewFixture.create();
+        PasscodeHeapStats stats = pinView.getHeapStats();
+        Assert.assertEquals(12, stats.getComponentCount());         //Keys. Indicators are drawn from the primitive row.
+        Assert.assertEquals(12, stats.getAnimatorCount());          //Ripple of each key.
+        Assert.assertEquals(0, stats.getPendingTaskCount());
+        Assert.assertTrue(stats.getEstimatedBytes() > 0);
+    }
+
+    @Test
+    public void testOldKeysNotRetained() throws Exception {
+        PinView pinView = PinViewFixture.create();
+        long bytesBefore = pinView.getHeapStats().getEstimatedBytes();
+
+        //Every new builder creates the new keys. Old keys and their animators must be collectable.
+        for (int i = 0; i < 10; i++) {
+            pinView.setKey(new RoundKey.Builder(pinView).build());
+            PinViewFixture.measure(pinView, PinViewFixture.WIDTH - i, PinViewFixture.HEIGHT);
+        }
+        collectGarbage();
+
+        PasscodeHeapStats stats = pinView.getHeapStats();
+        Assert.assertEquals(12, stats.getComponentCount());
+        Assert.assertEquals(12, stats.getAnimatorCount());
+        Assert.assertEquals(bytesBefore, stats.getEstimatedBytes());
+    }
+
+    @Test
+    public void testKeysReusedOnMeasure() throws Exception {
+        PinView pinView = PinViewFixture.create();
+        Key key = PinViewFixture.findKey(pinView, "5");
+        int width = key.getBound().width();
+
+        //Keys of the same builder move to the new cells.
+        PinViewFixture.measure(pinView, PinViewFixture.WIDTH / 2, PinViewFixture.HEIGHT);
+        Assert.assertSame(key, PinViewFixture.findKey(pinView, "5"));
+        Assert.assertEquals(12, pinView.getHeapStats().getAnimatorCount());
+        Assert.assertTrue(key.getBound().width() < width);
+        Assert.assertTrue(key.isKeyPressed(key.getBound().exactCenterX(), key.getBound().exactCenterY()));
+        Assert.assertFalse(key.isKeyPressed(key.getBound().left + 1, key.getBound().top + 1));
+    }
+
+    @Test
+    public void testDetachReleasesQueue() throws Exception {
+        PinView pinView = PinViewFixture.create();
+        attach(pinView);
+        PinViewFixture.tapKeys(pinView, "5", "6", "7", "8");    //Wrong PIN.
+
+        PasscodeHeapStats stats = pinView.getHeapStats();
+        Assert.assertTrue(stats.getRunningAnimatorCount() > 0);
+        Assert.assertTrue(stats.getQueuedTaskCount() > 0);
+
+        pinView.onDetachedFromWindow();
+        stats = pinView.getHeapStats();
+        Assert.assertEquals(0, stats.getRunningAnimatorCount());
+        Assert.assertEquals(0, stats.getQueuedTaskCount());
+        Assert.assertTrue(stats.getPendingTaskCount() > 0);     //Kept by the view for the next attach.
+    }
+
+    @Test
+    public void testCollectableAfterDetach() throws Exception {
+        WeakReference<PinView> reference = createDetachedView();
+        collectGarbage();
+        Assert.assertNull(reference.get());
+
+        //Nothing left in the main thread queue touches the collected view.
+        ShadowLooper.idleMainLooper(5000);
+    }
+
+    @Test
+    public void testIconMasksShared() throws Exception {
+        Resources resources = RuntimeEnvironment.application.getResources();
+        TintedIcon first = new TintedIcon(resources, R.drawable.ic_back_space);
+        TintedIcon second = new TintedIcon(resources, R.drawable.ic_back_space);
+        first.setColor(Color.RED);
+        second.setColor(Color.BLUE);
+
+        //Icons share the mask and keep their own colors.
+        Assert.assertSame(first.getMask(), second.getMask());
+        Assert.assertNotSame(first.getMask(), new TintedIcon(resources, R.drawable.ic_fingerprint).getMask());
+        Assert.assertEquals(Color.RED, first.getColor());
+    }
+
+    private WeakReference<PinView> createDetachedView() {
+        PinView pinView = PinViewFixture.create();
+        attach(pinView);
+        PinViewFixture.tapKeys(pinView, "5", "6", "7", "8");    //Wrong PIN.
+        pinView.onDetachedFromWindow();
+        return new WeakReference<>(pinView);
+    }
+
+    private static void attach(PinView pinView) {
+        pinView.onAttachedToWindow();
+        pinView.onWindowFocusChanged(true);
+        Assert.assertFalse(pinView.isIdle());
+    }
+
+    private static void collectGarbage() {
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            System.runFinalization();
+        }
+    }
+}
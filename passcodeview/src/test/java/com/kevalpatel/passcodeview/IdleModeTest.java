@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.view.View;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.Shadows;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class IdleModeTest {
+    private PinView mPinView;
+
+    @Before
+    public void setUp() throws Exception {
+        mPinView = PinViewFixture.create();
+    }
+
+    @Test
+    public void testNoFramesWhileHidden() throws Exception {
+        PinViewFixture.tapKeys(mPinView, "1");    //Ripple starts.
+        Assert.assertTrue(mPinView.getMetrics().isLayerPromoted());
+
+        //Screen off
+        mPinView.onWindowVisibilityChanged(View.GONE);
+        Assert.assertTrue(mPinView.isIdle());
+        Assert.assertFalse(mPinView.getMetrics().isLayerPromoted());
+        Shadows.shadowOf(mPinView).clearWasInvalidated();
+
+        mPinView.mBoxFingerprint.onFingerprintAuthFailed(FingerPrintAuthHelper.CANNOT_RECOGNIZE_ERROR, "Cannot recognize.");
+        ShadowLooper.idleMainLooper(5000);
+        Assert.assertFalse(Shadows.shadowOf(mPinView).wasInvalidated());
+        Assert.assertTrue(mPinView.getMetrics().getSkippedInvalidateCount() > 0);
+
+        //Screen on. Missed frame is drawn and the ripple continues in the hardware layer.
+        mPinView.onWindowVisibilityChanged(View.VISIBLE);
+        Assert.assertFalse(mPinView.isIdle());
+        Assert.assertTrue(Shadows.shadowOf(mPinView).wasInvalidated());
+        Assert.assertTrue(mPinView.getMetrics().isLayerPromoted());
+        Assert.assertEquals(1, mPinView.getMetrics().getIdleCount());
+    }
+
+    @Test
+    public void testTimersFrozenWhileHidden() throws Exception {
+        PinViewFixture.tapKeys(mPinView, "5", "6", "7", "8");    //Wrong PIN. Reset is posted.
+
+        mPinView.onWindowVisibilityChanged(View.GONE);
+        ShadowLooper.idleMainLooper(5000);
+        Assert.assertEquals(4, mPinView.getCurrentTypedPin().length);
+
+        mPinView.onWindowVisibilityChanged(View.VISIBLE);
+        ShadowLooper.idleMainLooper(5000);
+        Assert.assertEquals(0, mPinView.getCurrentTypedPin().length);
+    }
+
+    @Test
+    public void testFocusLossKeepsAnimating() throws Exception {
+        mPinView.onAttachedToWindow();
+        PinViewFixture.tapKeys(mPinView, "1");    //Ripple starts.
+
+        //Dialog on top. The view is still visible.
+        mPinView.onWindowFocusChanged(false);
+        Assert.assertFalse(mPinView.isIdle());
+        Assert.assertTrue(mPinView.getMetrics().isLayerPromoted());
+
+        mPinView.onWindowFocusChanged(true);
+        Assert.assertFalse(mPinView.isIdle());
+        Assert.assertEquals(0, mPinView.getMetrics().getIdleCount());
+    }
+}
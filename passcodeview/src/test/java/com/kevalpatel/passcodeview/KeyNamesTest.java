@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import com.kevalpatel.passcodeview.keys.Key;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class KeyNamesTest {
+    private static final String[] HINDI_DIGITS = new String[]{"०", "१", "२", "३", "४", "५", "६", "७", "८", "९"};
+
+    private PinView mPinView;
+
+    @Before
+    public void setUp() throws Exception {
+        mPinView = PinViewFixture.create();
+    }
+
+    @Test
+    public void testRelabelInPlace() throws Exception {
+        PinViewFixture.tapKeys(mPinView, "1", "2");
+        ArrayList<Key> keys = new ArrayList<>(mPinView.getBoxKeypad().getKeys());
+
+        mPinView.setKeyNames(hindiKeyNames());
+
+        //Same keys with the new names. Typed pin is kept and no layout pass is requested.
+        Assert.assertFalse(mPinView.isLayoutRequested());
+        Assert.assertEquals(keys, mPinView.getBoxKeypad().getKeys());
+        Assert.assertNotNull(PinViewFixture.findKey(mPinView, HINDI_DIGITS[5]));
+        Assert.assertNotNull(PinViewFixture.findKey(mPinView, KeyNamesBuilder.BACKSPACE_TITLE));
+        Assert.assertArrayEquals(new int[]{1, 2}, mPinView.getCurrentTypedPin());
+
+        //Relabeled keys type their digit values.
+        PinViewFixture.tapKeys(mPinView, HINDI_DIGITS[3]);
+        Assert.assertArrayEquals(new int[]{1, 2, 3}, mPinView.getCurrentTypedPin());
+        PinViewFixture.tapKeys(mPinView, KeyNamesBuilder.BACKSPACE_TITLE);
+        Assert.assertArrayEquals(new int[]{1, 2}, mPinView.getCurrentTypedPin());
+    }
+
+    @Test
+    public void testBuilderChangeAfterSet() throws Exception {
+        KeyNamesBuilder keyNames = hindiKeyNames();
+        mPinView.setKeyNames(keyNames);
+
+        //Keypad keeps its own copy of the names.
+        keyNames.setKeyOne("A");
+        Assert.assertNotNull(PinViewFixture.findKey(mPinView, HINDI_DIGITS[1]));
+        PinViewFixture.tapKeys(mPinView, HINDI_DIGITS[1]);
+        Assert.assertArrayEquals(new int[]{1}, mPinView.getCurrentTypedPin());
+    }
+
+    @Test
+    public void testResolvedNamesCached() throws Exception {
+        String first = new KeyNamesBuilder().setKeyOne(RuntimeEnvironment.application, android.R.string.ok).getKeyOne();
+        String second = new KeyNamesBuilder().setKeyOne(RuntimeEnvironment.application, android.R.string.ok).getKeyOne();
+
+        Assert.assertEquals(RuntimeEnvironment.application.getString(android.R.string.ok), first);
+        Assert.assertSame(first, second);
+    }
+
+    private KeyNamesBuilder hindiKeyNames() {
+        return new KeyNamesBuilder()
+                .setKeyZero(HINDI_DIGITS[0])
+                .setKeyOne(HINDI_DIGITS[1])
+                .setKeyTwo(HINDI_DIGITS[2])
+                .setKeyThree(HINDI_DIGITS[3])
+                .setKeyFour(HINDI_DIGITS[4])
+                .setKeyFive(HINDI_DIGITS[5])
+                .setKeySix(HINDI_DIGITS[6])
+                .setKeySeven(HINDI_DIGITS[7])
+                .setKeyEight(HINDI_DIGITS[8])
+                .setKeyNine(HINDI_DIGITS[9]);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.view.MotionEvent;
+
+import com.kevalpatel.passcodeview.core.TouchTrace;
+import com.kevalpatel.passcodeview.keys.Key;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.Shadows;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowMotionEvent;
+
+import java.util.ArrayList;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class MultiTouchTest {
+    private static final long EVENT_INTERVAL = 5;  //Milliseconds between two events. (200 events per second.)
+
+    private PinView mPinView;
+    private final ArrayList<Integer> mActivePointers = new ArrayList<>();
+    private final float[] mPointerXs = new float[2];
+    private final float[] mPointerYs = new float[2];
+    private long mEventTime;
+
+    @Before
+    public void setUp() throws Exception {
+        mPinView = PinViewFixture.create();
+    }
+
+    @Test
+    public void testTwoThumbsNoLostDigits() throws Exception {
+        String[] digits = new String[]{"1", "2", "3", "4", "5", "6", "7", "8", "9", "0", "1", "2"};
+        TouchTrace trace = new TouchTrace();
+
+        //Next thumb always lands before the previous one lifts.
+        pointerDown(trace, 0, digits[0]);
+        for (int i = 1; i < digits.length; i++) {
+            pointerDown(trace, i % 2, digits[i]);
+            pointerUp(trace, (i - 1) % 2);
+            trace.addCommittedValue(Integer.parseInt(digits[i - 1]));
+        }
+        pointerUp(trace, (digits.length - 1) % 2);
+        trace.addCommittedValue(Integer.parseInt(digits[digits.length - 1]));
+
+        Assert.assertArrayEquals(trace.getCommittedValues(), replay(trace));
+    }
+
+    @Test
+    public void testSwipeOfOneThumbIgnored() throws Exception {
+        TouchTrace trace = new TouchTrace();
+        pointerDown(trace, 0, "1");
+        pointerDown(trace, 1, "2");
+        moveTo(0, "5");
+        pointerUp(trace, 0);        //Lifted on the other key. Ignored.
+        pointerUp(trace, 1);
+        trace.addCommittedValue(2);
+
+        Assert.assertArrayEquals(trace.getCommittedValues(), replay(trace));
+    }
+
+    /**
+     * Replay the trace and return the committed values. Robolectric can't build the multi pointer
+     * events using the {@link MotionEvent.PointerProperties}, so this builds the events using
+     * {@link ShadowMotionEvent} instead of {@link TouchTraceReplayer}. (Two pointers at most.)
+     */
+    private int[] replay(TouchTrace trace) {
+        TouchTrace replayedTrace = new TouchTrace();
+        mPinView.setTouchTraceRecorder(new TouchTraceRecorder(replayedTrace, false));
+
+        for (int e = 0; e < trace.getEventCount(); e++) {
+            int firstSample = trace.getFirstSample(e);
+            int action = trace.getAction(e);
+            //Shadow reports the whole action as the masked action. Pass the pointer index separately.
+            MotionEvent event = MotionEvent.obtain(0, trace.getEventTime(e), action & MotionEvent.ACTION_MASK,
+                    trace.getX(firstSample), trace.getY(firstSample), 0);
+
+            ShadowMotionEvent shadowEvent = Shadows.shadowOf(event);
+            if (trace.getPointerCount(e) > 1) {
+                shadowEvent.setPointer2(trace.getX(firstSample + 1), trace.getY(firstSample + 1));
+                shadowEvent.setPointerIds(trace.getPointerId(firstSample), trace.getPointerId(firstSample + 1));
+            } else {
+                shadowEvent.setPointerIds(trace.getPointerId(firstSample), 0);
+            }
+            shadowEvent.setPointerIndex((action & MotionEvent.ACTION_POINTER_INDEX_MASK) >> MotionEvent.ACTION_POINTER_INDEX_SHIFT);
+
+            mPinView.dispatchTouchEvent(event);
+            event.recycle();
+        }
+        return replayedTrace.getCommittedValues();
+    }
+
+    private void pointerDown(TouchTrace trace, int pointerId, String digit) {
+        moveTo(pointerId, digit);
+
+        int index = 0;
+        while (index < mActivePointers.size() && mActivePointers.get(index) < pointerId) index++;
+        mActivePointers.add(index, pointerId);
+        addEvent(trace, mActivePointers.size() == 1 ? MotionEvent.ACTION_DOWN : MotionEvent.ACTION_POINTER_DOWN, index);
+    }
+
+    private void pointerUp(TouchTrace trace, int pointerId) {
+        int index = mActivePointers.indexOf(pointerId);
+        addEvent(trace, mActivePointers.size() == 1 ? MotionEvent.ACTION_UP : MotionEvent.ACTION_POINTER_UP, index);
+        mActivePointers.remove(index);
+    }
+
+    private void addEvent(TouchTrace trace, int action, int pointerIndex) {
+        mEventTime += EVENT_INTERVAL;
+        trace.addEvent(mEventTime, action | (pointerIndex << MotionEvent.ACTION_POINTER_INDEX_SHIFT), 0, mActivePointers.size());
+        for (int pointerId : mActivePointers) trace.addPointer(pointerId, mPointerXs[pointerId], mPointerYs[pointerId]);
+    }
+
+    private void moveTo(int pointerId, String digit) {
+        Key key = PinViewFixture.findKey(mPinView, digit);
+        mPointerXs[pointerId] = key.getBound().exactCenterX();
+        mPointerYs[pointerId] = key.getBound().exactCenterY();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+
+import com.kevalpatel.passcodeview.keys.Key;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Random;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class NearestKeyTest {
+    private static final int NO_OF_TAPS = 1000;
+
+    private PinView mPinView;
+
+    @Before
+    public void setUp() throws Exception {
+        mPinView = PinViewFixture.create();
+    }
+
+    @Test
+    public void testMissesPerThousandTaps() throws Exception {
+        replayTaps();
+        double exactMisses = mPinView.getMetrics().getMissesPerThousandTaps();
+        Assert.assertEquals(NO_OF_TAPS, mPinView.getMetrics().getTapCount());
+
+        mPinView.getMetrics().reset();
+        mPinView.setNearestKeyEnabled(true);
+        replayTaps();
+        double nearestMisses = mPinView.getMetrics().getMissesPerThousandTaps();
+        Assert.assertEquals(NO_OF_TAPS, mPinView.getMetrics().getTapCount());
+
+        Assert.assertTrue("Exact: " + exactMisses + " Nearest: " + nearestMisses, nearestMisses < exactMisses);
+    }
+
+    @Test
+    public void testTapBetweenKeys() throws Exception {
+        Key key1 = PinViewFixture.findKey(mPinView, "1");
+        Key key2 = PinViewFixture.findKey(mPinView, "2");
+
+        //Corner of the cell is outside the round key.
+        float x = key1.getBound().right - 2;
+        float y = key1.getBound().top + 2;
+        PinViewFixture.tap(mPinView, x, y);
+        Assert.assertEquals(0, mPinView.getCurrentTypedPin().length);
+
+        mPinView.setNearestKeyEnabled(true);
+        PinViewFixture.tap(mPinView, x, y);
+        Assert.assertArrayEquals(new int[]{1}, mPinView.getCurrentTypedPin());
+
+        //Swipe from one key to the other is still not a press.
+        long downTime = SystemClock.uptimeMillis();
+        dispatch(downTime, MotionEvent.ACTION_DOWN, key1.getBound().exactCenterX(), key1.getBound().exactCenterY());
+        dispatch(downTime, MotionEvent.ACTION_UP, key2.getBound().exactCenterX(), key2.getBound().exactCenterY());
+        Assert.assertArrayEquals(new int[]{1}, mPinView.getCurrentTypedPin());
+
+        //Distance cap.
+        mPinView.setNearestKeyMaxDistance(10);
+        PinViewFixture.tap(mPinView, x, y);
+        Assert.assertArrayEquals(new int[]{1}, mPinView.getCurrentTypedPin());
+    }
+
+    /**
+     * Tap the random keys with the touch points scattered around the key center, like the fast
+     * typing user.
+     */
+    private void replayTaps() {
+        Random random = new Random(42);
+        Key key0 = PinViewFixture.findKey(mPinView, "0");
+        float spread = key0.getBound().width() * 0.25f;
+
+        for (int i = 0; i < NO_OF_TAPS; i++) {
+            Key key = PinViewFixture.findKey(mPinView, String.valueOf(random.nextInt(10)));
+            float x = key.getBound().exactCenterX() + (float) random.nextGaussian() * spread;
+            float y = key.getBound().exactCenterY() + (float) random.nextGaussian() * spread;
+            x = Math.max(mPinView.getBoxKeypad().getBounds().left, Math.min(x, mPinView.getBoxKeypad().getBounds().right - 1));
+            y = Math.max(mPinView.getBoxKeypad().getBounds().top, Math.min(y, mPinView.getBoxKeypad().getBounds().bottom - 1));
+            PinViewFixture.tap(mPinView, x, y);
+            mPinView.reset();
+        }
+    }
+
+    private void dispatch(long downTime, int action, float x, float y) {
+        PinViewFixture.dispatch(mPinView, downTime, action, x, y);
+    }
+}
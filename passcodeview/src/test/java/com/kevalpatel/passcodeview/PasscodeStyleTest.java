@@ -0,0 +1,195 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.Color;
+import android.util.AttributeSet;
+
+import com.kevalpatel.passcodeview.indicators.CircleIndicator;
+import com.kevalpatel.passcodeview.indicators.DotIndicator;
+import com.kevalpatel.passcodeview.keys.RectKey;
+import com.kevalpatel.passcodeview.keys.RoundKey;
+import com.kevalpatel.passcodeview.keys.SquareKey;
+import com.kevalpatel.passcodeview.patternCells.CirclePatternCell;
+import com.kevalpatel.passcodeview.patternCells.DotPatternCell;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class PasscodeStyleTest {
+
+    @Test
+    public void testInlineAttributes() throws Exception {
+        AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.keyShape, "square")
+                .addAttribute(R.attr.keyTextColor, "#00FF00")
+                .addAttribute(R.attr.indicatorShape, "dot")
+                .addAttribute(R.attr.titleTextSize, "30px")
+                .build();
+        PinView pinView = new PinView(RuntimeEnvironment.application, attrs);
+
+        Assert.assertTrue(pinView.getKeyBuilder() instanceof SquareKey.Builder);
+        Assert.assertEquals(Color.GREEN, ((SquareKey.Builder) pinView.getKeyBuilder()).getKeyTextColor());
+        Assert.assertEquals(Color.GREEN, pinView.getKeyBuilder().getKeyTextPaint().getColor());
+        Assert.assertTrue(pinView.getIndicatorBuilder() instanceof DotIndicator.Builder);
+        Assert.assertEquals(30, pinView.getTitleTextSize(), 0.001);
+
+        //Values which are not in XML are the defaults of the library.
+        KeyStyle defaultKeyStyle = KeyStyle.getDefault(RuntimeEnvironment.application);
+        Assert.assertEquals(defaultKeyStyle.getStrokeWidth(),
+                ((SquareKey.Builder) pinView.getKeyBuilder()).getKeyStrokeWidth(), 0.001);
+
+        //Inline attributes are unique to the view.
+        PinView otherView = new PinView(RuntimeEnvironment.application, attrs);
+        Assert.assertNotSame(pinView.getPasscodeStyle(), otherView.getPasscodeStyle());
+    }
+
+    @Test
+    public void testPatternCellAttributes() throws Exception {
+        AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.patternCellShape, "dot")
+                .addAttribute(R.attr.patternCellRadius, "12px")
+                .build();
+        PatternView patternView = new PatternView(RuntimeEnvironment.application, attrs);
+
+        Assert.assertTrue(patternView.getIndicatorBuilder() instanceof DotPatternCell.Builder);
+        Assert.assertEquals(12, ((DotPatternCell.Builder) patternView.getIndicatorBuilder()).getRadius(), 0.001);
+    }
+
+    @Test
+    public void testSameStyleShared() throws Exception {
+        AttributeSet attrs = Robolectric.buildAttributeSet()
+                .setStyleAttribute("@android:style/Widget")
+                .build();
+        PinView pinView = new PinView(RuntimeEnvironment.application, attrs);
+        PinView otherView = new PinView(RuntimeEnvironment.application, attrs);
+        PassphraseView passphraseView = new PassphraseView(RuntimeEnvironment.application, attrs);
+
+        Assert.assertSame(pinView.getPasscodeStyle(), otherView.getPasscodeStyle());
+        Assert.assertSame(pinView.getPasscodeStyle(), passphraseView.getPasscodeStyle());
+
+        //Style without any component attribute doesn't replace the builders set from the code.
+        Assert.assertNull(pinView.getKeyBuilder());
+        Assert.assertNull(pinView.getIndicatorBuilder());
+    }
+
+    @Test
+    public void testDefaultStyleShared() throws Exception {
+        PinView pinView = new PinView(RuntimeEnvironment.application);
+        PinView otherView = new PinView(RuntimeEnvironment.application);
+        Assert.assertSame(pinView.getPasscodeStyle(), otherView.getPasscodeStyle());
+        Assert.assertSame(KeyStyle.getDefault(RuntimeEnvironment.application),
+                pinView.getPasscodeStyle().getKeyStyle());
+
+        //Builders take the default values from the shared style.
+        RoundKey.Builder keyBuilder = new RoundKey.Builder(pinView);
+        Assert.assertEquals(KeyStyle.getDefault(RuntimeEnvironment.application).getTextSize(),
+                keyBuilder.getKeyTextSize(), 0.001);
+        CircleIndicator.Builder indicatorBuilder = new CircleIndicator.Builder(pinView);
+        Assert.assertEquals(IndicatorStyle.getDefault(RuntimeEnvironment.application).getRadius(),
+                indicatorBuilder.getIndicatorRadius(), 0.001);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    public void testConfigurationChange() throws Exception {
+        Resources res = RuntimeEnvironment.application.getResources();
+        KeyStyle keyStyle = KeyStyle.getDefault(RuntimeEnvironment.application);
+        Assert.assertSame(keyStyle, KeyStyle.getDefault(RuntimeEnvironment.application));
+
+        Configuration configuration = new Configuration(res.getConfiguration());
+        float fontScale = configuration.fontScale;
+        configuration.fontScale = fontScale * 2;
+        res.updateConfiguration(configuration, res.getDisplayMetrics());
+        try {
+            KeyStyle scaledStyle = KeyStyle.getDefault(RuntimeEnvironment.application);
+            Assert.assertNotSame(keyStyle, scaledStyle);
+            Assert.assertEquals(keyStyle.getTextSize() * 2, scaledStyle.getTextSize(), 0.001);
+        } finally {
+            configuration.fontScale = fontScale;
+            res.updateConfiguration(configuration, res.getDisplayMetrics());
+        }
+    }
+
+    @Test
+    public void testBuildersOwnPaints() throws Exception {
+        PinView pinView = new PinView(RuntimeEnvironment.application);
+        PinView otherView = new PinView(RuntimeEnvironment.application);
+        KeyStyle defaultStyle = KeyStyle.getDefault(RuntimeEnvironment.application);
+
+        //Builders start from the copies of the style paints.
+        RoundKey.Builder keyBuilder = new RoundKey.Builder(pinView).build();
+        RoundKey.Builder otherBuilder = new RoundKey.Builder(otherView).build();
+        Assert.assertNotSame(defaultStyle.getKeyTextPaint(), keyBuilder.getKeyTextPaint());
+        Assert.assertNotSame(keyBuilder.getKeyPaint(), otherBuilder.getKeyPaint());
+        Assert.assertEquals(defaultStyle.getTextColor(), keyBuilder.getKeyTextPaint().getColor());
+
+        //Changing the paint of one builder doesn't change the style or the other builders.
+        keyBuilder.getKeyTextPaint().setColor(Color.GREEN);
+        defaultStyle.getKeyTextPaint().setColor(Color.GREEN);
+        Assert.assertEquals(defaultStyle.getTextColor(), defaultStyle.getKeyTextPaint().getColor());
+        Assert.assertEquals(defaultStyle.getTextColor(), otherBuilder.getKeyTextPaint().getColor());
+    }
+
+    @Test
+    public void testSharedStyleAcrossViews() throws Exception {
+        //Styles are built without any view and shared by the views of different kinds.
+        KeyStyle keyStyle = new KeyStyle.Builder(RuntimeEnvironment.application)
+                .setShape(KeyStyle.SHAPE_RECT)
+                .setTextColor(Color.GREEN)
+                .build();
+        IndicatorStyle indicatorStyle = new IndicatorStyle.Builder(RuntimeEnvironment.application)
+                .setShape(IndicatorStyle.SHAPE_DOT)
+                .build();
+        PatternCellStyle cellStyle = new PatternCellStyle.Builder(RuntimeEnvironment.application)
+                .setSelectedColor(Color.GREEN)
+                .build();
+
+        PinView pinView = new PinView(RuntimeEnvironment.application);
+        pinView.setKeyStyle(keyStyle);
+        pinView.setIndicatorStyle(indicatorStyle);
+        PassphraseView passphraseView = new PassphraseView(RuntimeEnvironment.application);
+        passphraseView.setKeyStyle(keyStyle);
+        passphraseView.setIndicatorStyle(indicatorStyle);
+
+        Assert.assertTrue(pinView.getKeyBuilder() instanceof RectKey.Builder);
+        Assert.assertEquals(Color.GREEN, pinView.getKeyBuilder().getKeyTextPaint().getColor());
+        Assert.assertEquals(Color.GREEN, passphraseView.getKeyBuilder().getKeyTextPaint().getColor());
+        Assert.assertEquals(indicatorStyle.getStrokeColor(),
+                ((DotIndicator.Builder) pinView.getIndicatorBuilder()).getNormalIndicatorPaint().getColor());
+        Assert.assertEquals(indicatorStyle.getStrokeColor(),
+                ((DotIndicator.Builder) passphraseView.getIndicatorBuilder()).getNormalIndicatorPaint().getColor());
+
+        PatternView patternView = new PatternView(RuntimeEnvironment.application);
+        patternView.setPatternCellStyle(cellStyle);
+        Assert.assertTrue(patternView.getIndicatorBuilder() instanceof CirclePatternCell.Builder);
+        Assert.assertEquals(Color.GREEN,
+                ((CirclePatternCell.Builder) patternView.getIndicatorBuilder()).getSelectedCellPaint().getColor());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.graphics.Rect;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.kevalpatel.passcodeview.core.KeyboardLayout;
+import com.kevalpatel.passcodeview.indicators.CircleIndicator;
+import com.kevalpatel.passcodeview.interfaces.AuthenticationListener;
+import com.kevalpatel.passcodeview.keys.RoundKey;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class PassphraseViewTest {
+    private PassphraseView mPassphraseView;
+    private ManualPasscodeClock mClock;
+    private int mSuccessCount;
+    private int mFailedCount;
+
+    @Before
+    public void setUp() throws Exception {
+        mClock = new ManualPasscodeClock();
+
+        mPassphraseView = new PassphraseView(RuntimeEnvironment.application);
+        mPassphraseView.setClock(mClock);
+        mPassphraseView.setTactileFeedback(false);
+        mPassphraseView.setCorrectPassphrase("Ab1!");
+        mPassphraseView.setAuthenticationListener(new AuthenticationListener() {
+            @Override
+            public void onAuthenticationSuccessful() {
+                mSuccessCount++;
+            }
+
+            @Override
+            public void onAuthenticationFailed() {
+                mFailedCount++;
+            }
+        });
+        mPassphraseView.setKey(new RoundKey.Builder(mPassphraseView).setKeyPadding(2f).build());
+        mPassphraseView.setIndicator(new CircleIndicator.Builder(mPassphraseView).build());
+        mPassphraseView.layout(0, 0, 1080, 1920);
+        mPassphraseView.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY));
+    }
+
+    @Test
+    public void testTypeAllPages() throws Exception {
+        tapValue(KeyboardLayout.VALUE_SHIFT);
+        Assert.assertEquals(KeyboardLayout.PAGE_UPPER, mPassphraseView.getBoxKeypad().getPage());
+        tapValue('A');
+        Assert.assertEquals(KeyboardLayout.PAGE_LOWER, mPassphraseView.getBoxKeypad().getPage());   //One shot shift.
+        tapValue('b');
+        tapValue('1');
+        tapValue(KeyboardLayout.VALUE_SWITCH_PAGE);
+        tapValue('!');
+        Assert.assertEquals(KeyboardLayout.PAGE_SYMBOLS, mPassphraseView.getBoxKeypad().getPage());
+        Assert.assertArrayEquals("Ab1!".toCharArray(), mPassphraseView.getCurrentTypedPassphrase());
+        Assert.assertEquals(0, mSuccessCount);
+
+        tapValue(KeyboardLayout.VALUE_ENTER);
+        Assert.assertEquals(1, mSuccessCount);
+        Assert.assertEquals(0, mFailedCount);
+    }
+
+    @Test
+    public void testWrongPassphrase() throws Exception {
+        tapValue('a');
+        tapValue('b');
+        tapValue('c');
+        tapValue(KeyboardLayout.VALUE_BACKSPACE);
+        Assert.assertArrayEquals("ab".toCharArray(), mPassphraseView.getCurrentTypedPassphrase());
+
+        tapValue(KeyboardLayout.VALUE_ENTER);
+        Assert.assertEquals(1, mFailedCount);
+
+        //Keys are ignored while the verdict is displayed.
+        tapValue('x');
+        Assert.assertEquals(2, mPassphraseView.getCurrentTypedPassphrase().length);
+
+        mClock.advanceBy(1000);
+        Assert.assertEquals(0, mPassphraseView.getCurrentTypedPassphrase().length);
+
+        //Enter without any character does nothing.
+        tapValue(KeyboardLayout.VALUE_ENTER);
+        Assert.assertEquals(1, mFailedCount);
+    }
+
+    @Test
+    public void testHiddenKey() throws Exception {
+        tapValue(KeyboardLayout.VALUE_SWITCH_PAGE);
+
+        //Shift is hidden on the symbols page.
+        KeyboardLayout layout = mPassphraseView.getBoxKeypad().getLayout();
+        int shiftKey = findKey(KeyboardLayout.PAGE_LOWER, KeyboardLayout.VALUE_SHIFT);
+        Assert.assertEquals(-1, mPassphraseView.getBoxKeypad().findKey(layout.getKeyCenterX(shiftKey),
+                layout.getKeyCenterY(shiftKey)));
+    }
+
+    @Test
+    public void testInvalidPassphrase() throws Exception {
+        try {
+            mPassphraseView.setCorrectPassphrase("caf\u00e9");
+            Assert.fail("Character which is not on the keyboard must be rejected.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+
+    @Test
+    public void testHeapStats() throws Exception {
+        //Only the keys of the displayed pages are created.
+        Assert.assertEquals(43, mPassphraseView.getHeapStats().getComponentCount());
+        tapValue(KeyboardLayout.VALUE_SWITCH_PAGE);
+        Assert.assertEquals(2 * 43, mPassphraseView.getHeapStats().getComponentCount());
+    }
+
+    private int findKey(int page, int value) {
+        KeyboardLayout layout = mPassphraseView.getBoxKeypad().getLayout();
+        for (int key = 0; key < layout.getKeyCount(); key++) {
+            if (layout.getValue(page, key) == value) return key;
+        }
+        Assert.fail("No key with value " + value);
+        return -1;
+    }
+
+    private void tapValue(int value) {
+        int key = findKey(mPassphraseView.getBoxKeypad().getPage(), value);
+        Rect bound = mPassphraseView.getBoxKeypad().getKeys()[key].getBound();
+        long downTime = SystemClock.uptimeMillis();
+        dispatch(downTime, MotionEvent.ACTION_DOWN, bound.exactCenterX(), bound.exactCenterY());
+        dispatch(downTime, MotionEvent.ACTION_UP, bound.exactCenterX(), bound.exactCenterY());
+    }
+
+    private void dispatch(long downTime, int action, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action, x, y, 0);
+        mPassphraseView.dispatchTouchEvent(event);
+        event.recycle();
+    }
+}
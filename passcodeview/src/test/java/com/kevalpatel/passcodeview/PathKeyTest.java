@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.graphics.Rect;
+
+import com.kevalpatel.passcodeview.keys.Key;
+import com.kevalpatel.passcodeview.keys.PathKey;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class PathKeyTest {
+    private static final float PADDING = 10;
+    private static final float CORNER_RADIUS = 40;
+
+    private PinView mPinView;
+
+    @Before
+    public void setUp() throws Exception {
+        mPinView = PinViewFixture.create();
+    }
+
+    @Test
+    public void testHexagonHitTest() throws Exception {
+        setKey(new PathKey.Builder(mPinView).setShape(PathKey.SHAPE_HEXAGON).setKeyPadding(PADDING).build());
+        Key key = PinViewFixture.findKey(mPinView, "5");
+        Rect bound = key.getBound();
+        float radius = Math.min((bound.height() - 2 * PADDING) / 2, (bound.width() - 2 * PADDING) / (float) Math.sqrt(3));
+
+        Assert.assertTrue(key.isKeyPressed(bound.exactCenterX(), bound.exactCenterY()));
+        Assert.assertTrue(key.isKeyPressed(bound.exactCenterX(), bound.exactCenterY() - radius + 2));   //Top vertex
+        Assert.assertFalse(key.isKeyPressed(bound.exactCenterX(), bound.exactCenterY() - radius - 2));
+
+        //Corner of the bounding box is outside the hexagon.
+        float halfWidth = radius * (float) Math.sqrt(3) / 2;
+        Assert.assertFalse(key.isKeyPressed(bound.exactCenterX() + halfWidth - 2, bound.exactCenterY() - radius + 2));
+        Assert.assertTrue(key.isKeyPressed(bound.exactCenterX() + halfWidth - 2, bound.exactCenterY()));
+        Assert.assertFalse(key.isKeyPressed(bound.exactCenterX() + halfWidth + 2, bound.exactCenterY()));
+
+        //Touches of the other keys.
+        Assert.assertFalse(key.isKeyPressed(bound.left - 5, bound.exactCenterY()));
+        Assert.assertFalse(key.isKeyPressed(bound.exactCenterX(), bound.bottom + 5));
+    }
+
+    @Test
+    public void testRoundedRectHitTest() throws Exception {
+        setKey(new PathKey.Builder(mPinView)
+                .setShape(PathKey.SHAPE_ROUNDED_RECT)
+                .setKeyPadding(PADDING)
+                .setCornerRadius(CORNER_RADIUS)
+                .build());
+        Key key = PinViewFixture.findKey(mPinView, "5");
+        Rect bound = key.getBound();
+        float left = bound.left + PADDING;
+        float top = bound.top + PADDING;
+        float right = bound.right - PADDING;
+
+        Assert.assertTrue(key.isKeyPressed(bound.exactCenterX(), bound.exactCenterY()));
+        Assert.assertTrue(key.isKeyPressed(bound.exactCenterX(), top + 1));                 //Top edge
+        Assert.assertTrue(key.isKeyPressed(left + 1, bound.exactCenterY()));                //Left edge
+        Assert.assertFalse(key.isKeyPressed(left + 2, top + 2));                            //Rounded corner
+        Assert.assertFalse(key.isKeyPressed(right - 2, top + 2));
+        Assert.assertTrue(key.isKeyPressed(left + CORNER_RADIUS / 2, top + CORNER_RADIUS / 2));
+        Assert.assertFalse(key.isKeyPressed(left - 2, bound.exactCenterY()));               //Padding
+    }
+
+    @Test
+    public void testOutlineHitTest() throws Exception {
+        //"U" shape. The notch between the arms is outside the key.
+        setKey(new PathKey.Builder(mPinView)
+                .setOutline(new float[]{0, 0, 1, 0, 1, 2, 2, 2, 2, 0, 3, 0, 3, 3, 0, 3})
+                .setKeyPadding(PADDING)
+                .build());
+        Key key = PinViewFixture.findKey(mPinView, "5");
+        Rect bound = key.getBound();
+
+        //Outline is scaled to the square in the center of the key.
+        float size = Math.min(bound.width(), bound.height()) - 2 * PADDING;
+        float left = bound.exactCenterX() - size / 2;
+        float top = bound.exactCenterY() - size / 2;
+
+        Assert.assertTrue(key.isKeyPressed(left + size / 6, top + size / 2));          //Left arm
+        Assert.assertTrue(key.isKeyPressed(left + size * 5 / 6, top + size / 2));      //Right arm
+        Assert.assertTrue(key.isKeyPressed(bound.exactCenterX(), top + size * 5 / 6)); //Base
+        Assert.assertFalse(key.isKeyPressed(bound.exactCenterX(), top + size / 3));    //Notch
+        Assert.assertFalse(key.isKeyPressed(left - 2, top + size / 2));
+    }
+
+    @Test
+    public void testDegenerateOutline() throws Exception {
+        PathKey.Builder builder = new PathKey.Builder(mPinView).setShape(PathKey.SHAPE_ROUNDED_RECT);
+        try {
+            builder.setOutline(new float[]{0, 5, 10, 5, 20, 5});    //Line without any height.
+            Assert.fail("Outline without area must be rejected.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+
+        //Rejected outline doesn't change the shape.
+        Assert.assertEquals(PathKey.SHAPE_ROUNDED_RECT, builder.getShape());
+    }
+
+    @Test
+    public void testKeysDrawOnePathEach() throws Exception {
+        setKey(new PathKey.Builder(mPinView).setShape(PathKey.SHAPE_HEXAGON).build());
+        CountingCanvas canvas = new CountingCanvas();
+
+        canvas.reset();
+        mPinView.onDraw(canvas);
+        Assert.assertEquals(canvas.toString(), mPinView.getBoxKeypad().getKeys().size(), canvas.getPathCount());
+        Assert.assertEquals(0, canvas.getRectCount());
+    }
+
+    @Test
+    public void testStyleShapes() throws Exception {
+        KeyStyle keyStyle = new KeyStyle.Builder(RuntimeEnvironment.application)
+                .setShape(KeyStyle.SHAPE_HEXAGON)
+                .build();
+        mPinView.setKeyStyle(keyStyle);
+        PinViewFixture.measure(mPinView);
+
+        Assert.assertTrue(mPinView.getKeyBuilder() instanceof PathKey.Builder);
+        Assert.assertEquals(PathKey.SHAPE_HEXAGON, ((PathKey.Builder) mPinView.getKeyBuilder()).getShape());
+        Assert.assertEquals(keyStyle.getStrokeColor(), mPinView.getKeyBuilder().getKeyPaint().getColor());
+        Assert.assertTrue(PinViewFixture.findKey(mPinView, "5") instanceof PathKey);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidShape() throws Exception {
+        new PathKey.Builder(mPinView).setShape(PathKey.SHAPE_OUTLINE);
+    }
+
+    private void setKey(PathKey.Builder builder) {
+        mPinView.setKey(builder);
+        PinViewFixture.measure(mPinView);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview;
+
+import android.graphics.Rect;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.kevalpatel.passcodeview.core.PatternBuffer;
+import com.kevalpatel.passcodeview.interfaces.AuthenticationListener;
+import com.kevalpatel.passcodeview.patternCells.CirclePatternCell;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class PatternEntryTest {
+    private boolean mIsAuthenticated;
+
+    private PatternView mPatternView;
+
+    @Before
+    public void setUp() throws Exception {
+        mPatternView = new PatternView(RuntimeEnvironment.application);
+        mPatternView.setTactileFeedback(false);
+        mPatternView.setCorrectPattern(new int[]{1, 2, 3, 4});
+        mPatternView.setAuthenticationListener(new AuthenticationListener() {
+            @Override
+            public void onAuthenticationSuccessful() {
+                mIsAuthenticated = true;
+            }
+
+            @Override
+            public void onAuthenticationFailed() {
+                //Do nothing
+            }
+        });
+        mPatternView.setIndicator(new CirclePatternCell.Builder(mPatternView).build());
+        mPatternView.layout(0, 0, 1080, 1920);
+        mPatternView.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY));
+    }
+
+    @Test
+    public void testLargeGrid() throws Exception {
+        mPatternView.setGridSize(10, 10);
+        layout();
+        Assert.assertEquals(100, mPatternView.getBoxPattern().getPatternCells().size());
+
+        mPatternView.setCorrectPattern(new int[]{99, 0, 55});
+        swipe(99, 0, 55);
+        Assert.assertTrue(mIsAuthenticated);
+    }
+
+    @Test
+    public void testSelectedCellIgnored() throws Exception {
+        mPatternView.setCorrectPattern(new int[]{0, 1, 5});
+
+        //Swiping back over the first cell doesn't select it again.
+        swipe(0, 1, 0, 5);
+        Assert.assertTrue(mIsAuthenticated);
+    }
+
+    @Test
+    public void testStoredPattern() throws Exception {
+        long[] stored = PatternBuffer.fromArray(new int[]{2, 6, 10}).toLongArray();
+        Assert.assertEquals(1, stored.length);
+
+        mPatternView.setCorrectPattern(PatternBuffer.fromLongArray(stored));
+        swipe(2, 6, 10);
+        Assert.assertTrue(mIsAuthenticated);
+    }
+
+    @Test
+    public void testWeakPatternRejected() throws Exception {
+        //Cells are indexed column by column. First column top to bottom vs the zigzag.
+        int[] straight = new int[]{0, 1, 2, 3};
+        int[] zigzag = new int[]{0, 5, 2, 7};
+        double strong = mPatternView.getPatternStrength(zigzag);
+        Assert.assertTrue(mPatternView.getPatternStrength(straight) < strong);
+
+        mPatternView.setMinPatternStrength(strong);
+        mPatternView.setCorrectPattern(zigzag);
+        try {
+            mPatternView.setCorrectPattern(straight);
+            Assert.fail("Weak pattern accepted.");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+
+    @Test
+    public void testFastRetry() throws Exception {
+        ManualPasscodeClock clock = new ManualPasscodeClock();
+        mPatternView.setClock(clock);
+
+        swipe(0, 5, 2);
+        Assert.assertFalse(mIsAuthenticated);
+
+        //Start the next attempt before the wrong pattern is cleared and finish it after that.
+        clock.advanceBy(300);
+        Rect bound = mPatternView.getBoxPattern().getPatternCells().get(1).getBound();
+        dispatch(300, MotionEvent.ACTION_DOWN, bound.exactCenterX(), bound.exactCenterY());
+        clock.advanceBy(100);
+        for (int cell = 2; cell <= 4; cell++) {
+            bound = mPatternView.getBoxPattern().getPatternCells().get(cell).getBound();
+            dispatch(400 + cell * 8, MotionEvent.ACTION_MOVE, bound.exactCenterX(), bound.exactCenterY());
+        }
+        dispatch(440, MotionEvent.ACTION_UP, 0, 0);
+        Assert.assertTrue(mIsAuthenticated);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCellOutsideGrid() throws Exception {
+        mPatternView.setCorrectPattern(new int[]{0, 1, 12});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateCell() throws Exception {
+        mPatternView.setCorrectPattern(new int[]{0, 1, 0});
+    }
+
+    private void layout() {
+        mPatternView.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY));
+        mPatternView.layout(0, 0, 1080, 1920);
+    }
+
+    /**
+     * Swipe through the centers of the cells.
+     */
+    private void swipe(int... cells) {
+        for (int i = 0; i < cells.length; i++) {
+            Rect bound = mPatternView.getBoxPattern().getPatternCells().get(cells[i]).getBound();
+            dispatch(i * 8, i == 0 ? MotionEvent.ACTION_DOWN : MotionEvent.ACTION_MOVE,
+                    bound.exactCenterX(), bound.exactCenterY());
+        }
+        dispatch(cells.length * 8, MotionEvent.ACTION_UP, 0, 0);
+    }
+
+    private void dispatch(long eventTime, int action, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(0, eventTime, action, x, y, 0);
+        mPatternView.dispatchTouchEvent(event);
+        event.recycle();
+    }
+}
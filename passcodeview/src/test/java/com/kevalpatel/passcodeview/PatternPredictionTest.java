@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kevalpatel.passcodeview;
+
+import android.graphics.Rect;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.kevalpatel.passcodeview.interfaces.AuthenticationListener;
+import com.kevalpatel.passcodeview.patternCells.CirclePatternCell;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class PatternPredictionTest {
+    private static final long SAMPLE_INTERVAL = 8;     //Touch sample interval in milliseconds.
+    private static final float SPEED = 1.5f;           //Finger speed in pixels per millisecond.
+
+    private PatternView mPatternView;
+
+    @Before
+    public void setUp() throws Exception {
+        mPatternView = new PatternView(RuntimeEnvironment.application);
+        mPatternView.setTactileFeedback(false);
+        mPatternView.setCorrectPattern(new int[]{1, 2, 3, 4});
+        mPatternView.setAuthenticationListener(new AuthenticationListener() {
+            @Override
+            public void onAuthenticationSuccessful() {
+                //Do nothing
+            }
+
+            @Override
+            public void onAuthenticationFailed() {
+                //Do nothing
+            }
+        });
+        mPatternView.setIndicator(new CirclePatternCell.Builder(mPatternView).build());
+        mPatternView.layout(0, 0, 1080, 1920);
+        mPatternView.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY));
+    }
+
+    @Test
+    public void testLineLeadsFinger() throws Exception {
+        Rect start = mPatternView.getBoxPattern().getPatternCells().get(0).getBound();
+        float x = start.exactCenterX();
+        float y = start.exactCenterY();
+
+        dispatch(0, MotionEvent.ACTION_DOWN, x, y);
+        for (int i = 1; i <= 5; i++) {
+            dispatch(i * SAMPLE_INTERVAL, MotionEvent.ACTION_MOVE, x + i * SAMPLE_INTERVAL * SPEED, y);
+        }
+        float lastX = x + 5 * SAMPLE_INTERVAL * SPEED;
+
+        //Line is drawn one horizon ahead of the last sample.
+        long horizon = mPatternView.getPredictionHorizon();
+        Assert.assertEquals(lastX + horizon * SPEED, mPatternView.getTouchPredictor().getPredictedX(), 0.1f);
+        Assert.assertEquals(y, mPatternView.getTouchPredictor().getPredictedY(), 0.1f);
+
+        //Finger stops and the next samples correct the overshoot.
+        for (int i = 6; i <= 15; i++) dispatch(i * SAMPLE_INTERVAL, MotionEvent.ACTION_MOVE, lastX, y);
+        Assert.assertEquals(lastX, mPatternView.getTouchPredictor().getPredictedX(), 0.1f);
+
+        dispatch(16 * SAMPLE_INTERVAL, MotionEvent.ACTION_UP, lastX, y);
+        Assert.assertFalse(mPatternView.getTouchPredictor().hasSample());
+    }
+
+    @Test
+    public void testZeroHorizon() throws Exception {
+        mPatternView.setPredictionHorizon(0);
+
+        Rect start = mPatternView.getBoxPattern().getPatternCells().get(0).getBound();
+        float x = start.exactCenterX();
+        float y = start.exactCenterY();
+        dispatch(0, MotionEvent.ACTION_DOWN, x, y);
+        dispatch(SAMPLE_INTERVAL, MotionEvent.ACTION_MOVE, x + 10, y + 20);
+        dispatch(2 * SAMPLE_INTERVAL, MotionEvent.ACTION_MOVE, x + 20, y + 40);
+
+        Assert.assertEquals(x + 20, mPatternView.getTouchPredictor().getPredictedX(), 0.01f);
+        Assert.assertEquals(y + 40, mPatternView.getTouchPredictor().getPredictedY(), 0.01f);
+    }
+
+    private void dispatch(long eventTime, int action, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(0, eventTime, action, x, y, 0);
+        mPatternView.dispatchTouchEvent(event);
+        event.recycle();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.support.annotation.NonNull;
+
+import com.kevalpatel.passcodeview.indicators.Indicator;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class PinEntryTest {
+    private PinView mPinView;
+    private PinViewFixture.AuthCounter mAuthCounter;
+
+    @Before
+    public void setUp() throws Exception {
+        mAuthCounter = new PinViewFixture.AuthCounter();
+        mPinView = PinViewFixture.create(mAuthCounter);
+    }
+
+    @Test
+    public void testRetypeDuringFeedback() throws Exception {
+        PinViewFixture.tapKeys(mPinView, "5", "6", "7", "8");    //Wrong PIN.
+        Assert.assertEquals(1, mAuthCounter.mFailedCount);
+
+        //Correct PIN typed immediately, before the feedback ends.
+        PinViewFixture.tapKeys(mPinView, "1", "2", "3", "4");
+        Assert.assertEquals(1, mAuthCounter.mFailedCount);
+        Assert.assertEquals(0, mAuthCounter.mSuccessCount);
+
+        ShadowLooper.idleMainLooper(1000);
+        Assert.assertEquals(1, mAuthCounter.mFailedCount);
+        Assert.assertEquals(1, mAuthCounter.mSuccessCount);
+
+        ShadowLooper.idleMainLooper(1000);
+        Assert.assertEquals(0, mPinView.getCurrentTypedPin().length);
+    }
+
+    @Test
+    public void testPartialRetypeKept() throws Exception {
+        PinViewFixture.tapKeys(mPinView, "5", "6", "7", "8");    //Wrong PIN.
+        PinViewFixture.tapKeys(mPinView, "1", "2");
+
+        ShadowLooper.idleMainLooper(1000);
+        Assert.assertArrayEquals(new int[]{1, 2}, mPinView.getCurrentTypedPin());
+
+        PinViewFixture.tapKeys(mPinView, "3", "4");
+        Assert.assertEquals(1, mAuthCounter.mSuccessCount);
+    }
+
+    @Test
+    public void testResetCancelsFeedback() throws Exception {
+        PinViewFixture.tapKeys(mPinView, "5", "6", "7", "8");    //Wrong PIN.
+        PinViewFixture.tapKeys(mPinView, "1");
+        mPinView.reset();
+        PinViewFixture.tapKeys(mPinView, "1");
+
+        //Stale feedback end doesn't wipe the new digit.
+        ShadowLooper.idleMainLooper(1000);
+        Assert.assertArrayEquals(new int[]{1}, mPinView.getCurrentTypedPin());
+    }
+
+    @Test
+    public void testSetTypedPinNotVerified() throws Exception {
+        mPinView.setCurrentTypedPin(new int[]{1, 2, 3, 4});
+        Assert.assertArrayEquals(new int[]{1, 2, 3, 4}, mPinView.getCurrentTypedPin());
+        Assert.assertEquals(0, mAuthCounter.mSuccessCount);
+        Assert.assertEquals(0, mAuthCounter.mFailedCount);
+
+        PinViewFixture.tapKeys(mPinView, KeyNamesBuilder.BACKSPACE_TITLE, "4");
+        Assert.assertEquals(1, mAuthCounter.mSuccessCount);
+    }
+
+    @Test
+    public void testCustomIndicators() throws Exception {
+        CountingIndicator.Builder builder = new CountingIndicator.Builder(mPinView);
+        mPinView.setIndicator(builder);
+        PinViewFixture.measure(mPinView);
+        PinViewFixture.tapKeys(mPinView, "1");
+
+        //Custom builders draw each indicator and keep them until the row moves.
+        CountingCanvas canvas = new CountingCanvas();
+        mPinView.onDraw(canvas);
+        mPinView.onDraw(canvas);
+        Assert.assertEquals(4, builder.mIndicators.size());
+        Assert.assertEquals(2, builder.mIndicators.get(0).mFilledDrawCount);
+        Assert.assertEquals(0, builder.mIndicators.get(1).mFilledDrawCount);
+
+        //Authentication result reaches the indicators.
+        PinViewFixture.tapKeys(mPinView, "5", "6", "7");
+        ShadowLooper.idleMainLooper(1000);
+        Assert.assertEquals(1, builder.mIndicators.get(3).mFailedCount);
+
+        PinViewFixture.tapKeys(mPinView, "1", "2", "3", "4");
+        ShadowLooper.idleMainLooper(1000);
+        Assert.assertEquals(1, builder.mIndicators.get(3).mSuccessCount);
+    }
+
+    private static final class CountingIndicator extends Indicator {
+        private int mFilledDrawCount;
+        private int mFailedCount;
+        private int mSuccessCount;
+
+        private CountingIndicator(@NonNull PasscodeView view, @NonNull Rect bound, @NonNull Indicator.Builder builder) {
+            super(view, bound, builder);
+        }
+
+        @Override
+        public void draw(@NonNull Canvas canvas, boolean isFilled) {
+            if (isFilled) mFilledDrawCount++;
+        }
+
+        @Override
+        public void onAuthFailed() {
+            mFailedCount++;
+        }
+
+        @Override
+        public void onAuthSuccess() {
+            mSuccessCount++;
+        }
+
+        private static final class Builder extends Indicator.Builder {
+            private final ArrayList<CountingIndicator> mIndicators = new ArrayList<>();
+
+            private Builder(@NonNull PasscodeView view) {
+                super(view);
+            }
+
+            @Override
+            public float getIndicatorWidth() {
+                return 20;
+            }
+
+            @Override
+            public Indicator.Builder build() {
+                return this;
+            }
+
+            @Override
+            protected void setDefaults(@NonNull Context context) {
+                //Do nothing
+            }
+
+            @Override
+            public Indicator getIndicator(@NonNull Rect bound) {
+                CountingIndicator indicator = new CountingIndicator(getRootView(), bound, this);
+                mIndicators.add(indicator);
+                return indicator;
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.support.annotation.NonNull;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.kevalpatel.passcodeview.indicators.CircleIndicator;
+import com.kevalpatel.passcodeview.interfaces.AuthenticationListener;
+import com.kevalpatel.passcodeview.keys.Key;
+import com.kevalpatel.passcodeview.keys.RoundKey;
+
+import org.robolectric.RuntimeEnvironment;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ * {@link PinView} shared by the tests. The view has the 1234 PIN, round keys and circle indicators
+ * and it is measured on the 1080x1920 screen. Touch events use the time of the view's clock.
+ */
+final class PinViewFixture {
+    static final int WIDTH = 1080;
+    static final int HEIGHT = 1920;
+
+    private PinViewFixture() {
+        //Do nothing
+    }
+
+    static PinView create() {
+        return create(new AuthCounter());
+    }
+
+    static PinView create(@NonNull AuthenticationListener listener) {
+        PinView pinView = new PinView(RuntimeEnvironment.application);
+        pinView.setTactileFeedback(false);
+        pinView.setCorrectPin(new int[]{1, 2, 3, 4});
+        pinView.setAuthenticationListener(listener);
+        pinView.setKey(new RoundKey.Builder(pinView).build());
+        pinView.setIndicator(new CircleIndicator.Builder(pinView).build());
+        measure(pinView);
+        return pinView;
+    }
+
+    static void measure(@NonNull View view) {
+        measure(view, WIDTH, HEIGHT);
+    }
+
+    /**
+     * Lay out and measure the view. Passcode views read their size from the layout, so the view is
+     * laid out first. Measure is forced to apply the builders changed since the last measure and the
+     * second layout clears the layout request.
+     */
+    static void measure(@NonNull View view, int width, int height) {
+        view.layout(0, 0, width, height);
+        view.forceLayout();
+        view.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, width, height);
+    }
+
+    @NonNull
+    static Key findKey(@NonNull PinView pinView, @NonNull String digit) {
+        for (Key key : pinView.getBoxKeypad().getKeys()) {
+            if (key.getDigit().equals(digit)) return key;
+        }
+        throw new AssertionError("No key with digit " + digit);
+    }
+
+    /**
+     * Tap the keys one by one at their centers.
+     *
+     * @param digits names of the keys to tap.
+     */
+    static void tapKeys(@NonNull PinView pinView, @NonNull String... digits) {
+        for (String digit : digits) {
+            Key key = findKey(pinView, digit);
+            tap(pinView, key.getBound().exactCenterX(), key.getBound().exactCenterY());
+        }
+    }
+
+    static void tap(@NonNull PasscodeView view, float x, float y) {
+        long downTime = view.getClock().uptimeMillis();
+        dispatch(view, downTime, MotionEvent.ACTION_DOWN, x, y);
+        dispatch(view, downTime, MotionEvent.ACTION_UP, x, y);
+    }
+
+    static void dispatch(@NonNull PasscodeView view, long downTime, int action, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(downTime, view.getClock().uptimeMillis(), action, x, y, 0);
+        view.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    /**
+     * Listener counting the authentication results.
+     */
+    static final class AuthCounter implements AuthenticationListener {
+        int mSuccessCount;
+        int mFailedCount;
+
+        @Override
+        public void onAuthenticationSuccessful() {
+            mSuccessCount++;
+        }
+
+        @Override
+        public void onAuthenticationFailed() {
+            mFailedCount++;
+        }
+    }
+}
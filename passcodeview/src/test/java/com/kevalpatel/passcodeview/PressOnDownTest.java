@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+
+import com.kevalpatel.passcodeview.keys.Key;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class PressOnDownTest {
+    private static final long HOLD_TIME = 80;      //Time the finger stays on the key in milliseconds.
+
+    private PinView mPinView;
+
+    @Before
+    public void setUp() throws Exception {
+        mPinView = PinViewFixture.create();
+    }
+
+    @Test
+    public void testCommitOnDown() throws Exception {
+        mPinView.setPressOnDown(true);
+
+        Key key = PinViewFixture.findKey(mPinView, "1");
+        long downTime = SystemClock.uptimeMillis();
+        dispatch(downTime, MotionEvent.ACTION_DOWN, key.getBound().exactCenterX(), key.getBound().exactCenterY());
+        Assert.assertArrayEquals(new int[]{1}, mPinView.getCurrentTypedPin());
+
+        dispatch(downTime, MotionEvent.ACTION_UP, key.getBound().exactCenterX(), key.getBound().exactCenterY());
+        Assert.assertArrayEquals(new int[]{1}, mPinView.getCurrentTypedPin());
+    }
+
+    @Test
+    public void testCancelOutsideSlop() throws Exception {
+        mPinView.setPressOnDown(true);
+        mPinView.setTouchSlop(10);
+
+        //Small move outside the key is tolerated.
+        Key key = PinViewFixture.findKey(mPinView, "1");
+        long downTime = SystemClock.uptimeMillis();
+        dispatch(downTime, MotionEvent.ACTION_DOWN, key.getBound().exactCenterX(), key.getBound().exactCenterY());
+        dispatch(downTime, MotionEvent.ACTION_MOVE, key.getBound().right + 5, key.getBound().exactCenterY());
+        Assert.assertArrayEquals(new int[]{1}, mPinView.getCurrentTypedPin());
+
+        //Leaving the key cancels the press.
+        dispatch(downTime, MotionEvent.ACTION_MOVE, key.getBound().right + 50, key.getBound().exactCenterY());
+        Assert.assertEquals(0, mPinView.getCurrentTypedPin().length);
+
+        dispatch(downTime, MotionEvent.ACTION_UP, key.getBound().exactCenterX(), key.getBound().exactCenterY());
+        Assert.assertEquals(0, mPinView.getCurrentTypedPin().length);
+    }
+
+    @Test
+    public void testBackspaceNotCancelled() throws Exception {
+        mPinView.setPressOnDown(true);
+        mPinView.setTouchSlop(10);
+        PinViewFixture.tapKeys(mPinView, "1", "2");
+
+        //Sliding off the backspace keeps the removed digit removed and doesn't remove one more.
+        Key key = PinViewFixture.findKey(mPinView, KeyNamesBuilder.BACKSPACE_TITLE);
+        long downTime = SystemClock.uptimeMillis();
+        dispatch(downTime, MotionEvent.ACTION_DOWN, key.getBound().exactCenterX(), key.getBound().exactCenterY());
+        Assert.assertArrayEquals(new int[]{1}, mPinView.getCurrentTypedPin());
+
+        dispatch(downTime, MotionEvent.ACTION_MOVE, key.getBound().left - 50, key.getBound().exactCenterY());
+        Assert.assertArrayEquals(new int[]{1}, mPinView.getCurrentTypedPin());
+
+        dispatch(downTime, MotionEvent.ACTION_UP, key.getBound().left - 50, key.getBound().exactCenterY());
+        Assert.assertArrayEquals(new int[]{1}, mPinView.getCurrentTypedPin());
+    }
+
+    @Test
+    public void testFeedbackLatency() throws Exception {
+        //Digits are committed on lift by default. Feedback waits for the finger.
+        holdKey("1");
+        holdKey("2");
+        double liftLatency = mPinView.getMetrics().getAverageFeedbackLatencyMillis();
+        Assert.assertEquals(HOLD_TIME, liftLatency, 1);
+
+        mPinView.getMetrics().reset();
+        mPinView.setPressOnDown(true);
+        holdKey("3");
+        holdKey("4");
+        double downLatency = mPinView.getMetrics().getAverageFeedbackLatencyMillis();
+        Assert.assertEquals(2, mPinView.getMetrics().getKeyFeedbackCount());
+        Assert.assertTrue(downLatency + HOLD_TIME <= liftLatency);
+    }
+
+    /**
+     * Tap the key and keep the finger on it for the {@link #HOLD_TIME}.
+     */
+    private void holdKey(String digit) {
+        Key key = PinViewFixture.findKey(mPinView, digit);
+        long downTime = SystemClock.uptimeMillis();
+        dispatch(downTime, MotionEvent.ACTION_DOWN, key.getBound().exactCenterX(), key.getBound().exactCenterY());
+        SystemClock.sleep(HOLD_TIME);
+        dispatch(downTime, MotionEvent.ACTION_UP, key.getBound().exactCenterX(), key.getBound().exactCenterY());
+    }
+
+    private void dispatch(long downTime, int action, float x, float y) {
+        PinViewFixture.dispatch(mPinView, downTime, action, x, y);
+    }
+}
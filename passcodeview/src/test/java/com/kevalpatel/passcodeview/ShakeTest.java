@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.graphics.Rect;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class ShakeTest {
+    private PinView mPinView;
+    private PinViewFixture.AuthCounter mAuthCounter;
+
+    @Before
+    public void setUp() throws Exception {
+        mAuthCounter = new PinViewFixture.AuthCounter();
+        mPinView = PinViewFixture.create(mAuthCounter);
+    }
+
+    @Test
+    public void testShakeKeepsKeyBounds() throws Exception {
+        Rect[] boundsBefore = new Rect[mPinView.getBoxKeypad().getKeys().size()];
+        for (int i = 0; i < boundsBefore.length; i++) {
+            boundsBefore[i] = new Rect(mPinView.getBoxKeypad().getKeys().get(i).getBound());
+        }
+
+        PinViewFixture.tapKeys(mPinView, "5", "6", "7", "8");    //Wrong PIN. The keypad starts shaking.
+
+        //Keys are only translated while drawing. Bounds and hit testing are untouched.
+        for (int i = 0; i < boundsBefore.length; i++) {
+            Assert.assertEquals(boundsBefore[i], mPinView.getBoxKeypad().getKeys().get(i).getBound());
+        }
+        ShadowLooper.idleMainLooper(1000);     //Wait for the typed PIN to reset.
+        PinViewFixture.tapKeys(mPinView, "1");
+        Assert.assertEquals(1, mPinView.getCurrentTypedPin().length);
+    }
+
+    @Test
+    public void testShakeResetsOffset() throws Exception {
+        mPinView.getBoxKeypad().playShakeAnimation();
+        ShadowLooper.idleMainLooper(1000);
+        Assert.assertEquals(0f, mPinView.getBoxKeypad().getShakeOffset(), 0f);
+        Assert.assertEquals(0, mAuthCounter.mFailedCount);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 Keval Patel.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kevalpatel.passcodeview;
+
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/**
+ * Created by Keval on 19-Oct-26.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class ThemeTransitionTest {
+    private static final long DURATION = 320;
+
+    private PinView mPinView;
+    private ManualPasscodeClock mClock;
+    private PasscodeTheme mDarkTheme;
+
+    @Before
+    public void setUp() throws Exception {
+        mClock = new ManualPasscodeClock();
+        mPinView = createPinView();
+
+        mDarkTheme = new PasscodeTheme.Builder(RuntimeEnvironment.application)
+                .setDividerColor(Color.BLACK)
+                .setTitleColor(Color.WHITE)
+                .setKeyTextColor(Color.WHITE)
+                .setKeyStrokeColor(Color.GRAY)
+                .setIndicatorFilledColor(Color.WHITE)
+                .setIndicatorStrokeColor(Color.GRAY)
+                .build();
+    }
+
+    @Test
+    public void testAnimateInPlace() throws Exception {
+        int fromDivider = mPinView.getDividerColor();
+        mPinView.animatePasscodeTheme(mDarkTheme, DURATION);
+        Assert.assertTrue(mPinView.isThemeAnimating());
+
+        Paint keyPaint = mPinView.getKeyBuilder().getKeyPaint();
+        Paint keyTextPaint = mPinView.getKeyBuilder().getKeyTextPaint();
+
+        //Colors are between the both themes in the middle of the transition.
+        mClock.advanceBy(DURATION / 2);
+        Assert.assertTrue(mPinView.isThemeAnimating());
+        Assert.assertNotEquals(fromDivider, mPinView.getDividerColor());
+        Assert.assertNotEquals(Color.BLACK, mPinView.getDividerColor());
+
+        //Colors are changed on the same paints and the view is not measured again.
+        mClock.advanceBy(DURATION);
+        Assert.assertFalse(mPinView.isThemeAnimating());
+        Assert.assertSame(keyPaint, mPinView.getKeyBuilder().getKeyPaint());
+        Assert.assertSame(keyTextPaint, mPinView.getKeyBuilder().getKeyTextPaint());
+        Assert.assertFalse(mPinView.isLayoutRequested());
+
+        Assert.assertEquals(Color.BLACK, mPinView.getDividerColor());
+        Assert.assertEquals(Color.WHITE, mPinView.getTitleColor());
+        Assert.assertEquals(Color.WHITE, keyTextPaint.getColor());
+        Assert.assertEquals(Color.GRAY, keyPaint.getColor());
+        Assert.assertEquals(Color.WHITE, mPinView.getIndicatorBuilder().getIndicatorFilledColor());
+        Assert.assertEquals(Color.GRAY, mPinView.getIndicatorBuilder().getIndicatorStrokeColor());
+    }
+
+    @Test
+    public void testSetThemeRightAway() throws Exception {
+        mPinView.animatePasscodeTheme(mDarkTheme, DURATION);
+        mClock.advanceBy(DURATION / 2);
+
+        //Setting the theme cancels the transition.
+        mPinView.setPasscodeTheme(mDarkTheme);
+        Assert.assertFalse(mPinView.isThemeAnimating());
+        Assert.assertEquals(Color.BLACK, mPinView.getDividerColor());
+        Assert.assertEquals(Color.WHITE, mPinView.getKeyBuilder().getKeyTextPaint().getColor());
+
+        mClock.advanceBy(DURATION);
+        Assert.assertEquals(Color.BLACK, mPinView.getDividerColor());
+    }
+
+    @Test
+    public void testSharedStyleUntouched() throws Exception {
+        KeyStyle keyStyle = new KeyStyle.Builder(RuntimeEnvironment.application)
+                .setTextColor(Color.RED)
+                .setStrokeColor(Color.RED)
+                .build();
+        PinView other = createPinView();
+        other.setKeyStyle(keyStyle);
+        PinViewFixture.measure(other);
+        mPinView.setKeyStyle(keyStyle);
+        PinViewFixture.measure(mPinView);
+
+        mPinView.setPasscodeTheme(mDarkTheme);
+
+        //Other view and the style keep their colors.
+        Assert.assertEquals(Color.WHITE, mPinView.getKeyBuilder().getKeyTextPaint().getColor());
+        Assert.assertEquals(Color.RED, keyStyle.getKeyTextPaint().getColor());
+        Assert.assertEquals(Color.RED, keyStyle.getKeyPaint().getColor());
+        Assert.assertEquals(Color.RED, other.getKeyBuilder().getKeyTextPaint().getColor());
+    }
+
+    private PinView createPinView() {
+        PinView pinView = PinViewFixture.create();
+        pinView.setClock(mClock);
+        return pinView;
+    }
+}
@@ -36,7 +36,30 @@ public class UtilsTest extends TestCase {
     }
 
     public void testMakeColorDark() throws Exception {
+        //Same as the HSV value of 1 - 0.8 * value.
+        int[] colors = new int[]{0xFFFF4081, 0xFF3F51B5, 0xFF303F9F, 0xFFFFFFFF, 0xFF00FF00, 0xFF123456};
+        for (int color : colors) {
+            float[] hsv = java.awt.Color.RGBtoHSB((color >> 16) & 0xFF, (color >> 8) & 0xFF, color & 0xFF, null);
+            int expected = java.awt.Color.HSBtoRGB(hsv[0], hsv[1], 1.0f - 0.8f * hsv[2]);
+            assertColorEquals(expected, Utils.makeColorDark(color));
+        }
 
+        //Black has no hue.
+        assertColorEquals(0xFFFFFFFF, Utils.makeColorDark(0xFF000000));
+    }
+
+    public void testBlendColors() throws Exception {
+        Assert.assertEquals(0xFF000000, Utils.blendColors(0xFF000000, 0x00FFFFFF, 0));
+        Assert.assertEquals(0x00FFFFFF, Utils.blendColors(0xFF000000, 0x00FFFFFF, 1));
+        assertColorEquals(0x80808080, Utils.blendColors(0xFF000000, 0x00FFFFFF, 0.5f));
+        assertColorEquals(0xFF7F1F40, Utils.blendColors(0xFFFF0000, 0xFF003F80, 0.5f));
+    }
+
+    private void assertColorEquals(int expected, int actual) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            int diff = Math.abs(((expected >>> shift) & 0xFF) - ((actual >>> shift) & 0xFF));
+            Assert.assertTrue(Integer.toHexString(expected) + " != " + Integer.toHexString(actual), diff <= 1);
+        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+#!/usr/bin/env python3
+#
+# Copyright 2017 Keval Patel.
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#  http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+#
+# Generates passcodeview/src/main/assets/passcodeview_common_pins.bin, the default table of
+# PinDenylist. PINs are the well known weak choices of 4 to 8 digits: repeated digits, runs,
+# repeated groups, keypad shapes, years and dates.
+#
+# Usage: python3 tools/generate_common_pins.py [output file]
+
+import argparse
+import os
+import struct
+
+MAGIC = 0x50494E53  # "PINS"
+VERSION = 1
+MIN_LENGTH = 4
+MAX_LENGTH = 8
+
+DAYS_IN_MONTH = [31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31]
+
+# Lines on the 3x4 keypad. (Columns, rows, diagonals and corners.)
+KEYPAD_SHAPES = ["2580", "0852", "1470", "0741", "3690", "0963", "1379", "9731", "1397", "7931",
+                 "1357", "7531", "3579", "9753", "2468", "8642", "159", "951", "357", "753",
+                 "147258369", "123456789", "987654321", "1478963", "3698741", "1236987", "7896321"]
+
+
+def repeated_digits():
+    for length in range(MIN_LENGTH, MAX_LENGTH + 1):
+        for digit in "0123456789":
+            yield digit * length
+
+
+def runs():
+    digits = "0123456789" * 2
+    for length in range(MIN_LENGTH, MAX_LENGTH + 1):
+        for start in range(10):
+            run = digits[start:start + length]
+            yield run
+            yield run[::-1]
+
+
+def repeated_groups():
+    for group_length in (1, 2, 3, 4):
+        for group in range(10 ** group_length):
+            text = str(group).zfill(group_length)
+            for length in range(MIN_LENGTH, MAX_LENGTH + 1):
+                if length % group_length == 0 and length > group_length:
+                    yield text * (length // group_length)
+
+    # Pairs of the same digit. (e.g. 1122, 112233, 11223344)
+    for count in (2, 3, 4):
+        for value in range(10 ** count):
+            yield "".join(d * 2 for d in str(value).zfill(count))
+
+
+def keypad_shapes():
+    for shape in KEYPAD_SHAPES:
+        for repeat in range(1, 3):
+            pin = shape * repeat
+            if MIN_LENGTH <= len(pin) <= MAX_LENGTH:
+                yield pin
+
+
+def dates():
+    for year in range(1900, 2031):
+        yield str(year)
+
+    for month in range(1, 13):
+        for day in range(1, DAYS_IN_MONTH[month - 1] + 1):
+            dd = str(day).zfill(2)
+            mm = str(month).zfill(2)
+            yield dd + mm
+            yield mm + dd
+            for year in range(1950, 2011):
+                yy = str(year)[2:]
+                yield dd + mm + yy
+                yield mm + dd + yy
+                yield dd + mm + str(year)
+                yield mm + dd + str(year)
+
+
+def encode(pin):
+    return len(pin) * 100000000 + int(pin)
+
+
+def main():
+    project_dir = os.path.dirname(os.path.dirname(os.path.abspath(__file__)))
+    parser = argparse.ArgumentParser(description="Generate the default table of PinDenylist.")
+    parser.add_argument("output", nargs="?",
+                        default=os.path.join(project_dir, "passcodeview", "src", "main", "assets",
+                                             "passcodeview_common_pins.bin"),
+                        help="table file to write (default: the library asset)")
+    output = parser.parse_args().output
+
+    pins = set()
+    for generator in (repeated_digits, runs, repeated_groups, keypad_shapes, dates):
+        for pin in generator():
+            if MIN_LENGTH <= len(pin) <= MAX_LENGTH:
+                pins.add(encode(pin))
+
+    entries = sorted(pins)
+    with open(output, "wb") as table:
+        table.write(struct.pack(">iii", MAGIC, VERSION, len(entries)))
+        table.write(struct.pack(">%di" % len(entries), *entries))
+    print("Wrote %d PINs to %s" % (len(entries), output))
+
+
+if __name__ == "__main__":
+    main()